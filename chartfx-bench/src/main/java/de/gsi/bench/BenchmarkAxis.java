@@ -0,0 +1,31 @@
+package de.gsi.bench;
+
+import de.gsi.chart.axes.spi.DefaultNumericAxis;
+import de.gsi.chart.ui.geometry.Side;
+
+/**
+ * Axis with fixed range and length that can be used without a running JavaFX toolkit (i.e. no layout pass or tick
+ * label computation needed) for benchmarking the data to screen coordinate transforms.
+ *
+ * @author rstein
+ */
+public class BenchmarkAxis extends DefaultNumericAxis {
+    /**
+     * @param side axis side (for horizontal/vertical orientation)
+     * @param min lower axis bound
+     * @param max upper axis bound
+     * @param length axis length in pixel
+     */
+    public BenchmarkAxis(final Side side, final double min, final double max, final double length) {
+        super("benchmark axis", min, max, (max - min) / 10.0);
+        setAutoRanging(false);
+        setSide(side);
+        if (side.isHorizontal()) {
+            resize(length, 50);
+        } else {
+            resize(50, length);
+        }
+        setScale(calculateNewScale(length, getMin(), getMax()));
+        updateCachedVariables();
+    }
+}
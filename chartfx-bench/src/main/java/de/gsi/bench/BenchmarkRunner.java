@@ -0,0 +1,50 @@
+package de.gsi.bench;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command-line options (e.g. a benchmark regex, '-f', '-wi',
+ * '-i', '-p nSamples=1000') but -- unless overridden via '-rf'/'-rff' -- writes the results as JSON to
+ * 'jmh-result-&lt;version&gt;-&lt;date&gt;.json' so that runs of different releases can be compared, e.g. via
+ * https://jmh.morethan.io/
+ *
+ * usage example:
+ *
+ * <pre>
+ * mvn -Pbench package
+ * java -jar chartfx-bench/target/benchmarks.jar DataReducer -p nSamples=100000
+ * </pre>
+ *
+ * @author rstein
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+        // static main class
+    }
+
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions);
+        if (cmdOptions.getResultFormat().hasValue() || cmdOptions.getResult().hasValue()) {
+            new Runner(options.build()).run();
+            return;
+        }
+
+        final String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+        final String date = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.UK).format(new Date());
+        final File result = new File("jmh-result-" + (version == null ? "dev" : version) + "-" + date + ".json");
+        options.resultFormat(ResultFormatType.JSON).result(result.getAbsolutePath());
+        new Runner(options.build()).run();
+    }
+}
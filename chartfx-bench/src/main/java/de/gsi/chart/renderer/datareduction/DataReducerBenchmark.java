@@ -0,0 +1,101 @@
+package de.gsi.chart.renderer.datareduction;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.gsi.chart.renderer.RendererDataReducer;
+
+/**
+ * Benchmark of the {@link DefaultDataReducer} and {@link MaxDataReducer} on screen-coordinate arrays (e.g. 1M samples
+ * onto a 1920 pixel wide canvas).
+ * <p>
+ * N.B. the reducers operate in place, the input arrays are thus restored before each invocation (not included in the
+ * timing).
+ *
+ * @author rstein
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+public class DataReducerBenchmark {
+    private static final double CANVAS_WIDTH = 1920;
+    private static final double CANVAS_HEIGHT = 1080;
+
+    @Param({ "10000", "100000", "1000000" })
+    private int nSamples;
+
+    private final RendererDataReducer defaultReducer = new DefaultDataReducer();
+    private final RendererDataReducer maxReducer = new MaxDataReducer();
+    private double[] xReference;
+    private double[] yReference;
+    private double[] xValues;
+    private double[] yValues;
+    private double[] errorXNeg;
+    private double[] errorXPos;
+    private double[] errorYNeg;
+    private double[] errorYPos;
+    private String[] styles;
+    private boolean[] selected;
+
+    @Setup
+    public void setup() {
+        xReference = new double[nSamples];
+        yReference = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            xReference[i] = CANVAS_WIDTH * i / nSamples;
+            yReference[i] = 0.5 * CANVAS_HEIGHT * (1.0 + Math.sin(0.001 * i));
+        }
+        xValues = new double[nSamples];
+        yValues = new double[nSamples];
+        errorXNeg = new double[nSamples];
+        errorXPos = new double[nSamples];
+        errorYNeg = new double[nSamples];
+        errorYPos = new double[nSamples];
+        styles = new String[nSamples];
+        selected = new boolean[nSamples];
+    }
+
+    @Setup(Level.Invocation)
+    public void restoreInput() {
+        System.arraycopy(xReference, 0, xValues, 0, nSamples);
+        System.arraycopy(yReference, 0, yValues, 0, nSamples);
+        System.arraycopy(xReference, 0, errorXNeg, 0, nSamples);
+        System.arraycopy(xReference, 0, errorXPos, 0, nSamples);
+        for (int i = 0; i < nSamples; i++) {
+            errorYNeg[i] = yReference[i] - 2.0;
+            errorYPos[i] = yReference[i] + 2.0;
+        }
+    }
+
+    @Benchmark
+    public int defaultReducer() {
+        return defaultReducer.reducePoints(xValues, yValues, errorXPos, errorXNeg, errorYPos, errorYNeg, styles,
+                selected, 0, nSamples);
+    }
+
+    @Benchmark
+    public int defaultReducerNoErrors() {
+        return defaultReducer.reducePoints(xValues, yValues, null, null, null, null, styles, selected, 0, nSamples);
+    }
+
+    @Benchmark
+    public int maxReducer() {
+        return maxReducer.reducePoints(xValues, yValues, errorXPos, errorXNeg, errorYPos, errorYNeg, styles, selected,
+                0, nSamples);
+    }
+}
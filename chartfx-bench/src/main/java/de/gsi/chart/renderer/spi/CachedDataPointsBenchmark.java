@@ -0,0 +1,74 @@
+package de.gsi.chart.renderer.spi;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.gsi.bench.BenchmarkAxis;
+import de.gsi.chart.axes.Axis;
+import de.gsi.chart.renderer.ErrorStyle;
+import de.gsi.chart.ui.geometry.Side;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Benchmark of the data to screen coordinate transforms in {@link CachedDataPoints} (serial and parallel), i.e. the
+ * first stage of {@link ErrorDataSetRenderer#render}.
+ *
+ * @author rstein
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+public class CachedDataPointsBenchmark {
+    @Param({ "1000", "100000", "1000000" })
+    private int nSamples;
+
+    @Param({ "NONE", "ERRORCOMBO" })
+    private ErrorStyle errorStyle;
+
+    private DoubleErrorDataSet dataSet;
+    private Axis xAxis;
+    private Axis yAxis;
+
+    @Setup
+    public void setup() {
+        dataSet = new DoubleErrorDataSet("benchmark", nSamples);
+        for (int i = 0; i < nSamples; i++) {
+            dataSet.add(i, Math.sin(0.001 * i), 0.1, 0.1);
+        }
+        xAxis = new BenchmarkAxis(Side.BOTTOM, 0, nSamples, 1920);
+        yAxis = new BenchmarkAxis(Side.LEFT, -1.0, 1.0, 1080);
+    }
+
+    @Benchmark
+    public void screenCoordinates(final Blackhole blackhole) {
+        final CachedDataPoints points = new CachedDataPoints(0, nSamples, nSamples, true);
+        points.computeScreenCoordinates(xAxis, yAxis, dataSet, 0, 0, nSamples, errorStyle, false, false);
+        blackhole.consume(points.xValues);
+        blackhole.consume(points.yValues);
+        points.release();
+    }
+
+    @Benchmark
+    public void screenCoordinatesInParallel(final Blackhole blackhole) {
+        final CachedDataPoints points = new CachedDataPoints(0, nSamples, nSamples, true);
+        points.computeScreenCoordinatesInParallel(xAxis, yAxis, dataSet, 0, 0, nSamples, errorStyle, false, false);
+        blackhole.consume(points.xValues);
+        blackhole.consume(points.yValues);
+        points.release();
+    }
+}
@@ -0,0 +1,76 @@
+package de.gsi.chart.renderer.spi;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.gsi.bench.BenchmarkAxis;
+import de.gsi.chart.axes.AxisTransform;
+import de.gsi.chart.renderer.spi.utils.ColorGradient;
+import de.gsi.chart.ui.geometry.Side;
+
+/**
+ * Benchmark of the {@link ContourDataSetCache} z-value quantisation and colour look-up (i.e. the heat-map image
+ * generation of the {@link ContourDataSetRenderer} without the final JavaFX image write).
+ *
+ * @author rstein
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+public class ContourDataSetCacheBenchmark {
+    @Param({ "256", "1024", "2048" })
+    private int size; // width = height
+
+    @Param({ "32", "256" })
+    private int nQuant;
+
+    private AxisTransform zTransform;
+    private double[] zReference;
+    private double[] zData;
+    private int[] pixelBuffer;
+    private int[] lut;
+
+    @Setup
+    public void setup() {
+        final int length = size * size;
+        zReference = new double[length];
+        zData = new double[length];
+        pixelBuffer = new int[length];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                zReference[y * size + x] = Math.sin(0.05 * x) * Math.cos(0.05 * y);
+            }
+        }
+        lut = ColorGradient.RAINBOW.getColorLookupTable(nQuant);
+        zTransform = new BenchmarkAxis(Side.RIGHT, -1.0, +1.0, 1000).getAxisTransform();
+    }
+
+    @Benchmark
+    public double[] quantizeData() {
+        System.arraycopy(zReference, 0, zData, 0, zData.length);
+        ContourDataSetCache.quantizeData(zData, size, size, false, -1.0, +1.0, zTransform, nQuant);
+        return zData;
+    }
+
+    @Benchmark
+    public int[] quantizeAndFillPixelBuffer() {
+        System.arraycopy(zReference, 0, zData, 0, zData.length);
+        ContourDataSetCache.quantizeData(zData, size, size, false, -1.0, +1.0, zTransform, nQuant);
+        ContourDataSetCache.fillPixelBuffer(zData, size, size, 0, size, lut, nQuant, pixelBuffer);
+        return pixelBuffer;
+    }
+}
@@ -0,0 +1,92 @@
+package de.gsi.dataset.locks;
+
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Benchmark of the {@link DefaultDataSetLock} under contention: several reader threads (e.g. renderer, tool-tips,
+ * measurements) compete with a single writer thread (e.g. the acquisition) for the same data set.
+ *
+ * @author rstein
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+public class DataSetLockBenchmark {
+    private static final int N_SAMPLES = 1000;
+    private DoubleDataSet dataSet;
+    private int writeIndex;
+
+    @Setup
+    public void setup() {
+        dataSet = new DoubleDataSet("benchmark", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, i);
+        }
+        // no listeners -- only the lock itself should be measured
+        dataSet.autoNotification().set(false);
+    }
+
+    @Benchmark
+    @Group("uncontended")
+    @GroupThreads(1)
+    public double uncontendedRead() {
+        return dataSet.lock().readLockGuard(() -> {
+            return dataSet.get(DIM_Y, writeIndex);
+        });
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public double read() {
+        return dataSet.lock().readLockGuard(() -> {
+            return dataSet.get(DIM_Y, writeIndex);
+        });
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void write() {
+        // N.B. trivial modification -- DoubleDataSet#set(..) would also measure the limit re-computation
+        dataSet.lock().writeLockGuard(() -> {
+            writeIndex = (writeIndex + 1) % N_SAMPLES;
+        });
+    }
+
+    @Benchmark
+    @Group("readOptimistic")
+    @GroupThreads(3)
+    public double readOptimistic() {
+        return dataSet.lock().readLockGuardOptimistic(() -> {
+            return dataSet.get(DIM_Y, writeIndex);
+        });
+    }
+
+    @Benchmark
+    @Group("readOptimistic")
+    @GroupThreads(1)
+    public void writeOptimistic() {
+        write();
+    }
+}
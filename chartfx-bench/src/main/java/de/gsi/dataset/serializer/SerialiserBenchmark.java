@@ -0,0 +1,145 @@
+package de.gsi.dataset.serializer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.serializer.spi.FieldIndex;
+import de.gsi.dataset.serializer.spi.iobuffer.DataSetSerialiser;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Benchmark of {@link BinarySerialiser} primitive array and {@link DataSetSerialiser} round-trips (write followed by
+ * read) via a pre-allocated {@link FastByteBuffer}, decoding of compressed arrays (see
+ * {@link de.gsi.dataset.serializer.spi.GorillaCodec}) and single field look-ups with and without {@link FieldIndex}.
+ *
+ * @author rstein
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+public class SerialiserBenchmark {
+    @Param({ "1000", "100000" })
+    private int nSamples;
+
+    @Param({ "false", "true" })
+    private boolean asFloat;
+
+    private FastByteBuffer buffer;
+    private DoubleErrorDataSet dataSet;
+    private double[] values;
+
+    @Setup
+    public void setup() {
+        dataSet = new DoubleErrorDataSet("benchmark", nSamples);
+        values = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            values[i] = Math.sin(0.001 * i);
+            dataSet.add(i, values[i], 0.1, 0.1);
+        }
+        // 4 double arrays + meta data and headers
+        buffer = new FastByteBuffer(6 * nSamples * Double.BYTES + 100_000);
+    }
+
+    @Benchmark
+    public double[] doubleArrayRoundTrip() {
+        buffer.reset();
+        BinarySerialiser.put(buffer, "values", values);
+        buffer.reset();
+        final FieldHeader header = BinarySerialiser.getFieldHeader(buffer);
+        buffer.position(header.getDataBufferPosition());
+        return BinarySerialiser.getDoubleArray(buffer);
+    }
+
+    @Benchmark
+    public double[] compressedArrayDecode(final CompressedState state) {
+        state.buffer.position(state.dataPosition);
+        return BinarySerialiser.getDoubleArray(state.buffer, state.encoding);
+    }
+
+    @Benchmark
+    public DataSet compressedDataSetRoundTrip() {
+        buffer.reset();
+        DataSetSerialiser.writeDataSetToByteArray(dataSet, buffer, DataType.DOUBLE_ARRAY_DELTA,
+                DataType.DOUBLE_ARRAY_XOR);
+        buffer.reset();
+        return DataSetSerialiser.readDataSetFromByteArray(buffer);
+    }
+
+    @Benchmark
+    public String fieldIndexLookup(final IndexedState state) {
+        state.buffer.reset();
+        BinarySerialiser.checkHeaderInfo(state.buffer);
+        FieldIndex.read(state.buffer).seek(state.buffer, "dataSetName");
+        return state.buffer.getString();
+    }
+
+    @Benchmark
+    public String parsedFieldLookup(final IndexedState state) {
+        state.buffer.reset();
+        BinarySerialiser.checkHeaderInfo(state.buffer);
+        final FieldHeader root = BinarySerialiser.parseIoStream(state.buffer);
+        final FieldHeader fieldHeader = FieldHeader.findHeaderFor(root.getChildren(), "dataSetName").get();
+        state.buffer.position(fieldHeader.getDataBufferPosition());
+        return state.buffer.getString();
+    }
+
+    @Benchmark
+    public DataSet dataSetRoundTrip() {
+        buffer.reset();
+        DataSetSerialiser.writeDataSetToByteArray(dataSet, buffer, asFloat);
+        buffer.reset();
+        return DataSetSerialiser.readDataSetFromByteArray(buffer);
+    }
+
+    @State(Scope.Thread)
+    public static class IndexedState {
+        @Param({ "false", "true" })
+        private boolean indexed;
+        private final FastByteBuffer buffer = new FastByteBuffer();
+
+        @Setup
+        public void setup(final SerialiserBenchmark benchmark) {
+            DataSetSerialiser.setFieldIndexSerialised(indexed);
+            DataSetSerialiser.writeDataSetToByteArray(benchmark.dataSet, buffer, false);
+            DataSetSerialiser.setFieldIndexSerialised(false);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CompressedState {
+        @Param({ "DOUBLE_ARRAY", "DOUBLE_ARRAY_XOR", "DOUBLE_ARRAY_DELTA" })
+        private DataType encoding;
+        private final FastByteBuffer buffer = new FastByteBuffer();
+        private long dataPosition;
+
+        @Setup
+        public void setup(final SerialiserBenchmark benchmark) {
+            // digitised (quantised) slowly varying signal, decode throughput: nSamples * 8 bytes / time
+            final double[] signal = new double[benchmark.nSamples];
+            for (int i = 0; i < signal.length; i++) {
+                signal[i] = Math.round(32000 * benchmark.values[i]) / 65536.0;
+            }
+            BinarySerialiser.put(buffer, "values", signal, new int[] { signal.length }, encoding);
+            buffer.reset();
+            dataPosition = BinarySerialiser.getFieldHeader(buffer).getDataBufferPosition();
+        }
+    }
+}
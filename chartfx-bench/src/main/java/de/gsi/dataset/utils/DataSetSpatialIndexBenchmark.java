@@ -0,0 +1,88 @@
+package de.gsi.dataset.utils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Benchmark of the {@link DataSetSpatialIndex} queries used for the nearest-point picking (small picking rectangle)
+ * and rubber-band selections (large rectangle) on unsorted scatter data, compared to a linear scan.
+ *
+ * @author rstein
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+public class DataSetSpatialIndexBenchmark {
+    @Param({ "100000", "1000000" })
+    private int nSamples;
+
+    private DoubleDataSet dataSet;
+    private DataSetSpatialIndex index;
+    private final Random rnd = new Random(42);
+    private int count;
+
+    @Setup
+    public void setup() {
+        final double[] x = new double[nSamples];
+        final double[] y = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            x[i] = rnd.nextGaussian();
+            y[i] = rnd.nextGaussian();
+        }
+        dataSet = new DoubleDataSet("scatter", x, y, nSamples, false);
+        index = new DataSetSpatialIndex();
+        dataSet.addListener(index);
+        index.forEachInRange(dataSet, 0, 0, 0, 0, i -> count++); // initial build
+    }
+
+    @Benchmark
+    public int pickLinearScan() {
+        count = 0;
+        final double x0 = rnd.nextGaussian();
+        final double y0 = rnd.nextGaussian();
+        for (int i = 0; i < nSamples; i++) {
+            final double x = dataSet.get(DataSet.DIM_X, i);
+            final double y = dataSet.get(DataSet.DIM_Y, i);
+            if (x >= x0 && x <= x0 + 0.01 && y >= y0 && y <= y0 + 0.01) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int pickSpatialIndex() {
+        count = 0;
+        final double x0 = rnd.nextGaussian();
+        final double y0 = rnd.nextGaussian();
+        index.forEachInRange(dataSet, x0, x0 + 0.01, y0, y0 + 0.01, i -> count++);
+        return count;
+    }
+
+    @Benchmark
+    public int selectSpatialIndex() {
+        count = 0;
+        final double x0 = rnd.nextGaussian();
+        final double y0 = rnd.nextGaussian();
+        index.forEachInRange(dataSet, x0, x0 + 0.2, y0, y0 + 0.2, i -> count++);
+        return count;
+    }
+}
@@ -0,0 +1,84 @@
+package de.gsi.dataset.utils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.gsi.chart.plugins.measurements.utils.SimpleDataSetEstimators;
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Benchmark of the {@link DataSetStatisticsIndex} range queries used by the measurement indicators compared to the
+ * re-scanning {@link SimpleDataSetEstimators}, for random index ranges on a static data set.
+ *
+ * @author rstein
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+public class DataSetStatisticsIndexBenchmark {
+    @Param({ "100000", "1000000" })
+    private int nSamples;
+
+    private DoubleDataSet dataSet;
+    private DataSetStatisticsIndex index;
+    private final Random rnd = new Random(42);
+
+    @Setup
+    public void setup() {
+        final double[] x = new double[nSamples];
+        final double[] y = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            x[i] = i;
+            y[i] = rnd.nextGaussian();
+        }
+        dataSet = new DoubleDataSet("data", x, y, nSamples, false);
+        index = new DataSetStatisticsIndex();
+        dataSet.addListener(index);
+        index.getMedian(dataSet, 0, nSamples); // initial build
+    }
+
+    @Benchmark
+    public double meanEstimator() {
+        final int from = rnd.nextInt(nSamples / 2);
+        return SimpleDataSetEstimators.getMean(dataSet, from, from + nSamples / 2);
+    }
+
+    @Benchmark
+    public double meanIndex() {
+        final int from = rnd.nextInt(nSamples / 2);
+        return index.getMean(dataSet, from, from + nSamples / 2);
+    }
+
+    @Benchmark
+    public double medianEstimator() {
+        final int from = rnd.nextInt(nSamples / 2);
+        return SimpleDataSetEstimators.getMedian(dataSet, from, from + nSamples / 2);
+    }
+
+    @Benchmark
+    public double medianIndex() {
+        final int from = rnd.nextInt(nSamples / 2);
+        return index.getMedian(dataSet, from, from + nSamples / 2);
+    }
+
+    @Benchmark
+    public double minimumIndex() {
+        final int from = rnd.nextInt(nSamples / 2);
+        return index.getMinimum(dataSet, from, from + nSamples / 2);
+    }
+}
@@ -0,0 +1,86 @@
+package de.gsi.math;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+import de.gsi.math.DataSetMath.Filter;
+import de.gsi.math.spectra.Apodization;
+import de.gsi.math.spectra.fft.DoubleFFT_1D;
+import de.gsi.math.spectra.fft.FFTPlanCache;
+
+/**
+ * Benchmark of the {@link DataSetMath} sliding-window filters and magnitude spectra as well as of the raw FFT.
+ *
+ * @author rstein
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+public class DataSetMathBenchmark {
+    private static final double FILTER_WIDTH = 20.0; // in units of samples
+
+    @Param({ "1024", "65536", "1000000" })
+    private int nSamples;
+
+    private DataSet dataSet;
+    private DoubleErrorDataSet spectrum;
+    private double[] fftData;
+    private double[] fftWork;
+
+    @Setup
+    public void setup() {
+        final TRandom rnd = new TRandom(0);
+        final DoubleErrorDataSet signal = new DoubleErrorDataSet("signal", nSamples);
+        fftData = new double[nSamples];
+        fftWork = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            fftData[i] = Math.sin(0.01 * i) + 0.1 * rnd.Gaus(0.0, 1.0);
+            signal.add(i, fftData[i], 0.0, 0.0);
+        }
+        dataSet = signal;
+        spectrum = new DoubleErrorDataSet("spectrum");
+    }
+
+    @Benchmark
+    public DataSet filterFunction(final FilterType filterType) {
+        return DataSetMath.filterFunction(dataSet, FILTER_WIDTH, filterType.filter);
+    }
+
+    @Benchmark
+    public DataSet magnitudeSpectrum() {
+        return DataSetMath.magnitudeSpectrum(dataSet, Apodization.Hann, false, false, spectrum);
+    }
+
+    @Benchmark
+    public double[] realForwardFFT() {
+        System.arraycopy(fftData, 0, fftWork, 0, nSamples);
+        final DoubleFFT_1D fft = FFTPlanCache.getDoubleFFT_1D(nSamples);
+        fft.realForward(fftWork);
+        return fftWork;
+    }
+
+    /**
+     * separate state so that the filter type parameter applies only to the filter benchmark
+     */
+    @State(Scope.Thread)
+    public static class FilterType {
+        @Param({ "MEAN", "MEDIAN", "MAX", "RMS" })
+        private Filter filter;
+    }
+}
@@ -80,6 +80,7 @@ import de.gsi.chart.ui.geometry.Corner;
 import de.gsi.chart.ui.geometry.Side;
 import de.gsi.chart.utils.FXUtils;
 import de.gsi.dataset.DataSet;
+import de.gsi.dataset.event.CoalescingEventListener;
 import de.gsi.dataset.event.EventListener;
 import de.gsi.dataset.utils.AssertUtils;
 import de.gsi.dataset.utils.NoDuplicatesList;
@@ -100,6 +101,7 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
     private static final Logger LOGGER = LoggerFactory.getLogger(Chart.class);
     private static final String CHART_CSS = Chart.class.getResource("chart.css").toExternalForm();
     private static final int DEFAULT_TRIGGER_DISTANCE = 50;
+    private static final int DATASET_UPDATE_PERIOD = 20; // [ms] max. rate at which data set updates trigger a redraw
     protected static boolean DEBUG; // for more verbose debugging
 
     protected BooleanBinding showingBinding;
@@ -185,7 +187,8 @@ public abstract class Chart extends HiddenSidesPane implements Observable {
     protected final ListChangeListener<Axis> axesChangeListenerLocal = this::axesChangedLocal;
     protected final ListChangeListener<Axis> axesChangeListener = this::axesChanged;
     protected final ListChangeListener<DataSet> datasetChangeListener = this::datasetsChanged;
-    protected final EventListener dataSetDataListener = obs -> FXUtils.runFX(this::dataSetInvalidated);
+    protected final EventListener dataSetDataListener = new CoalescingEventListener(
+            obs -> FXUtils.runFX(this::dataSetInvalidated), DATASET_UPDATE_PERIOD);
     protected final ListChangeListener<ChartPlugin> pluginsChangedListener = this::pluginsChanged;
     protected final ChangeListener<? super Window> windowPropertyListener = (ch1, oldWindow, newWindow) -> {
         if (oldWindow != null) {
@@ -0,0 +1,226 @@
+package de.gsi.chart;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javafx.scene.CacheHint;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+
+import de.gsi.chart.renderer.Renderer;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.event.EventListener;
+
+/**
+ * Per-renderer canvas layers used by {@link XYChart#layerCachingProperty()}: each renderer draws onto its own canvas
+ * layer stacked above the chart canvas and only layers whose data sets (i.e. the chart's or the renderer's) notified an
+ * update are re-drawn. All layers are re-drawn if the geometry (axes, canvas size, polar settings) changed or if the
+ * cache has been invalidated via {@link #invalidate()} (e.g. by renderer or style property changes).
+ * <p>
+ * N.B. to be used from the JavaFX application thread only (data set listeners may be notified from any thread)
+ *
+ * @author rstein
+ */
+class RendererLayerCache {
+    private final Canvas canvas;
+    private final Map<Renderer, RendererLayer> rendererLayers = new IdentityHashMap<>();
+    private RendererLayer gridOnTopLayer;
+    private double[] geometry = new double[0];
+    private boolean invalidated = true;
+
+    /**
+     * @param canvas the chart canvas the layers are stacked on
+     */
+    RendererLayerCache(final Canvas canvas) {
+        this.canvas = canvas;
+    }
+
+    /**
+     * removes all layers from the given parent and releases the data set listeners
+     *
+     * @param parent the pane holding the chart canvas and layers (may be null)
+     */
+    void clear(final Pane parent) {
+        rendererLayers.values().forEach(layer -> layer.dispose(parent));
+        rendererLayers.clear();
+        if (gridOnTopLayer != null) {
+            gridOnTopLayer.dispose(parent);
+            gridOnTopLayer = null;
+        }
+        geometry = new double[0];
+        invalidated = true;
+    }
+
+    /**
+     * marks all layers to be re-drawn on the next {@link #redraw}, i.e. for any change that is not a data set update
+     */
+    void invalidate() {
+        invalidated = true;
+    }
+
+    /**
+     * Re-draws the invalidated layers.
+     *
+     * @param parent the pane holding the chart canvas (and the layers stacked above it)
+     * @param newGeometry the canvas size, polar settings and axes' ranges, lengths or types (all layers are re-drawn if
+     *        they changed since the last call)
+     * @param renderers the renderers to be drawn (layers of other renderers are removed)
+     * @param chartDataSets data sets attached to the chart
+     * @param painter the functions drawing the grid and renderers
+     * @return {@code true} if all layers have been re-drawn
+     */
+    boolean redraw(final Pane parent, final double[] newGeometry, final List<Renderer> renderers,
+            final List<DataSet> chartDataSets, final LayerPainter painter) {
+        final boolean redrawAll = invalidated || !Arrays.equals(geometry, newGeometry);
+        invalidated = false;
+        geometry = newGeometry;
+
+        if (redrawAll) {
+            final GraphicsContext gc = canvas.getGraphicsContext2D();
+            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            painter.paintBackground(gc);
+        }
+
+        // remove layers of renderers that are no longer attached to the chart
+        final Set<Renderer> activeRenderers = Collections.newSetFromMap(new IdentityHashMap<>());
+        activeRenderers.addAll(renderers);
+        rendererLayers.entrySet().removeIf(entry -> {
+            if (activeRenderers.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().dispose(parent);
+            return true;
+        });
+
+        int layerIndex = parent.getChildren().indexOf(canvas) + 1;
+        int dataSetOffset = 0;
+        for (final Renderer renderer : renderers) {
+            final RendererLayer layer = rendererLayers.computeIfAbsent(renderer, r -> new RendererLayer());
+            layer.attach(parent, layerIndex++);
+            final boolean dataSetsChanged = layer.updateDataSets(chartDataSets, renderer.getDatasets());
+            final boolean dirty = layer.dirty.getAndSet(false);
+            if (redrawAll || dirty || dataSetsChanged || layer.dataSetOffset != dataSetOffset) {
+                painter.paintRenderer(layer.clear(), renderer, dataSetOffset);
+                layer.dataSetOffset = dataSetOffset;
+            }
+            dataSetOffset += chartDataSets.size() + renderer.getDatasets().size();
+        }
+
+        if (gridOnTopLayer == null) {
+            gridOnTopLayer = new RendererLayer();
+        }
+        gridOnTopLayer.attach(parent, layerIndex);
+        if (redrawAll) {
+            painter.paintForeground(gridOnTopLayer.clear());
+        }
+        return redrawAll;
+    }
+
+    /**
+     * functions drawing onto the chart canvas and layers
+     */
+    interface LayerPainter {
+        /**
+         * @param gc the cleared chart canvas (below all renderer layers), e.g. for the grid
+         */
+        void paintBackground(GraphicsContext gc);
+
+        /**
+         * @param gc the cleared top layer (above all renderer layers), e.g. for the grid drawn on top
+         */
+        void paintForeground(GraphicsContext gc);
+
+        /**
+         * @param gc the cleared layer of the renderer
+         * @param renderer the renderer to be drawn
+         * @param dataSetOffset global offset of the data set index (styling)
+         */
+        void paintRenderer(GraphicsContext gc, Renderer renderer, int dataSetOffset);
+    }
+
+    /**
+     * canvas layer of a single renderer that is invalidated by updates of the data sets drawn onto it
+     */
+    private class RendererLayer {
+        private final Canvas layerCanvas = new Canvas();
+        private final AtomicBoolean dirty = new AtomicBoolean(true);
+        private final EventListener dataSetListener = evt -> dirty.set(true);
+        private final List<DataSet> dataSets = new ArrayList<>();
+        private int dataSetOffset = -1;
+
+        private RendererLayer() {
+            layerCanvas.setManaged(false);
+            layerCanvas.setMouseTransparent(true);
+            layerCanvas.setCache(true);
+            layerCanvas.setCacheHint(CacheHint.QUALITY);
+        }
+
+        private void attach(final Pane parent, final int index) {
+            final List<Node> children = parent.getChildren();
+            if (index >= children.size() || children.get(index) != layerCanvas) {
+                children.remove(layerCanvas);
+                children.add(Math.min(index, children.size()), layerCanvas);
+            }
+            layerCanvas.relocate(canvas.getLayoutX(), canvas.getLayoutY());
+            if (layerCanvas.getWidth() != canvas.getWidth() || layerCanvas.getHeight() != canvas.getHeight()) {
+                layerCanvas.setWidth(canvas.getWidth());
+                layerCanvas.setHeight(canvas.getHeight());
+                dirty.set(true);
+            }
+        }
+
+        private GraphicsContext clear() {
+            final GraphicsContext gc = layerCanvas.getGraphicsContext2D();
+            gc.clearRect(0, 0, layerCanvas.getWidth(), layerCanvas.getHeight());
+            return gc;
+        }
+
+        private void dispose(final Pane parent) {
+            dataSets.forEach(ds -> ds.removeListener(dataSetListener));
+            dataSets.clear();
+            if (parent != null) {
+                parent.getChildren().remove(layerCanvas);
+            }
+        }
+
+        /**
+         * @param chartDataSets data sets attached to the chart
+         * @param rendererDataSets data sets attached to the renderer
+         * @return true if the list of data sets drawn by this layer changed
+         */
+        private boolean updateDataSets(final List<DataSet> chartDataSets, final List<DataSet> rendererDataSets) {
+            final List<DataSet> newDataSets = new ArrayList<>(chartDataSets.size() + rendererDataSets.size());
+            newDataSets.addAll(chartDataSets);
+            newDataSets.addAll(rendererDataSets);
+            if (isSameInstances(newDataSets, dataSets)) {
+                return false;
+            }
+            dataSets.forEach(ds -> ds.removeListener(dataSetListener));
+            dataSets.clear();
+            dataSets.addAll(newDataSets);
+            dataSets.forEach(ds -> ds.addListener(dataSetListener));
+            return true;
+        }
+
+        private boolean isSameInstances(final List<DataSet> list1, final List<DataSet> list2) {
+            // N.B. identity check -- DataSet::equals compares the (possibly large) data content
+            if (list1.size() != list2.size()) {
+                return false;
+            }
+            for (int i = 0; i < list1.size(); i++) {
+                if (list1.get(i) != list2.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -4,12 +4,8 @@ import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -22,7 +18,7 @@ import javafx.collections.ObservableList;
 import javafx.geometry.Orientation;
 import javafx.scene.Node;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.util.Duration;
+import javafx.scene.layout.Pane;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +30,7 @@ import de.gsi.chart.renderer.spi.ErrorDataSetRenderer;
 import de.gsi.chart.renderer.spi.GridRenderer;
 import de.gsi.chart.renderer.spi.LabelledMarkerRenderer;
 import de.gsi.chart.ui.geometry.Side;
+import de.gsi.chart.utils.ChartRenderScheduler;
 import de.gsi.chart.utils.FXUtils;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet3D;
@@ -52,14 +49,39 @@ import de.gsi.dataset.utils.AssertUtils;
  */
 public class XYChart extends Chart {
     private static final Logger LOGGER = LoggerFactory.getLogger(XYChart.class);
+    /**
+     * @deprecated redraws are throttled by the frame budget of the {@link ChartRenderScheduler}
+     */
+    @Deprecated
     protected static final int BURST_LIMIT_MS = 15;
     protected BooleanProperty polarPlot = new SimpleBooleanProperty(this, "polarPlot", false);
     private final ObjectProperty<PolarTickStep> polarStepSize = new SimpleObjectProperty<>(PolarTickStep.THIRTY);
     private final GridRenderer gridRenderer = new GridRenderer();
     protected final ChangeListener<? super Boolean> gridLineVisibilitychange = (ob, o, n) -> requestLayout();
-    private long lastCanvasUpdate;
-    private boolean callCanvasUpdateLater;
     private final ChangeListener<Side> axisSideChangeListener = this::axisSideChanged;
+    private final BooleanProperty layerCaching = new SimpleBooleanProperty(this, "layerCaching", false);
+    private final RendererLayerCache layerCache = new RendererLayerCache(canvas);
+    private final RendererLayerCache.LayerPainter layerPainter = new RendererLayerCache.LayerPainter() {
+        @Override
+        public void paintBackground(final GraphicsContext gc) {
+            if (!gridRenderer.isDrawOnTop()) {
+                gridRenderer.render(gc, XYChart.this, 0, null);
+            }
+        }
+
+        @Override
+        public void paintForeground(final GraphicsContext gc) {
+            if (gridRenderer.isDrawOnTop()) {
+                gridRenderer.render(gc, XYChart.this, 0, null);
+            }
+        }
+
+        @Override
+        public void paintRenderer(final GraphicsContext gc, final Renderer renderer, final int dataSetOffset) {
+            renderer.render(gc, XYChart.this, dataSetOffset, getDatasets());
+        }
+    };
+    private boolean isDataSetInvalidation;
 
     public XYChart() {
         this(null, null);
@@ -94,6 +116,10 @@ public class XYChart extends Chart {
 
         this.setAnimated(false);
         getRenderers().addListener(this::rendererChanged);
+        layerCaching.addListener((ch, o, n) -> {
+            layerCache.clear(canvas.getParent() instanceof Pane ? (Pane) canvas.getParent() : null);
+            requestLayout();
+        });
 
         getRenderers().add(new ErrorDataSetRenderer());
     }
@@ -173,6 +199,14 @@ public class XYChart extends Chart {
         return horizontalGridLinesVisibleProperty().get();
     }
 
+    /**
+     * @return true if each renderer is drawn onto its own cached canvas layer
+     * @see #layerCachingProperty()
+     */
+    public final boolean isLayerCaching() {
+        return layerCachingProperty().get();
+    }
+
     /**
      * whether renderer should use polar coordinates (x -&gt; interpreted as phi, y as radial coordinate)
      *
@@ -191,6 +225,21 @@ public class XYChart extends Chart {
         return verticalGridLinesVisibleProperty().get();
     }
 
+    /**
+     * Enables the per-renderer layer cache: each renderer draws onto its own canvas layer stacked above the chart
+     * canvas and only layers whose data sets (i.e. the chart's or the renderer's) notified an update are re-drawn. All
+     * layers are re-drawn if the axes, canvas size or polar settings changed, or if a layout has been requested for
+     * anything else than a data set update (e.g. renderer or style property changes) since the last redraw.
+     * <p>
+     * N.B. this is most effective if frequently updated data sets are attached to a different renderer than the (many)
+     * static ones and the chart's own data set list is kept empty.
+     *
+     * @return layer caching property (default: false)
+     */
+    public final BooleanProperty layerCachingProperty() {
+        return layerCaching;
+    }
+
     /**
      * Sets whether renderer should use polar coordinates (x -&gt; interpreted as phi, y as radial coordinate)
      *
@@ -213,6 +262,16 @@ public class XYChart extends Chart {
         horizontalGridLinesVisibleProperty().set(value);
     }
 
+    /**
+     * @param state true: each renderer is drawn onto its own cached canvas layer
+     * @return itself (fluent design)
+     * @see #layerCachingProperty()
+     */
+    public final XYChart setLayerCaching(final boolean state) {
+        layerCachingProperty().set(state);
+        return this;
+    }
+
     /**
      * Sets whether renderer should use polar coordinates (x -&gt; interpreted as phi, y as radial coordinate)
      *
@@ -393,61 +452,90 @@ public class XYChart extends Chart {
         return retVal;
     }
 
+    @Override
+    public void requestLayout() {
+        if (layerCache != null && !isDataSetInvalidation && !layoutOngoing) {
+            // N.B. any layout request that is not due to a data set update (e.g. renderer or style property changes)
+            // invalidates all cached renderer layers
+            layerCache.invalidate();
+        }
+        super.requestLayout();
+    }
+
+    @Override
+    protected void dataSetInvalidated() {
+        isDataSetInvalidation = true;
+        try {
+            super.dataSetInvalidated();
+        } finally {
+            isDataSetInvalidation = false;
+        }
+    }
+
     @Override
     protected void redrawCanvas() {
         if (DEBUG && LOGGER.isDebugEnabled()) {
             LOGGER.debug("   xychart redrawCanvas() - pre");
         }
-        setAutoNotification(false);
         FXUtils.assertJavaFxThread();
-        final long now = System.nanoTime();
-        final double diffMillisSinceLastUpdate = TimeUnit.NANOSECONDS.toMillis(now - lastCanvasUpdate);
-        if (diffMillisSinceLastUpdate < XYChart.BURST_LIMIT_MS) {
-            if (!callCanvasUpdateLater) {
-                callCanvasUpdateLater = true;
-                // repaint 20 ms later in case this was just a burst operation
-                final KeyFrame kf1 = new KeyFrame(Duration.millis(20), e -> requestLayout());
-
-                final Timeline timeline = new Timeline(kf1);
-                Platform.runLater(timeline::play);
-            }
-
+        if (!ChartRenderScheduler.beginRender(this)) {
+            // frame budget exhausted or chart not visible -> re-requested by the scheduler
             return;
         }
-        if (DEBUG && LOGGER.isDebugEnabled()) {
-            LOGGER.debug("   xychart redrawCanvas() - executing");
-            LOGGER.debug("   xychart redrawCanvas() - canvas size = {}",
-                    String.format("%fx%f", canvas.getWidth(), canvas.getHeight()));
-        }
+        setAutoNotification(false);
+        try {
+            if (DEBUG && LOGGER.isDebugEnabled()) {
+                LOGGER.debug("   xychart redrawCanvas() - executing");
+                LOGGER.debug("   xychart redrawCanvas() - canvas size = {}",
+                        String.format("%fx%f", canvas.getWidth(), canvas.getHeight()));
+            }
 
-        lastCanvasUpdate = now;
-        callCanvasUpdateLater = false;
+            if (isLayerCaching() && canvas.getParent() instanceof Pane) {
+                redrawRendererLayers((Pane) canvas.getParent());
+                return;
+            }
 
-        final GraphicsContext gc = canvas.getGraphicsContext2D();
-        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            final GraphicsContext gc = canvas.getGraphicsContext2D();
+            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
 
-        if (!gridRenderer.isDrawOnTop()) {
-            gridRenderer.render(gc, this, 0, null);
-        }
+            if (!gridRenderer.isDrawOnTop()) {
+                gridRenderer.render(gc, this, 0, null);
+            }
 
-        int dataSetOffset = 0;
-        for (final Renderer renderer : getRenderers()) {
-            // check for and add required axes
-            checkRendererForRequiredAxes(renderer);
+            int dataSetOffset = 0;
+            for (final Renderer renderer : getRenderers()) {
+                // check for and add required axes
+                checkRendererForRequiredAxes(renderer);
 
-            renderer.render(gc, this, dataSetOffset, getDatasets());
-            dataSetOffset += getDatasets().size() + renderer.getDatasets().size();
-        }
+                renderer.render(gc, this, dataSetOffset, getDatasets());
+                dataSetOffset += getDatasets().size() + renderer.getDatasets().size();
+            }
 
-        if (gridRenderer.isDrawOnTop()) {
-            gridRenderer.render(gc, this, 0, null);
+            if (gridRenderer.isDrawOnTop()) {
+                gridRenderer.render(gc, this, 0, null);
+            }
+        } finally {
+            setAutoNotification(true);
+            ChartRenderScheduler.endRender(this);
         }
-        setAutoNotification(true);
         if (DEBUG && LOGGER.isDebugEnabled()) {
             LOGGER.debug("   xychart redrawCanvas() - done");
         }
     }
 
+    /**
+     * Re-draws only the invalidated renderer layers, see {@link #layerCachingProperty()} for details.
+     *
+     * @param parent the pane holding the chart canvas (and the layers stacked above it)
+     */
+    protected void redrawRendererLayers(final Pane parent) {
+        for (final Renderer renderer : getRenderers()) {
+            // check for and add required axes
+            checkRendererForRequiredAxes(renderer);
+        }
+        layerCache.redraw(parent, getLayerGeometry(), getRenderers(), getDatasets(), layerPainter);
+    }
+
     protected void rendererChanged(final ListChangeListener.Change<? extends Renderer> change) {
         FXUtils.assertJavaFxThread();
         super.rendererChanged(change);
@@ -538,4 +626,27 @@ public class XYChart extends Chart {
         }
         axis.autoNotification().set(oldAutoState);
     }
+
+    /**
+     * @return the canvas size, polar settings and all axes' ranges, lengths and types -- all renderer layers are re-drawn
+     *         if these change
+     */
+    private double[] getLayerGeometry() {
+        final int nAxisParameter = 6;
+        final double[] geometry = new double[4 + nAxisParameter * getAxes().size()];
+        geometry[0] = canvas.getWidth();
+        geometry[1] = canvas.getHeight();
+        geometry[2] = isPolarPlot() ? 1.0 : 0.0;
+        geometry[3] = getPolarStepSize() == null ? -1 : getPolarStepSize().ordinal();
+        int index = 4;
+        for (final Axis axis : getAxes()) {
+            geometry[index++] = axis.getMin();
+            geometry[index++] = axis.getMax();
+            geometry[index++] = axis.getLength();
+            geometry[index++] = axis.isInvertedAxis() ? 1.0 : 0.0;
+            geometry[index++] = axis.isLogAxis() ? 1.0 : 0.0;
+            geometry[index++] = axis.getSide() == null ? -1 : axis.getSide().ordinal();
+        }
+        return geometry;
+    }
 }
@@ -75,6 +75,23 @@ public interface Axis extends AxisDescription, EventSource {
      */
     double getDisplayPosition(double value);
 
+    /**
+     * Bulk version of {@link #getDisplayPosition(double)} converting a range of data values in one tight loop, e.g.
+     * for renderers transforming all visible points of a data set (N.B. values and result may be the same array for
+     * in-place conversions).
+     *
+     * @param values the data values to work out the display positions for
+     * @param result display positions, the display position of values[i] is stored in result[i]
+     * @param fromIndex start index (inclusive)
+     * @param toIndex end index (exclusive)
+     */
+    default void getDisplayPositions(final double[] values, final double[] result, final int fromIndex,
+            final int toIndex) {
+        for (int index = fromIndex; index < toIndex; index++) {
+            result[index] = getDisplayPosition(values[index]);
+        }
+    }
+
     double getHeight();
 
     /**
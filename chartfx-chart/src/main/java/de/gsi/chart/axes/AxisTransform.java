@@ -23,6 +23,21 @@ public interface AxisTransform {
      */
     double forward(double val);
 
+    /**
+     * bulk forward transform of the given range, e.g. to transform all points of a data set in one tight loop
+     * (N.B. input and output may be the same array for in-place transforms)
+     *
+     * @param input input values
+     * @param output output values, the transformed value of input[i] is stored in output[i]
+     * @param fromIndex start index (inclusive)
+     * @param toIndex end index (exclusive)
+     */
+    default void forward(final double[] input, final double[] output, final int fromIndex, final int toIndex) {
+        for (int index = fromIndex; index < toIndex; index++) {
+            output[index] = forward(input[index]);
+        }
+    }
+
     double getMaximumRange();
 
     double getMinimumRange();
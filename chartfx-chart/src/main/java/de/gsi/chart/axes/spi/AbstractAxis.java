@@ -294,6 +294,17 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
         return cachedOffset + ((value - currentLowerBound.get()) * getScale());
     }
 
+    @Override
+    public void getDisplayPositions(final double[] values, final double[] result, final int fromIndex,
+            final int toIndex) {
+        final double localOffset = cachedOffset;
+        final double localLowerBound = currentLowerBound.get();
+        final double localScale = getScale();
+        for (int index = fromIndex; index < toIndex; index++) {
+            result[index] = localOffset + ((values[index] - localLowerBound) * localScale);
+        }
+    }
+
     public GraphicsContext getGraphicsContext() {
         return canvas.getGraphicsContext2D();
     }
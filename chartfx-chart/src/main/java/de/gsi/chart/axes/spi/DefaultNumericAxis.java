@@ -212,6 +212,40 @@ public class DefaultNumericAxis extends AbstractAxis implements Axis {
         return getDisplayPositionImpl(value);
     }
 
+    @Override
+    public void getDisplayPositions(final double[] values, final double[] result, final int fromIndex,
+            final int toIndex) {
+        // same as getDisplayPosition(double) with the axis type branches hoisted out of the loops
+        final double localOffset = offset;
+        if (isLogAxis) {
+            axisTransform.forward(values, result, fromIndex, toIndex);
+            final double lowerBoundLog = cache.lowerBoundLog;
+            final double logScaleLengthInv = cache.logScaleLengthInv;
+            final double axisHeight = cache.axisHeight;
+            final boolean isVerticalAxis = cache.isVerticalAxis;
+            final boolean isInverted = isInvertedAxis;
+            for (int index = fromIndex; index < toIndex; index++) {
+                final double valueLogOffset = result[index] - lowerBoundLog;
+                final double position = isVerticalAxis ? axisHeight - valueLogOffset * logScaleLengthInv
+                                                       : valueLogOffset * logScaleLengthInv;
+                result[index] = isInverted ? localOffset - position : position;
+            }
+            return;
+        }
+
+        final double localOffset2 = cache.localOffset2;
+        final double localScale = cache.localScale;
+        if (isInvertedAxis) {
+            for (int index = fromIndex; index < toIndex; index++) {
+                result[index] = localOffset - (localOffset2 + values[index] * localScale);
+            }
+            return;
+        }
+        for (int index = fromIndex; index < toIndex; index++) {
+            result[index] = localOffset2 + values[index] * localScale;
+        }
+    }
+
     /**
      * Returns the value of the {@link #logarithmBaseProperty()}.
      *
@@ -212,6 +212,17 @@ public class LinearAxis extends AbstractAxis {
         return cache.localOffset + (value - cache.localCurrentLowerBound) * cache.localScale;
     }
 
+    @Override
+    public void getDisplayPositions(final double[] values, final double[] result, final int fromIndex,
+            final int toIndex) {
+        final double localOffset = cache.localOffset;
+        final double localCurrentLowerBound = cache.localCurrentLowerBound;
+        final double localScale = cache.localScale;
+        for (int index = fromIndex; index < toIndex; index++) {
+            result[index] = localOffset + (values[index] - localCurrentLowerBound) * localScale;
+        }
+    }
+
     /**
      * @return the log axis Type @see LogAxisType
      */
@@ -151,6 +151,21 @@ public class LogarithmicAxis extends AbstractAxis {
         return valueLogOffset * cache.logScaleLengthInv;
     }
 
+    @Override
+    public void getDisplayPositions(final double[] values, final double[] result, final int fromIndex,
+            final int toIndex) {
+        final double logBase = cache.logBase;
+        final double lowerBoundLog = cache.lowerBoundLog;
+        final double logScaleLengthInv = cache.logScaleLengthInv;
+        final double base = cache.isVerticalAxis ? cache.axisHeight : 0.0;
+        final double scale = cache.isVerticalAxis ? -logScaleLengthInv : logScaleLengthInv;
+        for (int index = fromIndex; index < toIndex; index++) {
+            final double value = values[index];
+            final double logValue = value <= 0 ? Double.NaN : Math.log10(value) / logBase;
+            result[index] = base + (logValue - lowerBoundLog) * scale;
+        }
+    }
+
     /**
      * Returns the value of the {@link #logarithmBaseProperty()}.
      *
@@ -245,6 +245,17 @@ public final class NumericAxis extends AbstractAxis {
         return localOffset + (value - localCurrentLowerBound) * localScale;
     }
 
+    @Override
+    public void getDisplayPositions(final double[] values, final double[] result, final int fromIndex,
+            final int toIndex) {
+        final double offset = localOffset;
+        final double lowerBound = localCurrentLowerBound;
+        final double scale = localScale;
+        for (int index = fromIndex; index < toIndex; index++) {
+            result[index] = offset + (values[index] - lowerBound) * scale;
+        }
+    }
+
     @Override
     public LogAxisType getLogAxisType() {
         return LogAxisType.LINEAR_SCALE;
@@ -23,6 +23,14 @@ public class DefaultAxisTransform extends AbstractAxisTransform {
         return val;
     }
 
+    @Override
+    public void forward(final double[] input, final double[] output, final int fromIndex, final int toIndex) {
+        // N.B. identity transform -- derived classes overriding forward(double) need to override this method as well
+        if (input != output && toIndex > fromIndex) {
+            System.arraycopy(input, fromIndex, output, fromIndex, toIndex - fromIndex);
+        }
+    }
+
     @Override
     public double getRoundedMaximumRange(final double max) {
         return Math.floor(max);
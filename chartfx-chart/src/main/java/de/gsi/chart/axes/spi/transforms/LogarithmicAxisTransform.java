@@ -47,6 +47,17 @@ public class LogarithmicAxisTransform extends AbstractAxisTransform {
         return log(val);
     }
 
+    @Override
+    public void forward(final double[] input, final double[] output, final int fromIndex, final int toIndex) {
+        // N.B. same as log(double), hoisted for the JIT -- derived classes overriding forward(double) need to override
+        // this method as well
+        final double logBase = logBaseCache;
+        for (int index = fromIndex; index < toIndex; index++) {
+            final double value = input[index];
+            output[index] = value <= 0 ? Double.NaN : Math.log10(value) / logBase;
+        }
+    }
+
     /**
      * Returns the value of the {@link #logarithmBaseProperty()}.
      *
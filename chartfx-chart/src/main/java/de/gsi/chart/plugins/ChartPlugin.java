@@ -1,7 +1,11 @@
 package de.gsi.chart.plugins;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
@@ -23,7 +27,9 @@ import org.slf4j.LoggerFactory;
 import de.gsi.chart.Chart;
 import de.gsi.chart.XYChart;
 import de.gsi.chart.axes.Axis;
+import de.gsi.dataset.DataSet;
 import de.gsi.dataset.spi.utils.Tuple;
+import de.gsi.dataset.utils.DataSetSpatialIndex;
 
 /**
  * Represents an add-on to a Chart that can either annotate/decorate the chart or perform some interactions with it.
@@ -53,6 +59,9 @@ public abstract class ChartPlugin {
     // bar
     private final BooleanProperty addButtonsToToolBar = new SimpleBooleanProperty(this, "addButtonsToToolBar", true);
 
+    // N.B. identity rather than DataSet#equals(..) which compares the data
+    private final Map<DataSet, DataSetSpatialIndex> spatialIndices = new IdentityHashMap<>();
+
     /**
      * Creates a new instance of the ChartPlugin.
      */
@@ -61,6 +70,7 @@ public abstract class ChartPlugin {
             if (oldChart != null) {
                 removeEventHandlers(oldChart.getPlotArea());
                 removeEventHandlers(oldChart.getPlotBackground());
+                releaseSpatialIndices(Collections.emptyList());
             }
             if (newChart != null) {
                 addEventHandlers(newChart.getPlotArea());
@@ -151,6 +161,28 @@ public abstract class ChartPlugin {
         return new Point2D(xInAxis, yInAxis);
     }
 
+    /**
+     * Returns the (lazily created) spatial index of the given data set, e.g. for picking the nearest data point or
+     * selecting points within a rectangle independent of the data being sorted. Indices of data sets that are no longer
+     * attached to the chart are released.
+     *
+     * @param dataSet the data set
+     * @return the spatial index (registered as listener and updated on demand)
+     */
+    protected final DataSetSpatialIndex getSpatialIndex(final DataSet dataSet) {
+        final DataSetSpatialIndex index = spatialIndices.get(dataSet);
+        if (index != null) {
+            return index;
+        }
+        if (getChart() != null) {
+            releaseSpatialIndices(getChart().getAllDatasets());
+        }
+        final DataSetSpatialIndex newIndex = new DataSetSpatialIndex();
+        dataSet.addListener(newIndex);
+        spatialIndices.put(dataSet, newIndex);
+        return newIndex;
+    }
+
     /**
      * Returns the value of the {@link #addButtonsToToolBarProperty()}.
      *
@@ -194,6 +226,18 @@ public abstract class ChartPlugin {
         }
     }
 
+    private void releaseSpatialIndices(final List<DataSet> retainedDataSets) {
+        final Set<DataSet> retained = Collections.newSetFromMap(new IdentityHashMap<>());
+        retained.addAll(retainedDataSets);
+        spatialIndices.entrySet().removeIf(entry -> {
+            if (retained.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getKey().removeListener(entry.getValue());
+            return true;
+        });
+    }
+
     /**
      * Sets the value of the {@link #addButtonsToToolBarProperty()}.
      *
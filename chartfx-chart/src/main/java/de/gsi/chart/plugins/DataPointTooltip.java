@@ -4,18 +4,13 @@
 
 package de.gsi.chart.plugins;
 
-import java.util.LinkedList;
-import java.util.List;
-
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.event.EventHandler;
 import javafx.geometry.Bounds;
-import javafx.geometry.Orientation;
 import javafx.geometry.Point2D;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
-import javafx.util.Pair;
 
 import de.gsi.chart.Chart;
 import de.gsi.chart.XYChart;
@@ -94,81 +89,54 @@ public class DataPointTooltip extends AbstractDataFormattingPlugin {
     }
 
     private DataPoint findNearestDataPointWithinPickingDistance(final Chart chart, final Point2D mouseLocation) {
-        DataPoint nearestDataPoint = null;
         if (!(chart instanceof XYChart)) {
             return null;
         }
         final XYChart xyChart = (XYChart) chart;
-        // final double xValue = toDataPoint(xyChart.getYAxis(),
-        // mouseLocation).getXValue().doubleValue();
         // TODO: iterate through all axes, renderer and datasets
-        final double xValue = xyChart.getXAxis().getValueForDisplay(mouseLocation.getX());
-
-        for (final DataPoint dataPoint : findNeighborPoints(xyChart, xValue)) {
-            // Point2D displayPoint = toDisplayPoint(chart.getYAxis(),
-            // (X)dataPoint.x , dataPoint.y);
-            if (getChart().getFirstAxis(Orientation.HORIZONTAL) instanceof Axis) {
-                final double x = xyChart.getXAxis().getDisplayPosition(dataPoint.x);
-                final double y = xyChart.getYAxis().getDisplayPosition(dataPoint.y);
-                final Point2D displayPoint = new Point2D(x, y);
-                dataPoint.distanceFromMouse = displayPoint.distance(mouseLocation);
-                if (displayPoint.distance(mouseLocation) <= getPickingDistance() && (nearestDataPoint == null || dataPoint.distanceFromMouse < nearestDataPoint.distanceFromMouse)) {
-                    nearestDataPoint = dataPoint;
-                }
+        final Axis xAxis = xyChart.getXAxis();
+        final Axis yAxis = xyChart.getYAxis();
+        final double mouseX = mouseLocation.getX();
+        final double mouseY = mouseLocation.getY();
+        final double distance = getPickingDistance();
+
+        // picking square in data coordinates (N.B. axes may be inverted or non-linear)
+        final double x1 = xAxis.getValueForDisplay(mouseX - distance);
+        final double x2 = xAxis.getValueForDisplay(mouseX + distance);
+        final double y1 = yAxis.getValueForDisplay(mouseY - distance);
+        final double y2 = yAxis.getValueForDisplay(mouseY + distance);
+
+        final double[] minDistance = { distance };
+        final int[] nearestIndex = { -1 };
+        DataSet nearestDataSet = null;
+        int nearestDataSetIndex = -1;
+        for (final DataSet dataSet : xyChart.getAllDatasets()) {
+            nearestIndex[0] = -1;
+            getSpatialIndex(dataSet).forEachInRange(dataSet, Math.min(x1, x2), Math.max(x1, x2), Math.min(y1, y2),
+                    Math.max(y1, y2), index -> {
+                        final double dx = xAxis.getDisplayPosition(dataSet.get(DataSet.DIM_X, index)) - mouseX;
+                        final double dy = yAxis.getDisplayPosition(dataSet.get(DataSet.DIM_Y, index)) - mouseY;
+                        final double dist = Math.sqrt(dx * dx + dy * dy);
+                        if (dist <= minDistance[0]) {
+                            minDistance[0] = dist;
+                            nearestIndex[0] = index;
+                        }
+                    });
+            if (nearestIndex[0] >= 0) {
+                nearestDataSet = dataSet;
+                nearestDataSetIndex = nearestIndex[0];
             }
         }
-        return nearestDataPoint;
-    }
-
-    /**
-     * Handles series that have data sorted or not sorted with respect to X coordinate.
-     * 
-     * @param dataSet data set
-     * @param searchedX x coordinate
-     * @return return neighouring data points
-     */
-    private Pair<DataPoint, DataPoint> findNeighborPoints(final DataSet dataSet, final double searchedX) {
-        int prevIndex = -1;
-        int nextIndex = -1;
-        double prevX = Double.MIN_VALUE;
-        double nextX = Double.MAX_VALUE;
-
-        final int nDataCount = dataSet.getDataCount(DataSet.DIM_X);
-        for (int i = 0, size = nDataCount; i < size; i++) {
-            final double currentX = dataSet.get(DataSet.DIM_X, i);
-
-            if (currentX < searchedX) {
-                if (prevX < currentX) {
-                    prevIndex = i;
-                    prevX = currentX;
-                }
-            } else if (nextX > currentX) {
-                nextIndex = i;
-                nextX = currentX;
-            }
-        }
-        final DataPoint prevPoint = prevIndex == -1 ? null
-                                                    : new DataPoint(getChart(), dataSet.get(DataSet.DIM_X, prevIndex),
-                                                            dataSet.get(DataSet.DIM_Y, prevIndex), getDataLabelSafe(dataSet, prevIndex));
-        final DataPoint nextPoint = nextIndex == -1 || nextIndex == prevIndex ? null
-                                                                              : new DataPoint(getChart(), dataSet.get(DataSet.DIM_X, nextIndex),
-                                                                                      dataSet.get(DataSet.DIM_Y, nextIndex), getDataLabelSafe(dataSet, nextIndex));
-
-        return new Pair<>(prevPoint, nextPoint);
-    }
-
-    private List<DataPoint> findNeighborPoints(final XYChart chart, final double searchedX) {
-        final List<DataPoint> points = new LinkedList<>();
-        for (final DataSet dataSet : chart.getAllDatasets()) {
-            final Pair<DataPoint, DataPoint> neighborPoints = findNeighborPoints(dataSet, searchedX);
-            if (neighborPoints.getKey() != null) {
-                points.add(neighborPoints.getKey());
-            }
-            if (neighborPoints.getValue() != null) {
-                points.add(neighborPoints.getValue());
-            }
+        if (nearestDataSet == null) {
+            return null;
         }
-        return points;
+        final DataSet dataSet = nearestDataSet;
+        final int index = nearestDataSetIndex;
+        final DataPoint nearestDataPoint = dataSet.lock().readLockGuard(
+                () -> new DataPoint(getChart(), dataSet.get(DataSet.DIM_X, index), dataSet.get(DataSet.DIM_Y, index),
+                        getDataLabelSafe(dataSet, index)));
+        nearestDataPoint.distanceFromMouse = minDistance[0];
+        return nearestDataPoint;
     }
 
     private String formatDataPoint(final DataPoint dataPoint) {
@@ -291,32 +291,29 @@ public class EditDataSet extends TableViewer {
             }
             final EditableDataSet dataSet = (EditableDataSet) ds;
 
-            final int indexMin = Math.max(0, ds.getIndex(DataSet.DIM_X, xAxis.getValueForDisplay(xMinScreen)));
-            final int indexMax = Math.min(ds.getIndex(DataSet.DIM_X, xAxis.getValueForDisplay(xMaxScreen)) + 1,
-                    ds.getDataCount());
-
             // N.B. (0,0) screen coordinate is in the top left corner vs. normal
             // 0,0 in the bottom left -> need to invert limits
-            final double yMax = yAxis.getValueForDisplay(yMinScreen);
-            final double yMin = yAxis.getValueForDisplay(yMaxScreen);
+            final double x1 = xAxis.getValueForDisplay(xMinScreen);
+            final double x2 = xAxis.getValueForDisplay(xMaxScreen);
+            final double y1 = yAxis.getValueForDisplay(yMinScreen);
+            final double y2 = yAxis.getValueForDisplay(yMaxScreen);
 
             final ConcurrentHashMap<Integer, SelectedDataPoint> dataSetHashMap = markedPoints.computeIfAbsent(dataSet,
                     k -> new ConcurrentHashMap<>());
-            for (int i = indexMin; i < indexMax; i++) {
-                final double y = dataSet.get(DataSet.DIM_Y, i);
-                if ((y >= yMin) && (y <= yMax)) {
-                    if (isShiftDown()) {
-                        // add if not existing/remove if existing
-                        if (dataSetHashMap.get(i) != null) {
-                            dataSetHashMap.remove(i);
+            // spatial index: independent of the data being sorted in x
+            getSpatialIndex(ds).forEachInRange(ds, Math.min(x1, x2), Math.max(x1, x2), Math.min(y1, y2),
+                    Math.max(y1, y2), i -> {
+                        if (isShiftDown()) {
+                            // add if not existing/remove if existing
+                            if (dataSetHashMap.get(i) != null) {
+                                dataSetHashMap.remove(i);
+                            } else {
+                                dataSetHashMap.put(i, new SelectedDataPoint(xAxis, yAxis, dataSet, i));
+                            }
                         } else {
                             dataSetHashMap.put(i, new SelectedDataPoint(xAxis, yAxis, dataSet, i));
                         }
-                    } else {
-                        dataSetHashMap.put(i, new SelectedDataPoint(xAxis, yAxis, dataSet, i));
-                    }
-                }
-            }
+                    });
         }
 
     }
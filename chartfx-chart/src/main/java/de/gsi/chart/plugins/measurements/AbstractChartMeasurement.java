@@ -1,7 +1,9 @@
 package de.gsi.chart.plugins.measurements;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import de.gsi.chart.Chart;
@@ -10,6 +12,7 @@ import de.gsi.chart.plugins.measurements.utils.CheckedValueField;
 import de.gsi.chart.plugins.measurements.utils.DataSetSelector;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.event.EventListener;
+import de.gsi.dataset.utils.DataSetStatisticsIndex;
 import impl.org.controlsfx.skin.DecorationPane;
 import javafx.geometry.Insets;
 import javafx.scene.control.Alert;
@@ -28,6 +31,8 @@ public abstract class AbstractChartMeasurement implements EventListener {
 
     protected static final int PREFERRED_WIDTH = 300;
     protected static int markerCount;
+    // statistics indices shared by all measurements of the same data set (N.B. identity: DataSet hashCodes are mutable)
+    private static final Map<DataSet, SharedStatisticsIndex> STATISTICS_INDICES = new IdentityHashMap<>();
 
     protected XYChart chart;
     protected final CheckedValueField valueField = new CheckedValueField();
@@ -40,6 +45,8 @@ public abstract class AbstractChartMeasurement implements EventListener {
     protected final ButtonType buttonRemove = new ButtonType("Remove");
     protected final DataSetSelector dataSetSelector;
     protected final VBox vBox = new VBox();
+    private DataSet statisticsDataSet;
+    private DataSetStatisticsIndex statisticsIndex;
 
     public AbstractChartMeasurement(final Chart chart) {
         if (chart == null) {
@@ -99,14 +106,53 @@ public abstract class AbstractChartMeasurement implements EventListener {
         return displayPane;
     }
 
+    /**
+     * @param dataSet the data set
+     * @return statistics range-query index of the given data set, shared with the other measurements of the same data
+     *         set
+     */
+    protected DataSetStatisticsIndex getStatisticsIndex(final DataSet dataSet) {
+        if (dataSet == statisticsDataSet && statisticsIndex != null) {
+            return statisticsIndex;
+        }
+        releaseStatisticsIndex();
+        synchronized (STATISTICS_INDICES) {
+            final SharedStatisticsIndex shared = STATISTICS_INDICES.computeIfAbsent(dataSet, ds -> {
+                final SharedStatisticsIndex newIndex = new SharedStatisticsIndex();
+                ds.addListener(newIndex.index);
+                return newIndex;
+            });
+            shared.nUsers++;
+            statisticsDataSet = dataSet;
+            statisticsIndex = shared.index;
+        }
+        return statisticsIndex;
+    }
+
     public abstract void initialize();
 
     protected void nominalAction() {
         setDataSet(dataSetSelector.getSelectedDataSet());
     }
 
+    protected void releaseStatisticsIndex() {
+        if (statisticsDataSet == null) {
+            return;
+        }
+        synchronized (STATISTICS_INDICES) {
+            final SharedStatisticsIndex shared = STATISTICS_INDICES.get(statisticsDataSet);
+            if (shared != null && --shared.nUsers <= 0) {
+                statisticsDataSet.removeListener(shared.index);
+                STATISTICS_INDICES.remove(statisticsDataSet);
+            }
+            statisticsDataSet = null;
+            statisticsIndex = null;
+        }
+    }
+
     protected void removeAction() {
         chart.getMeasurementBar(chart.getMeasurementBarSide()).getChildren().remove(displayPane);
+        releaseStatisticsIndex();
     }
 
     public void setDataSet(final DataSet dataSet) {
@@ -147,4 +193,8 @@ public abstract class AbstractChartMeasurement implements EventListener {
         alert.close();
     }
 
+    private static class SharedStatisticsIndex {
+        private final DataSetStatisticsIndex index = new DataSetStatisticsIndex();
+        private int nUsers;
+    }
 }
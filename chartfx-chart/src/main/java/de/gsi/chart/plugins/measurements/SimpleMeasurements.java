@@ -21,6 +21,7 @@ import de.gsi.chart.plugins.measurements.utils.SimpleDataSetEstimators;
 import de.gsi.chart.utils.FXUtils;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.event.UpdateEvent;
+import de.gsi.dataset.utils.DataSetStatisticsIndex;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
 
@@ -83,6 +84,11 @@ public class SimpleMeasurements extends ValueIndicator {
         final int indexMax = Math.max(index0, index1);
 
         DataSet ds = selectedDataSet;
+        final DataSetStatisticsIndex statistics = getStatisticsIndex(ds);
+        if (event != null) {
+            // N.B. the shared index may not yet have been notified (listener order)
+            statistics.handle(event);
+        }
 
         double val;
         switch (measType) {
@@ -101,26 +107,26 @@ public class SimpleMeasurements extends ValueIndicator {
             break;
         // vertical measurements
         case MINIMUM:
-            val = SimpleDataSetEstimators.getMinimum(ds, indexMin, indexMax);
+            val = statistics.getMinimum(ds, indexMin, indexMax);
             break;
         case MAXIMUM:
-            val = SimpleDataSetEstimators.getMaximum(ds, indexMin, indexMax);
+            val = statistics.getMaximum(ds, indexMin, indexMax);
             break;
         case RANGE:
-            val = SimpleDataSetEstimators.getRange(ds, indexMin, indexMax);
+            val = statistics.getRange(ds, indexMin, indexMax);
             break;
         case MEAN:
-            val = SimpleDataSetEstimators.getMean(ds, indexMin, indexMax);
+            val = statistics.getMean(ds, indexMin, indexMax);
             break;
         case RMS:
-            val = SimpleDataSetEstimators.getRms(ds, indexMin, indexMax);
+            val = statistics.getRms(ds, indexMin, indexMax);
             break;
         case MEDIAN:
-            val = SimpleDataSetEstimators.getMedian(ds, indexMin, indexMax);
+            val = statistics.getMedian(ds, indexMin, indexMax);
             break;
         case INTEGRAL:
             // N.B. use of non-sanitised indices index[0,1]
-            val = SimpleDataSetEstimators.getIntegral(ds, index0, index1);
+            val = statistics.getIntegral(ds, index0, index1);
             break;
         case TRANSMISSION_ABS:
             // N.B. use of non-sanitised indices index[0,1]
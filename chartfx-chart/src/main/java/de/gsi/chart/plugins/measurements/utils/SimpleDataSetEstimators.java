@@ -75,15 +75,8 @@ public final class SimpleDataSetEstimators { // NOPMD name is as is (ie. no Help
         if (indexMax - indexMin <= 0) {
             return new double[0];
         }
-        final double[] ret = new double[indexMax - indexMin];
-
-        int count = 0;
-        for (int index = indexMin; index < indexMax; index++) {
-            final double actual = dataSet.get(DataSet.DIM_Y, index);
-            ret[count] = actual;
-            count++;
-        }
-        return ret;
+        // bulk copy (avoids per-point virtual calls)
+        return dataSet.getValues(DataSet.DIM_Y, indexMin, new double[indexMax - indexMin], 0, indexMax - indexMin);
     }
 
     public static double getDutyCycle(final DataSet dataSet, final int indexMin, final int indexMax) {
@@ -0,0 +1,71 @@
+package de.gsi.chart.renderer;
+
+import javafx.geometry.VPos;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * -- generic 2D drawing surface interface --
+ * <p>
+ * Minimal subset of the {@link javafx.scene.canvas.GraphicsContext} primitives used by the renderers, allowing to
+ * draw either onto a JavaFX canvas or onto a toolkit-independent raster (e.g. for headless batch exports).
+ * <p>
+ * N.B. implementations are not thread-safe, but independent surfaces may be drawn concurrently unless stated
+ * otherwise.
+ *
+ * @author rstein
+ */
+public interface DrawingSurface {
+
+    void clearRect(double x, double y, double w, double h);
+
+    void fillOval(double x, double y, double w, double h);
+
+    void fillPolygon(double[] xPoints, double[] yPoints, int nPoints);
+
+    void fillRect(double x, double y, double w, double h);
+
+    /**
+     * @param text the text to be drawn
+     * @param x horizontal anchor position, see {@link #setTextAlign(TextAlignment)}
+     * @param y vertical anchor position, see {@link #setTextBaseline(VPos)}
+     */
+    void fillText(String text, double x, double y);
+
+    double getHeight();
+
+    double getWidth();
+
+    /**
+     * pops the last saved drawing state (colours, line width, dashes, font and text alignment) from the stack
+     */
+    void restore();
+
+    /**
+     * pushes the current drawing state (colours, line width, dashes, font and text alignment) onto the stack
+     */
+    void save();
+
+    void setFill(Color color);
+
+    void setFontSize(double size);
+
+    /**
+     * @param dashes dash pattern in pixel, {@code null} or empty for solid lines
+     */
+    void setLineDashes(double... dashes);
+
+    void setLineWidth(double width);
+
+    void setStroke(Color color);
+
+    void setTextAlign(TextAlignment align);
+
+    void setTextBaseline(VPos baseline);
+
+    void strokeLine(double x1, double y1, double x2, double y2);
+
+    void strokePolyline(double[] xPoints, double[] yPoints, int nPoints);
+
+    void strokeRect(double x, double y, double w, double h);
+}
@@ -57,6 +57,8 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
         }
     };
 
+    private final BooleanProperty waterfall = new SimpleBooleanProperty(this, "waterfall", false);
+
     public AbstractContourDataSetRendererParameter() {
         super();
         setMinRequiredReductionSize(3);
@@ -172,6 +174,15 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
         return smoothProperty().get();
     }
 
+    /**
+     * Returns the value of the {@link #waterfallProperty()}.
+     *
+     * @return {@code true} if the incremental waterfall mode is enabled
+     */
+    public boolean isWaterfall() {
+        return waterfallProperty().get();
+    }
+
     /**
      * @return the property controlling the maximum number of sub-segments allowed for a contour to be drawn.
      */
@@ -289,4 +300,27 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
     public BooleanProperty smoothProperty() {
         return smooth;
     }
+
+    /**
+     * Sets the value of the {@link #waterfallProperty()}.
+     *
+     * @param state {@code true} to enable the incremental waterfall mode
+     */
+    public void setWaterfall(final boolean state) {
+        waterfallProperty().set(state);
+    }
+
+    /**
+     * Indicates whether {@link de.gsi.dataset.WaterfallDataSet}s should be drawn incrementally, i.e. only newly
+     * appended rows are being quantised and coloured (applicable to the non-alternate {@code HEATMAP} implementation
+     * and non-inverted x- and y-axes only). N.B. modifying the z-range (e.g. via auto-ranging) requires a full update.
+     * <p>
+     * By default the waterfall mode is disabled.
+     * </p>
+     *
+     * @return waterfall property
+     */
+    public BooleanProperty waterfallProperty() {
+        return waterfall;
+    }
 }
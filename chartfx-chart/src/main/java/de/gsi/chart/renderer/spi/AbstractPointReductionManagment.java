@@ -15,6 +15,7 @@ public abstract class AbstractPointReductionManagment<R extends AbstractPointRed
     private final BooleanProperty assumeSortedData = new SimpleBooleanProperty(this, "assumeSortedData", true);
     private final IntegerProperty minRequiredReductionSize = new SimpleIntegerProperty(this, "minRequiredReductionSize",
             5);
+    private final BooleanProperty parallelDataSets = new SimpleBooleanProperty(this, "parallelDataSets", false);
     private final BooleanProperty parallelImplementation = new SimpleBooleanProperty(this, "parallelImplementation",
             true);
     private final BooleanProperty pointReduction = new SimpleBooleanProperty(this, "pointReduction", true);
@@ -69,6 +70,14 @@ public abstract class AbstractPointReductionManagment<R extends AbstractPointRed
         return assumeSortedData.get();
     }
 
+    /**
+     * @return true if the data sets are prepared concurrently on worker threads
+     * @see #parallelDataSetsProperty()
+     */
+    public boolean isParallelDataSets() {
+        return parallelDataSets.get();
+    }
+
     /**
      * whether renderer should aim at parallelising sub-functionalities
      *
@@ -93,6 +102,18 @@ public abstract class AbstractPointReductionManagment<R extends AbstractPointRed
         return minRequiredReductionSize;
     }
 
+    /**
+     * Sets whether the data sets should be prepared concurrently, i.e. one worker thread per data set performs the
+     * locking, screen coordinate transform and data reduction while the JavaFX thread only executes the final drawing
+     * commands. This scales with the number of cores for renderers with many data sets and supersedes
+     * {@link #parallelImplementationProperty()} for renderers with more than one data set.
+     *
+     * @return true if the data sets are prepared concurrently on worker threads (default: false)
+     */
+    public BooleanProperty parallelDataSetsProperty() {
+        return parallelDataSets;
+    }
+
     /**
      * Sets whether renderer should aim at parallelising sub-functionalities
      *
@@ -133,6 +154,16 @@ public abstract class AbstractPointReductionManagment<R extends AbstractPointRed
         return getThis();
     }
 
+    /**
+     * @param state true if the data sets are prepared concurrently on worker threads
+     * @return itself (fluent design)
+     * @see #parallelDataSetsProperty()
+     */
+    public R setParallelDataSets(final boolean state) {
+        parallelDataSets.set(state);
+        return getThis();
+    }
+
     /**
      * Sets whether renderer should aim at parallelising sub-functionalities
      *
@@ -126,7 +126,8 @@ class CachedDataPoints {
 
     private void computeErrorStyles(final DataSet dataSet, final int min, final int max) {
         // no error attached
-        dataSet.lock().readLockGuardOptimistic(() -> {
+        // N.B. (full) read lock: per-point styles are not safe for optimistic reads (see StringHashMapList)
+        dataSet.lock().readLockGuard(() -> {
             for (int index = min; index < max; index++) {
                 styles[index] = dataSet.getStyle(index);
             }
@@ -134,7 +135,7 @@ class CachedDataPoints {
     }
 
     private void computeFullPolar(final Axis yAxis, final DataSetError dataSet, final int min, final int max) {
-        dataSet.lock().readLockGuardOptimistic(() -> {
+        dataSet.lock().readLockGuard(() -> {
             for (int index = min; index < max; index++) {
                 final double x = dataSet.get(DIM_X, index);
                 final double y = dataSet.get(DIM_Y, index);
@@ -162,7 +163,7 @@ class CachedDataPoints {
 
     private void computeNoErrorPolar(final Axis yAxis, final DataSet2D dataSet, final int min, final int max) {
         // experimental transform euclidean to polar coordinates
-        dataSet.lock().readLockGuardOptimistic(() -> {
+        dataSet.lock().readLockGuard(() -> {
             for (int index = min; index < max; index++) {
                 final double x = dataSet.get(DIM_X, index);
                 final double y = dataSet.get(DIM_Y, index);
@@ -191,6 +192,61 @@ class CachedDataPoints {
         computeScreenCoordinatesNonThreaded(xAxis, yAxis, dataSet, min, max);
     }
 
+    /**
+     * computes the screen coordinates only for a pre-selected (e.g. min/max-reduced) sub-set of data point indices.
+     * The resulting coordinates are stored contiguously starting at index '0'.
+     *
+     * @param xAxis the horizontal axis
+     * @param yAxis the vertical axis
+     * @param dataSet the source data set
+     * @param dsIndex data set index (styling)
+     * @param indices sorted data point indices to be transformed
+     * @param nIndices number of valid entries in {@code indices}
+     * @param localRendErrorStyle the renderer error style
+     * @param doAllowForNaNs true: NaN values are permitted
+     */
+    protected void computeScreenCoordinatesReduced(final Axis xAxis, final Axis yAxis, final DataSet dataSet,
+            final int dsIndex, final int[] indices, final int nIndices, final ErrorStyle localRendErrorStyle,
+            final boolean doAllowForNaNs) {
+        setBoundaryConditions(xAxis, yAxis, dataSet, dsIndex, 0, nIndices, localRendErrorStyle, false,
+                doAllowForNaNs);
+
+        dataSet.lock().readLockGuard(() -> {
+            final DataSetError errorDataSet = dataSet instanceof DataSetError ? (DataSetError) dataSet : null;
+            for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
+                final Axis axis = dimIndex == DIM_X ? xAxis : yAxis;
+                final double[] values = dimIndex == DIM_X ? xValues : yValues;
+                final double[] valuesEN = dimIndex == DIM_X ? errorXNeg : errorYNeg;
+                final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
+                final double invalidValue = allowForNaNs ? Double.NaN : dimIndex == DIM_X ? xMin : yMin;
+                final boolean hasErrors = errorType[dimIndex] != ErrorType.NO_ERROR;
+                for (int i = 0; i < nIndices; i++) {
+                    final int index = indices[i];
+                    final double value = dataSet.get(dimIndex, index);
+                    final double screenValue = axis.getDisplayPosition(value);
+                    if (Double.isNaN(screenValue) || (allowForNaNs && !Double.isFinite(value))) {
+                        values[i] = invalidValue;
+                        valuesEN[i] = invalidValue;
+                        valuesEP[i] = invalidValue;
+                        continue;
+                    }
+                    values[i] = screenValue;
+                    if (hasErrors && errorDataSet != null) {
+                        valuesEN[i] = axis.getDisplayPosition(value - errorDataSet.getErrorNegative(dimIndex, index));
+                        valuesEP[i] = axis.getDisplayPosition(value + errorDataSet.getErrorPositive(dimIndex, index));
+                    } else {
+                        valuesEN[i] = screenValue;
+                        valuesEP[i] = screenValue;
+                    }
+                }
+            }
+
+            for (int i = 0; i < nIndices; i++) {
+                styles[i] = dataSet.getStyle(indices[i]);
+            }
+        });
+    }
+
     private void computeScreenCoordinatesEuclidean(final Axis xAxis, final Axis yAxis, final DataSet dataSet,
             final int min, final int max) {
         for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
@@ -293,20 +349,23 @@ class CachedDataPoints {
                 final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
                 final double minValue = dimIndex == DIM_X ? xMin : yMin;
                 final DataSetError ds = (DataSetError) dataSet;
+                // bulk copy of the raw data (avoids per-point virtual calls), transformed in-place below
+                ds.getValues(dimIndex, min, values, min, max - min);
+                ds.getErrorsNegative(dimIndex, min, valuesEN, min, max - min);
+                ds.getErrorsPositive(dimIndex, min, valuesEP, min, max - min);
                 for (int index = min; index < max; index++) {
-                    final double value = dataSet.get(dimIndex, index);
-
-                    values[index] = yAxis.getDisplayPosition(value);
-
-                    if (!Double.isNaN(values[index])) {
-                        // if (Double.isFinite(values[index])) {
-                        valuesEN[index] = yAxis.getDisplayPosition(value - ds.getErrorNegative(dimIndex, index));
-                        valuesEP[index] = yAxis.getDisplayPosition(value + ds.getErrorPositive(dimIndex, index));
-                        continue;
+                    valuesEN[index] = values[index] - valuesEN[index];
+                    valuesEP[index] = values[index] + valuesEP[index];
+                }
+                yAxis.getDisplayPositions(values, values, min, max);
+                yAxis.getDisplayPositions(valuesEN, valuesEN, min, max);
+                yAxis.getDisplayPositions(valuesEP, valuesEP, min, max);
+                for (int index = min; index < max; index++) {
+                    if (Double.isNaN(values[index])) {
+                        values[index] = minValue;
+                        valuesEN[index] = minValue;
+                        valuesEP[index] = minValue;
                     }
-                    values[index] = minValue;
-                    valuesEN[index] = minValue;
-                    valuesEP[index] = minValue;
                 }
             });
             return;
@@ -319,8 +378,9 @@ class CachedDataPoints {
             final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
             final double minValue = dimIndex == DIM_X ? xMin : yMin;
 
+            dataSet.getValues(dimIndex, min, values, min, max - min);
+            yAxis.getDisplayPositions(values, values, min, max);
             for (int index = min; index < max; index++) {
-                values[index] = yAxis.getDisplayPosition(dataSet.get(dimIndex, index));
                 if (Double.isFinite(values[index])) {
                     valuesEN[index] = values[index];
                     valuesEP[index] = values[index];
@@ -341,8 +401,11 @@ class CachedDataPoints {
                 final double[] valuesEN = dimIndex == DIM_X ? errorXNeg : errorYNeg;
                 final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
                 final DataSetError ds = (DataSetError) dataSet;
+                ds.getValues(dimIndex, min, values, min, max - min);
+                ds.getErrorsNegative(dimIndex, min, valuesEN, min, max - min);
+                ds.getErrorsPositive(dimIndex, min, valuesEP, min, max - min);
                 for (int index = min; index < max; index++) {
-                    final double value = dataSet.get(dimIndex, index);
+                    final double value = values[index];
 
                     if (!Double.isFinite(value)) {
                         values[index] = Double.NaN;
@@ -351,10 +414,13 @@ class CachedDataPoints {
                         continue;
                     }
 
-                    values[index] = yAxis.getDisplayPosition(value);
-                    valuesEN[index] = yAxis.getDisplayPosition(value - ds.getErrorNegative(dimIndex, index));
-                    valuesEP[index] = yAxis.getDisplayPosition(value + ds.getErrorPositive(dimIndex, index));
+                    valuesEN[index] = value - valuesEN[index];
+                    valuesEP[index] = value + valuesEP[index];
                 }
+                // N.B. NaN values remain NaN
+                yAxis.getDisplayPositions(values, values, min, max);
+                yAxis.getDisplayPositions(valuesEN, valuesEN, min, max);
+                yAxis.getDisplayPositions(valuesEP, valuesEP, min, max);
             });
             return;
         }
@@ -365,9 +431,9 @@ class CachedDataPoints {
             final double[] valuesEN = dimIndex == DIM_X ? errorXNeg : errorYNeg;
             final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
 
+            dataSet.getValues(dimIndex, min, values, min, max - min);
+            yAxis.getDisplayPositions(values, values, min, max);
             for (int index = min; index < max; index++) {
-                values[index] = yAxis.getDisplayPosition(dataSet.get(dimIndex, index));
-
                 if (Double.isFinite(values[index])) {
                     valuesEN[index] = values[index];
                     valuesEP[index] = values[index];
@@ -386,11 +452,9 @@ class CachedDataPoints {
         dataSet.lock().readLockGuardOptimistic(() -> {
             final double[] values = dimIndex == DIM_X ? xValues : yValues;
             final double minValue = dimIndex == DIM_X ? xMin : yMin;
+            dataSet.getValues(dimIndex, min, values, min, max - min);
+            axis.getDisplayPositions(values, values, min, max);
             for (int index = min; index < max; index++) {
-                final double value = dataSet.get(dimIndex, index);
-
-                values[index] = axis.getDisplayPosition(value);
-
                 // if (!Double.isFinite(values[index])) {
                 if (Double.isNaN(values[index])) {
                     yValues[index] = minValue;
@@ -409,15 +473,14 @@ class CachedDataPoints {
         // no error attached
         dataSet.lock().readLockGuardOptimistic(() -> {
             final double[] values = dimIndex == DIM_X ? xValues : yValues;
+            dataSet.getValues(dimIndex, min, values, min, max - min);
             for (int index = min; index < max; index++) {
-                final double value = dataSet.get(dimIndex, index);
-
-                if (Double.isFinite(value)) {
-                    values[index] = axis.getDisplayPosition(value);
-                } else {
+                if (!Double.isFinite(values[index])) {
                     values[index] = Double.NaN;
                 }
             }
+            // N.B. NaN values remain NaN
+            axis.getDisplayPositions(values, values, min, max);
 
             if ((dimIndex == DIM_Y) && (rendererErrorStyle != ErrorStyle.NONE)) {
                 System.arraycopy(values, min, errorYNeg, min, max - min);
@@ -427,7 +490,7 @@ class CachedDataPoints {
     }
 
     private void computeYonlyPolar(final Axis yAxis, final DataSet2D dataSet, final int min, final int max) {
-        dataSet.lock().readLockGuardOptimistic(() -> {
+        dataSet.lock().readLockGuard(() -> {
             for (int index = min; index < max; index++) {
                 final double x = dataSet.get(DIM_X, index);
                 final double y = dataSet.get(DIM_Y, index);
@@ -41,8 +41,7 @@ class ContourDataSetCache {
     private static final String CLASS_NAME = ContourDataSetCache.class.getSimpleName() + System.currentTimeMillis();
     private static final String DATA_COPY_BUFFER_NAME = CLASS_NAME + ":dataBuffer";
     private static final String TEMP_DATA_COPY_BUFFER_NAME = CLASS_NAME + ":tempDataBuffer";
-    private static final String BGRA_BYTE_BUFFER_NAME = CLASS_NAME + ":bgraByteBuffer";
-    private static final int BGRA_BYTE_SIZE = 4;
+    private static final String ARGB_INT_BUFFER_NAME = CLASS_NAME + ":argbIntBuffer";
     private static final int REF_WIDTH_PARALLEL = 1024;
     private static final int REF_HEIGHT_PARALLEL = 1000;
 
@@ -178,9 +177,9 @@ class ContourDataSetCache {
         final double zRangeInv = 1.0 / zRange;
 
         final int length = width * height;
+        axisTransform.forward(input, input, 0, length);
         for (int index = 0; index < length; index++) {
-            final double z = input[index];
-            final double offset = ((axisTransform.forward(z) - zMinPixel) * zRangeInv);
+            final double offset = ((input[index] - zMinPixel) * zRangeInv);
             input[index] = inverted ? quantize(1 - offset, nQuant) : quantize(offset, nQuant);
         }
     }
@@ -243,30 +242,26 @@ class ContourDataSetCache {
         case X_ONLY:
             for (int yIndex = yMinIndex; yIndex <= yMaxIndex; yIndex++) {
                 final int rowIndex = yIndex * dataWidth + xMinIndex;
-                final int rowIndex2 = (yIndex - yMinDst + 1) * dstWidth - 1;
-                for (int xIndex = 0; xIndex < dstWidth; xIndex++) {
-                    dataBuffer[rowIndex2 - xIndex] = dataSet.get(DIM_Z, rowIndex + xIndex);
-                }
+                final int rowIndex2 = (yIndex - yMinDst) * dstWidth;
+                dataSet.getValues(DIM_Z, rowIndex, dataBuffer, rowIndex2, dstWidth);
+                reverse(dataBuffer, rowIndex2, dstWidth);
             }
             break;
         case Y_ONLY: {
             int rowIndex2 = dataLength - (yMinIndex - yMinDst + 1) * dstWidth;
             for (int yIndex = yMinIndex; yIndex <= yMaxIndex; yIndex++) {
                 final int rowIndex = yIndex * dataWidth + xMinIndex;
-                for (int xIndex = 0; xIndex < dstWidth; xIndex++) {
-                    dataBuffer[rowIndex2 + xIndex] = dataSet.get(DIM_Z, rowIndex + xIndex);
-                }
+                dataSet.getValues(DIM_Z, rowIndex, dataBuffer, rowIndex2, dstWidth);
                 rowIndex2 -= dstWidth;
             }
             break;
         }
         case BOTH: {
-            int rowIndex2 = dataLength - 1 - (yMinIndex - yMinDst) * dstWidth;
+            int rowIndex2 = dataLength - (yMinIndex - yMinDst + 1) * dstWidth;
             for (int yIndex = yMinIndex; yIndex <= yMaxIndex; yIndex++) {
                 final int rowIndex = yIndex * dataWidth + xMinIndex;
-                for (int xIndex = 0; xIndex < dstWidth; xIndex++) {
-                    dataBuffer[rowIndex2 - xIndex] = dataSet.get(DIM_Z, rowIndex + xIndex);
-                }
+                dataSet.getValues(DIM_Z, rowIndex, dataBuffer, rowIndex2, dstWidth);
+                reverse(dataBuffer, rowIndex2, dstWidth);
                 rowIndex2 -= dstWidth;
             }
         } break;
@@ -275,11 +270,8 @@ class ContourDataSetCache {
             for (int yIndex = yMinIndex; yIndex <= yMaxIndex; yIndex++) {
                 final int rowIndex = yIndex * dataWidth + xMinIndex;
                 final int rowIndex2 = (yIndex - yMinDst) * dstWidth;
-                for (int xIndex = 0; xIndex < dstWidth; xIndex++) {
-                    dataBuffer[rowIndex2 + xIndex] = dataSet.get(DIM_Z, rowIndex + xIndex);
-                    // old DataSet3D specific API
-                    // dataBuffer[rowIndex2 + xIndex] = dataSet.getZ(xMinIndex+xIndex, yIndex);
-                }
+                // bulk row copy, avoids per-point virtual DataSet::get(..) calls
+                dataSet.getValues(DIM_Z, rowIndex, dataBuffer, rowIndex2, dstWidth);
             }
             break;
         }
@@ -329,17 +321,7 @@ class ContourDataSetCache {
             });
         }
 
-        try {
-            final List<Future<Boolean>> jobs = CachedDaemonThreadFactory.getCommonPool().invokeAll(workers);
-            for (final Future<Boolean> future : jobs) {
-                final Boolean r = future.get();
-                if (Boolean.FALSE.equals(r)) {
-                    throw new IllegalStateException(PARALLEL_WORKER_ERROR);
-                }
-            }
-        } catch (final InterruptedException | ExecutionException e) {
-            throw new IllegalStateException(PARALLEL_WORKER_ERROR, e);
-        }
+        invokeAll(workers);
     }
 
     protected static double quantize(final double value, final int nLevels) {
@@ -348,12 +330,30 @@ class ContourDataSetCache {
     }
 
     protected static Image convertDataArrayToImage(final double[] inputData, final int dataWidth, final int dataHeight,
-            final ColorGradient colorGradient) {
-        final int length = dataWidth * dataHeight;
+            final ColorGradient colorGradient, final int nQuant) {
+        return convertDataArrayToImage(inputData, dataWidth, dataHeight, colorGradient, nQuant, null, false);
+    }
 
-        final byte[] byteBuffer = ArrayCache.getCachedByteArray(BGRA_BYTE_BUFFER_NAME, length * BGRA_BYTE_SIZE);
-        final int rowSizeInBytes = BGRA_BYTE_SIZE * dataWidth;
-        final WritableImage image = new WritableImage(dataWidth, dataHeight);
+    /**
+     * converts quantised data (see {@link #quantizeData}) to an image using a pre-computed colour look-up table
+     *
+     * @param inputData quantised data in row-major order
+     * @param dataWidth data/image width
+     * @param dataHeight data/image height
+     * @param colorGradient the colour gradient
+     * @param nQuant number of quantisation levels used to compute the input data
+     * @param recycledImage image that is reused if its dimensions match, may be {@code null}
+     * @param parallel {@code true}: fill the image in parallel row bands
+     * @return recycledImage or newly allocated image if the dimensions did not match
+     */
+    protected static WritableImage convertDataArrayToImage(final double[] inputData, final int dataWidth,
+            final int dataHeight, final ColorGradient colorGradient, final int nQuant,
+            final WritableImage recycledImage, final boolean parallel) {
+        final int length = dataWidth * dataHeight;
+        final WritableImage image = recycledImage != null && (int) recycledImage.getWidth() == dataWidth
+                                                    && (int) recycledImage.getHeight() == dataHeight
+                                            ? recycledImage
+                                            : new WritableImage(dataWidth, dataHeight);
         final PixelWriter pixelWriter = image.getPixelWriter();
         if (pixelWriter == null) {
             if (LOGGER.isErrorEnabled()) {
@@ -362,32 +362,73 @@ class ContourDataSetCache {
             return image;
         }
 
+        final int[] lut = colorGradient.getColorLookupTable(nQuant);
+        final int[] pixelBuffer = ArrayCache.getCachedIntArray(ARGB_INT_BUFFER_NAME, length);
+        if (parallel && length >= REF_WIDTH_PARALLEL * REF_HEIGHT_PARALLEL / 4) {
+            final int nMaxThreads = CachedDaemonThreadFactory.getNumbersOfThreads();
+            final int stepSize = Math.max((int) Math.ceil(dataHeight / (double) nMaxThreads), 1);
+            final List<Callable<Boolean>> workers = new ArrayList<>(nMaxThreads);
+            for (int i = 0; i < dataHeight; i += stepSize) {
+                final int yMin = i;
+                final int yMax = Math.min(i + stepSize, dataHeight);
+                workers.add(() -> {
+                    fillPixelBuffer(inputData, dataWidth, dataHeight, yMin, yMax, lut, nQuant, pixelBuffer);
+                    return Boolean.TRUE;
+                });
+            }
+            invokeAll(workers);
+        } else {
+            fillPixelBuffer(inputData, dataWidth, dataHeight, 0, dataHeight, lut, nQuant, pixelBuffer);
+        }
+
+        // N.B. IntArgbPre has the same memory layout as the previously used ByteBgraPre format
+        pixelWriter.setPixels(0, 0, dataWidth, dataHeight, PixelFormat.getIntArgbPreInstance(), pixelBuffer, 0,
+                dataWidth);
+        ArrayCache.release(ARGB_INT_BUFFER_NAME, pixelBuffer);
+        return image;
+    }
+
+    protected static void fillPixelBuffer(final double[] inputData, final int dataWidth, final int dataHeight,
+            final int yMin, final int yMax, final int[] lut, final int nQuant, final int[] pixelBuffer) {
         final int hMinus1 = dataHeight - 1;
-        for (int yIndex = 0; yIndex < dataHeight; yIndex++) {
+        final int maxLevel = lut.length - 1;
+        for (int yIndex = yMin; yIndex < yMax; yIndex++) {
             final int rowIndex = dataWidth * yIndex;
-            final int rowPixelIndex = rowSizeInBytes * (hMinus1 - yIndex);
+            final int rowPixelIndex = dataWidth * (hMinus1 - yIndex);
             for (int xIndex = 0; xIndex < dataWidth; xIndex++) {
-                final int x = xIndex;
-                final int[] color = colorGradient.getColorBytes(inputData[rowIndex + xIndex]);
-
-                final int pixelIndex = rowPixelIndex + x * BGRA_BYTE_SIZE;
-                byteBuffer[pixelIndex] = (byte) (color[3]);
-                byteBuffer[pixelIndex + 1] = (byte) (color[2]);
-                byteBuffer[pixelIndex + 2] = (byte) (color[1]);
-                byteBuffer[pixelIndex + 3] = (byte) (color[0]);
+                // N.B. input is quantised to 'level / nQuant', values outside [0, 1] are transparent
+                final long level = Math.round(inputData[rowIndex + xIndex] * nQuant);
+                pixelBuffer[rowPixelIndex + xIndex] = level < 0 || level > maxLevel ? 0 : lut[(int) level];
             }
         }
+    }
 
-        pixelWriter.setPixels(0, 0, dataWidth, dataHeight, PixelFormat.getByteBgraPreInstance(), byteBuffer, 0,
-                rowSizeInBytes);
-        ArrayCache.release(BGRA_BYTE_BUFFER_NAME, byteBuffer);
-        return image;
+    private static void invokeAll(final List<Callable<Boolean>> workers) {
+        try {
+            final List<Future<Boolean>> jobs = CachedDaemonThreadFactory.getCommonPool().invokeAll(workers);
+            for (final Future<Boolean> future : jobs) {
+                final Boolean r = future.get();
+                if (Boolean.FALSE.equals(r)) {
+                    throw new IllegalStateException(PARALLEL_WORKER_ERROR);
+                }
+            }
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(PARALLEL_WORKER_ERROR, e);
+        }
     }
 
     protected static int roundDownEven(double d) {
         return (int) Math.floor(d / 2) * 2;
     }
 
+    private static void reverse(final double[] data, final int offset, final int length) {
+        for (int i = offset, j = offset + length - 1; i < j; i++, j--) {
+            final double tmp = data[i];
+            data[i] = data[j];
+            data[j] = tmp;
+        }
+    }
+
     protected enum InvertedAxisCase {
         NORMAL,
         X_ONLY,
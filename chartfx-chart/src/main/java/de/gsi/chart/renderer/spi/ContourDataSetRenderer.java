@@ -7,7 +7,11 @@ import static de.gsi.dataset.DataSet.DIM_Y;
 
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 import javafx.collections.ObservableList;
@@ -36,6 +40,7 @@ import de.gsi.chart.axes.Axis;
 import de.gsi.chart.axes.AxisTransform;
 import de.gsi.chart.axes.spi.DefaultNumericAxis;
 import de.gsi.chart.plugins.Zoomer;
+import de.gsi.chart.renderer.ContourType;
 import de.gsi.chart.renderer.Renderer;
 import de.gsi.chart.renderer.spi.hexagon.Hexagon;
 import de.gsi.chart.renderer.spi.hexagon.HexagonMap;
@@ -46,6 +51,7 @@ import de.gsi.chart.renderer.spi.utils.ColorGradient;
 import de.gsi.chart.ui.geometry.Side;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet3D;
+import de.gsi.dataset.WaterfallDataSet;
 import de.gsi.dataset.utils.ProcessingProfiler;
 
 /**
@@ -83,6 +89,9 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
     private static final Logger LOGGER = LoggerFactory.getLogger(ContourDataSetRenderer.class);
 
     private ContourDataSetCache localCache;
+    // per data set image caches (N.B. identity: DataSet hashCodes are mutable)
+    private final Map<DataSet, WritableImage> heatMapImages = new IdentityHashMap<>();
+    private final Map<DataSet, WaterfallImageCache> waterfallImages = new IdentityHashMap<>();
     private Axis zAxis;
     protected final Rectangle gradientRect = new Rectangle();
 
@@ -217,8 +226,11 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         gc.setImageSmoothing(isSmooth());
 
         // process z quantisation to colour transform
-        final Image image = ContourDataSetCache.convertDataArrayToImage(lCache.reduced, lCache.xSize, lCache.ySize,
-                getColorGradient());
+        // N.B. one image per DataSet: the canvas references (rather than copies) the image until the next pulse
+        final WritableImage image = ContourDataSetCache.convertDataArrayToImage(lCache.reduced, lCache.xSize,
+                lCache.ySize, getColorGradient(), getNumberQuantisationLevels(), heatMapImages.get(lCache.dataSet),
+                isParallelImplementation());
+        heatMapImages.put(lCache.dataSet, image);
         ProcessingProfiler.getTimeDiff(start, "color map");
 
         gc.drawImage(image, lCache.xDataPixelMin, lCache.yDataPixelMin, lCache.xDataPixelRange, lCache.yDataPixelRange);
@@ -286,7 +298,7 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
 
         // process z quantisation to colour transform
         final Image image = ContourDataSetCache.convertDataArrayToImage(lCache.reduced, lCache.xSize, lCache.ySize,
-                getColorGradient());
+                getColorGradient(), getNumberQuantisationLevels());
 
         final int tileSize = Math.max(getMinHexTileSizeProperty(), (int) lCache.xAxisWidth / lCache.xSize);
         final int nWidthInTiles = (int) (lCache.xAxisWidth / (tileSize * Math.sqrt(3))) + 1;
@@ -322,7 +334,7 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
 
         // process z quantisation to colour transform
         final Image image = ContourDataSetCache.convertDataArrayToImage(lCache.reduced, lCache.xSize, lCache.ySize,
-                getColorGradient());
+                getColorGradient(), getNumberQuantisationLevels());
 
         final int tileSize = Math.max(getMinHexTileSizeProperty(), (int) lCache.xAxisWidth / lCache.xSize);
         final int nWidthInTiles = (int) (lCache.xAxisWidth / (tileSize * Math.sqrt(3)));
@@ -543,6 +555,19 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         }
     }
 
+    /**
+     * @param dataSet the waterfall data set
+     * @return the (re-used) image cache for the given data set
+     */
+    WaterfallImageCache getWaterfallImageCache(final WaterfallDataSet dataSet) {
+        return waterfallImages.computeIfAbsent(dataSet, ds -> new WaterfallImageCache((WaterfallDataSet) ds));
+    }
+
+    private boolean isWaterfallApplicable(final DataSet dataSet) {
+        return isWaterfall() && dataSet instanceof WaterfallDataSet && getContourType() == ContourType.HEATMAP
+                && !isAltImplementation();
+    }
+
     private void paintCanvas(final GraphicsContext gc) {
         if (localCache.xSize == 0 || localCache.ySize == 0) {
             return;
@@ -584,6 +609,18 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         }
     }
 
+    /**
+     * releases the images of data sets that are no longer rendered
+     *
+     * @param retainedDataSets data sets for which the images should be kept
+     */
+    void releaseImages(final List<DataSet> retainedDataSets) {
+        final Set<DataSet> retained = Collections.newSetFromMap(new IdentityHashMap<>());
+        retained.addAll(retainedDataSets);
+        heatMapImages.keySet().retainAll(retained);
+        waterfallImages.keySet().retainAll(retained);
+    }
+
     @Override
     public void render(final GraphicsContext gc, final Chart chart, final int dataSetOffset,
             final ObservableList<DataSet> datasets) {
@@ -596,6 +633,7 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         // make local copy and add renderer specific data sets
         final List<DataSet> localDataSetList = new ArrayList<>(datasets);
         localDataSetList.addAll(getDatasets());
+        releaseImages(localDataSetList);
 
         // If there are no data sets
         if (localDataSetList.isEmpty()) {
@@ -613,6 +651,17 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
                 // minimum dimension criteria not met
                 continue;
             }
+            if (isWaterfallApplicable(dataSet)) {
+                final WaterfallImageCache waterfallCache = getWaterfallImageCache((WaterfallDataSet) dataSet);
+                if (dataSet.lock().readLockGuard(
+                        () -> waterfallCache.update(xyChart.getXAxis(), xyChart.getYAxis(), this))) {
+                    layoutZAxis(getZAxis());
+                    waterfallCache.draw(gc, isSmooth());
+                    ProcessingProfiler.getTimeDiff(mid, "finished drawing waterfall");
+                    continue;
+                }
+            }
+
             final boolean result = dataSet.lock().readLockGuard(() -> {
                 long stop = ProcessingProfiler.getTimeDiff(mid, "dataSet.lock()");
 
@@ -2,16 +2,21 @@ package de.gsi.chart.renderer.spi;
 
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javafx.collections.ObservableList;
 import javafx.geometry.Orientation;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.scene.shape.FillRule;
 
 import org.slf4j.Logger;
@@ -26,13 +31,17 @@ import de.gsi.chart.marker.DefaultMarker;
 import de.gsi.chart.marker.Marker;
 import de.gsi.chart.renderer.ErrorStyle;
 import de.gsi.chart.renderer.Renderer;
+import de.gsi.chart.renderer.RendererDataReducer;
 import de.gsi.chart.renderer.spi.utils.BezierCurve;
 import de.gsi.chart.renderer.spi.utils.DefaultRenderColorScheme;
 import de.gsi.chart.utils.StyleParser;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSetError.ErrorType;
+import de.gsi.dataset.MultiResolutionDataSet;
 import de.gsi.dataset.spi.utils.Triple;
 import de.gsi.dataset.utils.ArrayCache;
+import de.gsi.dataset.utils.CachedDaemonThreadFactory;
+import de.gsi.dataset.utils.MinMaxPyramid;
 import de.gsi.dataset.utils.ProcessingProfiler;
 
 /**
@@ -63,6 +72,7 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
     private static final String X_VALUES_SURFACE = "xValuesSurface";
     private static final String Y_DRAW_POLY_LINE_HISTOGRAM = "yDrawPolyLineHistogram";
     private static final String X_DRAW_POLY_LINE_HISTOGRAM = "xDrawPolyLineHistogram";
+    private static final String MIN_MAX_REDUCED_INDICES = "minMaxReducedIndices";
     private Marker marker = DefaultMarker.RECTANGLE; // default: rectangle
     private long stopStamp;
 
@@ -393,8 +403,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
                 count++;
             } else if (count != 0) {
                 // remove zeros and plot intermediate segment
-                compactVector(xValuesSurface, count);
-                compactVector(yValuesSurface, count);
+                compactVector(xValuesSurface, nPolygoneEdges, count);
+                compactVector(yValuesSurface, nPolygoneEdges, count);
 
                 gc.fillPolygon(xValuesSurface, yValuesSurface, 2 * count);
                 count = 0;
@@ -403,8 +413,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         if (count > 0) {
             // swap y coordinates at mid-point
             // remove zeros and plot intermediate segment
-            compactVector(xValuesSurface, count);
-            compactVector(yValuesSurface, count);
+            compactVector(xValuesSurface, nPolygoneEdges, count);
+            compactVector(yValuesSurface, nPolygoneEdges, count);
             if (count > 4) {
                 final double yTmp = yValuesSurface[count - 1];
                 yValuesSurface[count - 1] = yValuesSurface[count];
@@ -497,22 +507,36 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         if (defaultMarkerColor != null) {
             gc.setFill(defaultMarkerColor);
         }
+        boolean hasPointStyles = false;
         for (int i = 0; i < localCachedPoints.actualDataCount; i++) {
-            final double x = localCachedPoints.xValues[i];
-            final double y = localCachedPoints.yValues[i];
             if (localCachedPoints.styles[i] == null) {
-                defaultMarker.draw(gc, x, y, defaultMarkerSize);
+                defaultMarker.draw(gc, localCachedPoints.xValues[i], localCachedPoints.yValues[i], defaultMarkerSize);
             } else {
-                final Triple<Marker, Color, Double> markerForPoint = getDefaultMarker(
-                        localCachedPoints.defaultStyle + localCachedPoints.styles[i]);
-                gc.save();
-                if (markerForPoint.getSecond() != null) {
-                    gc.setFill(markerForPoint.getSecond());
+                hasPointStyles = true;
+            }
+        }
+
+        if (hasPointStyles) {
+            // N.B. point styles are dictionary-encoded (i.e. identical styles share the same instance): each distinct
+            // style is parsed only once and the fill colour is updated only when the style changes
+            final Map<String, Triple<Marker, Color, Double>> pointMarkers = new HashMap<>();
+            final Paint defaultFill = gc.getFill();
+            String lastStyle = null;
+            Triple<Marker, Color, Double> markerForPoint = markerTypeColorAndSize;
+            for (int i = 0; i < localCachedPoints.actualDataCount; i++) {
+                final String style = localCachedPoints.styles[i];
+                if (style == null) {
+                    continue;
+                }
+                if (style != lastStyle) { // NOPMD -- intended reference comparison
+                    markerForPoint = pointMarkers.computeIfAbsent(style,
+                            s -> getDefaultMarker(localCachedPoints.defaultStyle + s));
+                    gc.setFill(markerForPoint.getSecond() == null ? defaultFill : markerForPoint.getSecond());
+                    lastStyle = style;
                 }
-                final Marker pointMarker = markerForPoint.getFirst() == null ? defaultMarker
-                                                                             : markerForPoint.getFirst();
-                pointMarker.draw(gc, x, y, markerForPoint.getThird());
-                gc.restore();
+                final Marker pointMarker = markerForPoint.getFirst() == null ? defaultMarker : markerForPoint.getFirst();
+                pointMarker.draw(gc, localCachedPoints.xValues[i], localCachedPoints.yValues[i],
+                        markerForPoint.getThird());
             }
         }
 
@@ -608,6 +632,43 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         return new Triple<>(defaultMarker, defaultMarkerColor, defaultMarkerSize);
     }
 
+    /**
+     * Computes the screen coordinates only for the first, min, max, and last data points per pixel column using the
+     * data set's min/max index (M4-type reduction). This makes the rendering cost scale with the canvas width rather
+     * than the number of data points.
+     *
+     * @param xAxis the horizontal axis
+     * @param yAxis the vertical axis
+     * @param dataSet the source data set
+     * @param dsIndex data set index (styling)
+     * @param indexMin minimum data point index to be drawn
+     * @param indexMax maximum data point index to be drawn (exclusive)
+     * @return cached screen coordinates or {@code null} if the min/max index is not available or not applicable
+     */
+    protected CachedDataPoints getMinMaxReducedPoints(final Axis xAxis, final Axis yAxis,
+            final MultiResolutionDataSet dataSet, final int dsIndex, final int indexMin, final int indexMax) {
+        final MinMaxPyramid minMaxPyramid = dataSet.getMinMaxPyramid();
+        if (minMaxPyramid == null) {
+            return null;
+        }
+        final int nColumns = Math.max(1, (int) Math.ceil(xAxis.getWidth()));
+        final int capacity = MinMaxPyramid.getRequiredCapacity(nColumns);
+        final int[] indices = ArrayCache.getCachedIntArray(MIN_MAX_REDUCED_INDICES, capacity);
+        try {
+            final int nIndices = minMaxPyramid.getReducedIndices(indexMin, indexMax, nColumns, indices);
+            if (nIndices <= 0) {
+                return null;
+            }
+            // N.B. constant capacity: permits re-use of cached arrays between frames
+            final CachedDataPoints localCachedPoints = new CachedDataPoints(0, nIndices, capacity, true);
+            localCachedPoints.computeScreenCoordinatesReduced(xAxis, yAxis, dataSet, dsIndex, indices, nIndices,
+                    getErrorType(), isallowNaNs());
+            return localCachedPoints;
+        } finally {
+            ArrayCache.release(MIN_MAX_REDUCED_INDICES, indices);
+        }
+    }
+
     /**
      * Returns the marker used by this renderer.
      *
@@ -661,9 +722,13 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
             ProcessingProfiler.getTimeDiff(start, "init");
         }
 
+        if (isParallelDataSets() && localDataSetList.size() > 1) {
+            renderParallelDataSets(gc, chart, dataSetOffset, localDataSetList, xAxis, yAxis, xMin, xMax);
+            ProcessingProfiler.getTimeDiff(start);
+            return;
+        }
+
         for (int dataSetIndex = localDataSetList.size() - 1; dataSetIndex >= 0; dataSetIndex--) {
-            final int ldataSetIndex = dataSetIndex;
-            stopStamp = ProcessingProfiler.getTimeStamp();
             final DataSet dataSet = localDataSetList.get(dataSetIndex);
 
             // N.B. print out for debugging purposes, please keep (used for
@@ -675,65 +740,12 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
             // update categories in case of category axes for the first (index
             // == '0') indexed data set
             if (dataSetIndex == 0) {
-                if (getFirstAxis(Orientation.HORIZONTAL) instanceof CategoryAxis) {
-                    final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.HORIZONTAL);
-                    dataSet.lock().readLockGuard(() -> axis.updateCategories(dataSet));
-                }
-
-                if (getFirstAxis(Orientation.VERTICAL) instanceof CategoryAxis) {
-                    final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.VERTICAL);
-                    dataSet.lock().readLockGuard(() -> axis.updateCategories(dataSet));
-                }
+                updateCategories(dataSet);
             }
 
             // check for potentially reduced data range we are supposed to plot
-            final Optional<CachedDataPoints> cachedPoints = dataSet.lock().readLockGuard(() -> {
-                int indexMin;
-                int indexMax; /* indexMax is excluded in the drawing */
-                if (isAssumeSortedData()) {
-                    indexMin = Math.max(0, dataSet.getIndex(DataSet.DIM_X, xMin));
-                    indexMax = Math.min(dataSet.getIndex(DataSet.DIM_X, xMax) + 1, dataSet.getDataCount(DataSet.DIM_X));
-                } else {
-                    indexMin = 0;
-                    indexMax = dataSet.getDataCount(DataSet.DIM_X);
-                }
-                if (xAxis.isInvertedAxis()) {
-                    final int temp = indexMin;
-                    indexMin = indexMax - 1;
-                    indexMax = temp + 1;
-                }
-
-                if (indexMax - indexMin <= 0) {
-                    // zero length/range data set -> nothing to be drawn
-                    return Optional.empty();
-                }
-
-                if (ProcessingProfiler.getDebugState()) {
-                    stopStamp = ProcessingProfiler.getTimeDiff(stopStamp,
-                            "get min/max" + String.format(" from:%d to:%d", indexMin, indexMax));
-                }
-
-                final CachedDataPoints localCachedPoints = new CachedDataPoints(indexMin, indexMax,
-                        dataSet.getDataCount(DataSet.DIM_X), true);
-                if (ProcessingProfiler.getDebugState()) {
-                    stopStamp = ProcessingProfiler.getTimeDiff(stopStamp, "get CachedPoints");
-                }
-
-                // compute local screen coordinates
-                final boolean isPolarPlot = ((XYChart) chart).isPolarPlot();
-                if (isParallelImplementation()) {
-                    localCachedPoints.computeScreenCoordinatesInParallel(xAxis, yAxis, dataSet,
-                            dataSetOffset + ldataSetIndex, indexMin, indexMax, getErrorType(), isPolarPlot,
-                            isallowNaNs());
-                } else {
-                    localCachedPoints.computeScreenCoordinates(xAxis, yAxis, dataSet, dataSetOffset + ldataSetIndex,
-                            indexMin, indexMax, getErrorType(), isPolarPlot, isallowNaNs());
-                }
-                if (ProcessingProfiler.getDebugState()) {
-                    stopStamp = ProcessingProfiler.getTimeDiff(stopStamp, "computeScreenCoordinates()");
-                }
-                return Optional.of(localCachedPoints);
-            });
+            final Optional<CachedDataPoints> cachedPoints = computeCachedPoints(xAxis, yAxis, xMin, xMax, dataSet,
+                    dataSetOffset + dataSetIndex, ((XYChart) chart).isPolarPlot(), isParallelImplementation());
 
             if (cachedPoints.isPresent()) {
                 // invoke data reduction algorithm
@@ -755,6 +767,191 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         ProcessingProfiler.getTimeDiff(start);
     }
 
+    /**
+     * Computes the (not yet reduced) screen coordinates of the visible data range.
+     *
+     * @param xAxis the horizontal axis
+     * @param yAxis the vertical axis
+     * @param xMin minimum visible x value
+     * @param xMax maximum visible x value
+     * @param dataSet the source data set
+     * @param dsIndex data set index (styling)
+     * @param isPolarPlot {@code true}: the chart is drawn in polar coordinates
+     * @param parallel {@code true}: compute the screen coordinates in parallel
+     * @return cached screen coordinates or empty optional if there is nothing to be drawn
+     */
+    protected Optional<CachedDataPoints> computeCachedPoints(final Axis xAxis, final Axis yAxis, final double xMin,
+            final double xMax, final DataSet dataSet, final int dsIndex, final boolean isPolarPlot,
+            final boolean parallel) {
+        return dataSet.lock().readLockGuard(() -> {
+            long stamp = ProcessingProfiler.getTimeStamp();
+            int indexMin;
+            int indexMax; /* indexMax is excluded in the drawing */
+            if (isAssumeSortedData()) {
+                indexMin = Math.max(0, dataSet.getIndex(DataSet.DIM_X, xMin));
+                indexMax = Math.min(dataSet.getIndex(DataSet.DIM_X, xMax) + 1, dataSet.getDataCount(DataSet.DIM_X));
+            } else {
+                indexMin = 0;
+                indexMax = dataSet.getDataCount(DataSet.DIM_X);
+            }
+            if (xAxis.isInvertedAxis()) {
+                final int temp = indexMin;
+                indexMin = indexMax - 1;
+                indexMax = temp + 1;
+            }
+
+            if (indexMax - indexMin <= 0) {
+                // zero length/range data set -> nothing to be drawn
+                return Optional.empty();
+            }
+
+            if (ProcessingProfiler.getDebugState()) {
+                stamp = ProcessingProfiler.getTimeDiff(stamp,
+                        "get min/max" + String.format(" from:%d to:%d", indexMin, indexMax));
+            }
+
+            // pre-reduce large data sets via their (optional) min/max index
+            if (isReducePoints() && !isPolarPlot && !xAxis.isInvertedAxis()
+                    && dataSet instanceof MultiResolutionDataSet) {
+                final CachedDataPoints reducedPoints = getMinMaxReducedPoints(xAxis, yAxis,
+                        (MultiResolutionDataSet) dataSet, dsIndex, indexMin, indexMax);
+                if (reducedPoints != null) {
+                    if (ProcessingProfiler.getDebugState()) {
+                        ProcessingProfiler.getTimeDiff(stamp, "computeScreenCoordinatesReduced()");
+                    }
+                    return Optional.of(reducedPoints);
+                }
+            }
+
+            final CachedDataPoints localCachedPoints = new CachedDataPoints(indexMin, indexMax,
+                    dataSet.getDataCount(DataSet.DIM_X), true);
+            if (ProcessingProfiler.getDebugState()) {
+                stamp = ProcessingProfiler.getTimeDiff(stamp, "get CachedPoints");
+            }
+
+            // compute local screen coordinates
+            if (parallel) {
+                localCachedPoints.computeScreenCoordinatesInParallel(xAxis, yAxis, dataSet, dsIndex, indexMin,
+                        indexMax, getErrorType(), isPolarPlot, isallowNaNs());
+            } else {
+                localCachedPoints.computeScreenCoordinates(xAxis, yAxis, dataSet, dsIndex, indexMin, indexMax,
+                        getErrorType(), isPolarPlot, isallowNaNs());
+            }
+            if (ProcessingProfiler.getDebugState()) {
+                ProcessingProfiler.getTimeDiff(stamp, "computeScreenCoordinates()");
+            }
+            return Optional.of(localCachedPoints);
+        });
+    }
+
+    /**
+     * Prepares all data sets concurrently on the common worker pool (locking, index range search, screen coordinate
+     * transform and data reduction) while the FX thread waits and only executes the final drawing commands in the same
+     * order as the sequential implementation.
+     *
+     * @param gc the graphics context to draw on
+     * @param chart the chart the data sets are drawn in
+     * @param dataSetOffset global offset of the data set index (styling)
+     * @param localDataSetList chart and renderer data sets
+     * @param xAxis the horizontal axis
+     * @param yAxis the vertical axis
+     * @param xMin minimum visible x value
+     * @param xMax maximum visible x value
+     */
+    protected void renderParallelDataSets(final GraphicsContext gc, final Chart chart, final int dataSetOffset,
+            final List<DataSet> localDataSetList, final Axis xAxis, final Axis yAxis, final double xMin,
+            final double xMax) {
+        updateCategories(localDataSetList.get(0));
+
+        final List<Optional<CachedDataPoints>> results = computeCachedPointsInParallel(dataSetOffset,
+                localDataSetList, xAxis, yAxis, xMin, xMax, ((XYChart) chart).isPolarPlot());
+
+        for (int dataSetIndex = results.size() - 1; dataSetIndex >= 0; dataSetIndex--) {
+            results.get(dataSetIndex).ifPresent(cachedPoints -> {
+                drawChartCompontents(gc, cachedPoints);
+                cachedPoints.release();
+            });
+        }
+    }
+
+    /**
+     * Computes and reduces the screen coordinates of all data sets concurrently on the common worker pool, one worker
+     * per data set.
+     *
+     * @param dataSetOffset global offset of the data set index (styling)
+     * @param localDataSetList chart and renderer data sets
+     * @param xAxis the horizontal axis
+     * @param yAxis the vertical axis
+     * @param xMin minimum visible x value
+     * @param xMax maximum visible x value
+     * @param isPolarPlot {@code true}: the chart is drawn in polar coordinates
+     * @return reduced screen coordinates in data set order, to be released by the caller
+     * @throws IllegalStateException if a worker failed or the calling thread has been interrupted, N.B. the points of
+     *         already completed workers are released and pending workers are cancelled
+     */
+    protected List<Optional<CachedDataPoints>> computeCachedPointsInParallel(final int dataSetOffset,
+            final List<DataSet> localDataSetList, final Axis xAxis, final Axis yAxis, final double xMin,
+            final double xMax, final boolean isPolarPlot) {
+        final RendererDataReducer cruncher = rendererDataReducerProperty().get();
+        final boolean reducePoints = isReducePoints();
+        final int minRequiredReductionSize = getMinRequiredReductionSize();
+        final List<Callable<Optional<CachedDataPoints>>> workers = new ArrayList<>(localDataSetList.size());
+        for (int dataSetIndex = 0; dataSetIndex < localDataSetList.size(); dataSetIndex++) {
+            final DataSet dataSet = localDataSetList.get(dataSetIndex);
+            final int dsIndex = dataSetOffset + dataSetIndex;
+            workers.add(() -> {
+                // N.B. not nested-parallel: the data sets already occupy the common pool
+                final Optional<CachedDataPoints> cachedPoints = computeCachedPoints(xAxis, yAxis, xMin, xMax,
+                        dataSet, dsIndex, isPolarPlot, false);
+                cachedPoints.ifPresent(points -> points.reduce(cruncher, reducePoints, minRequiredReductionSize));
+                return cachedPoints;
+            });
+        }
+
+        final List<Future<Optional<CachedDataPoints>>> futures = new ArrayList<>(workers.size());
+        final List<Optional<CachedDataPoints>> results = new ArrayList<>(workers.size());
+        boolean success = false;
+        try {
+            for (final Callable<Optional<CachedDataPoints>> worker : workers) {
+                futures.add(CachedDaemonThreadFactory.getCommonPool().submit(worker));
+            }
+            for (final Future<Optional<CachedDataPoints>> future : futures) {
+                results.add(future.get());
+            }
+            success = true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for parallel worker threads", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("one parallel worker thread finished execution with error", e);
+        } finally {
+            if (!success) {
+                releaseCompletedResults(futures);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * cancels pending workers and returns the points of all successfully completed workers to the cache
+     *
+     * @param futures the futures of the parallel workers
+     */
+    private static void releaseCompletedResults(final List<Future<Optional<CachedDataPoints>>> futures) {
+        for (final Future<Optional<CachedDataPoints>> future : futures) {
+            if (future.cancel(true) || future.isCancelled()) {
+                continue;
+            }
+            try {
+                future.get().ifPresent(CachedDataPoints::release);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final ExecutionException e) {
+                // failed worker -- nothing to release
+            }
+        }
+    }
+
     /**
      * Replaces marker used by this renderer.
      *
@@ -764,8 +961,20 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         this.marker = marker;
     }
 
-    private static void compactVector(final double[] input, final int stopIndex) {
-        final int xend = input.length - 0;
+    private void updateCategories(final DataSet dataSet) {
+        if (getFirstAxis(Orientation.HORIZONTAL) instanceof CategoryAxis) {
+            final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.HORIZONTAL);
+            dataSet.lock().readLockGuard(() -> axis.updateCategories(dataSet));
+        }
+
+        if (getFirstAxis(Orientation.VERTICAL) instanceof CategoryAxis) {
+            final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.VERTICAL);
+            dataSet.lock().readLockGuard(() -> axis.updateCategories(dataSet));
+        }
+    }
+
+    private static void compactVector(final double[] input, final int length, final int stopIndex) {
+        final int xend = length;
         for (int i = 0; i < stopIndex; i++) {
             input[stopIndex + i] = input[xend - stopIndex + i];
         }
@@ -8,6 +8,7 @@ import de.gsi.chart.axes.Axis;
 import de.gsi.chart.axes.spi.CategoryAxis;
 import de.gsi.chart.renderer.Renderer;
 import de.gsi.dataset.DataSet;
+import de.gsi.dataset.utils.ArrayCache;
 import de.gsi.dataset.utils.ProcessingProfiler;
 import javafx.collections.ObservableList;
 import javafx.scene.canvas.Canvas;
@@ -20,6 +21,8 @@ import javafx.scene.paint.Color;
 @Deprecated
 public class LineRenderer extends AbstractDataSetManagement<LineRenderer> implements Renderer {
 
+    private static final String X_VALUES = "lineRendererX";
+    private static final String Y_VALUES = "lineRendererY";
     static private final Color[] COLORS = { Color.BLACK, Color.BLUE, Color.GREEN, Color.RED };
 
     @Override
@@ -76,17 +79,22 @@ public class LineRenderer extends AbstractDataSetManagement<LineRenderer> implem
                     if (i < 0) {
                         i = 0;
                     }
-                    double x0 = xAxis.getDisplayPosition(dataset.get(DataSet.DIM_X, i));
-                    double y0 = yAxis.getDisplayPosition(dataset.get(DataSet.DIM_Y, i));
-                    i++;
                     final int maxIndex = Math.min(dataset.getIndex(DataSet.DIM_X, xmax) + 1,
                             dataset.getDataCount(DataSet.DIM_X));
-                    for (; i < maxIndex; i++) {
-                        final double x1 = xAxis.getDisplayPosition(dataset.get(DataSet.DIM_X, i));
-                        final double y1 = yAxis.getDisplayPosition(dataset.get(DataSet.DIM_Y, i));
-                        gc.strokeLine(x0, y0, x1, y1);
-                        x0 = x1;
-                        y0 = y1;
+                    final int n = maxIndex - i;
+                    if (n > 1) {
+                        // bulk copy and transform of the visible range
+                        final double[] x = ArrayCache.getCachedDoubleArray(X_VALUES, n);
+                        final double[] y = ArrayCache.getCachedDoubleArray(Y_VALUES, n);
+                        dataset.getValues(DataSet.DIM_X, i, x, 0, n);
+                        dataset.getValues(DataSet.DIM_Y, i, y, 0, n);
+                        xAxis.getDisplayPositions(x, x, 0, n);
+                        yAxis.getDisplayPositions(y, y, 0, n);
+                        for (int j = 1; j < n; j++) {
+                            gc.strokeLine(x[j - 1], y[j - 1], x[j], y[j]);
+                        }
+                        ArrayCache.release(X_VALUES, x);
+                        ArrayCache.release(Y_VALUES, y);
                     }
                 }
                 return lindex + 1;
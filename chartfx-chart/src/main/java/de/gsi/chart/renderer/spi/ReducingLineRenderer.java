@@ -12,10 +12,13 @@ import de.gsi.chart.Chart;
 import de.gsi.chart.XYChart;
 import de.gsi.chart.axes.Axis;
 import de.gsi.chart.axes.spi.CategoryAxis;
+import de.gsi.chart.renderer.DrawingSurface;
 import de.gsi.chart.renderer.Renderer;
+import de.gsi.chart.renderer.spi.surface.GraphicsContextSurface;
 import de.gsi.chart.renderer.spi.utils.DefaultRenderColorScheme;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet2D;
+import de.gsi.dataset.utils.ArrayCache;
 import de.gsi.dataset.utils.ProcessingProfiler;
 import javafx.collections.ObservableList;
 import javafx.scene.canvas.Canvas;
@@ -28,6 +31,8 @@ import javafx.scene.canvas.GraphicsContext;
  */
 public class ReducingLineRenderer extends AbstractDataSetManagement<ReducingLineRenderer> implements Renderer {
 
+    private static final String X_VALUES = "reducingLineRendererX";
+    private static final String Y_VALUES = "reducingLineRendererY";
     private int maxPoints;
 
     // static private final Color[] COLORS = { Color.BLACK, Color.BLUE, Color.GREEN, Color.RED };
@@ -78,6 +83,7 @@ public class ReducingLineRenderer extends AbstractDataSetManagement<ReducingLine
         final double xAxisWidth = xAxis.getWidth();
         final double xmin = xAxis.getValueForDisplay(0);
         final double xmax = xAxis.getValueForDisplay(xAxisWidth);
+        final DrawingSurface surface = new GraphicsContextSurface(gc);
         int index = 0;
         for (final DataSet ds : localDataSetList) {
             if (!(ds instanceof DataSet2D)) {
@@ -106,56 +112,18 @@ public class ReducingLineRenderer extends AbstractDataSetManagement<ReducingLine
                 if (dataset.getDataCount() > 0) {
                     final int indexMin = Math.max(0, dataset.getXIndex(xmin));
                     final int indexMax = Math.min(dataset.getXIndex(xmax) + 1, dataset.getDataCount());
-                    final int n = Math.abs(indexMax - indexMin);
-                    final int d = n / maxPoints;
-                    if (d <= 1) {
-                        int i = dataset.getXIndex(xmin);
-                        if (i < 0) {
-                            i = 0;
-                        }
-                        double x0 = xAxis.getDisplayPosition(dataset.get(DataSet.DIM_X, i));
-                        double y0 = yAxis.getDisplayPosition(dataset.get(DataSet.DIM_Y, i));
-                        i++;
-                        for (; i < Math.min(dataset.getXIndex(xmax) + 1, dataset.getDataCount()); i++) {
-                            final double x1 = xAxis.getDisplayPosition(dataset.getX(i));
-                            final double y1 = yAxis.getDisplayPosition(dataset.getY(i));
-                            gc.strokeLine(x0, y0, x1, y1);
-                            x0 = x1;
-                            y0 = y1;
-                        }
-                    } else {
-                        int i = dataset.getXIndex(xmin);
-                        if (i < 0) {
-                            i = 0;
-                        }
-                        double x0 = xAxis.getDisplayPosition(dataset.get(DataSet.DIM_X, i));
-                        double y0 = yAxis.getDisplayPosition(dataset.get(DataSet.DIM_Y, i));
-                        i++;
-                        double x1 = xAxis.getDisplayPosition(dataset.get(DataSet.DIM_X, i));
-                        double y1 = yAxis.getDisplayPosition(dataset.get(DataSet.DIM_Y, i));
-                        double delta = Math.abs(y1 - y0);
-                        i++;
-                        int j = d - 2;
-                        for (; i < Math.min(dataset.getXIndex(xmax) + 1, dataset.getDataCount()); i++) {
-                            if (j > 0) {
-                                final double x2 = xAxis.getDisplayPosition(dataset.get(DataSet.DIM_X, i));
-                                final double y2 = yAxis.getDisplayPosition(dataset.get(DataSet.DIM_Y, i));
-                                if (Math.abs(y2 - y0) > delta) {
-                                    x1 = x2;
-                                    y1 = y2;
-                                    delta = Math.abs(y2 - y0);
-                                }
-                                j--;
-                            } else {
-                                gc.strokeLine(x0, y0, x1, y1);
-                                x0 = x1;
-                                y0 = y1;
-                                x1 = xAxis.getDisplayPosition(dataset.get(DataSet.DIM_X, i));
-                                y1 = yAxis.getDisplayPosition(dataset.get(DataSet.DIM_Y, i));
-                                delta = Math.abs(y1 - y0);
-                                j = d - 1;
-                            }
-                        }
+                    final int n = indexMax - indexMin;
+                    if (n > 1) {
+                        // bulk copy and transform of the visible range
+                        final double[] x = ArrayCache.getCachedDoubleArray(X_VALUES, n);
+                        final double[] y = ArrayCache.getCachedDoubleArray(Y_VALUES, n);
+                        dataset.getValues(DataSet.DIM_X, indexMin, x, 0, n);
+                        dataset.getValues(DataSet.DIM_Y, indexMin, y, 0, n);
+                        xAxis.getDisplayPositions(x, x, 0, n);
+                        yAxis.getDisplayPositions(y, y, 0, n);
+                        drawPolyLine(surface, x, y, n, n / maxPoints);
+                        ArrayCache.release(X_VALUES, x);
+                        ArrayCache.release(Y_VALUES, y);
                     }
                 }
                 gc.restore();
@@ -168,4 +136,47 @@ public class ReducingLineRenderer extends AbstractDataSetManagement<ReducingLine
     public void setMaxPoints(final int maxPoints) {
         this.maxPoints = maxPoints;
     }
+
+    /**
+     * Draws the poly-line keeping only the point with the largest y-deviation w.r.t. the last drawn point per 'd'
+     * points.
+     *
+     * @param surface the surface to be drawn on
+     * @param x horizontal display coordinates
+     * @param y vertical display coordinates
+     * @param n number of points
+     * @param d reduction factor, no reduction for values &lt;= 1
+     */
+    public static void drawPolyLine(final DrawingSurface surface, final double[] x, final double[] y, final int n,
+            final int d) {
+        if (d <= 1) {
+            surface.strokePolyline(x, y, n);
+            return;
+        }
+        // keep the point with the largest y-deviation w.r.t. the last drawn point per 'd' points
+        double x0 = x[0];
+        double y0 = y[0];
+        double x1 = x[1];
+        double y1 = y[1];
+        double delta = Math.abs(y1 - y0);
+        int j = d - 2;
+        for (int i = 2; i < n; i++) {
+            if (j > 0) {
+                if (Math.abs(y[i] - y0) > delta) {
+                    x1 = x[i];
+                    y1 = y[i];
+                    delta = Math.abs(y1 - y0);
+                }
+                j--;
+            } else {
+                surface.strokeLine(x0, y0, x1, y1);
+                x0 = x1;
+                y0 = y1;
+                x1 = x[i];
+                y1 = y[i];
+                delta = Math.abs(y1 - y0);
+                j = d - 1;
+            }
+        }
+    }
 }
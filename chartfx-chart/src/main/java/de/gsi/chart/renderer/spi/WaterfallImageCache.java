@@ -0,0 +1,173 @@
+package de.gsi.chart.renderer.spi;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+import static de.gsi.dataset.DataSet.DIM_Z;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import de.gsi.chart.axes.Axis;
+import de.gsi.chart.axes.AxisTransform;
+import de.gsi.chart.renderer.spi.utils.ColorGradient;
+import de.gsi.dataset.WaterfallDataSet;
+import de.gsi.dataset.utils.ProcessingProfiler;
+
+/**
+ * Incrementally updated heat-map image for {@link WaterfallDataSet}s.
+ * <p>
+ * The image rows are used as a circular buffer: only rows that have been appended since the last update are being
+ * quantised and coloured, and the image is drawn in two slices starting with the newest row at the top. The per-frame
+ * cost thus scales with the row width and number of new rows rather than the history depth. A full update is
+ * performed whenever the data set dimensions or the colour mapping (z range, gradient, quantisation) change.
+ *
+ * @author rstein
+ */
+class WaterfallImageCache {
+    private final WaterfallDataSet dataSet;
+    private WritableImage image;
+    private int[] rowPixels = new int[0];
+    private double[] rowData = new double[0];
+    private int width;
+    private int height;
+    private long rowCount;
+
+    // colour mapping state the image has been computed for
+    private double zMin;
+    private double zMax;
+    private boolean zInverted;
+    private AxisTransform zTransform;
+    private ColorGradient colorGradient;
+    private int nQuant;
+
+    // screen coordinates
+    private double xPixelMin;
+    private double xPixelRange;
+    private double yPixelMin;
+    private double yPixelRange;
+
+    WaterfallImageCache(final WaterfallDataSet dataSet) {
+        this.dataSet = dataSet;
+    }
+
+    /**
+     * draws the image, N.B. needs to be preceded by a successful {@link #update}
+     *
+     * @param gc the graphics context to draw on
+     * @param smooth whether image smoothing should be applied
+     */
+    void draw(final GraphicsContext gc, final boolean smooth) {
+        gc.setImageSmoothing(smooth);
+        final double rowHeight = yPixelRange / height;
+        // ring slot of the newest row, older rows follow with increasing slot index (modulo height)
+        final int newestSlot = getSlot(rowCount - 1);
+        final int nTop = height - newestSlot;
+        gc.drawImage(image, 0, newestSlot, width, nTop, xPixelMin, yPixelMin, xPixelRange, nTop * rowHeight);
+        if (newestSlot > 0) {
+            gc.drawImage(image, 0, 0, width, newestSlot, xPixelMin, yPixelMin + nTop * rowHeight, xPixelRange,
+                    newestSlot * rowHeight);
+        }
+    }
+
+    /**
+     * updates the image with rows that have been appended since the last call, N.B. needs to be called with the data
+     * set's read lock held
+     *
+     * @param xAxis the horizontal axis
+     * @param yAxis the vertical axis
+     * @param renderer the renderer providing the z-axis and colour mapping parameters
+     * @return {@code false} if the incremental waterfall mode is not applicable (e.g. inverted axes, empty data set)
+     */
+    boolean update(final Axis xAxis, final Axis yAxis, final ContourDataSetRenderer renderer) {
+        final long start = ProcessingProfiler.getTimeStamp();
+        final Axis zAxis = renderer.getZAxis();
+        if (zAxis == null || zAxis.getAxisTransform() == null || xAxis.isInvertedAxis() || yAxis.isInvertedAxis()) {
+            return false;
+        }
+        final int nCols = dataSet.getDataCount(DIM_X);
+        final int nRows = dataSet.getDataCount(DIM_Y);
+        if (nCols <= 0 || nRows <= 0 || dataSet.getDataCount(DIM_Z) < nCols * nRows) {
+            return false;
+        }
+
+        final double xMinPixel = xAxis.getDisplayPosition(dataSet.getAxisDescription(DIM_X).getMin());
+        final double xMaxPixel = xAxis.getDisplayPosition(dataSet.getAxisDescription(DIM_X).getMax());
+        final double yMinPixel = yAxis.getDisplayPosition(dataSet.getAxisDescription(DIM_Y).getMax());
+        final double yMaxPixel = yAxis.getDisplayPosition(dataSet.getAxisDescription(DIM_Y).getMin());
+        xPixelMin = Math.min(xMinPixel, xMaxPixel);
+        xPixelRange = Math.abs(xMaxPixel - xMinPixel);
+        yPixelMin = Math.min(yMinPixel, yMaxPixel);
+        yPixelRange = Math.abs(yMaxPixel - yMinPixel);
+
+        final long newRowCount = dataSet.getAppendedRowCount();
+        final long nNewRows = newRowCount - rowCount;
+        final boolean fullUpdate = image == null || nCols != width || nRows != height || nNewRows < 0
+                                   || nNewRows >= nRows || isColourMappingModified(zAxis, renderer);
+        if (fullUpdate) {
+            width = nCols;
+            height = nRows;
+            if (image == null || (int) image.getWidth() != width || (int) image.getHeight() != height) {
+                image = new WritableImage(width, height);
+                rowPixels = new int[width];
+                rowData = new double[width];
+            }
+            zMin = zAxis.getMin();
+            zMax = zAxis.getMax();
+            zInverted = zAxis.isInvertedAxis();
+            zTransform = zAxis.getAxisTransform();
+            colorGradient = renderer.getColorGradient();
+            nQuant = renderer.getNumberQuantisationLevels();
+        }
+        rowCount = newRowCount;
+
+        final PixelWriter pixelWriter = image.getPixelWriter();
+        final int[] lut = colorGradient.getColorLookupTable(nQuant);
+        final int firstRow = fullUpdate ? 0 : (int) (height - nNewRows);
+        for (int row = firstRow; row < height; row++) {
+            final int offset = row * width;
+            for (int col = 0; col < width; col++) {
+                rowData[col] = dataSet.get(DIM_Z, offset + col);
+            }
+            ContourDataSetCache.quantizeData(rowData, width, 1, zInverted, zMin, zMax, zTransform, nQuant);
+            ContourDataSetCache.fillPixelBuffer(rowData, width, 1, 0, 1, lut, nQuant, rowPixels);
+            pixelWriter.setPixels(0, getSlot(rowCount - height + row), width, 1, PixelFormat.getIntArgbPreInstance(),
+                    rowPixels, 0, width);
+        }
+        ProcessingProfiler.getTimeDiff(start, "waterfall update of " + (height - firstRow) + " rows");
+        return true;
+    }
+
+    /**
+     * @return ARGB pixels of the image in the order they are drawn by {@link #draw}, i.e. starting with the newest row
+     *         at the top, N.B. needs to be preceded by a successful {@link #update}
+     */
+    int[] getPixels() {
+        final int[] pixels = new int[width * height];
+        final PixelReader pixelReader = image.getPixelReader();
+        final int newestSlot = getSlot(rowCount - 1);
+        final int nTop = height - newestSlot;
+        pixelReader.getPixels(0, newestSlot, width, nTop, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        if (newestSlot > 0) {
+            pixelReader.getPixels(0, 0, width, newestSlot, PixelFormat.getIntArgbInstance(), pixels, nTop * width,
+                    width);
+        }
+        return pixels;
+    }
+
+    /**
+     * @param row global row counter
+     * @return image row used to store the given row, N.B. newer rows are stored at decreasing image rows (wrapping)
+     */
+    private int getSlot(final long row) {
+        return height - 1 - (int) Math.floorMod(row, (long) height);
+    }
+
+    private boolean isColourMappingModified(final Axis zAxis, final ContourDataSetRenderer renderer) {
+        return zAxis.getMin() != zMin || zAxis.getMax() != zMax || zAxis.isInvertedAxis() != zInverted
+                || zAxis.getAxisTransform() != zTransform || renderer.getColorGradient() != colorGradient
+                || renderer.getNumberQuantisationLevels() != nQuant;
+    }
+}
@@ -0,0 +1,130 @@
+package de.gsi.chart.renderer.spi.surface;
+
+import java.util.Objects;
+
+import de.gsi.chart.renderer.DrawingSurface;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * {@link DrawingSurface} backed by a JavaFX {@link GraphicsContext}.
+ * <p>
+ * N.B. as any JavaFX canvas operation, to be used from the JavaFX application thread only
+ *
+ * @author rstein
+ */
+public class GraphicsContextSurface implements DrawingSurface {
+    private final GraphicsContext gc;
+
+    /**
+     * @param gc the graphics context to be drawn on
+     */
+    public GraphicsContextSurface(final GraphicsContext gc) {
+        this.gc = Objects.requireNonNull(gc, "gc must not be null");
+    }
+
+    @Override
+    public void clearRect(final double x, final double y, final double w, final double h) {
+        gc.clearRect(x, y, w, h);
+    }
+
+    @Override
+    public void fillOval(final double x, final double y, final double w, final double h) {
+        gc.fillOval(x, y, w, h);
+    }
+
+    @Override
+    public void fillPolygon(final double[] xPoints, final double[] yPoints, final int nPoints) {
+        gc.fillPolygon(xPoints, yPoints, nPoints);
+    }
+
+    @Override
+    public void fillRect(final double x, final double y, final double w, final double h) {
+        gc.fillRect(x, y, w, h);
+    }
+
+    @Override
+    public void fillText(final String text, final double x, final double y) {
+        gc.fillText(text, x, y);
+    }
+
+    /**
+     * @return the underlying graphics context
+     */
+    public GraphicsContext getGraphicsContext() {
+        return gc;
+    }
+
+    @Override
+    public double getHeight() {
+        return gc.getCanvas().getHeight();
+    }
+
+    @Override
+    public double getWidth() {
+        return gc.getCanvas().getWidth();
+    }
+
+    @Override
+    public void restore() {
+        gc.restore();
+    }
+
+    @Override
+    public void save() {
+        gc.save();
+    }
+
+    @Override
+    public void setFill(final Color color) {
+        gc.setFill(color);
+    }
+
+    @Override
+    public void setFontSize(final double size) {
+        gc.setFont(Font.font(gc.getFont().getFamily(), size));
+    }
+
+    @Override
+    public void setLineDashes(final double... dashes) {
+        gc.setLineDashes(dashes);
+    }
+
+    @Override
+    public void setLineWidth(final double width) {
+        gc.setLineWidth(width);
+    }
+
+    @Override
+    public void setStroke(final Color color) {
+        gc.setStroke(color);
+    }
+
+    @Override
+    public void setTextAlign(final TextAlignment align) {
+        gc.setTextAlign(align);
+    }
+
+    @Override
+    public void setTextBaseline(final VPos baseline) {
+        gc.setTextBaseline(baseline);
+    }
+
+    @Override
+    public void strokeLine(final double x1, final double y1, final double x2, final double y2) {
+        gc.strokeLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void strokePolyline(final double[] xPoints, final double[] yPoints, final int nPoints) {
+        gc.strokePolyline(xPoints, yPoints, nPoints);
+    }
+
+    @Override
+    public void strokeRect(final double x, final double y, final double w, final double h) {
+        gc.strokeRect(x, y, w, h);
+    }
+}
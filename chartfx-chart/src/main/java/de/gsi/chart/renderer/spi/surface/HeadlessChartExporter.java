@@ -0,0 +1,420 @@
+package de.gsi.chart.renderer.spi.surface;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import de.gsi.chart.XYChartCss;
+import de.gsi.chart.axes.TickUnitSupplier;
+import de.gsi.chart.axes.spi.format.DefaultTickUnitSupplier;
+import de.gsi.chart.renderer.DrawingSurface;
+import de.gsi.chart.renderer.spi.ReducingLineRenderer;
+import de.gsi.chart.utils.StyleParser;
+import de.gsi.dataset.AxisDescription;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.utils.AssertUtils;
+import javafx.geometry.VPos;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Renders simple line plots of {@link DataSet}s (frame, grid, tick labels, axis titles, legend and poly-lines) onto any
+ * {@link DrawingSurface} and exports them as PNG images without requiring a display or a running JavaFX toolkit.
+ * <p>
+ * Intended for batch exports on headless servers: each plot is drawn onto its own {@link RasterSurface} so that many
+ * plots can be rendered in parallel, see {@link #exportPng(Map)}. The axis ranges are derived from the data set limits
+ * and the line colours follow the default chart palette unless overridden via the data set's
+ * {@link XYChartCss#DATASET_STROKE_COLOR} style.
+ * <p>
+ * N.B. the exporter settings are read without synchronisation during rendering and should not be modified while
+ * exports are running.
+ *
+ * @author rstein
+ */
+public class HeadlessChartExporter {
+    private static final Color[] DEFAULT_COLOURS = { Color.valueOf("#0000c8"), Color.valueOf("#c80000"),
+        Color.valueOf("#00c800"), Color.ORANGE, Color.MAGENTA, Color.CYAN, Color.DARKGRAY, Color.PINK, Color.BLACK };
+    private static final double TICK_LENGTH = 5.0;
+    private static final double TICK_SPACING = 80.0; // preferred minimum pixel distance between major ticks
+    private static final double[] GRID_DASHES = { 4.0, 4.0 };
+    private final TickUnitSupplier tickUnitSupplier = new DefaultTickUnitSupplier();
+    private int width = 800;
+    private int height = 600;
+    private String title;
+    private double fontSize = 12.0;
+    private double lineWidth = 1.5;
+    private Color background = Color.WHITE;
+    private Color[] colours = DEFAULT_COLOURS;
+
+    /**
+     * Renders the data sets into a new {@link RasterSurface} and writes it as PNG image to the given file.
+     *
+     * @param dataSets the data sets to be drawn
+     * @param file the target file
+     * @throws IOException in case of write errors
+     */
+    public void exportPng(final List<? extends DataSet> dataSets, final Path file) throws IOException {
+        final RasterSurface surface = new RasterSurface(width, height);
+        render(surface, dataSets);
+        surface.writePng(file);
+    }
+
+    /**
+     * Renders and exports the plots in parallel using the common {@link ForkJoinPool}.
+     *
+     * @param plots map of target files and the data sets to be drawn into them
+     * @throws IOException in case of write errors of any of the exports
+     */
+    public void exportPng(final Map<Path, ? extends List<? extends DataSet>> plots) throws IOException {
+        exportPng(plots, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Renders and exports the plots in parallel.
+     *
+     * @param plots map of target files and the data sets to be drawn into them
+     * @param pool the pool the exports are executed in
+     * @throws IOException in case of write errors of any of the exports
+     */
+    public void exportPng(final Map<Path, ? extends List<? extends DataSet>> plots, final ForkJoinPool pool)
+            throws IOException {
+        AssertUtils.notNull("plots", plots);
+        AssertUtils.notNull("pool", pool);
+        try {
+            pool.submit(() -> plots.entrySet().parallelStream().forEach(plot -> {
+                try {
+                    exportPng(plot.getValue(), plot.getKey());
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("export interrupted", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException("export failed", e.getCause());
+        }
+    }
+
+    public Color getBackground() {
+        return background;
+    }
+
+    public double getFontSize() {
+        return fontSize;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public double getLineWidth() {
+        return lineWidth;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Draws the plot of the given data sets onto the surface.
+     *
+     * @param surface the surface to be drawn on
+     * @param dataSets the data sets to be drawn
+     */
+    public void render(final DrawingSurface surface, final List<? extends DataSet> dataSets) {
+        AssertUtils.notNull("surface", surface);
+        AssertUtils.notNull("dataSets", dataSets);
+        final double[] xRange = { Double.MAX_VALUE, -Double.MAX_VALUE };
+        final double[] yRange = { Double.MAX_VALUE, -Double.MAX_VALUE };
+        for (final DataSet dataSet : dataSets) {
+            if (dataSet.getDimension() < 2) {
+                continue;
+            }
+            for (final int dimIndex : new int[] { DataSet.DIM_X, DataSet.DIM_Y }) {
+                if (dataSet.getAxisDescriptions().size() > dimIndex
+                        && !dataSet.getAxisDescription(dimIndex).isDefined()) {
+                    // N.B. recomputeLimits requires the write lock
+                    dataSet.lock().writeLockGuard(() -> dataSet.recomputeLimits(dimIndex));
+                }
+            }
+            dataSet.lock().readLockGuard(() -> {
+                updateRange(dataSet, DataSet.DIM_X, xRange);
+                updateRange(dataSet, DataSet.DIM_Y, yRange);
+            });
+        }
+        checkRange(xRange);
+        checkRange(yRange);
+
+        // plot area
+        final double w = surface.getWidth();
+        final double h = surface.getHeight();
+        final double left = 5.0 * fontSize + TICK_LENGTH;
+        final double right = w - 2.0 * fontSize;
+        final double top = title == null ? 1.5 * fontSize : 3.0 * fontSize;
+        final double bottom = h - 3.5 * fontSize - TICK_LENGTH;
+        if (right <= left || bottom <= top) {
+            return;
+        }
+        final Transform xTransform = new Transform(xRange[0], xRange[1], left, right);
+        final Transform yTransform = new Transform(yRange[0], yRange[1], bottom, top);
+
+        surface.save();
+        surface.clearRect(0, 0, w, h);
+        surface.setFill(background);
+        surface.fillRect(0, 0, w, h);
+        surface.setFontSize(fontSize);
+        drawGridAndTicks(surface, xTransform, true, top, bottom);
+        drawGridAndTicks(surface, yTransform, false, left, right);
+
+        surface.setFill(Color.BLACK);
+        if (title != null) {
+            surface.setTextAlign(TextAlignment.CENTER);
+            surface.setTextBaseline(VPos.CENTER);
+            surface.fillText(title, 0.5 * (left + right), 1.5 * fontSize);
+        }
+        if (!dataSets.isEmpty()) {
+            final DataSet first = dataSets.get(0);
+            surface.setTextAlign(TextAlignment.CENTER);
+            surface.setTextBaseline(VPos.BOTTOM);
+            surface.fillText(getAxisTitle(first, DataSet.DIM_X), 0.5 * (left + right), h - 0.5 * fontSize);
+            surface.setTextAlign(TextAlignment.LEFT);
+            surface.fillText(getAxisTitle(first, DataSet.DIM_Y), 0.5 * fontSize, top - 0.5 * fontSize);
+        }
+
+        int index = 0;
+        for (final DataSet dataSet : dataSets) {
+            if (dataSet.getDimension() < 2) {
+                continue;
+            }
+            final Color colour = getColour(dataSet, index);
+            final int lindex = index;
+            dataSet.lock().readLockGuard(() -> drawDataSet(surface, dataSet, colour, xTransform, yTransform));
+            surface.setFill(colour);
+            surface.setTextAlign(TextAlignment.RIGHT);
+            surface.setTextBaseline(VPos.TOP);
+            surface.fillText(dataSet.getName(), right - 0.5 * fontSize, top + (0.5 + 1.2 * lindex) * fontSize);
+            index++;
+        }
+
+        surface.setStroke(Color.BLACK);
+        surface.setLineWidth(1.0);
+        surface.setLineDashes((double[]) null);
+        surface.strokeRect(left, top, right - left, bottom - top);
+        surface.restore();
+    }
+
+    public HeadlessChartExporter setBackground(final Color background) {
+        this.background = Objects.requireNonNull(background, "background must not be null");
+        return this;
+    }
+
+    /**
+     * @param colours line colour palette used in the order of the data sets (cyclic)
+     * @return itself (fluent design)
+     */
+    public HeadlessChartExporter setColours(final Color... colours) {
+        AssertUtils.nonEmptyArray("colours", colours);
+        this.colours = colours.clone();
+        return this;
+    }
+
+    public HeadlessChartExporter setFontSize(final double fontSize) {
+        AssertUtils.gtThanZero("fontSize", fontSize);
+        this.fontSize = fontSize;
+        return this;
+    }
+
+    public HeadlessChartExporter setLineWidth(final double lineWidth) {
+        AssertUtils.gtThanZero("lineWidth", lineWidth);
+        this.lineWidth = lineWidth;
+        return this;
+    }
+
+    /**
+     * @param width image width in pixel
+     * @param height image height in pixel
+     * @return itself (fluent design)
+     */
+    public HeadlessChartExporter setSize(final int width, final int height) {
+        AssertUtils.gtThanZero("width", width);
+        AssertUtils.gtThanZero("height", height);
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public HeadlessChartExporter setTitle(final String title) {
+        this.title = title;
+        return this;
+    }
+
+    private void drawDataSet(final DrawingSurface surface, final DataSet dataSet, final Color colour,
+            final Transform xTransform, final Transform yTransform) {
+        final int n = Math.min(dataSet.getDataCount(DataSet.DIM_X), dataSet.getDataCount(DataSet.DIM_Y));
+        if (n <= 0) {
+            return;
+        }
+        final double[] x = dataSet.getValues(DataSet.DIM_X, 0, new double[n], 0, n);
+        final double[] y = dataSet.getValues(DataSet.DIM_Y, 0, new double[n], 0, n);
+        xTransform.apply(x, n);
+        yTransform.apply(y, n);
+        final int reduction = (int) (n / (2.0 * Math.abs(xTransform.scale * (xTransform.max - xTransform.min)) + 1.0));
+
+        surface.save();
+        surface.setStroke(colour);
+        surface.setLineWidth(lineWidth);
+        surface.setLineDashes(
+                StyleParser.getStrokeDashPropertyValue(dataSet.getStyle(), XYChartCss.STROKE_DASH_PATTERN));
+        // draw contiguous runs of finite points (NaN values interrupt the line)
+        int start = 0;
+        for (int i = 0; i <= n; i++) {
+            if (i < n && Double.isFinite(x[i]) && Double.isFinite(y[i])) {
+                continue;
+            }
+            final int length = i - start;
+            if (length == 1) {
+                surface.setFill(colour);
+                surface.fillOval(x[start] - lineWidth, y[start] - lineWidth, 2 * lineWidth, 2 * lineWidth);
+            } else if (length > 1) {
+                final double[] xRun = start == 0 ? x : Arrays.copyOfRange(x, start, i);
+                final double[] yRun = start == 0 ? y : Arrays.copyOfRange(y, start, i);
+                ReducingLineRenderer.drawPolyLine(surface, xRun, yRun, length, reduction);
+            }
+            start = i + 1;
+        }
+        surface.restore();
+    }
+
+    private void drawGridAndTicks(final DrawingSurface surface, final Transform transform, final boolean horizontal,
+            final double from, final double to) {
+        final double length = Math.abs(transform.scale * (transform.max - transform.min));
+        final double tickUnit = tickUnitSupplier.computeTickUnit(
+                (transform.max - transform.min) / Math.max(1.0, Math.floor(length / TICK_SPACING)));
+        final String format = getTickFormat(tickUnit, Math.max(Math.abs(transform.min), Math.abs(transform.max)));
+
+        surface.save();
+        surface.setLineWidth(0.5);
+        surface.setFill(Color.BLACK);
+        surface.setTextAlign(horizontal ? TextAlignment.CENTER : TextAlignment.RIGHT);
+        surface.setTextBaseline(horizontal ? VPos.TOP : VPos.CENTER);
+        final long first = (long) Math.ceil(transform.min / tickUnit);
+        final long last = (long) Math.floor(transform.max / tickUnit);
+        for (long tick = first; tick <= last; tick++) {
+            final double value = tick * tickUnit;
+            final double pos = transform.apply(value);
+            final String label = String.format(Locale.UK, format, value == 0.0 ? 0.0 : value);
+            if (horizontal) {
+                surface.setStroke(Color.LIGHTGRAY);
+                surface.setLineDashes(GRID_DASHES);
+                surface.strokeLine(pos, from, pos, to);
+                surface.setStroke(Color.BLACK);
+                surface.setLineDashes((double[]) null);
+                surface.strokeLine(pos, to, pos, to + TICK_LENGTH);
+                surface.fillText(label, pos, to + TICK_LENGTH + 2);
+            } else {
+                surface.setStroke(Color.LIGHTGRAY);
+                surface.setLineDashes(GRID_DASHES);
+                surface.strokeLine(from, pos, to, pos);
+                surface.setStroke(Color.BLACK);
+                surface.setLineDashes((double[]) null);
+                surface.strokeLine(from - TICK_LENGTH, pos, from, pos);
+                surface.fillText(label, from - TICK_LENGTH - 2, pos);
+            }
+        }
+        surface.restore();
+    }
+
+    private Color getColour(final DataSet dataSet, final int index) {
+        final Color colour = StyleParser.getColorPropertyValue(dataSet.getStyle(), XYChartCss.DATASET_STROKE_COLOR);
+        return colour == null ? colours[index % colours.length] : colour;
+    }
+
+    private static void checkRange(final double[] range) {
+        if (range[0] > range[1]) {
+            // no valid data
+            range[0] = 0.0;
+            range[1] = 1.0;
+        } else if (range[0] == range[1]) {
+            final double delta = range[0] == 0.0 ? 0.5 : 0.05 * Math.abs(range[0]);
+            range[0] -= delta;
+            range[1] += delta;
+        }
+    }
+
+    private static String getAxisTitle(final DataSet dataSet, final int dimIndex) {
+        if (dataSet.getAxisDescriptions().size() <= dimIndex) {
+            return null;
+        }
+        final AxisDescription description = dataSet.getAxisDescription(dimIndex);
+        final String name = description.getName();
+        final String unit = description.getUnit();
+        if (unit == null || unit.isEmpty()) {
+            return name;
+        }
+        return (name == null ? "" : name + " ") + "[" + unit + "]";
+    }
+
+    private static String getTickFormat(final double tickUnit, final double maxAbsValue) {
+        if (maxAbsValue >= 1e6 || tickUnit < 1e-4) {
+            return "%.3g";
+        }
+        final int exponent = (int) Math.floor(Math.log10(tickUnit));
+        final boolean fractionalMantissa = Math.abs(Math.rint(tickUnit / Math.pow(10, exponent)) * Math.pow(10, exponent)
+                                                    - tickUnit) > 1e-9 * tickUnit;
+        final int digits = Math.max(0, -exponent + (fractionalMantissa ? 1 : 0));
+        return "%." + digits + "f";
+    }
+
+    private static void updateRange(final DataSet dataSet, final int dimIndex, final double[] range) {
+        if (dataSet.getAxisDescriptions().size() <= dimIndex) {
+            return;
+        }
+        final AxisDescription description = dataSet.getAxisDescription(dimIndex);
+        if (description.isDefined()) {
+            range[0] = Math.min(range[0], description.getMin());
+            range[1] = Math.max(range[1], description.getMax());
+        }
+    }
+
+    /**
+     * linear value-to-display coordinate transform
+     */
+    private static class Transform {
+        protected final double min;
+        protected final double max;
+        protected final double offset;
+        protected final double scale;
+
+        protected Transform(final double min, final double max, final double displayMin, final double displayMax) {
+            this.min = min;
+            this.max = max;
+            scale = (displayMax - displayMin) / (max - min);
+            offset = displayMin - scale * min;
+        }
+
+        protected double apply(final double value) {
+            return offset + scale * value;
+        }
+
+        protected void apply(final double[] values, final int length) {
+            for (int i = 0; i < length; i++) {
+                values[i] = offset + scale * values[i];
+            }
+        }
+    }
+}
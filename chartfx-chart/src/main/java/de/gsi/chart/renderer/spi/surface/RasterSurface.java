@@ -0,0 +1,299 @@
+package de.gsi.chart.renderer.spi.surface;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.imageio.ImageIO;
+
+import de.gsi.chart.renderer.DrawingSurface;
+import de.gsi.dataset.utils.AssertUtils;
+import javafx.geometry.VPos;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Pure-Java {@link DrawingSurface} drawing into an ARGB {@link BufferedImage} (Java2D), that does neither require a
+ * display nor a running JavaFX toolkit. Independent instances may be drawn concurrently, e.g. for parallel batch PNG
+ * exports on headless servers.
+ *
+ * @author rstein
+ */
+public class RasterSurface implements DrawingSurface {
+    private static final String IMAGE_FORMAT = "png";
+    private static final String DEFAULT_FONT = Font.SANS_SERIF;
+    private static final double DEFAULT_FONT_SIZE = 12;
+    private final BufferedImage image;
+    private final Graphics2D g2;
+    private final Deque<State> stateStack = new ArrayDeque<>();
+    private State state = new State();
+
+    /**
+     * @param width width of the raster in pixel
+     * @param height height of the raster in pixel
+     */
+    public RasterSurface(final int width, final int height) {
+        AssertUtils.gtThanZero("width", width);
+        AssertUtils.gtThanZero("height", height);
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+    }
+
+    @Override
+    public void clearRect(final double x, final double y, final double w, final double h) {
+        final Composite composite = g2.getComposite();
+        g2.setComposite(AlphaComposite.Clear);
+        g2.fill(new Rectangle2D.Double(x, y, w, h));
+        g2.setComposite(composite);
+    }
+
+    @Override
+    public void fillOval(final double x, final double y, final double w, final double h) {
+        g2.setColor(state.fill);
+        g2.fill(new Ellipse2D.Double(x, y, w, h));
+    }
+
+    @Override
+    public void fillPolygon(final double[] xPoints, final double[] yPoints, final int nPoints) {
+        if (nPoints < 2) {
+            return;
+        }
+        final Path2D path = getPath(xPoints, yPoints, nPoints);
+        path.closePath();
+        g2.setColor(state.fill);
+        g2.fill(path);
+    }
+
+    @Override
+    public void fillRect(final double x, final double y, final double w, final double h) {
+        g2.setColor(state.fill);
+        g2.fill(new Rectangle2D.Double(x, y, w, h));
+    }
+
+    @Override
+    public void fillText(final String text, final double x, final double y) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        g2.setColor(state.fill);
+        g2.setFont(state.font);
+        final FontMetrics metrics = g2.getFontMetrics();
+        final double width = metrics.stringWidth(text);
+        final double xOffset;
+        switch (state.textAlign) {
+        case CENTER:
+            xOffset = -0.5 * width;
+            break;
+        case RIGHT:
+            xOffset = -width;
+            break;
+        default:
+            xOffset = 0.0;
+            break;
+        }
+        final double yOffset;
+        switch (state.textBaseline) {
+        case TOP:
+            yOffset = metrics.getAscent();
+            break;
+        case CENTER:
+            yOffset = 0.5 * (metrics.getAscent() - metrics.getDescent());
+            break;
+        case BOTTOM:
+            yOffset = -metrics.getDescent();
+            break;
+        default:
+            yOffset = 0.0;
+            break;
+        }
+        g2.drawString(text, (float) (x + xOffset), (float) (y + yOffset));
+    }
+
+    @Override
+    public double getHeight() {
+        return image.getHeight();
+    }
+
+    /**
+     * @return the underlying raster image
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    @Override
+    public double getWidth() {
+        return image.getWidth();
+    }
+
+    @Override
+    public void restore() {
+        if (!stateStack.isEmpty()) {
+            state = stateStack.pop();
+        }
+    }
+
+    @Override
+    public void save() {
+        stateStack.push(state);
+        state = new State(state);
+    }
+
+    @Override
+    public void setFill(final Color color) {
+        state.fill = toAwtColor(color);
+    }
+
+    @Override
+    public void setFontSize(final double size) {
+        state.font = state.font.deriveFont((float) size);
+    }
+
+    @Override
+    public void setLineDashes(final double... dashes) {
+        state.dashes = dashes == null || dashes.length == 0 ? null : dashes.clone();
+        state.stroke = null;
+    }
+
+    @Override
+    public void setLineWidth(final double width) {
+        state.lineWidth = width;
+        state.stroke = null;
+    }
+
+    @Override
+    public void setStroke(final Color color) {
+        state.strokeColor = toAwtColor(color);
+    }
+
+    @Override
+    public void setTextAlign(final TextAlignment align) {
+        state.textAlign = align == null ? TextAlignment.LEFT : align;
+    }
+
+    @Override
+    public void setTextBaseline(final VPos baseline) {
+        state.textBaseline = baseline == null ? VPos.BASELINE : baseline;
+    }
+
+    @Override
+    public void strokeLine(final double x1, final double y1, final double x2, final double y2) {
+        applyStroke();
+        g2.draw(new Line2D.Double(x1, y1, x2, y2));
+    }
+
+    @Override
+    public void strokePolyline(final double[] xPoints, final double[] yPoints, final int nPoints) {
+        if (nPoints < 2) {
+            return;
+        }
+        applyStroke();
+        g2.draw(getPath(xPoints, yPoints, nPoints));
+    }
+
+    @Override
+    public void strokeRect(final double x, final double y, final double w, final double h) {
+        applyStroke();
+        g2.draw(new Rectangle2D.Double(x, y, w, h));
+    }
+
+    /**
+     * @param out the stream the PNG-encoded image is written to (not closed)
+     * @throws IOException in case of write errors
+     */
+    public void writePng(final OutputStream out) throws IOException {
+        if (!ImageIO.write(image, IMAGE_FORMAT, out)) {
+            throw new IOException("no image writer for format '" + IMAGE_FORMAT + "'");
+        }
+    }
+
+    /**
+     * @param file the file the PNG-encoded image is written to
+     * @throws IOException in case of write errors
+     */
+    public void writePng(final Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            writePng(out);
+        }
+    }
+
+    private void applyStroke() {
+        if (state.stroke == null) {
+            state.stroke = state.dashes == null
+                                   ? new BasicStroke((float) state.lineWidth)
+                                   : new BasicStroke((float) state.lineWidth, BasicStroke.CAP_BUTT,
+                                           BasicStroke.JOIN_MITER, 10.0f, toFloat(state.dashes), 0.0f);
+        }
+        g2.setStroke(state.stroke);
+        g2.setColor(state.strokeColor);
+    }
+
+    private static Path2D getPath(final double[] xPoints, final double[] yPoints, final int nPoints) {
+        final Path2D path = new Path2D.Double(Path2D.WIND_NON_ZERO, nPoints);
+        path.moveTo(xPoints[0], yPoints[0]);
+        for (int i = 1; i < nPoints; i++) {
+            path.lineTo(xPoints[i], yPoints[i]);
+        }
+        return path;
+    }
+
+    private static java.awt.Color toAwtColor(final Color color) {
+        if (color == null) {
+            return new java.awt.Color(0, 0, 0, 0);
+        }
+        return new java.awt.Color((float) color.getRed(), (float) color.getGreen(), (float) color.getBlue(),
+                (float) color.getOpacity());
+    }
+
+    private static float[] toFloat(final double[] values) {
+        final float[] retVal = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            retVal[i] = (float) values[i];
+        }
+        return retVal;
+    }
+
+    private static class State {
+        protected java.awt.Color strokeColor = java.awt.Color.BLACK;
+        protected java.awt.Color fill = java.awt.Color.BLACK;
+        protected double lineWidth = 1.0;
+        protected double[] dashes;
+        protected BasicStroke stroke; // lazily derived from lineWidth and dashes
+        protected Font font = new Font(DEFAULT_FONT, Font.PLAIN, 1).deriveFont((float) DEFAULT_FONT_SIZE);
+        protected TextAlignment textAlign = TextAlignment.LEFT;
+        protected VPos textBaseline = VPos.BASELINE;
+
+        protected State() {
+            // default drawing state
+        }
+
+        protected State(final State other) {
+            strokeColor = other.strokeColor;
+            fill = other.fill;
+            lineWidth = other.lineWidth;
+            dashes = other.dashes;
+            stroke = other.stroke;
+            font = other.font;
+            textAlign = other.textAlign;
+            textBaseline = other.textBaseline;
+        }
+    }
+}
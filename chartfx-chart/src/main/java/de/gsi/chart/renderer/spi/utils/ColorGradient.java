@@ -7,7 +7,9 @@ package de.gsi.chart.renderer.spi.utils;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javafx.scene.paint.Color;
 import javafx.scene.paint.CycleMethod;
@@ -104,6 +106,7 @@ public class ColorGradient {
     private final String name;
     private transient final WeakHashMap<Double, Color> colorMap = new WeakHashMap<>();
     private transient final WeakHashMap<Double, int[]> colorMapBytes = new WeakHashMap<>();
+    private transient final Map<Integer, int[]> colorLookupTables = new ConcurrentHashMap<>();
 
     /**
      * Creates a new instance of ColorGradient.**
@@ -226,6 +229,31 @@ public class ColorGradient {
         });
     }
 
+    /**
+     * Pre-computed colour look-up table for quantised offsets. The entry {@code i} corresponds to
+     * {@link #getColorBytes(double) getColorBytes(i / nLevels)} packed as (pre-multiplied) {@code 0xAARRGGBB} integer,
+     * i.e. matching the memory layout of {@link javafx.scene.image.PixelFormat#getIntArgbPreInstance()} and the byte
+     * order of {@link javafx.scene.image.PixelFormat#getByteBgraPreInstance()}.
+     * <p>
+     * N.B. tables are cached and must not be modified by the caller
+     *
+     * @param nLevels number of quantisation levels
+     * @return look-up table with {@code nLevels + 1} entries
+     */
+    public int[] getColorLookupTable(final int nLevels) {
+        if (nLevels <= 0) {
+            throw new IllegalArgumentException("nLevels must be positive: " + nLevels);
+        }
+        return colorLookupTables.computeIfAbsent(nLevels, n -> {
+            final int[] lut = new int[n + 1];
+            for (int i = 0; i <= n; i++) {
+                final int[] color = getColorBytes(i / (double) n);
+                lut[i] = (color[0] << 24) | (color[1] << 16) | (color[2] << 8) | color[3];
+            }
+            return lut;
+        });
+    }
+
     /**
      * Returns the gradient stops.
      *
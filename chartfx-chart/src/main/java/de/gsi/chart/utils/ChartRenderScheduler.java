@@ -0,0 +1,169 @@
+package de.gsi.chart.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import de.gsi.chart.Chart;
+import de.gsi.chart.viewer.DataViewWindow;
+
+/**
+ * Shared, pulse-aligned render scheduler for all {@link Chart}s.
+ * <p>
+ * Charts ask for permission before (re-)drawing their canvas via {@link #beginRender(Chart)} and report the end of
+ * drawing via {@link #endRender(Chart)}. Within each JavaFX pulse, charts are admitted until the accumulated render time
+ * exceeds the frame budget (at least one chart is drawn per pulse). Charts exceeding the budget are deferred to the
+ * next pulses: they are re-requested in order of their waiting time and -- based on their previous render duration --
+ * admitted irrespective of the charts drawn earlier in the same pulse, i.e. a single slow chart cannot starve the
+ * others. Charts that are not visible (part of a hidden window, iconified stage, invisible parent, minimised
+ * {@link DataViewWindow} or outside the scene's viewport) are not drawn and re-checked periodically.
+ * <p>
+ * N.B. to be used from the JavaFX application thread only
+ *
+ * @author rstein
+ */
+public final class ChartRenderScheduler {
+    /** default render time budget per pulse [ms] */
+    public static final long DEFAULT_FRAME_BUDGET = 12;
+    private static final FrameBudgetScheduler SCHEDULER = new FrameBudgetScheduler(System::nanoTime,
+            chart -> chart.getScene() != null, ChartRenderScheduler::isVisible);
+    private static AnimationTimer pulseTimer;
+    private static boolean timerRunning;
+
+    private ChartRenderScheduler() {
+        // static helper class
+    }
+
+    /**
+     * @param chart the chart requesting to (re-)draw its canvas
+     * @return {@code true}: the chart may draw now and has to call {@link #endRender(Chart)} afterwards, {@code false}:
+     *         the redraw is deferred to a later pulse (frame budget exhausted) or until the chart becomes visible
+     */
+    public static boolean beginRender(final Chart chart) {
+        FXUtils.assertJavaFxThread();
+        startTimer();
+        return SCHEDULER.beginRender(chart);
+    }
+
+    /**
+     * @param chart the chart that finished (re-)drawing its canvas
+     */
+    public static void endRender(final Chart chart) {
+        FXUtils.assertJavaFxThread();
+        SCHEDULER.endRender(chart);
+    }
+
+    /**
+     * @return number of redraw requests that have been coalesced with an already deferred redraw of the same chart
+     */
+    public static long getDroppedCount() {
+        return SCHEDULER.getDroppedCount();
+    }
+
+    /**
+     * @return number of deferred redraw requests (frame budget exhausted)
+     */
+    public static long getDeferredCount() {
+        return SCHEDULER.getDeferredCount();
+    }
+
+    /**
+     * @return render time budget per pulse [ms]
+     */
+    public static long getFrameBudget() {
+        return TimeUnit.NANOSECONDS.toMillis(SCHEDULER.getFrameBudget());
+    }
+
+    /**
+     * @return number of performed redraws
+     */
+    public static long getRenderedCount() {
+        return SCHEDULER.getRenderedCount();
+    }
+
+    /**
+     * @return number of redraw requests of charts that were not visible
+     */
+    public static long getSkippedCount() {
+        return SCHEDULER.getSkippedCount();
+    }
+
+    /**
+     * @param chart the chart (or any other node)
+     * @return {@code true} if the chart is part of a showing window (or of a scene without window) and not hidden by one
+     *         of its parents, a minimised {@link DataViewWindow} or outside the scene's viewport
+     */
+    public static boolean isVisible(final Node chart) {
+        final Scene scene = chart.getScene();
+        return scene != null && isVisible(chart, scene.getWindow(), scene.getWidth(), scene.getHeight());
+    }
+
+    /**
+     * @param chart the chart (or any other node) being part of a scene
+     * @param window the window of the scene, {@code null} for scenes without window
+     * @param sceneWidth width of the scene
+     * @param sceneHeight height of the scene
+     * @return {@code true} if the chart is visible, see {@link #isVisible(Node)}
+     */
+    static boolean isVisible(final Node chart, final Window window, final double sceneWidth,
+            final double sceneHeight) {
+        if (window != null && (!window.isShowing() || window instanceof Stage && ((Stage) window).isIconified())) {
+            return false;
+        }
+        for (Node node = chart; node != null; node = node.getParent()) {
+            if (!node.isVisible() || node instanceof DataViewWindow && ((DataViewWindow) node).isMinimised()) {
+                return false;
+            }
+        }
+        if (window == null) {
+            // scene without window (e.g. Node#snapshot or off-screen export): no viewport to check against
+            return true;
+        }
+        final Bounds bounds = chart.localToScene(chart.getBoundsInLocal());
+        return bounds.getMaxX() >= 0 && bounds.getMaxY() >= 0 && bounds.getMinX() <= sceneWidth
+                && bounds.getMinY() <= sceneHeight;
+    }
+
+    /**
+     * resets the rendered, deferred, dropped and skipped counters
+     */
+    public static void resetStatistics() {
+        SCHEDULER.resetStatistics();
+    }
+
+    /**
+     * @param budget render time budget per pulse [ms], N.B. at least one chart is drawn per pulse
+     */
+    public static void setFrameBudget(final long budget) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("frame budget " + budget + " must be positive");
+        }
+        SCHEDULER.setFrameBudget(TimeUnit.MILLISECONDS.toNanos(budget));
+    }
+
+    private static void startTimer() {
+        if (timerRunning) {
+            return;
+        }
+        if (pulseTimer == null) {
+            pulseTimer = new AnimationTimer() {
+                @Override
+                public void handle(final long now) {
+                    if (!SCHEDULER.onPulse(now)) {
+                        pulseTimer.stop();
+                        timerRunning = false;
+                    }
+                }
+            };
+        }
+        // first request after idle period -> new frame
+        SCHEDULER.newFrame();
+        timerRunning = true;
+        pulseTimer.start();
+    }
+}
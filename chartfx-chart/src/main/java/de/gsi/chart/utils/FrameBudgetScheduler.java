@@ -0,0 +1,190 @@
+package de.gsi.chart.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import javafx.scene.Parent;
+
+/**
+ * Frame budget bookkeeping of the {@link ChartRenderScheduler}, independent of the JavaFX pulse timer and of the
+ * thread it is used from, i.e. the pulses are signalled via {@link #onPulse(long)}, the render time is measured via the
+ * given clock and the charts' visibility is checked via the given predicates.
+ *
+ * @author rstein
+ */
+class FrameBudgetScheduler {
+    static final long HIDDEN_POLL_PERIOD = TimeUnit.MILLISECONDS.toNanos(100);
+    static final int MAX_IDLE_PULSES = 10;
+    private final LongSupplier clock;
+    private final Predicate<Parent> isAttached;
+    private final Predicate<Parent> isVisible;
+    private long frameBudget = TimeUnit.MILLISECONDS.toNanos(ChartRenderScheduler.DEFAULT_FRAME_BUDGET);
+    // charts waiting for a redraw in order of their (first) deferral
+    private final Set<Parent> deferredCharts = new LinkedHashSet<>();
+    // deferred charts re-requested and admitted in the current pulse
+    private final Set<Parent> priorityCharts = Collections.newSetFromMap(new IdentityHashMap<>());
+    // not visible charts waiting for a redraw
+    private final Set<Parent> hiddenCharts = new LinkedHashSet<>();
+    private final Map<Parent, Long> lastRenderDuration = new WeakHashMap<>();
+    private int idlePulses;
+    private long lastHiddenPoll;
+    private long frameRenderTime;
+    private int frameRenderCount;
+    private long renderStart;
+    private long nRendered;
+    private long nDeferred;
+    private long nDropped;
+    private long nSkipped;
+
+    /**
+     * @param clock time source [ns] used to measure the render durations
+     * @param isAttached {@code true} if the chart is part of a scene
+     * @param isVisible {@code true} if the chart is visible and may be drawn
+     */
+    FrameBudgetScheduler(final LongSupplier clock, final Predicate<Parent> isAttached,
+            final Predicate<Parent> isVisible) {
+        this.clock = clock;
+        this.isAttached = isAttached;
+        this.isVisible = isVisible;
+    }
+
+    /**
+     * @param chart the chart requesting to (re-)draw its canvas
+     * @return {@code true}: the chart may draw now and has to call {@link #endRender(Parent)} afterwards,
+     *         {@code false}: the redraw is deferred to a later pulse or until the chart becomes visible
+     */
+    boolean beginRender(final Parent chart) {
+        idlePulses = 0;
+        if (!isVisible.test(chart)) {
+            deferredCharts.remove(chart);
+            priorityCharts.remove(chart);
+            hiddenCharts.add(chart);
+            nSkipped++;
+            return false;
+        }
+        hiddenCharts.remove(chart);
+        final boolean isPriority = priorityCharts.remove(chart);
+        if (!isPriority && frameRenderCount > 0 && frameRenderTime >= frameBudget) {
+            if (!deferredCharts.add(chart)) {
+                // already waiting -- coalesced with the pending redraw
+                nDropped++;
+            }
+            nDeferred++;
+            return false;
+        }
+        deferredCharts.remove(chart);
+        renderStart = clock.getAsLong();
+        return true;
+    }
+
+    /**
+     * @param chart the chart that finished (re-)drawing its canvas
+     */
+    void endRender(final Parent chart) {
+        final long duration = clock.getAsLong() - renderStart;
+        lastRenderDuration.put(chart, duration);
+        frameRenderTime += duration;
+        frameRenderCount++;
+        nRendered++;
+    }
+
+    long getDeferredCount() {
+        return nDeferred;
+    }
+
+    long getDroppedCount() {
+        return nDropped;
+    }
+
+    /**
+     * @return render time budget per pulse [ns]
+     */
+    long getFrameBudget() {
+        return frameBudget;
+    }
+
+    long getRenderedCount() {
+        return nRendered;
+    }
+
+    long getSkippedCount() {
+        return nSkipped;
+    }
+
+    /**
+     * resets the render time of the current frame, e.g. for the first request after an idle period
+     */
+    void newFrame() {
+        frameRenderTime = 0;
+        frameRenderCount = 0;
+    }
+
+    /**
+     * Starts a new frame: re-requests the layout of the longest waiting deferred charts that fit into the budget (at
+     * least one) and -- at most every {@link #HIDDEN_POLL_PERIOD} -- of the hidden charts that became visible.
+     *
+     * @param now pulse time stamp [ns]
+     * @return {@code false} if the scheduler has been idle for more than {@link #MAX_IDLE_PULSES} pulses, i.e. the pulse
+     *         notification may be stopped until the next {@link #beginRender(Parent)}
+     */
+    boolean onPulse(final long now) {
+        newFrame();
+        priorityCharts.clear();
+
+        long estimate = 0;
+        final List<Parent> admitted = new ArrayList<>();
+        for (final Parent chart : deferredCharts) {
+            final long duration = lastRenderDuration.getOrDefault(chart, 0L);
+            if (!admitted.isEmpty() && estimate + duration > frameBudget) {
+                break;
+            }
+            estimate += duration;
+            admitted.add(chart);
+        }
+        for (final Parent chart : admitted) {
+            deferredCharts.remove(chart);
+            priorityCharts.add(chart);
+            chart.requestLayout();
+        }
+
+        if (!hiddenCharts.isEmpty() && now - lastHiddenPoll >= HIDDEN_POLL_PERIOD) {
+            lastHiddenPoll = now;
+            final List<Parent> visible = new ArrayList<>();
+            // N.B. charts without scene are dropped, they are laid out anyway once they are (re-)attached
+            hiddenCharts.removeIf(isAttached.negate());
+            hiddenCharts.forEach(chart -> {
+                if (isVisible.test(chart)) {
+                    visible.add(chart);
+                }
+            });
+            hiddenCharts.removeAll(visible);
+            visible.forEach(Parent::requestLayout);
+        }
+
+        return !deferredCharts.isEmpty() || !hiddenCharts.isEmpty() || !admitted.isEmpty()
+                || ++idlePulses <= MAX_IDLE_PULSES;
+    }
+
+    void resetStatistics() {
+        nRendered = 0;
+        nDeferred = 0;
+        nDropped = 0;
+        nSkipped = 0;
+    }
+
+    /**
+     * @param budget render time budget per pulse [ns]
+     */
+    void setFrameBudget(final long budget) {
+        frameBudget = budget;
+    }
+}
@@ -0,0 +1,224 @@
+package de.gsi.chart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.chart.axes.Axis;
+import de.gsi.chart.renderer.Renderer;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Regression testing for @see RendererLayerCache N.B. runs without JavaFX toolkit
+ *
+ * @author rstein
+ */
+public class RendererLayerCacheTests {
+    private static final double[] GEOMETRY = { 400, 300, 0, 0 };
+    private final Canvas canvas = new Canvas(400, 300);
+    private final Pane parent = new Pane(canvas);
+    private final RendererLayerCache cache = new RendererLayerCache(canvas);
+    private final TestPainter painter = new TestPainter();
+    private final TestRenderer rendererA = new TestRenderer("A");
+    private final TestRenderer rendererB = new TestRenderer("B");
+    private final List<Renderer> renderers = new ArrayList<>(Arrays.asList(rendererA, rendererB));
+    private final List<DataSet> chartDataSets = new ArrayList<>();
+
+    @Test
+    public void layerDirtinessTests() {
+        assertTrue(redraw(GEOMETRY), "initial full redraw");
+        assertEquals(Arrays.asList(rendererA, rendererB), painter.painted);
+        assertEquals(1, painter.nBackground);
+        assertEquals(1, painter.nForeground);
+        assertEquals(4, parent.getChildren().size(), "chart canvas, two renderer layers and grid-on-top layer");
+
+        assertFalse(redraw(GEOMETRY));
+        assertEquals(Collections.emptyList(), painter.painted, "nothing changed");
+        assertEquals(1, painter.nBackground);
+
+        rendererA.dataSet.add(1.0, 2.0);
+        assertFalse(redraw(GEOMETRY));
+        assertEquals(Collections.singletonList(rendererA), painter.painted, "only the updated layer");
+
+        rendererB.dataSet.add(1.0, 2.0);
+        rendererB.dataSet.add(2.0, 3.0);
+        assertFalse(redraw(GEOMETRY));
+        assertEquals(Collections.singletonList(rendererB), painter.painted, "multiple updates coalesced");
+
+        // non-data invalidation coinciding with a data update of another renderer
+        cache.invalidate();
+        rendererA.dataSet.add(2.0, 3.0);
+        assertTrue(redraw(GEOMETRY));
+        assertEquals(Arrays.asList(rendererA, rendererB), painter.painted, "all layers after invalidate()");
+        assertEquals(2, painter.nBackground);
+        assertEquals(2, painter.nForeground);
+
+        // chart data sets are drawn by (and shift the style offset of) all renderers
+        final DoubleDataSet chartDataSet = new DoubleDataSet("chart");
+        chartDataSets.add(chartDataSet);
+        assertFalse(redraw(GEOMETRY));
+        assertEquals(Arrays.asList(rendererA, rendererB), painter.painted);
+        assertEquals(Arrays.asList(0, 2), painter.offsets);
+        chartDataSet.add(1.0, 2.0);
+        assertFalse(redraw(GEOMETRY));
+        assertEquals(Arrays.asList(rendererA, rendererB), painter.painted);
+
+        // re-ordering renderers changes the style offsets
+        renderers.add(renderers.remove(0));
+        assertFalse(redraw(GEOMETRY));
+        assertEquals(Arrays.asList(rendererB, rendererA), painter.painted);
+        assertEquals(Arrays.asList(0, 2), painter.offsets);
+        assertEquals(parent.getChildren().subList(1, 3), painter.layers, "layer stacking order follows renderers");
+    }
+
+    @Test
+    public void geometryTests() {
+        assertTrue(redraw(GEOMETRY));
+        assertFalse(redraw(GEOMETRY.clone()), "identical geometry");
+
+        final double[] axisRangeChanged = Arrays.copyOf(GEOMETRY, GEOMETRY.length + 1);
+        assertTrue(redraw(axisRangeChanged));
+        assertEquals(Arrays.asList(rendererA, rendererB), painter.painted);
+        assertEquals(2, painter.nBackground);
+        assertEquals(2, painter.nForeground);
+        assertFalse(redraw(axisRangeChanged));
+
+        // canvas resize: layers follow the chart canvas
+        canvas.setWidth(500);
+        assertTrue(redraw(new double[] { 500, 300, 0, 0 }));
+        assertEquals(Arrays.asList(rendererA, rendererB), painter.painted);
+        parent.getChildren().forEach(node -> assertEquals(500, ((Canvas) node).getWidth()));
+    }
+
+    @Test
+    public void layerDisposalTests() {
+        assertTrue(redraw(GEOMETRY));
+        assertEquals(4, parent.getChildren().size());
+        assertEquals(1, rendererB.dataSet.updateEventListener().size());
+
+        renderers.remove(rendererB);
+        assertFalse(redraw(GEOMETRY));
+        assertEquals(Collections.emptyList(), painter.painted);
+        assertEquals(3, parent.getChildren().size(), "layer of removed renderer disposed");
+        assertEquals(0, rendererB.dataSet.updateEventListener().size(), "listener of removed renderer released");
+        assertEquals(1, rendererA.dataSet.updateEventListener().size());
+
+        // re-added renderer gets a new layer and is drawn
+        renderers.add(rendererB);
+        assertFalse(redraw(GEOMETRY));
+        assertEquals(Collections.singletonList(rendererB), painter.painted);
+        assertEquals(4, parent.getChildren().size());
+
+        cache.clear(parent);
+        assertEquals(Collections.singletonList(canvas), parent.getChildren(), "only chart canvas remains");
+        assertEquals(0, rendererA.dataSet.updateEventListener().size());
+        assertEquals(0, rendererB.dataSet.updateEventListener().size());
+        assertTrue(redraw(GEOMETRY), "full redraw after clear");
+    }
+
+    private boolean redraw(final double[] geometry) {
+        painter.reset();
+        return cache.redraw(parent, geometry, renderers, chartDataSets, painter);
+    }
+
+    private static class TestPainter implements RendererLayerCache.LayerPainter {
+        private final List<Renderer> painted = new ArrayList<>();
+        private final List<Integer> offsets = new ArrayList<>();
+        private final List<Canvas> layers = new ArrayList<>();
+        private int nBackground;
+        private int nForeground;
+
+        @Override
+        public void paintBackground(final GraphicsContext gc) {
+            nBackground++;
+        }
+
+        @Override
+        public void paintForeground(final GraphicsContext gc) {
+            nForeground++;
+        }
+
+        @Override
+        public void paintRenderer(final GraphicsContext gc, final Renderer renderer, final int dataSetOffset) {
+            painted.add(renderer);
+            offsets.add(dataSetOffset);
+            layers.add(gc.getCanvas());
+        }
+
+        private void reset() {
+            painted.clear();
+            offsets.clear();
+            layers.clear();
+        }
+    }
+
+    private static class TestRenderer implements Renderer {
+        private final DoubleDataSet dataSet;
+        private final ObservableList<DataSet> dataSets = FXCollections.observableArrayList();
+        private final ObservableList<Axis> axes = FXCollections.observableArrayList();
+        private final BooleanProperty showInLegend = new SimpleBooleanProperty(this, "showInLegend", true);
+
+        private TestRenderer(final String name) {
+            dataSet = new DoubleDataSet(name);
+            dataSets.add(dataSet);
+        }
+
+        @Override
+        public Canvas drawLegendSymbol(final DataSet dataSet, final int dsIndex, final int width, final int height) {
+            return null;
+        }
+
+        @Override
+        public ObservableList<Axis> getAxes() {
+            return axes;
+        }
+
+        @Override
+        public ObservableList<DataSet> getDatasets() {
+            return dataSets;
+        }
+
+        @Override
+        public ObservableList<DataSet> getDatasetsCopy() {
+            return FXCollections.observableArrayList(dataSets);
+        }
+
+        @Override
+        public void render(final GraphicsContext gc, final Chart chart, final int dataSetOffset,
+                final ObservableList<DataSet> datasets) {
+            // drawn via TestPainter
+        }
+
+        @Override
+        public Renderer setShowInLegend(final boolean state) {
+            showInLegend.set(state);
+            return this;
+        }
+
+        @Override
+        public boolean showInLegend() {
+            return showInLegend.get();
+        }
+
+        @Override
+        public BooleanProperty showInLegendProperty() {
+            return showInLegend;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package de.gsi.chart.axes.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.chart.axes.Axis;
+import de.gsi.chart.axes.AxisTransform;
+import de.gsi.chart.axes.LogAxisType;
+import de.gsi.chart.axes.spi.transforms.AbstractAxisTransform;
+import de.gsi.chart.axes.spi.transforms.DefaultAxisTransform;
+import de.gsi.chart.axes.spi.transforms.LogarithmicAxisTransform;
+import de.gsi.chart.axes.spi.transforms.LogarithmicTimeAxisTransform;
+import de.gsi.chart.ui.geometry.Side;
+
+/**
+ * Regression testing for the bulk @see Axis#getDisplayPositions and @see AxisTransform#forward(double[], double[], int,
+ * int) implementations, which need to be consistent with their scalar counterparts. N.B. runs without JavaFX toolkit
+ *
+ * @author rstein
+ */
+public class DisplayPositionsTests {
+    private static final double WIDTH = 800;
+    private static final double HEIGHT = 600;
+    private static final double[] TEST_VALUES = { -10.0, -1e-3, 0.0, 1e-3, 0.5, 1.0, 3.0, 42.0, 99.9, 100.0, 1e3, 1e6,
+        Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE };
+
+    @Test
+    public void abstractAxisTests() {
+        for (final Side side : Side.values()) {
+            for (final boolean inverted : new boolean[] { false, true }) {
+                assertParity(layout(new TestAxis(), side, -5.0, 100.0, inverted));
+            }
+        }
+    }
+
+    @Test
+    public void defaultNumericAxisTests() {
+        for (final Side side : Side.values()) {
+            for (final boolean inverted : new boolean[] { false, true }) {
+                assertParity(layout(new DefaultNumericAxis(), side, -5.0, 100.0, inverted));
+
+                final DefaultNumericAxis logAxis = new DefaultNumericAxis();
+                logAxis.setLogAxis(true);
+                assertParity(layout(logAxis, side, 1e-2, 1e3, inverted));
+
+                final DefaultNumericAxis logAxisBase2 = new DefaultNumericAxis();
+                logAxisBase2.setLogAxis(true);
+                logAxisBase2.setLogarithmBase(2);
+                assertParity(layout(logAxisBase2, side, 0.5, 1e3, inverted));
+
+                final DefaultNumericAxis logTimeAxis = new DefaultNumericAxis();
+                logTimeAxis.setTimeAxis(true);
+                logTimeAxis.setLogAxis(true);
+                assertParity(layout(logTimeAxis, side, 1.0, 1e6, inverted));
+            }
+        }
+    }
+
+    @Test
+    public void linearAxisTests() {
+        for (final Side side : Side.values()) {
+            for (final boolean inverted : new boolean[] { false, true }) {
+                assertParity(layout(new LinearAxis(), side, -5.0, 100.0, inverted));
+            }
+        }
+    }
+
+    @Test
+    public void logarithmicAxisTests() {
+        for (final Side side : Side.values()) {
+            for (final boolean inverted : new boolean[] { false, true }) {
+                assertParity(layout(new LogarithmicAxis(), side, 1e-2, 1e3, inverted));
+
+                final LogarithmicAxis logAxisBase2 = new LogarithmicAxis();
+                logAxisBase2.setLogarithmBase(2);
+                assertParity(layout(logAxisBase2, side, 0.5, 1e3, inverted));
+            }
+        }
+    }
+
+    @Test
+    public void numericAxisTests() {
+        for (final Side side : Side.values()) {
+            for (final boolean inverted : new boolean[] { false, true }) {
+                assertParity(layout(new NumericAxis(), side, -5.0, 100.0, inverted));
+            }
+        }
+    }
+
+    @Test
+    public void axisTransformTests() {
+        final DefaultNumericAxis axis = new DefaultNumericAxis();
+        assertParity(new DefaultAxisTransform(axis));
+        assertParity(new LogarithmicAxisTransform(axis));
+        assertParity(new LogarithmicTimeAxisTransform(axis));
+
+        final LogarithmicAxisTransform logTransformBase2 = new LogarithmicAxisTransform(axis);
+        logTransformBase2.setLogarithmBase(2);
+        assertParity(logTransformBase2);
+
+        // default interface implementation
+        assertParity(new AbstractAxisTransform(axis) {
+            @Override
+            public double backward(final double val) {
+                return 0.5 * val;
+            }
+
+            @Override
+            public double forward(final double val) {
+                return 2.0 * val;
+            }
+
+            @Override
+            public double getRoundedMaximumRange(final double val) {
+                return val;
+            }
+
+            @Override
+            public double getRoundedMinimumRange(final double val) {
+                return val;
+            }
+        });
+    }
+
+    private static void assertParity(final AbstractAxis axis) {
+        final String msg = axis.getClass().getSimpleName() + " side = " + axis.getSide() + " inverted = "
+                           + axis.isInvertedAxis + " log = " + axis.isLogAxis();
+        final double[] expected = new double[TEST_VALUES.length];
+        for (int i = 0; i < TEST_VALUES.length; i++) {
+            expected[i] = axis.getDisplayPosition(TEST_VALUES[i]);
+        }
+
+        final double[] result = new double[TEST_VALUES.length];
+        axis.getDisplayPositions(TEST_VALUES, result, 0, TEST_VALUES.length);
+        assertArrayEquals(expected, result, msg);
+
+        // in-place conversion
+        final double[] inPlace = Arrays.copyOf(TEST_VALUES, TEST_VALUES.length);
+        axis.getDisplayPositions(inPlace, inPlace, 0, inPlace.length);
+        assertArrayEquals(expected, inPlace, msg + " in-place");
+
+        // sub-range, values outside [fromIndex, toIndex[ must remain untouched
+        final double[] subRange = new double[TEST_VALUES.length];
+        Arrays.fill(subRange, -1.0);
+        axis.getDisplayPositions(TEST_VALUES, subRange, 2, TEST_VALUES.length - 2);
+        for (int i = 0; i < TEST_VALUES.length; i++) {
+            final boolean inRange = i >= 2 && i < TEST_VALUES.length - 2;
+            assertEquals(inRange ? expected[i] : -1.0, subRange[i], msg + " sub-range index " + i);
+        }
+    }
+
+    private static void assertParity(final AxisTransform transform) {
+        final String msg = transform.getClass().getSimpleName();
+        final double[] expected = new double[TEST_VALUES.length];
+        for (int i = 0; i < TEST_VALUES.length; i++) {
+            expected[i] = transform.forward(TEST_VALUES[i]);
+        }
+
+        final double[] result = new double[TEST_VALUES.length];
+        transform.forward(TEST_VALUES, result, 0, TEST_VALUES.length);
+        assertArrayEquals(expected, result, msg);
+
+        final double[] inPlace = Arrays.copyOf(TEST_VALUES, TEST_VALUES.length);
+        transform.forward(inPlace, inPlace, 0, inPlace.length);
+        assertArrayEquals(expected, inPlace, msg + " in-place");
+
+        final double[] subRange = new double[TEST_VALUES.length];
+        Arrays.fill(subRange, -1.0);
+        transform.forward(TEST_VALUES, subRange, 2, TEST_VALUES.length - 2);
+        for (int i = 0; i < TEST_VALUES.length; i++) {
+            final boolean inRange = i >= 2 && i < TEST_VALUES.length - 2;
+            assertEquals(inRange ? expected[i] : -1.0, subRange[i], msg + " sub-range index " + i);
+        }
+    }
+
+    /**
+     * emulates the relevant part of {@link AbstractAxis#layoutChildren()} (N.B. the latter requires the JavaFX
+     * toolkit for the tick label layout)
+     */
+    private static <T extends AbstractAxis> T layout(final T axis, final Side side, final double min,
+            final double max, final boolean inverted) {
+        axis.setSide(side);
+        axis.setAutoRanging(false);
+        axis.isInvertedAxis = inverted; // N.B. invertAxis(boolean) listeners require the JavaFX toolkit
+        axis.set(min, max);
+        axis.resize(WIDTH, HEIGHT);
+        axis.setScale(axis.calculateNewScale(side.isVertical() ? HEIGHT : WIDTH, min, max));
+        axis.currentLowerBound.set(min);
+        axis.updateCachedVariables();
+        return axis;
+    }
+
+    /**
+     * minimal axis relying on the {@link AbstractAxis} display position implementations
+     */
+    private static class TestAxis extends AbstractAxis {
+        @Override
+        public double computePreferredTickUnit(final double axisLength) {
+            return 1.0;
+        }
+
+        @Override
+        public void fireInvalidated() {
+            // not needed for this test
+        }
+
+        @Override
+        public AxisTransform getAxisTransform() {
+            return null;
+        }
+
+        @Override
+        public LogAxisType getLogAxisType() {
+            return LogAxisType.LINEAR_SCALE;
+        }
+
+        @Override
+        public double getValueForDisplay(final double displayPosition) {
+            return Double.NaN;
+        }
+
+        @Override
+        public boolean isLogAxis() {
+            return false;
+        }
+
+        @Override
+        protected List<Double> calculateMajorTickValues(final double length, final AxisRange range) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Double> calculateMinorTickValues() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected AxisRange computeRange(final double minValue, final double maxValue, final double axisLength,
+                final double labelSize) {
+            return new AxisRange(minValue, maxValue, axisLength, 1.0, 1.0);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package de.gsi.chart.renderer.spi;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import static de.gsi.dataset.DataSet.DIM_X;
 import static de.gsi.dataset.DataSet.DIM_Y;
@@ -10,6 +12,8 @@ import static de.gsi.dataset.DataSet.DIM_Z;
 
 import java.util.Arrays;
 
+import javafx.scene.image.WritableImage;
+
 import org.junit.jupiter.api.Test;
 
 import de.gsi.chart.axes.AxisTransform;
@@ -209,7 +213,31 @@ public class ContourDataSetCacheTests {
         ContourDataSetCache.copySubFrame(dataSet, dataBuffer, true, false, 0, 2, false, 0, 3);
         assertArrayEquals(TEST_DATA_Z, dataBuffer, "data buffer content - parallel copySubFrame");
 
-        assertDoesNotThrow(() -> ContourDataSetCache.convertDataArrayToImage(TEST_DATA_Z, TEST_DATA_X.length, TEST_DATA_Y.length, ColorGradient.DEFAULT), "data to colour image conversion");
+        assertDoesNotThrow(() -> ContourDataSetCache.convertDataArrayToImage(TEST_DATA_Z_QUANT1, TEST_DATA_X.length, TEST_DATA_Y.length, ColorGradient.DEFAULT, 10), "data to colour image conversion");
+    }
+
+    @Test
+    public void colourLookupTableTests() {
+        final int nQuant = 10;
+        final int width = TEST_DATA_X.length;
+        final int height = TEST_DATA_Y.length;
+        final ColorGradient gradient = ColorGradient.JET;
+        for (final boolean parallel : new boolean[] { false, true }) {
+            final WritableImage image = ContourDataSetCache.convertDataArrayToImage(TEST_DATA_Z_QUANT1, width, height, gradient, nQuant, null, parallel);
+            for (int yIndex = 0; yIndex < height; yIndex++) {
+                for (int xIndex = 0; xIndex < width; xIndex++) {
+                    final int[] color = gradient.getColorBytes(TEST_DATA_Z_QUANT1[yIndex * width + xIndex]);
+                    final int expected = (color[0] << 24) | (color[1] << 16) | (color[2] << 8) | color[3];
+                    // N.B. first data row is drawn at the bottom of the image
+                    assertEquals(expected, image.getPixelReader().getArgb(xIndex, height - 1 - yIndex), "pixel colour at " + xIndex + ", " + yIndex);
+                }
+            }
+            // matching image dimension are recycled
+            assertSame(image, ContourDataSetCache.convertDataArrayToImage(TEST_DATA_Z_QUANT2, width, height, gradient, nQuant, image, parallel));
+            assertNotSame(image, ContourDataSetCache.convertDataArrayToImage(TEST_DATA_Z_QUANT2, height, width, gradient, nQuant, image, parallel));
+        }
+        assertSame(gradient.getColorLookupTable(nQuant), gradient.getColorLookupTable(nQuant));
+        assertEquals(nQuant + 1, gradient.getColorLookupTable(nQuant).length);
     }
 
     private class TestDataSet extends AbstractDataSet3D<TestDataSet> {
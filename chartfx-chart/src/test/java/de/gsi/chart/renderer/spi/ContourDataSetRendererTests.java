@@ -0,0 +1,289 @@
+package de.gsi.chart.renderer.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+import static de.gsi.dataset.DataSet.DIM_Z;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import javafx.scene.canvas.Canvas;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.chart.axes.spi.DefaultNumericAxis;
+import de.gsi.chart.renderer.spi.utils.ColorGradient;
+import de.gsi.chart.ui.geometry.Side;
+import de.gsi.dataset.WaterfallDataSet;
+import de.gsi.dataset.spi.AbstractDataSet3D;
+
+/**
+ * Regression testing for @see ContourDataSetRenderer and its @see WaterfallImageCache N.B. runs without JavaFX toolkit
+ *
+ * @author rstein
+ */
+public class ContourDataSetRendererTests {
+    private static final int N_COLUMNS = 3;
+    private static final int N_ROWS = 4;
+    private static final double WIDTH = 400;
+    private static final double HEIGHT = 300;
+    private final Random random = new Random(42);
+    private final TestAxis xAxis = new TestAxis(Side.BOTTOM, 0, 10);
+    private final TestAxis yAxis = new TestAxis(Side.LEFT, 0, 100);
+    private final TestAxis zAxis = new TestAxis(Side.RIGHT, 0, 10);
+    private final ContourDataSetRenderer renderer = new ContourDataSetRenderer();
+
+    public ContourDataSetRendererTests() {
+        renderer.getAxes().addAll(xAxis, yAxis, zAxis);
+        renderer.setColorGradient(ColorGradient.TOPO);
+    }
+
+    @Test
+    public void waterfallImageCacheTests() {
+        final TestWaterfallDataSet dataSet = new TestWaterfallDataSet(N_ROWS);
+        final WaterfallImageCache cache = renderer.getWaterfallImageCache(dataSet);
+        assertSame(cache, renderer.getWaterfallImageCache(dataSet));
+
+        final int hashCode = dataSet.hashCode();
+        dataSet.append(new double[] { 1, 2, 3 });
+        assertNotEquals(hashCode, dataSet.hashCode(), "DataSet hashCode changes with appended data");
+        assertEquals(1, dataSet.getAppendedRowCount());
+        assertSame(cache, renderer.getWaterfallImageCache(dataSet), "cache re-used after append");
+
+        assertNotSame(cache, renderer.getWaterfallImageCache(new TestWaterfallDataSet(N_ROWS)));
+    }
+
+    @Test
+    public void waterfallIncrementalUpdateTests() {
+        final TestWaterfallDataSet dataSet = new TestWaterfallDataSet(N_ROWS);
+        appendRandomRows(dataSet, N_ROWS);
+        final WaterfallImageCache cache = renderer.getWaterfallImageCache(dataSet);
+        assertUpdate(cache, dataSet, N_ROWS, "initial update");
+
+        // scroll by the appended rows, covering all ring buffer offsets
+        for (final int nNewRows : new int[] { 1, 2, 3, 1, 1, N_ROWS - 1, 2 }) {
+            appendRandomRows(dataSet, nNewRows);
+            assertUpdate(cache, dataSet, nNewRows, "incremental update of " + nNewRows + " rows");
+        }
+        assertUpdate(cache, dataSet, 0, "no new rows");
+
+        // all rows replaced
+        appendRandomRows(dataSet, N_ROWS);
+        assertUpdate(cache, dataSet, N_ROWS, "full update");
+        appendRandomRows(dataSet, 2 * N_ROWS + 1);
+        assertUpdate(cache, dataSet, N_ROWS, "full update");
+
+        // newest row is drawn at the top
+        dataSet.append(new double[] { 10, 10, 10 });
+        assertUpdate(cache, dataSet, 1, "appended maximum");
+        final int[] pixels = cache.getPixels();
+        for (int col = 0; col < N_COLUMNS; col++) {
+            assertEquals(pixels[0], pixels[col], "uniform top row");
+        }
+        dataSet.append(new double[] { 0, 0, 0 });
+        assertUpdate(cache, dataSet, 1, "appended minimum");
+        assertEquals(pixels[0], cache.getPixels()[N_COLUMNS], "previous top row shifted by one row");
+        assertNotEquals(pixels[0], cache.getPixels()[0]);
+
+        // smoke test of the two-slice drawing (N.B. drawn pixels require the JavaFX toolkit)
+        cache.draw(new Canvas(WIDTH, HEIGHT).getGraphicsContext2D(), false);
+    }
+
+    @Test
+    public void waterfallFullUpdateTests() {
+        final TestWaterfallDataSet dataSet = new TestWaterfallDataSet(N_ROWS);
+        appendRandomRows(dataSet, N_ROWS + 1);
+        final WaterfallImageCache cache = renderer.getWaterfallImageCache(dataSet);
+        assertUpdate(cache, dataSet, N_ROWS, "initial update");
+        final int[] initialPixels = cache.getPixels();
+
+        // z-range change
+        appendRandomRows(dataSet, 1);
+        zAxis.set(0, 20);
+        assertUpdate(cache, dataSet, N_ROWS, "z range change");
+        zAxis.set(0, 10);
+        assertUpdate(cache, dataSet, N_ROWS, "z range change");
+        zAxis.setInverted(true);
+        assertUpdate(cache, dataSet, N_ROWS, "z axis inverted");
+        zAxis.setInverted(false);
+        assertUpdate(cache, dataSet, N_ROWS, "z axis inverted");
+
+        // colour mapping change
+        renderer.setColorGradient(ColorGradient.JET);
+        assertUpdate(cache, dataSet, N_ROWS, "colour gradient change");
+        renderer.setNumberQuantisationLevels(renderer.getNumberQuantisationLevels() / 2);
+        assertUpdate(cache, dataSet, N_ROWS, "quantisation change");
+        assertFalse(Arrays.equals(initialPixels, cache.getPixels()));
+
+        // resize: new row count
+        dataSet.resize(N_ROWS + 2);
+        assertUpdate(cache, dataSet, N_ROWS + 2, "resize");
+        assertEquals(N_COLUMNS * (N_ROWS + 2), cache.getPixels().length);
+        appendRandomRows(dataSet, 3);
+        assertUpdate(cache, dataSet, 3, "incremental after resize");
+        dataSet.resize(N_ROWS);
+        assertUpdate(cache, dataSet, N_ROWS, "resize");
+
+        // axis pixel range (i.e. chart) resize: re-used image
+        xAxis.layout(0, 5);
+        assertUpdate(cache, dataSet, 0, "x-axis range change");
+
+        // not applicable
+        xAxis.setInverted(true);
+        assertFalse(cache.update(xAxis, yAxis, renderer));
+        xAxis.setInverted(false);
+        assertFalse(renderer.getWaterfallImageCache(new TestWaterfallDataSet(0)).update(xAxis, yAxis, renderer));
+    }
+
+    @Test
+    public void releaseImagesTests() {
+        final TestWaterfallDataSet dataSet1 = new TestWaterfallDataSet(N_ROWS);
+        final TestWaterfallDataSet dataSet2 = new TestWaterfallDataSet(N_ROWS);
+        final WaterfallImageCache cache1 = renderer.getWaterfallImageCache(dataSet1);
+        final WaterfallImageCache cache2 = renderer.getWaterfallImageCache(dataSet2);
+
+        renderer.releaseImages(Arrays.asList(dataSet1, dataSet2));
+        assertSame(cache1, renderer.getWaterfallImageCache(dataSet1));
+        assertSame(cache2, renderer.getWaterfallImageCache(dataSet2));
+
+        renderer.releaseImages(Collections.singletonList(dataSet1));
+        assertSame(cache1, renderer.getWaterfallImageCache(dataSet1), "retained");
+        assertNotSame(cache2, renderer.getWaterfallImageCache(dataSet2), "released");
+
+        final WaterfallImageCache cache3 = renderer.getWaterfallImageCache(dataSet2);
+        renderer.releaseImages(Collections.emptyList());
+        assertNotSame(cache1, renderer.getWaterfallImageCache(dataSet1));
+        assertNotSame(cache3, renderer.getWaterfallImageCache(dataSet2));
+    }
+
+    private void appendRandomRows(final TestWaterfallDataSet dataSet, final int nRows) {
+        final double[] row = new double[N_COLUMNS];
+        for (int i = 0; i < nRows; i++) {
+            for (int col = 0; col < N_COLUMNS; col++) {
+                row[col] = 10.0 * random.nextDouble();
+            }
+            dataSet.append(row);
+        }
+    }
+
+    /**
+     * updates the cache and compares its image with the one of a full rebuild
+     *
+     * @param nExpectedRows number of rows that need to be (re-)computed
+     */
+    private void assertUpdate(final WaterfallImageCache cache, final TestWaterfallDataSet dataSet,
+            final int nExpectedRows, final String msg) {
+        dataSet.nZReads = 0;
+        assertTrue(cache.update(xAxis, yAxis, renderer), msg);
+        assertEquals(nExpectedRows * N_COLUMNS, dataSet.nZReads, msg + " - number of read values");
+
+        final WaterfallImageCache reference = new WaterfallImageCache(dataSet);
+        assertTrue(reference.update(xAxis, yAxis, renderer), msg);
+        assertArrayEquals(reference.getPixels(), cache.getPixels(), msg + " - pixels differ from full rebuild");
+    }
+
+    private static class TestWaterfallDataSet extends AbstractDataSet3D<TestWaterfallDataSet>
+            implements WaterfallDataSet {
+        private static final long serialVersionUID = -2167408716094536457L;
+        private double[] zValues;
+        private long appendedRowCount;
+        private int nZReads;
+
+        public TestWaterfallDataSet(final int nRows) {
+            super(ContourDataSetRendererTests.class.getSimpleName() + "TestDataSet");
+            zValues = new double[N_COLUMNS * nRows];
+            recomputeLimits(DIM_X);
+            recomputeLimits(DIM_Y);
+        }
+
+        public void append(final double[] row) {
+            // drop the oldest row and append the new one at the highest y index
+            System.arraycopy(zValues, N_COLUMNS, zValues, 0, zValues.length - N_COLUMNS);
+            System.arraycopy(row, 0, zValues, zValues.length - N_COLUMNS, N_COLUMNS);
+            appendedRowCount++;
+            recomputeLimits(DIM_Y);
+        }
+
+        @Override
+        public double get(final int dimIndex, final int index) {
+            switch (dimIndex) {
+            case DIM_X:
+                return index;
+            case DIM_Y:
+                return appendedRowCount + index;
+            default:
+                nZReads++;
+                return zValues[index];
+            }
+        }
+
+        @Override
+        public long getAppendedRowCount() {
+            return appendedRowCount;
+        }
+
+        @Override
+        public int getDataCount(final int dimIndex) {
+            switch (dimIndex) {
+            case DIM_X:
+                return N_COLUMNS;
+            case DIM_Y:
+                return zValues.length / N_COLUMNS;
+            default:
+                return zValues.length;
+            }
+        }
+
+        @Override
+        public double getZ(final int xIndex, final int yIndex) {
+            return zValues[yIndex * N_COLUMNS + xIndex];
+        }
+
+        public void resize(final int nRows) {
+            // keep the newest rows
+            final double[] newValues = new double[N_COLUMNS * nRows];
+            final int nCopy = Math.min(newValues.length, zValues.length);
+            System.arraycopy(zValues, zValues.length - nCopy, newValues, newValues.length - nCopy, nCopy);
+            zValues = newValues;
+            recomputeLimits(DIM_Y);
+        }
+    }
+
+    /**
+     * emulates the relevant part of the axis layout (N.B. the latter requires the JavaFX toolkit)
+     */
+    private static class TestAxis extends DefaultNumericAxis {
+        private TestAxis(final Side side, final double min, final double max) {
+            super();
+            setSide(side);
+            setAutoRanging(false);
+            layout(min, max);
+        }
+
+        private void layout(final double min, final double max) {
+            set(min, max);
+            resize(WIDTH, HEIGHT);
+            setScale(calculateNewScale(getSide().isVertical() ? HEIGHT : WIDTH, min, max));
+            currentLowerBound.set(min);
+            updateCachedVariables();
+        }
+
+        @Override
+        public boolean isInvertedAxis() {
+            return isInvertedAxis;
+        }
+
+        private void setInverted(final boolean state) {
+            isInvertedAxis = state; // N.B. invertAxis(boolean) listeners require the JavaFX toolkit
+        }
+    }
+}
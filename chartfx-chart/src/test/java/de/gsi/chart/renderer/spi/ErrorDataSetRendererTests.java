@@ -0,0 +1,278 @@
+package de.gsi.chart.renderer.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.chart.axes.Axis;
+import de.gsi.chart.axes.spi.DefaultNumericAxis;
+import de.gsi.chart.renderer.RendererDataReducer;
+import de.gsi.chart.ui.geometry.Side;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Regression testing for the parallel data set preparation of @see ErrorDataSetRenderer N.B. runs without JavaFX
+ * toolkit
+ *
+ * @author rstein
+ */
+public class ErrorDataSetRendererTests {
+    private static final int N_SAMPLES = 5000;
+    private static final int DATA_SET_OFFSET = 3;
+    private static final double WIDTH = 400;
+    private static final double HEIGHT = 300;
+    private static final long TIMEOUT = 10; // [s]
+
+    @Test
+    public void parallelParityTests() {
+        final List<DataSet> dataSets = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            dataSets.add(newDataSet("errorDataSet" + i, i));
+        }
+        final DoubleDataSet noErrors = new DoubleDataSet("noErrors", N_SAMPLES);
+        final DoubleDataSet pyramid = new DoubleDataSet("minMaxPyramid", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            noErrors.add(i, Math.cos(0.01 * i));
+            pyramid.add(i, Math.sin(0.03 * i) + (i % 7 == 0 ? 0.5 : 0.0));
+        }
+        pyramid.setMinMaxPyramidEnabled(true);
+        dataSets.add(noErrors);
+        dataSets.add(pyramid);
+        dataSets.add(new DoubleErrorDataSet("empty"));
+
+        final TestAxis xAxis = new TestAxis(Side.BOTTOM, 100, 4000);
+        final TestAxis yAxis = new TestAxis(Side.LEFT, -2, 2);
+        final double xMin = xAxis.getValueForDisplay(0);
+        final double xMax = xAxis.getValueForDisplay(WIDTH);
+
+        for (final boolean reducePoints : new boolean[] { true, false }) {
+            for (final boolean isPolarPlot : new boolean[] { false, true }) {
+                final ErrorDataSetRenderer renderer = new ErrorDataSetRenderer();
+                renderer.setPointReduction(reducePoints);
+                final String msg = "reducePoints = " + reducePoints + " polar = " + isPolarPlot;
+
+                final List<Optional<CachedDataPoints>> parallel = renderer.computeCachedPointsInParallel(
+                        DATA_SET_OFFSET, dataSets, xAxis, yAxis, xMin, xMax, isPolarPlot);
+                assertEquals(dataSets.size(), parallel.size(), msg);
+                assertFalse(parallel.get(dataSets.size() - 1).isPresent(), msg + " empty data set");
+
+                for (int index = 0; index < dataSets.size(); index++) {
+                    final DataSet dataSet = dataSets.get(index);
+                    final String dsMsg = msg + " data set = " + dataSet.getName();
+                    for (final boolean parallelImplementation : new boolean[] { false, true }) {
+                        // sequential path of ErrorDataSetRenderer::render
+                        final Optional<CachedDataPoints> sequential = renderer.computeCachedPoints(xAxis, yAxis,
+                                xMin, xMax, dataSet, DATA_SET_OFFSET + index, isPolarPlot, parallelImplementation);
+                        assertEquals(sequential.isPresent(), parallel.get(index).isPresent(), dsMsg);
+                        if (sequential.isPresent()) {
+                            sequential.get().reduce(renderer.rendererDataReducerProperty().get(),
+                                    renderer.isReducePoints(), renderer.getMinRequiredReductionSize());
+                            assertPointParity(sequential.get(), parallel.get(index).get(),
+                                    dsMsg + " parallelImplementation = " + parallelImplementation);
+                            sequential.get().release();
+                        }
+                    }
+                }
+                parallel.forEach(points -> points.ifPresent(CachedDataPoints::release));
+            }
+        }
+    }
+
+    @Test
+    public void workerExceptionTests() {
+        final FailingRenderer renderer = new FailingRenderer();
+        final DataSet failing = renderer.failingDataSet;
+        final List<DataSet> dataSets = Arrays.asList(new DoubleDataSet("a"), new DoubleDataSet("b"),
+                new DoubleDataSet("c"), failing);
+
+        final IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> compute(renderer, dataSets));
+        assertTrue(exception.getCause() instanceof ExecutionException);
+        assertTrue(exception.getCause().getCause() instanceof IllegalArgumentException);
+        assertEquals("worker failure", exception.getCause().getCause().getMessage());
+        assertFalse(Thread.currentThread().isInterrupted());
+
+        // N.B. the failing worker is awaited last, i.e. all other workers have completed
+        assertEquals(3, renderer.created.get());
+        assertEquals(3, renderer.released.get(), "points of completed workers are released");
+
+        // failing first worker: no exception swallowed, no points released twice
+        final FailingRenderer renderer2 = new FailingRenderer();
+        final List<DataSet> dataSets2 = Arrays.asList(renderer2.failingDataSet, new DoubleDataSet("a"),
+                new DoubleDataSet("b"));
+        assertThrows(IllegalStateException.class, () -> compute(renderer2, dataSets2));
+        assertTrue(renderer2.released.get() <= renderer2.created.get());
+
+        // success: points are handed over to the caller
+        final FailingRenderer renderer3 = new FailingRenderer();
+        final List<Optional<CachedDataPoints>> result = compute(renderer3,
+                Arrays.asList(new DoubleDataSet("a"), new DoubleDataSet("b")));
+        assertEquals(2, result.size());
+        assertEquals(2, renderer3.created.get());
+        assertEquals(0, renderer3.released.get());
+    }
+
+    @Test
+    public void interruptTests() throws InterruptedException {
+        final FailingRenderer renderer = new FailingRenderer();
+        final List<DataSet> dataSets = Arrays.asList(new DoubleDataSet("a"), renderer.blockingDataSet);
+        final AtomicReference<Throwable> thrown = new AtomicReference<>();
+        final AtomicBoolean interruptFlag = new AtomicBoolean();
+        final Thread renderThread = new Thread(() -> {
+            try {
+                compute(renderer, dataSets);
+            } catch (final IllegalStateException e) {
+                thrown.set(e);
+            }
+            interruptFlag.set(Thread.currentThread().isInterrupted());
+        });
+        renderThread.start();
+
+        assertTrue(renderer.blockingStarted.await(TIMEOUT, TimeUnit.SECONDS));
+        // wait for the render thread to be blocked on the (never completing) second worker
+        final long timeOut = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT);
+        while (renderer.created.get() < 1 || renderThread.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < timeOut, "render thread did not block");
+            Thread.sleep(1);
+        }
+        Thread.sleep(50); // N.B. first worker future completes shortly after having returned its result
+        renderThread.interrupt();
+        renderThread.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+        assertFalse(renderThread.isAlive());
+
+        assertTrue(thrown.get() instanceof IllegalStateException);
+        assertTrue(thrown.get().getCause() instanceof InterruptedException);
+        assertTrue(interruptFlag.get(), "interrupt flag restored");
+        assertTrue(renderer.blockingInterrupted.await(TIMEOUT, TimeUnit.SECONDS), "pending worker cancelled");
+        assertEquals(1, renderer.created.get());
+        assertEquals(1, renderer.released.get(), "points of completed worker are released");
+    }
+
+    private static void assertPointParity(final CachedDataPoints expected, final CachedDataPoints actual,
+            final String msg) {
+        final int n = expected.actualDataCount;
+        assertEquals(n, actual.actualDataCount, msg);
+        assertEquals(expected.indexMin, actual.indexMin, msg);
+        assertEquals(expected.indexMax, actual.indexMax, msg);
+        assertEquals(expected.dataSetIndex, actual.dataSetIndex, msg);
+        assertEquals(expected.dataSetStyleIndex, actual.dataSetStyleIndex, msg);
+        assertEquals(expected.defaultStyle, actual.defaultStyle, msg);
+        assertEquals(expected.minDistanceX, actual.minDistanceX, msg);
+        assertEquals(expected.polarPlot, actual.polarPlot, msg);
+        assertArrayEquals(expected.errorType, actual.errorType, msg);
+        assertArrayEquals(Arrays.copyOf(expected.xValues, n), Arrays.copyOf(actual.xValues, n), msg + " x");
+        assertArrayEquals(Arrays.copyOf(expected.yValues, n), Arrays.copyOf(actual.yValues, n), msg + " y");
+        assertArrayEquals(Arrays.copyOf(expected.selected, n), Arrays.copyOf(actual.selected, n), msg);
+        assertArrayEquals(copyOf(expected.errorYNeg, n), copyOf(actual.errorYNeg, n), msg + " errorYNeg");
+        assertArrayEquals(copyOf(expected.errorYPos, n), copyOf(actual.errorYPos, n), msg + " errorYPos");
+        assertArrayEquals(copyOf(expected.errorXNeg, n), copyOf(actual.errorXNeg, n), msg + " errorXNeg");
+        assertArrayEquals(copyOf(expected.errorXPos, n), copyOf(actual.errorXPos, n), msg + " errorXPos");
+        if (expected.styles == null) {
+            assertNull(actual.styles, msg);
+        } else {
+            assertArrayEquals(Arrays.copyOf(expected.styles, n), Arrays.copyOf(actual.styles, n), msg + " styles");
+        }
+    }
+
+    private static List<Optional<CachedDataPoints>> compute(final ErrorDataSetRenderer renderer,
+            final List<DataSet> dataSets) {
+        final TestAxis xAxis = new TestAxis(Side.BOTTOM, 0, 10);
+        final TestAxis yAxis = new TestAxis(Side.LEFT, 0, 10);
+        return renderer.computeCachedPointsInParallel(0, dataSets, xAxis, yAxis, 0, 10, false);
+    }
+
+    private static double[] copyOf(final double[] array, final int length) {
+        return array == null ? null : Arrays.copyOf(array, length);
+    }
+
+    private static DoubleErrorDataSet newDataSet(final String name, final int seed) {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet(name, N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            final double y = Math.sin(0.01 * (i + 100 * seed)) + 0.2 * Math.sin(1.7 * i);
+            dataSet.add(i, y, 0.1 + 0.01 * (i % 5), 0.05 * seed);
+        }
+        dataSet.addDataStyle(N_SAMPLES / 2, "strokeColor=red");
+        dataSet.addDataLabel(N_SAMPLES / 2 + 1, "label");
+        return dataSet;
+    }
+
+    /**
+     * renderer with failing and blocking data set workers counting the created and released points
+     */
+    private static class FailingRenderer extends ErrorDataSetRenderer {
+        private final DataSet failingDataSet = new DoubleDataSet("failing");
+        private final DataSet blockingDataSet = new DoubleDataSet("blocking");
+        private final CountDownLatch blockingStarted = new CountDownLatch(1);
+        private final CountDownLatch blockingInterrupted = new CountDownLatch(1);
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger released = new AtomicInteger();
+
+        @Override
+        protected Optional<CachedDataPoints> computeCachedPoints(final Axis xAxis, final Axis yAxis,
+                final double xMin, final double xMax, final DataSet dataSet, final int dsIndex,
+                final boolean isPolarPlot, final boolean parallel) {
+            if (dataSet == failingDataSet) {
+                throw new IllegalArgumentException("worker failure");
+            }
+            if (dataSet == blockingDataSet) {
+                blockingStarted.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (final InterruptedException e) {
+                    blockingInterrupted.countDown();
+                    Thread.currentThread().interrupt();
+                }
+                return Optional.empty();
+            }
+            final CachedDataPoints points = new CachedDataPoints(0, 1, 1, true) {
+                @Override
+                public void release() {
+                    released.incrementAndGet();
+                    super.release();
+                }
+
+                @Override
+                protected void reduce(final RendererDataReducer cruncher, final boolean isReducePoints,
+                        final int minRequiredReductionSize) {
+                    // nothing to reduce
+                }
+            };
+            created.incrementAndGet();
+            return Optional.of(points);
+        }
+    }
+
+    /**
+     * emulates the relevant part of the axis layout (N.B. the latter requires the JavaFX toolkit)
+     */
+    private static class TestAxis extends DefaultNumericAxis {
+        private TestAxis(final Side side, final double min, final double max) {
+            super();
+            setSide(side);
+            setAutoRanging(false);
+            set(min, max);
+            resize(WIDTH, HEIGHT);
+            setScale(calculateNewScale(side.isVertical() ? HEIGHT : WIDTH, min, max));
+            currentLowerBound.set(min);
+            updateCachedVariables();
+        }
+    }
+}
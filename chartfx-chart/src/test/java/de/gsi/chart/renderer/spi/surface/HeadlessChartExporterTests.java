@@ -0,0 +1,119 @@
+package de.gsi.chart.renderer.spi.surface;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+import javafx.scene.paint.Color;
+
+/**
+ * Regression testing for @see HeadlessChartExporter and @see RasterSurface N.B. runs without JavaFX toolkit
+ *
+ * @author rstein
+ */
+public class HeadlessChartExporterTests {
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 300;
+
+    @Test
+    public void basicRasterSurfaceTests() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new RasterSurface(0, 10));
+
+        final RasterSurface surface = new RasterSurface(WIDTH, HEIGHT);
+        assertEquals(WIDTH, surface.getWidth());
+        assertEquals(HEIGHT, surface.getHeight());
+        assertEquals(0, surface.getImage().getRGB(10, 10), "initially transparent");
+
+        surface.save();
+        surface.setFill(Color.RED);
+        surface.fillRect(0, 0, 20, 20);
+        surface.setFill(Color.BLUE);
+        surface.restore();
+        surface.fillRect(20, 0, 20, 20); // restored default fill: black
+        assertEquals(0xFFFF0000, surface.getImage().getRGB(10, 10));
+        assertEquals(0xFF000000, surface.getImage().getRGB(30, 10));
+
+        surface.clearRect(0, 0, 40, 20);
+        assertEquals(0, surface.getImage().getRGB(10, 10));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        surface.writePng(out);
+        final BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertNotNull(image);
+        assertEquals(WIDTH, image.getWidth());
+        assertEquals(HEIGHT, image.getHeight());
+    }
+
+    @Test
+    public void exportTests(@TempDir final Path tempDir) throws IOException {
+        final HeadlessChartExporter exporter = new HeadlessChartExporter().setSize(WIDTH, HEIGHT).setTitle("title");
+        assertEquals(WIDTH, exporter.getWidth());
+        assertEquals(HEIGHT, exporter.getHeight());
+        assertEquals("title", exporter.getTitle());
+
+        final Map<Path, List<DataSet>> plots = new HashMap<>();
+        for (int i = 0; i < 8; i++) {
+            plots.put(tempDir.resolve("plot" + i + ".png"), Collections.singletonList(getTestDataSet(1000 * (i + 1))));
+        }
+        exporter.exportPng(plots);
+        for (final Path file : plots.keySet()) {
+            final BufferedImage image = ImageIO.read(file.toFile());
+            assertNotNull(image, file.toString());
+            assertEquals(WIDTH, image.getWidth());
+            assertEquals(HEIGHT, image.getHeight());
+            assertTrue(containsColour(image, 0xFF0000C8), "default colour of first data set has been drawn");
+        }
+
+        // empty and non-finite data must not fail
+        final DoubleDataSet nanDataSet = new DoubleDataSet("nan");
+        nanDataSet.add(0.0, Double.NaN);
+        nanDataSet.add(1.0, 1.0);
+        nanDataSet.add(2.0, Double.NaN);
+        final RasterSurface surface = new RasterSurface(WIDTH, HEIGHT);
+        exporter.render(surface, List.of(new DoubleDataSet("empty"), nanDataSet));
+        assertNotEquals(0, surface.getImage().getRGB(0, 0), "background has been drawn");
+
+        assertThrows(IOException.class,
+                () -> exporter.exportPng(Map.of(tempDir.resolve("missing").resolve("plot.png"), List.of(nanDataSet))));
+    }
+
+    private static boolean containsColour(final BufferedImage image, final int argb) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (image.getRGB(x, y) == argb) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static DataSet getTestDataSet(final int nSamples) {
+        final double[] x = new double[nSamples];
+        final double[] y = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            x[i] = i;
+            y[i] = Math.sin(0.01 * i);
+        }
+        return new DoubleDataSet("sine", x, y, nSamples, false);
+    }
+}
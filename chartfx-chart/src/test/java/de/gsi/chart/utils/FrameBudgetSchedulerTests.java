@@ -0,0 +1,239 @@
+package de.gsi.chart.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.layout.Pane;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Regression testing for @see FrameBudgetScheduler (the core of @see ChartRenderScheduler) N.B. runs without JavaFX
+ * toolkit, the scene (without window) is emulated by the 'root' pane
+ *
+ * @author rstein
+ */
+public class FrameBudgetSchedulerTests {
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long DURATION = TimeUnit.MILLISECONDS.toNanos(8);
+    private static final double SCENE_SIZE = 100;
+    private final Pane root = new Pane();
+    private long time = 1_000_000_000L;
+    private final FrameBudgetScheduler scheduler = new FrameBudgetScheduler(() -> time, this::isAttached,
+            this::isVisible);
+
+    @BeforeEach
+    public void setUp() {
+        scheduler.setFrameBudget(BUDGET);
+    }
+
+    @Test
+    public void budgetAdmissionTests() {
+        final TestChart chart1 = new TestChart();
+        final TestChart chart2 = new TestChart();
+        final TestChart chart3 = new TestChart();
+
+        assertTrue(render(chart1, DURATION));
+        assertTrue(render(chart2, DURATION), "budget not yet exceeded");
+        assertFalse(render(chart3, DURATION), "budget exceeded");
+        assertEquals(2, scheduler.getRenderedCount());
+        assertEquals(1, scheduler.getDeferredCount());
+
+        // at least one chart per pulse, even if it exceeds the budget on its own
+        scheduler.onPulse(time);
+        final TestChart slowChart = new TestChart();
+        assertTrue(render(slowChart, 10 * BUDGET), "first chart of pulse");
+        assertFalse(render(new TestChart(), 0), "budget exceeded by first chart");
+
+        scheduler.newFrame();
+        assertTrue(render(slowChart, 0), "new frame after idle period");
+    }
+
+    @Test
+    public void deferralTests() {
+        final TestChart chart1 = new TestChart();
+        final TestChart chart2 = new TestChart();
+        final TestChart chart3 = new TestChart();
+        final TestChart chart4 = new TestChart();
+
+        // render durations of chart2 and chart3 are known, chart4 has never been drawn
+        assertTrue(render(chart2, DURATION));
+        assertTrue(render(chart3, DURATION));
+        scheduler.onPulse(time);
+        assertTrue(render(chart1, 2 * BUDGET));
+        assertFalse(render(chart2, DURATION));
+        assertFalse(render(chart3, DURATION));
+        assertFalse(render(chart4, DURATION));
+
+        // coalesced: repeated requests of already deferred charts
+        assertFalse(render(chart2, DURATION));
+        assertFalse(render(chart4, DURATION));
+        assertEquals(5, scheduler.getDeferredCount());
+        assertEquals(2, scheduler.getDroppedCount());
+        assertEquals(0, chart2.nLayoutRequests);
+
+        // next pulse: longest waiting chart re-requested (at least one), chart3 does not fit into the budget anymore
+        assertTrue(scheduler.onPulse(time));
+        assertEquals(1, chart2.nLayoutRequests);
+        assertEquals(0, chart3.nLayoutRequests);
+        assertEquals(0, chart4.nLayoutRequests);
+
+        // re-requested chart is admitted irrespective of the charts drawn earlier in the same pulse
+        assertTrue(render(chart1, 2 * BUDGET));
+        assertTrue(render(chart2, DURATION), "priority re-admission");
+        assertFalse(render(chart1, 2 * BUDGET), "non-priority chart deferred");
+
+        // next pulse: chart3 and (unknown duration) chart4 fit into the budget, chart1 has to wait
+        scheduler.onPulse(time);
+        assertEquals(1, chart3.nLayoutRequests);
+        assertEquals(1, chart4.nLayoutRequests);
+        assertEquals(0, chart1.nLayoutRequests);
+        assertTrue(render(new TestChart(), 2 * BUDGET));
+        assertTrue(render(chart4, DURATION));
+        assertTrue(render(chart3, DURATION));
+
+        scheduler.onPulse(time);
+        assertEquals(1, chart1.nLayoutRequests);
+        assertTrue(render(chart1, 2 * BUDGET));
+
+        // nothing left to do: idle pulses until the pulse notification may be stopped
+        for (int i = 0; i < FrameBudgetScheduler.MAX_IDLE_PULSES; i++) {
+            assertTrue(scheduler.onPulse(time), "idle pulse " + i);
+        }
+        assertFalse(scheduler.onPulse(time));
+        assertEquals(9, scheduler.getRenderedCount());
+        assertEquals(1, chart2.nLayoutRequests, "no spurious layout requests");
+
+        scheduler.resetStatistics();
+        assertEquals(0, scheduler.getRenderedCount());
+        assertEquals(0, scheduler.getDeferredCount());
+        assertEquals(0, scheduler.getDroppedCount());
+        assertEquals(0, scheduler.getSkippedCount());
+    }
+
+    @Test
+    public void hiddenChartTests() {
+        final Pane parent = new Pane();
+        final TestChart chart = new TestChart(parent);
+        parent.setVisible(false);
+
+        assertFalse(render(chart, DURATION), "invisible parent");
+        assertEquals(1, scheduler.getSkippedCount());
+        assertEquals(0, scheduler.getRenderedCount());
+        assertEquals(0, scheduler.getDeferredCount());
+
+        // periodic re-poll of hidden charts
+        scheduler.onPulse(time);
+        assertEquals(0, chart.nLayoutRequests, "still hidden");
+        parent.setVisible(true);
+        time += FrameBudgetScheduler.HIDDEN_POLL_PERIOD / 2;
+        assertTrue(scheduler.onPulse(time), "hidden charts pending");
+        assertEquals(0, chart.nLayoutRequests, "within poll period");
+        time += FrameBudgetScheduler.HIDDEN_POLL_PERIOD;
+        scheduler.onPulse(time);
+        assertEquals(1, chart.nLayoutRequests, "became visible");
+        time += FrameBudgetScheduler.HIDDEN_POLL_PERIOD;
+        scheduler.onPulse(time);
+        assertEquals(1, chart.nLayoutRequests, "requested once");
+        assertTrue(render(chart, DURATION));
+
+        // deferred chart that becomes hidden is not re-requested
+        assertTrue(render(new TestChart(), 2 * BUDGET));
+        assertFalse(render(chart, DURATION));
+        assertEquals(1, scheduler.getDeferredCount());
+        parent.setVisible(false);
+        assertFalse(render(chart, DURATION));
+        time += FrameBudgetScheduler.HIDDEN_POLL_PERIOD;
+        scheduler.onPulse(time);
+        assertEquals(1, chart.nLayoutRequests);
+
+        // charts removed from the scene are dropped
+        root.getChildren().remove(parent);
+        parent.setVisible(true);
+        time += FrameBudgetScheduler.HIDDEN_POLL_PERIOD;
+        scheduler.onPulse(time);
+        assertEquals(1, chart.nLayoutRequests);
+        for (int i = 0; i < FrameBudgetScheduler.MAX_IDLE_PULSES; i++) {
+            scheduler.onPulse(time);
+        }
+        assertFalse(scheduler.onPulse(time), "no hidden charts pending");
+    }
+
+    @Test
+    public void sceneWithoutWindowTests() {
+        final TestChart chart = new TestChart();
+        chart.resize(50, 50);
+        assertTrue(ChartRenderScheduler.isVisible(chart, null, SCENE_SIZE, SCENE_SIZE));
+        // N.B. no viewport for scenes without window
+        chart.relocate(-1000, 2000);
+        assertTrue(ChartRenderScheduler.isVisible(chart, null, SCENE_SIZE, SCENE_SIZE), "outside scene bounds");
+        assertTrue(render(chart, DURATION));
+
+        chart.setVisible(false);
+        assertFalse(ChartRenderScheduler.isVisible(chart, null, SCENE_SIZE, SCENE_SIZE));
+        chart.setVisible(true);
+        root.setVisible(false);
+        assertFalse(ChartRenderScheduler.isVisible(chart, null, SCENE_SIZE, SCENE_SIZE), "invisible parent");
+        assertFalse(render(chart, DURATION));
+        assertEquals(1, scheduler.getSkippedCount());
+
+        // N.B. no scene at all
+        assertFalse(ChartRenderScheduler.isVisible(new Pane()));
+    }
+
+    private boolean isAttached(final Parent chart) {
+        for (Node node = chart; node != null; node = node.getParent()) {
+            if (node == root) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isVisible(final Parent chart) {
+        return isAttached(chart) && ChartRenderScheduler.isVisible(chart, null, SCENE_SIZE, SCENE_SIZE);
+    }
+
+    /**
+     * emulates the begin/end render sequence of XYChart#layoutPluginsChildren
+     *
+     * @return {@code true} if the chart has been drawn
+     */
+    private boolean render(final TestChart chart, final long duration) {
+        if (!scheduler.beginRender(chart)) {
+            return false;
+        }
+        time += duration;
+        scheduler.endRender(chart);
+        return true;
+    }
+
+    private class TestChart extends Pane {
+        private int nLayoutRequests;
+
+        private TestChart() {
+            this(root);
+        }
+
+        private TestChart(final Pane parent) {
+            super();
+            if (parent != root) {
+                root.getChildren().add(parent);
+            }
+            parent.getChildren().add(this);
+            nLayoutRequests = 0; // N.B. ignore requests during construction
+        }
+
+        @Override
+        public void requestLayout() {
+            nLayoutRequests++;
+            super.requestLayout();
+        }
+    }
+}
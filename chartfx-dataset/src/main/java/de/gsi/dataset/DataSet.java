@@ -1,6 +1,7 @@
 package de.gsi.dataset;
 
 import java.io.Serializable;
+import java.nio.DoubleBuffer;
 import java.util.List;
 
 import de.gsi.dataset.event.EventSource;
@@ -126,11 +127,43 @@ public interface DataSet extends EventSource, Serializable {
      */
     default double[] getValues(final int dimIndex) {
         final int n = getDataCount(dimIndex);
-        final double[] retValues = new double[n];
-        for (int i = 0; i < n; i++) {
-            retValues[i] = get(dimIndex, i);
+        return getValues(dimIndex, 0, new double[n], 0, n);
+    }
+
+    /**
+     * Bulk equivalent of {@link #get(int, int)}: copies <code>length</code> values of the given dimension starting at
+     * <code>fromIndex</code> into the supplied array (semantic analogous to {@link System#arraycopy}).
+     * <p>
+     * N.B. should be called with the read lock held. Array-based implementations override this with a native bulk copy.
+     * Analogous to {@link #get(int, int)}, indices are not checked against {@link #getDataCount(int)}.
+     *
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @param fromIndex first data point index to be copied
+     * @param target array the values are copied into
+     * @param targetOffset first index in the target array
+     * @param length number of values to be copied
+     * @return the target array (fluent design)
+     */
+    default double[] getValues(final int dimIndex, final int fromIndex, final double[] target, final int targetOffset,
+            final int length) {
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] = get(dimIndex, fromIndex + i);
         }
-        return retValues;
+        return target;
+    }
+
+    /**
+     * Read-only view on the values of the given dimension.
+     * <p>
+     * N.B. array-based implementations return a view of their backing array that is valid only while the read lock is
+     * held, other implementations return a view of a copy.
+     *
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @return read-only buffer with position '0' and limit equal to {@link #getDataCount(int)}
+     */
+    default DoubleBuffer getValuesView(final int dimIndex) {
+        final int n = getDataCount(dimIndex);
+        return DoubleBuffer.wrap(getValues(dimIndex, 0, new double[n], 0, n)).asReadOnlyBuffer();
     }
 
     /**
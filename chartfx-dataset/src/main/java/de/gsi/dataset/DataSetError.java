@@ -99,11 +99,28 @@ public interface DataSetError extends DataSet {
      */
     default double[] getErrorsNegative(final int dimIndex) {
         final int n = getDataCount(dimIndex);
-        final double[] retValues = new double[n];
-        for (int i = 0; i < n; i++) {
-            retValues[i] = getErrorNegative(dimIndex, i);
+        return getErrorsNegative(dimIndex, 0, new double[n], 0, n);
+    }
+
+    /**
+     * Bulk equivalent of {@link #getErrorNegative(int, int)}: copies <code>length</code> negative errors of the given
+     * dimension starting at <code>fromIndex</code> into the supplied array.
+     * <p>
+     * N.B. should be called with the read lock held. Array-based implementations override this with a native bulk copy.
+     *
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @param fromIndex first data point index to be copied
+     * @param target array the errors are copied into
+     * @param targetOffset first index in the target array
+     * @param length number of errors to be copied
+     * @return the target array (fluent design)
+     */
+    default double[] getErrorsNegative(final int dimIndex, final int fromIndex, final double[] target,
+            final int targetOffset, final int length) {
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] = getErrorNegative(dimIndex, fromIndex + i);
         }
-        return retValues;
+        return target;
     }
 
     /**
@@ -115,11 +132,28 @@ public interface DataSetError extends DataSet {
      */
     default double[] getErrorsPositive(final int dimIndex) {
         final int n = getDataCount(dimIndex);
-        final double[] retValues = new double[n];
-        for (int i = 0; i < n; i++) {
-            retValues[i] = getErrorPositive(dimIndex, i);
+        return getErrorsPositive(dimIndex, 0, new double[n], 0, n);
+    }
+
+    /**
+     * Bulk equivalent of {@link #getErrorPositive(int, int)}: copies <code>length</code> positive errors of the given
+     * dimension starting at <code>fromIndex</code> into the supplied array.
+     * <p>
+     * N.B. should be called with the read lock held. Array-based implementations override this with a native bulk copy.
+     *
+     * @param dimIndex the dimension index (ie. '0' equals 'X', '1' equals 'Y')
+     * @param fromIndex first data point index to be copied
+     * @param target array the errors are copied into
+     * @param targetOffset first index in the target array
+     * @param length number of errors to be copied
+     * @return the target array (fluent design)
+     */
+    default double[] getErrorsPositive(final int dimIndex, final int fromIndex, final double[] target,
+            final int targetOffset, final int length) {
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] = getErrorPositive(dimIndex, fromIndex + i);
         }
-        return retValues;
+        return target;
     }
 
     /**
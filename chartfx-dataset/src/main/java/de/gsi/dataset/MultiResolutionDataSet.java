@@ -0,0 +1,33 @@
+package de.gsi.dataset;
+
+import de.gsi.dataset.utils.MinMaxPyramid;
+
+/**
+ * Interface for data sets that (optionally) maintain a multi-resolution min/max index of their ordinate values. This
+ * permits renderers to fetch only a few representative points per pixel column instead of transforming all visible
+ * samples.
+ *
+ * @author rstein
+ */
+public interface MultiResolutionDataSet extends DataSet {
+
+    /**
+     * @return the min/max index of the ordinate ({@link DataSet#DIM_Y}) or {@code null} if not enabled
+     */
+    MinMaxPyramid getMinMaxPyramid();
+
+    /**
+     * @return {@code true} if the min/max index is being maintained
+     */
+    default boolean isMinMaxPyramidEnabled() {
+        return getMinMaxPyramid() != null;
+    }
+
+    /**
+     * enables or disables the min/max index, N.B. the index is built lazily on first access
+     *
+     * @param state {@code true}: enable the index
+     * @return itself (fluent design)
+     */
+    MultiResolutionDataSet setMinMaxPyramidEnabled(final boolean state);
+}
@@ -0,0 +1,20 @@
+package de.gsi.dataset;
+
+/**
+ * A <code>DataSet3D</code> extension for scrolling, history-type data (e.g. spectrograms) where new rows (i.e. all x
+ * values for a given y index) are appended at the highest y index while the oldest rows at the lowest y indices are
+ * being discarded. The number of rows and columns remains constant in between appends.
+ * <p>
+ * This permits renderers to process only the newly appended rows rather than the whole z matrix.
+ *
+ * @author rstein
+ */
+public interface WaterfallDataSet extends DataSet3D {
+
+    /**
+     * N.B. the counter must be reset to zero (or the dimensions changed) whenever existing rows are modified
+     *
+     * @return total number of rows appended so far, monotonically increasing
+     */
+    long getAppendedRowCount();
+}
@@ -0,0 +1,227 @@
+package de.gsi.dataset.event;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Non-blocking, rate-limited {@link EventListener} wrapper.
+ * <p>
+ * Events are stored in a small per-source ring buffer and the call returns immediately, i.e. producers never wait on
+ * the wrapped (possibly slow, e.g. JavaFX-bound) listener. The wrapped listener is notified asynchronously via the
+ * {@link EventThreadHelper} executor at most once per {@code minUpdatePeriod}. Between two such polls, events of
+ * identical type and source are coalesced into their latest instance. In case a ring buffer overflows, the oldest
+ * events are dropped and replaced by a generic {@link InvalidatedEvent}.
+ * <p>
+ * usage example:
+ *
+ * <pre>
+ * dataSet.addListener(new CoalescingEventListener(evt -&gt; FXUtils.runFX(chart::requestLayout), 40));
+ * </pre>
+ *
+ * N.B. the wrapped listener is never invoked concurrently by the same {@code CoalescingEventListener} instance.
+ *
+ * @author rstein
+ */
+public class CoalescingEventListener implements EventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingEventListener.class);
+    /** default ring buffer capacity per event source */
+    public static final int DEFAULT_CAPACITY = 32;
+    private final EventListener delegate;
+    private final long minUpdatePeriodNanos;
+    private final int capacity;
+    private final Map<EventSource, SourceQueue> queues = new IdentityHashMap<>(); // N.B. identity: DataSet hashCodes are mutable
+    private final AtomicBoolean dispatchPending = new AtomicBoolean(false);
+    private final AtomicLong nReceived = new AtomicLong();
+    private final AtomicLong nDelivered = new AtomicLong();
+    private final AtomicLong nDropped = new AtomicLong();
+    private volatile long lastDispatchNanos = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+
+    /**
+     * @param delegate the listener to be notified asynchronously
+     */
+    public CoalescingEventListener(final EventListener delegate) {
+        this(delegate, 0, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param delegate the listener to be notified asynchronously
+     * @param minUpdatePeriodMillis minimum period in between two notifications of the wrapped listener [ms]
+     */
+    public CoalescingEventListener(final EventListener delegate, final long minUpdatePeriodMillis) {
+        this(delegate, minUpdatePeriodMillis, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param delegate the listener to be notified asynchronously
+     * @param minUpdatePeriodMillis minimum period in between two notifications of the wrapped listener [ms]
+     * @param capacity ring buffer capacity per event source
+     */
+    public CoalescingEventListener(final EventListener delegate, final long minUpdatePeriodMillis,
+            final int capacity) {
+        AssertUtils.notNull("delegate", delegate);
+        AssertUtils.gtEqThanZero("minUpdatePeriodMillis", minUpdatePeriodMillis);
+        AssertUtils.gtThanZero("capacity", capacity);
+        this.delegate = delegate;
+        this.minUpdatePeriodNanos = TimeUnit.MILLISECONDS.toNanos(minUpdatePeriodMillis);
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the wrapped listener
+     */
+    public EventListener getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return number of events that have been forwarded to the wrapped listener
+     */
+    public long getDeliveredCount() {
+        return nDelivered.get();
+    }
+
+    /**
+     * @return number of events that have been coalesced or dropped due to ring buffer overflows
+     */
+    public long getDroppedCount() {
+        return nDropped.get();
+    }
+
+    /**
+     * @return minimum period in between two notifications of the wrapped listener [ms]
+     */
+    public long getMinUpdatePeriod() {
+        return TimeUnit.NANOSECONDS.toMillis(minUpdatePeriodNanos);
+    }
+
+    /**
+     * @return number of events that have been received by this listener
+     */
+    public long getReceivedCount() {
+        return nReceived.get();
+    }
+
+    @Override
+    public void handle(final UpdateEvent event) {
+        if (event == null) {
+            return;
+        }
+        nReceived.incrementAndGet();
+        final EventSource source = event.getSource() instanceof EventSource ? (EventSource) event.getSource() : null;
+        synchronized (queues) {
+            queues.computeIfAbsent(source, s -> new SourceQueue(s, capacity)).add(event);
+        }
+        if (dispatchPending.compareAndSet(false, true)) {
+            scheduleDispatch();
+        }
+    }
+
+    /**
+     * @return {@code true} if there are events that have not been yet forwarded to the wrapped listener
+     */
+    public boolean hasPendingEvents() {
+        synchronized (queues) {
+            return !queues.isEmpty();
+        }
+    }
+
+    protected void dispatch() {
+        lastDispatchNanos = System.nanoTime();
+        try {
+            for (final UpdateEvent event : drain()) {
+                try {
+                    delegate.handle(event);
+                    nDelivered.incrementAndGet();
+                } catch (final Exception e) { // NOPMD -- need to catch all to keep the dispatcher alive
+                    if (LOGGER.isErrorEnabled()) {
+                        LOGGER.atError().setCause(e).addArgument(event).log("listener threw exception for event {}");
+                    }
+                }
+            }
+        } finally {
+            dispatchPending.set(false);
+            // events may have arrived while the wrapped listener was busy
+            if (hasPendingEvents() && dispatchPending.compareAndSet(false, true)) {
+                scheduleDispatch();
+            }
+        }
+    }
+
+    protected List<UpdateEvent> drain() {
+        final List<UpdateEvent> retVal = new ArrayList<>();
+        synchronized (queues) {
+            for (final SourceQueue queue : queues.values()) {
+                nDropped.addAndGet(queue.drainCoalesced(retVal));
+            }
+            queues.clear();
+        }
+        return retVal;
+    }
+
+    protected void scheduleDispatch() {
+        final long delay = minUpdatePeriodNanos - (System.nanoTime() - lastDispatchNanos);
+        if (delay <= 0) {
+            EventThreadHelper.getExecutorService().execute(this::dispatch);
+            return;
+        }
+        EventThreadHelper.getScheduledExecutorService().schedule(
+                () -> EventThreadHelper.getExecutorService().execute(this::dispatch), delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * fixed-capacity ring buffer of events for a given source
+     */
+    private static class SourceQueue {
+        private final EventSource source;
+        private final UpdateEvent[] ring;
+        private int head; // index of the oldest element
+        private int size;
+        private int nOverwritten;
+
+        protected SourceQueue(final EventSource source, final int capacity) {
+            this.source = source;
+            ring = new UpdateEvent[capacity];
+        }
+
+        protected void add(final UpdateEvent event) {
+            if (size == ring.length) {
+                // drop oldest
+                head = (head + 1) % ring.length;
+                size--;
+                nOverwritten++;
+            }
+            ring[(head + size) % ring.length] = event;
+            size++;
+        }
+
+        /**
+         * @param output list the coalesced events are appended to
+         * @return number of events that have been dropped, i.e. received events minus events to be delivered
+         */
+        protected int drainCoalesced(final List<UpdateEvent> output) {
+            // retain only the latest event of each type (in order of their last occurrence)
+            final Map<Class<?>, UpdateEvent> latest = new LinkedHashMap<>();
+            if (nOverwritten > 0) {
+                latest.put(InvalidatedEvent.class, new InvalidatedEvent(source, "event buffer overflow"));
+            }
+            for (int i = 0; i < size; i++) {
+                final UpdateEvent event = ring[(head + i) % ring.length];
+                latest.remove(event.getClass());
+                latest.put(event.getClass(), event);
+            }
+            output.addAll(latest.values());
+            return size + nOverwritten - latest.size();
+        }
+    }
+}
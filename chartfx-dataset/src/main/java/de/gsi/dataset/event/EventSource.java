@@ -77,35 +77,46 @@ public interface EventSource {
                 return;
             }
         }
+        final List<EventListener> listeners;
         synchronized (updateEventListener()) {
-            if (!executeParallel) {
-                // alt implementation:
-                for (EventListener listener : updateEventListener()) {
-                    listener.handle(updateEvent);
-                }
-                return;
+            // N.B. snapshot to not block add/removeListener while listeners are being notified
+            listeners = new ArrayList<>(updateEventListener());
+        }
+        if (!executeParallel) {
+            // alt implementation:
+            for (EventListener listener : listeners) {
+                listener.handle(updateEvent);
             }
-            final UpdateEvent event = updateEvent == null ? new UpdateEvent(this) : updateEvent;
+            return;
+        }
+        final UpdateEvent event = updateEvent == null ? new UpdateEvent(this) : updateEvent;
 
-            final List<Callable<Boolean>> workers = new ArrayList<>();
-            for (EventListener listener : updateEventListener()) {
-                workers.add(() -> {
-                    listener.handle(event);
-                    return Boolean.TRUE;
-                });
+        final List<Callable<Boolean>> workers = new ArrayList<>();
+        for (EventListener listener : listeners) {
+            if (listener instanceof CoalescingEventListener) {
+                // non-blocking by design -- no need to dispatch via executor service
+                listener.handle(event);
+                continue;
             }
+            workers.add(() -> {
+                listener.handle(event);
+                return Boolean.TRUE;
+            });
+        }
+        if (workers.isEmpty()) {
+            return;
+        }
 
-            try {
-                final List<Future<Boolean>> jobs = EventThreadHelper.getExecutorService().invokeAll(workers);
-                for (final Future<Boolean> future : jobs) {
-                    final Boolean execstate = future.get();
-                    if (!execstate) {
-                        throw new IllegalStateException("one parallel worker thread finished execution with error");
-                    }
+        try {
+            final List<Future<Boolean>> jobs = EventThreadHelper.getExecutorService().invokeAll(workers);
+            for (final Future<Boolean> future : jobs) {
+                final Boolean execstate = future.get();
+                if (!execstate) {
+                    throw new IllegalStateException("one parallel worker thread finished execution with error");
                 }
-            } catch (final InterruptedException | ExecutionException e) {
-                throw new IllegalStateException("one parallel worker thread finished execution with error", e);
             }
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("one parallel worker thread finished execution with error", e);
         }
     }
 
@@ -2,6 +2,7 @@ package de.gsi.dataset.event;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import de.gsi.dataset.utils.CachedDaemonThreadFactory;
 
@@ -12,6 +13,8 @@ public class EventThreadHelper {
     private static final int MAX_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
     private static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(2 * MAX_THREADS,
             CachedDaemonThreadFactory.getInstance());
+    private static final ScheduledExecutorService TIMER_SERVICE = Executors.newSingleThreadScheduledExecutor(
+            CachedDaemonThreadFactory.getInstance());
 
     /**
      * @return event update executor service
@@ -20,6 +23,15 @@ public class EventThreadHelper {
         return EXECUTOR_SERVICE;
     }
 
+    /**
+     * N.B. used for timing purposes only, long-running tasks should be delegated to {@link #getExecutorService()}
+     *
+     * @return scheduled executor service for delayed (e.g. rate-limited) event notification
+     */
+    public static ScheduledExecutorService getScheduledExecutorService() {
+        return TIMER_SERVICE;
+    }
+
     /**
      * @return maximum number of threads used for event notification
      */
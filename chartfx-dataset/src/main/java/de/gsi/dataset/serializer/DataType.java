@@ -38,6 +38,10 @@ public enum DataType {
     CHAR_ARRAY(108, "char_array", "[C", 2, Cat.ARRAY, char[].class, Character[].class),
     STRING_ARRAY(109, "string_array", "[java.lang.String", 1, Cat.ARRAY, String[].class),
 
+    // compressed arrays of primitive types (lossless, see GorillaCodec)
+    DOUBLE_ARRAY_XOR(110, "double_array_xor", "[D", 8, Cat.ARRAY),
+    DOUBLE_ARRAY_DELTA(111, "double_array_delta", "[D", 8, Cat.ARRAY),
+
     // complex objects
     COLLECTION(200, "collection", "", 1, Cat.ARRAY, Collection.class),
     ENUM(201, "enum", "java.lang.Enum", 4, Cat.ARRAY, Enum.class), LIST(202, "list", "", 1, Cat.ARRAY, List.class),
@@ -169,6 +169,9 @@ public class BinarySerialiser { // NOPMD - omen est omen
             return toDoubles(BinarySerialiser.getFloatArray(readBuffer));
         case DOUBLE_ARRAY:
             return BinarySerialiser.getDoubleArray(readBuffer);
+        case DOUBLE_ARRAY_XOR:
+        case DOUBLE_ARRAY_DELTA:
+            return GorillaCodec.decode(readBuffer, dataType);
         case CHAR_ARRAY:
             return toDoubles(BinarySerialiser.getCharArray(readBuffer));
         case STRING_ARRAY:
@@ -551,6 +554,29 @@ public class BinarySerialiser { // NOPMD - omen est omen
         adjustDataByteSizeBlock(buffer, sizeMarkerStart);
     }
 
+    /**
+     * @param buffer the buffer to write to
+     * @param fieldName the field name
+     * @param arrayValue the values to be written
+     * @param dims the array dimensions
+     * @param dataType the per-field encoding: {@link DataType#DOUBLE_ARRAY} (raw), {@link DataType#DOUBLE_ARRAY_XOR} or
+     *        {@link DataType#DOUBLE_ARRAY_DELTA} (lossless compression, see {@link GorillaCodec})
+     */
+    public static void put(final IoBuffer buffer, final String fieldName, final double[] arrayValue, final int[] dims,
+            final DataType dataType) {
+        if (dataType == DataType.DOUBLE_ARRAY) {
+            put(buffer, fieldName, arrayValue, dims);
+            return;
+        }
+        if (!GorillaCodec.isCompressed(dataType)) {
+            throw new IllegalArgumentException("dataType '" + dataType + "' is not a double array encoding");
+        }
+        final int nElements = getNumberOfElements(dims);
+        final long sizeMarkerStart = putArrayHeader(buffer, fieldName, dataType, dims, nElements);
+        GorillaCodec.encode(buffer, dataType, arrayValue, Math.min(nElements, arrayValue.length));
+        adjustDataByteSizeBlock(buffer, sizeMarkerStart);
+    }
+
     public static void put(final IoBuffer buffer, final String fieldName, final Enum<?> enumeration) {
         if (enumeration == null) {
             return;
@@ -854,6 +880,11 @@ public class BinarySerialiser { // NOPMD - omen est omen
             size = readBuffer.getInt();
             leftOver = BinarySerialiser.getDoubleArray(readBuffer);
             break;
+        case DOUBLE_ARRAY_XOR:
+        case DOUBLE_ARRAY_DELTA:
+            size = readBuffer.getInt();
+            leftOver = GorillaCodec.decode(readBuffer, fieldHeader.getDataType());
+            break;
         case STRING_ARRAY:
             size = readBuffer.getInt();
             leftOver = BinarySerialiser.getStringArray(readBuffer);
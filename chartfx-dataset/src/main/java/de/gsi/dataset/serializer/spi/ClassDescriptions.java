@@ -113,7 +113,7 @@ public final class ClassDescriptions { // NOPMD - nomen est omen
             }
 
             try {
-                localRoot = field.getField().get(rootObject);
+                localRoot = field.getFieldAccessor().get(rootObject);
                 if (localRoot == null) {
                     // need to allocate new object for field
 
@@ -121,7 +121,7 @@ public final class ClassDescriptions { // NOPMD - nomen est omen
                     constr.setAccessible(true);
 
                     localRoot = constr.newInstance(rootObject);
-                    field.getField().set(rootObject, localRoot);
+                    field.getFieldAccessor().set(rootObject, localRoot);
                 }
             } catch (IllegalArgumentException | IllegalAccessException | InstantiationException
                     | InvocationTargetException | SecurityException | NoSuchMethodException e) {
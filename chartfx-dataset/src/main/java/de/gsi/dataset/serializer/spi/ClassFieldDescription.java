@@ -34,6 +34,7 @@ public class ClassFieldDescription implements Iterable<ClassFieldDescription> {
     private String toStringName; // computed on demand and cached
     private final int hierarchyDepth;
     private final Field field; // since we cannot derive from 'final class Field'
+    private final FieldAccessor fieldAccessor;
     private final String fieldName;
     private final String fieldNameRelative;
     private final Optional<ClassFieldDescription> parent;
@@ -147,7 +148,7 @@ public class ClassFieldDescription implements Iterable<ClassFieldDescription> {
         isclass = !isprimitive && !modInterface;
         isEnum = Enum.class.isAssignableFrom(classType);
         serializable = !modTransient && !modStatic;
-
+        fieldAccessor = this.field != null && serializable ? new FieldAccessor(this.field) : null;
     }
 
     /**
@@ -184,7 +185,7 @@ public class ClassFieldDescription implements Iterable<ClassFieldDescription> {
             // need to allocate new object
             final Constructor<?> constr = getParent(this, 1).getType().getDeclaredConstructor(fieldParent.getClass());
             final Object newFieldObj = constr.newInstance(fieldParent);
-            localParent.getField().set(fieldParent, newFieldObj);
+            localParent.getFieldAccessor().set(fieldParent, newFieldObj);
 
             return newFieldObj;
         } catch (InstantiationException | InvocationTargetException | SecurityException | NoSuchMethodException e) {
@@ -253,6 +254,14 @@ public class ClassFieldDescription implements Iterable<ClassFieldDescription> {
         return field;
     }
 
+    /**
+     * @return the cached, primitive-specialised accessor to the underlying Field or {@code null} if it's a root node or
+     *         a non-serialisable (static or transient) field
+     */
+    public FieldAccessor getFieldAccessor() {
+        return fieldAccessor;
+    }
+
     /**
      * @return the hashMap containing the child references by field name
      */
@@ -326,14 +335,14 @@ public class ClassFieldDescription implements Iterable<ClassFieldDescription> {
             final ClassFieldDescription localParent = getParent(this, depth - i);
 
             try {
-                if (localParent.getField() == null) {
+                if (localParent.getFieldAccessor() == null) {
                     return rootObject;
                 }
-                temp = localParent.getField().get(parent1);
+                temp = localParent.getFieldAccessor().get(parent1);
                 if (temp == null) {
                     temp = allocateMemberClassField(parent1, localParent);
                 }
-                if ((temp = localParent.getField().get(parent1)) == null) {
+                if ((temp = localParent.getFieldAccessor().get(parent1)) == null) {
                     throw new IllegalStateException(
                             "could not allocate inner class object field = " + field.toString());
                 }
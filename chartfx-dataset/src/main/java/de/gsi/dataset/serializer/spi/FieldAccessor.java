@@ -0,0 +1,392 @@
+package de.gsi.dataset.serializer.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import sun.misc.Unsafe; // NOPMD by rstein
+
+/**
+ * Primitive-specialised, boxing-free accessor for a (non-static) class member, resolved once per field and cached
+ * through {@link ClassFieldDescription} and {@link ClassDescriptions}.
+ * <p>
+ * Accessible, non-volatile fields are read and written directly via their 'Unsafe' field offset (similar to
+ * {@link FastByteBuffer}), avoiding the per-call access checks of {@link Field#get(Object)}/{@link Field#set(Object,
+ * Object)}. Volatile fields and fields without offsets (e.g. records or hidden classes) fall back to
+ * {@link MethodHandle}s. Type safety is retained by checking the object and value types on each access.
+ *
+ * @author rstein
+ */
+public final class FieldAccessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FieldAccessor.class);
+    private static final long NO_OFFSET = -1;
+    private static final Unsafe unsafe; // NOPMD
+    static {
+        // get an instance of the otherwise private 'Unsafe' class
+        try {
+            final Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = (Unsafe) field.get(null);
+        } catch (NoSuchFieldException | SecurityException | IllegalAccessException e) {
+            throw new SecurityException(e); // NOPMD
+        }
+    }
+    private final Field field;
+    private final Class<?> declaringClass;
+    private final Class<?> type;
+    private final long offset;
+    private final MethodHandle getter; // (Object)type
+    private final MethodHandle setter; // (Object,type)void
+    private final MethodHandle genericGetter; // (Object)Object
+    private final MethodHandle genericSetter; // (Object,Object)void
+
+    /**
+     * @param field the class member to be accessed
+     */
+    public FieldAccessor(final Field field) {
+        if (field == null) {
+            throw new IllegalArgumentException("field must not be null");
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            throw new IllegalArgumentException("static field '" + field.getName() + "' is not supported");
+        }
+        this.field = field;
+        declaringClass = field.getDeclaringClass();
+        type = field.getType();
+
+        final boolean accessible = isAccessible(field);
+        offset = accessible && !Modifier.isVolatile(field.getModifiers()) ? getOffset(field) : NO_OFFSET;
+
+        final MethodHandle get = accessible ? getHandle(field, true) : null;
+        final MethodHandle set = accessible ? getHandle(field, false) : null; // N.B. 'null' for e.g. record fields
+        getter = get == null ? null : get.asType(MethodType.methodType(type, Object.class));
+        setter = set == null ? null : set.asType(MethodType.methodType(void.class, Object.class, type));
+        genericGetter = get == null ? null : get.asType(MethodType.methodType(Object.class, Object.class));
+        genericSetter = set == null ? null : set.asType(MethodType.methodType(void.class, Object.class, Object.class));
+    }
+
+    /**
+     * @param obj the object to read from
+     * @return the (possibly boxed) field value
+     */
+    public Object get(final Object obj) {
+        if (offset != NO_OFFSET && !type.isPrimitive()) {
+            return unsafe.getObject(checkObject(obj), offset);
+        }
+        try {
+            return checkHandle(genericGetter).invokeExact(checkObject(obj));
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public boolean getBoolean(final Object obj) {
+        checkType(boolean.class);
+        if (offset != NO_OFFSET) {
+            return unsafe.getBoolean(checkObject(obj), offset);
+        }
+        try {
+            return (boolean) checkHandle(getter).invokeExact(checkObject(obj));
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public byte getByte(final Object obj) {
+        checkType(byte.class);
+        if (offset != NO_OFFSET) {
+            return unsafe.getByte(checkObject(obj), offset);
+        }
+        try {
+            return (byte) checkHandle(getter).invokeExact(checkObject(obj));
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public char getChar(final Object obj) {
+        checkType(char.class);
+        if (offset != NO_OFFSET) {
+            return unsafe.getChar(checkObject(obj), offset);
+        }
+        try {
+            return (char) checkHandle(getter).invokeExact(checkObject(obj));
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public double getDouble(final Object obj) {
+        checkType(double.class);
+        if (offset != NO_OFFSET) {
+            return unsafe.getDouble(checkObject(obj), offset);
+        }
+        try {
+            return (double) checkHandle(getter).invokeExact(checkObject(obj));
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @return the underlying class member
+     */
+    public Field getField() {
+        return field;
+    }
+
+    public float getFloat(final Object obj) {
+        checkType(float.class);
+        if (offset != NO_OFFSET) {
+            return unsafe.getFloat(checkObject(obj), offset);
+        }
+        try {
+            return (float) checkHandle(getter).invokeExact(checkObject(obj));
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public int getInt(final Object obj) {
+        checkType(int.class);
+        if (offset != NO_OFFSET) {
+            return unsafe.getInt(checkObject(obj), offset);
+        }
+        try {
+            return (int) checkHandle(getter).invokeExact(checkObject(obj));
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public long getLong(final Object obj) {
+        checkType(long.class);
+        if (offset != NO_OFFSET) {
+            return unsafe.getLong(checkObject(obj), offset);
+        }
+        try {
+            return (long) checkHandle(getter).invokeExact(checkObject(obj));
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public short getShort(final Object obj) { // NOPMD
+        checkType(short.class);
+        if (offset != NO_OFFSET) {
+            return unsafe.getShort(checkObject(obj), offset);
+        }
+        try {
+            return (short) checkHandle(getter).invokeExact(checkObject(obj)); // NOPMD
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * @return {@code true} if the field is accessed directly via its memory offset, {@code false} if via
+     *         {@link MethodHandle}s
+     */
+    public boolean isDirectAccess() {
+        return offset != NO_OFFSET;
+    }
+
+    /**
+     * @param obj the object to write to
+     * @param value the new (possibly boxed) field value
+     */
+    public void set(final Object obj, final Object value) {
+        if (offset != NO_OFFSET && !type.isPrimitive()) {
+            if (value != null && !type.isInstance(value)) {
+                throw new IllegalArgumentException("cannot set field '" + field.getName() + "' of type "
+                        + type.getName() + " to " + value.getClass().getName());
+            }
+            unsafe.putObject(checkObject(obj), offset, value);
+            return;
+        }
+        try {
+            checkHandle(genericSetter).invokeExact(checkObject(obj), value);
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public void setBoolean(final Object obj, final boolean value) {
+        checkType(boolean.class);
+        if (offset != NO_OFFSET) {
+            unsafe.putBoolean(checkObject(obj), offset, value);
+            return;
+        }
+        try {
+            checkHandle(setter).invokeExact(checkObject(obj), value);
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public void setByte(final Object obj, final byte value) {
+        checkType(byte.class);
+        if (offset != NO_OFFSET) {
+            unsafe.putByte(checkObject(obj), offset, value);
+            return;
+        }
+        try {
+            checkHandle(setter).invokeExact(checkObject(obj), value);
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public void setChar(final Object obj, final char value) {
+        checkType(char.class);
+        if (offset != NO_OFFSET) {
+            unsafe.putChar(checkObject(obj), offset, value);
+            return;
+        }
+        try {
+            checkHandle(setter).invokeExact(checkObject(obj), value);
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public void setDouble(final Object obj, final double value) {
+        checkType(double.class);
+        if (offset != NO_OFFSET) {
+            unsafe.putDouble(checkObject(obj), offset, value);
+            return;
+        }
+        try {
+            checkHandle(setter).invokeExact(checkObject(obj), value);
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public void setFloat(final Object obj, final float value) {
+        checkType(float.class);
+        if (offset != NO_OFFSET) {
+            unsafe.putFloat(checkObject(obj), offset, value);
+            return;
+        }
+        try {
+            checkHandle(setter).invokeExact(checkObject(obj), value);
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public void setInt(final Object obj, final int value) {
+        checkType(int.class);
+        if (offset != NO_OFFSET) {
+            unsafe.putInt(checkObject(obj), offset, value);
+            return;
+        }
+        try {
+            checkHandle(setter).invokeExact(checkObject(obj), value);
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public void setLong(final Object obj, final long value) {
+        checkType(long.class);
+        if (offset != NO_OFFSET) {
+            unsafe.putLong(checkObject(obj), offset, value);
+            return;
+        }
+        try {
+            checkHandle(setter).invokeExact(checkObject(obj), value);
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    public void setShort(final Object obj, final short value) { // NOPMD
+        checkType(short.class);
+        if (offset != NO_OFFSET) {
+            unsafe.putShort(checkObject(obj), offset, value);
+            return;
+        }
+        try {
+            checkHandle(setter).invokeExact(checkObject(obj), value);
+        } catch (Throwable t) { // NOPMD -- signature of MethodHandle#invokeExact
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return FieldAccessor.class.getSimpleName() + " for: " + field + (isDirectAccess() ? " (direct)" : "");
+    }
+
+    private MethodHandle checkHandle(final MethodHandle handle) {
+        if (handle == null) {
+            throw new IllegalStateException("field '" + field + "' is not accessible");
+        }
+        return handle;
+    }
+
+    private Object checkObject(final Object obj) {
+        // N.B. essential for memory safety of the direct access
+        if (!declaringClass.isInstance(obj)) {
+            throw new IllegalArgumentException("cannot access field '" + field.getName() + "' of "
+                    + declaringClass.getName() + " on " + (obj == null ? "null" : obj.getClass().getName()));
+        }
+        return obj;
+    }
+
+    private void checkType(final Class<?> requestedType) {
+        if (type != requestedType) {
+            throw new IllegalArgumentException("field '" + field.getName() + "' is of type " + type.getName()
+                    + " and not " + requestedType.getName());
+        }
+    }
+
+    private static MethodHandle getHandle(final Field field, final boolean getter) {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            return getter ? lookup.unreflectGetter(field) : lookup.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.atDebug().setCause(e).addArgument(getter ? "read" : "write").addArgument(field)
+                        .log("no {} access for '{}'");
+            }
+            return null;
+        }
+    }
+
+    private static long getOffset(final Field field) {
+        try {
+            return unsafe.objectFieldOffset(field);
+        } catch (UnsupportedOperationException e) { // records and hidden classes
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.atDebug().addArgument(field).log("no direct access for '{}' - using method handles");
+            }
+            return NO_OFFSET;
+        }
+    }
+
+    private static boolean isAccessible(final Field field) {
+        try {
+            return field.trySetAccessible();
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
+
+    private static RuntimeException rethrow(final Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException(t);
+    }
+}
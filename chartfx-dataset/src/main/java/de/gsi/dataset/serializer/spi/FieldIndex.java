@@ -0,0 +1,254 @@
+package de.gsi.dataset.serializer.spi;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import de.gsi.dataset.serializer.DataType;
+import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.utils.AssertUtils;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+/**
+ * Optional field index for random-access reading of individual (top-level) fields from {@link BinarySerialiser}
+ * streams without parsing the whole stream via {@link BinarySerialiser#parseIoStream(IoBuffer)}.
+ * <p>
+ * Writers call {@link #putIndexMarker(IoBuffer)} directly after {@link BinarySerialiser#putHeaderInfo(IoBuffer)} and
+ * {@link #putIndex(IoBuffer, long)} before the final {@link BinarySerialiser#putEndMarker(IoBuffer, String)}. The
+ * index is stored as two regular fields: a long pointer to an index table and the table itself (sorted name hash and
+ * relative field offset pairs). Thus, readers unaware of the index see only two additional fields.
+ * <p>
+ * Readers call {@link #read(IoBuffer)} after {@link BinarySerialiser#checkHeaderInfo(IoBuffer)} and
+ * {@link #seek(IoBuffer, String)} to position the buffer at the data of the requested field. Streams without index are
+ * indexed on the fly by scanning only the field headers, i.e. skipping the data blocks without allocation.
+ *
+ * @author rstein
+ */
+public final class FieldIndex {
+    public static final String INDEX_MARKER = "FIELD_INDEX_START";
+    public static final String INDEX_TABLE = "FIELD_INDEX_TABLE";
+    private static final long OFFSET_MASK = 0xFFFFFFFFL;
+    private final long basePosition;
+    private final long[] entries; // sorted (name hash << 32 | offset relative to basePosition)
+    private final boolean serialised;
+
+    private FieldIndex(final long basePosition, final long[] entries, final boolean serialised) {
+        this.basePosition = basePosition;
+        this.entries = entries;
+        this.serialised = serialised;
+    }
+
+    /**
+     * @param fieldName the field name to check
+     * @return {@code true} if the stream contains a top-level field with the given name
+     */
+    public boolean contains(final String fieldName) {
+        AssertUtils.notNull("fieldName", fieldName);
+        final int hash = hash(fieldName);
+        final int index = lowerBound(hash);
+        return index < entries.length && (int) (entries[index] >> 32) == hash;
+    }
+
+    /**
+     * @return {@code true} if the index has been read from the stream, {@code false} if it has been reconstructed by
+     *         scanning the field headers
+     */
+    public boolean isSerialised() {
+        return serialised;
+    }
+
+    /**
+     * Positions the buffer at the data of the given field (see {@link FieldHeader#getDataBufferPosition()}), e.g. for
+     * subsequent {@link BinarySerialiser#getDoubleArray(IoBuffer)} calls.
+     *
+     * @param buffer the buffer the index has been read from
+     * @param fieldName the requested (top-level) field name
+     * @return the header of the requested field or {@link Optional#empty()} if the field does not exist
+     */
+    public Optional<FieldHeader> seek(final IoBuffer buffer, final String fieldName) {
+        AssertUtils.notNull("buffer", buffer);
+        AssertUtils.notNull("fieldName", fieldName);
+        final int hash = hash(fieldName);
+        for (int i = lowerBound(hash); i < entries.length && (int) (entries[i] >> 32) == hash; i++) {
+            final long fieldStart = basePosition + (entries[i] & OFFSET_MASK);
+            buffer.position(fieldStart);
+            if (matchesFieldName(buffer, fieldName)) {
+                buffer.position(fieldStart);
+                final FieldHeader fieldHeader = BinarySerialiser.getFieldHeader(buffer);
+                buffer.position(fieldHeader.getDataBufferPosition());
+                return Optional.of(fieldHeader);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return number of indexed (top-level) fields
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    private int lowerBound(final int hash) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if ((int) (entries[mid] >> 32) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Writes the index table for all top-level fields written since {@link #putIndexMarker(IoBuffer)} and back-fills
+     * its position. N.B. needs to be called before the final {@link BinarySerialiser#putEndMarker(IoBuffer, String)}.
+     *
+     * @param buffer the buffer to write to
+     * @param markerPosition the position returned by {@link #putIndexMarker(IoBuffer)}
+     */
+    public static void putIndex(final IoBuffer buffer, final long markerPosition) {
+        AssertUtils.notNull("buffer", buffer);
+        buffer.ensureAdditionalCapacity(Long.BYTES); // N.B. needed to return to the current (write) position
+        final long tablePosition = buffer.position();
+        buffer.position(markerPosition);
+        if (!matchesFieldName(buffer, INDEX_MARKER) || buffer.getByte() != DataType.LONG.getAsByte()) {
+            throw new IllegalArgumentException("no index marker at position " + markerPosition);
+        }
+        final long pointerPosition = buffer.position();
+        buffer.getLong();
+
+        final LongArrayList entries = new LongArrayList();
+        scanFields(buffer, markerPosition, tablePosition, entries);
+        final long[] table = entries.toLongArray();
+        Arrays.sort(table);
+        buffer.position(pointerPosition);
+        buffer.putLong(tablePosition - markerPosition);
+        buffer.position(tablePosition);
+        BinarySerialiser.put(buffer, INDEX_TABLE, table);
+    }
+
+    /**
+     * Writes the (to be back-filled) pointer to the index table. N.B. needs to be called directly after
+     * {@link BinarySerialiser#putHeaderInfo(IoBuffer)}.
+     *
+     * @param buffer the buffer to write to
+     * @return position of the marker to be passed to {@link #putIndex(IoBuffer, long)}
+     */
+    public static long putIndexMarker(final IoBuffer buffer) {
+        AssertUtils.notNull("buffer", buffer);
+        final long markerPosition = buffer.position();
+        BinarySerialiser.put(buffer, INDEX_MARKER, -1L);
+        return markerPosition;
+    }
+
+    /**
+     * Reads the serialised index or, if not present, reconstructs it by scanning the field headers. Leaves the buffer
+     * positioned after the final end marker (similar to {@link BinarySerialiser#parseIoStream(IoBuffer)}).
+     *
+     * @param buffer the buffer positioned directly after the header info (see
+     *        {@link BinarySerialiser#checkHeaderInfo(IoBuffer)})
+     * @return the field index
+     */
+    public static FieldIndex read(final IoBuffer buffer) {
+        AssertUtils.notNull("buffer", buffer);
+        final long basePosition = buffer.position();
+        if (matchesFieldName(buffer, INDEX_MARKER) && buffer.getByte() == DataType.LONG.getAsByte()) {
+            final long tableOffset = buffer.getLong();
+            if (tableOffset > 0) {
+                buffer.position(basePosition + tableOffset);
+                if (matchesFieldName(buffer, INDEX_TABLE) && buffer.getByte() == DataType.LONG_ARRAY.getAsByte()) {
+                    buffer.getInt(); // number of bytes
+                    final int nDims = buffer.getInt();
+                    buffer.position(buffer.position() + (long) nDims * Integer.BYTES);
+                    final long[] table = buffer.getLongArray();
+                    scanFields(buffer, basePosition, Long.MAX_VALUE, null); // consume the final end marker
+                    return new FieldIndex(basePosition, table, true);
+                }
+            }
+        }
+        buffer.position(basePosition);
+        final LongArrayList entries = new LongArrayList();
+        scanFields(buffer, basePosition, Long.MAX_VALUE, entries);
+        final long[] table = entries.toLongArray();
+        Arrays.sort(table);
+        return new FieldIndex(basePosition, table, false);
+    }
+
+    private static int hash(final String fieldName) {
+        int hash = 0;
+        for (int i = 0; i < fieldName.length(); i++) {
+            hash = 31 * hash + ((byte) fieldName.charAt(i) & 0xFF); // N.B. same encoding as IoBuffer#putString
+        }
+        return hash;
+    }
+
+    private static int hashFieldName(final IoBuffer buffer) {
+        final int length = buffer.getInt() - 1; // for C++ zero terminated string
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + (buffer.getByte() & 0xFF);
+        }
+        buffer.getByte(); // for C++ zero terminated string
+        return hash;
+    }
+
+    private static boolean matchesFieldName(final IoBuffer buffer, final String fieldName) {
+        if (buffer.remaining() < Integer.BYTES || buffer.getInt() - 1 != fieldName.length()) {
+            return false;
+        }
+        for (int i = 0; i < fieldName.length(); i++) {
+            if (buffer.getByte() != (byte) fieldName.charAt(i)) {
+                return false;
+            }
+        }
+        buffer.getByte(); // for C++ zero terminated string
+        return true;
+    }
+
+    /**
+     * Skips all fields between the current position and 'endPosition' or the (consumed) end marker, whichever comes
+     * first, and records their index entries (if 'entries' is non-null)
+     */
+    private static void scanFields(final IoBuffer buffer, final long basePosition, final long endPosition,
+            final LongArrayList entries) {
+        while (buffer.position() < endPosition && buffer.hasRemaining()) {
+            final long fieldStart = buffer.position();
+            final int hash = hashFieldName(buffer);
+            final DataType dataType = DataType.fromByte(buffer.getByte());
+            if (dataType == DataType.END_MARKER) {
+                buffer.getByte();
+                break;
+            }
+            skipData(buffer, fieldStart, dataType);
+            if (entries != null) {
+                entries.add(((long) hash << 32) | ((fieldStart - basePosition) & OFFSET_MASK));
+            }
+        }
+    }
+
+    private static void skipData(final IoBuffer buffer, final long fieldStart, final DataType dataType) {
+        if (dataType == DataType.START_MARKER) {
+            // nested object: skip all fields until and including the matching end marker
+            buffer.getByte();
+            scanFields(buffer, fieldStart, Long.MAX_VALUE, null);
+        } else if (dataType == DataType.STRING) {
+            final int nBytes = buffer.getInt();
+            buffer.position(buffer.position() + nBytes);
+        } else if (dataType.isScalar()) {
+            buffer.position(buffer.position() + dataType.getPrimitiveSize());
+        } else {
+            final long sizeMarkerStart = buffer.position();
+            final int nBytes = buffer.getInt();
+            if (nBytes >= 0) {
+                buffer.position(sizeMarkerStart + nBytes);
+            } else {
+                // fall-back option in case of unknown data block size (see BinarySerialiser#parseIoStream)
+                buffer.position(fieldStart);
+                BinarySerialiser.swallowRest(buffer, BinarySerialiser.getFieldHeader(buffer));
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package de.gsi.dataset.serializer.spi;
+
+import de.gsi.dataset.serializer.DataType;
+import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Lossless, streaming compression of double arrays following the Gorilla time-series encoding (Pelkonen et al.,
+ * "Gorilla: A Fast, Scalable, In-Memory Time Series Database", VLDB 2015):
+ * <ul>
+ * <li>{@link DataType#DOUBLE_ARRAY_XOR}: XOR of consecutive IEEE-754 bit patterns, storing only the meaningful
+ * (non-zero) bits within a re-usable leading/trailing-zero window &ndash; suited for slowly varying signals (e.g. y
+ * values, errors)</li>
+ * <li>{@link DataType#DOUBLE_ARRAY_DELTA}: delta-of-delta of consecutive IEEE-754 bit patterns in variable-length
+ * buckets &ndash; suited for monotonic, (quasi-)equidistant samples (e.g. x values, time-stamps) that compress to a
+ * single bit per sample</li>
+ * </ul>
+ * The bit stream is packed into 64-bit words. Wire format (following the array header): int number of elements,
+ * followed by the long array of words (int length + data).
+ *
+ * @author rstein
+ */
+public final class GorillaCodec {
+    private static final int MAX_BYTES_PER_VALUE = 10; // worst case: 2 + 5 + 6 + 64 bits (XOR)
+
+    private GorillaCodec() {
+        // utility class
+    }
+
+    /**
+     * @param readBuffer the buffer positioned at the start of the compressed array data
+     * @param dataType the compression type ({@link DataType#DOUBLE_ARRAY_XOR} or {@link DataType#DOUBLE_ARRAY_DELTA})
+     * @return the decoded array
+     */
+    public static double[] decode(final IoBuffer readBuffer, final DataType dataType) {
+        checkDataType(dataType);
+        final int nElements = readBuffer.getInt();
+        final long[] words = readBuffer.getLongArray();
+        final double[] values = new double[nElements];
+        if (nElements == 0) {
+            return values;
+        }
+        if (dataType == DataType.DOUBLE_ARRAY_XOR) {
+            decodeXor(words, values, nElements);
+        } else {
+            decodeDelta(words, values, nElements);
+        }
+        return values;
+    }
+
+    /**
+     * @param buffer the buffer to write the compressed array data to
+     * @param dataType the compression type ({@link DataType#DOUBLE_ARRAY_XOR} or {@link DataType#DOUBLE_ARRAY_DELTA})
+     * @param values the values to be encoded
+     * @param nElements number of elements to be encoded
+     */
+    public static void encode(final IoBuffer buffer, final DataType dataType, final double[] values,
+            final int nElements) {
+        final Encoder encoder = new Encoder(buffer, dataType, nElements);
+        encoder.put(values, 0, nElements);
+        encoder.finish();
+    }
+
+    /**
+     * @param dataType the data type to check
+     * @return {@code true} if the data type is one of the compressed array types handled by this codec
+     */
+    public static boolean isCompressed(final DataType dataType) {
+        return dataType == DataType.DOUBLE_ARRAY_XOR || dataType == DataType.DOUBLE_ARRAY_DELTA;
+    }
+
+    private static void checkDataType(final DataType dataType) {
+        if (!isCompressed(dataType)) {
+            throw new IllegalArgumentException("dataType '" + dataType + "' is not a compressed double array");
+        }
+    }
+
+    private static void decodeDelta(final long[] words, final double[] values, final int nElements) {
+        final BitReader reader = new BitReader(words);
+        long bits = reader.readBits(64);
+        long delta = 0;
+        values[0] = Double.longBitsToDouble(bits);
+        for (int i = 1; i < nElements; i++) {
+            if (reader.readBit() != 0) {
+                final long zigZag;
+                if (reader.readBit() == 0) {
+                    zigZag = reader.readBits(7);
+                } else if (reader.readBit() == 0) {
+                    zigZag = reader.readBits(9);
+                } else if (reader.readBit() == 0) {
+                    zigZag = reader.readBits(12);
+                } else {
+                    zigZag = reader.readBits(64);
+                }
+                delta += (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+            bits += delta;
+            values[i] = Double.longBitsToDouble(bits);
+        }
+    }
+
+    private static void decodeXor(final long[] words, final double[] values, final int nElements) {
+        final BitReader reader = new BitReader(words);
+        long bits = reader.readBits(64);
+        int trailing = 0;
+        int meaningful = 64;
+        values[0] = Double.longBitsToDouble(bits);
+        for (int i = 1; i < nElements; i++) {
+            if (reader.readBit() != 0) {
+                if (reader.readBit() != 0) {
+                    final int leading = (int) reader.readBits(5);
+                    meaningful = (int) reader.readBits(6) + 1;
+                    trailing = 64 - leading - meaningful;
+                }
+                bits ^= reader.readBits(meaningful) << trailing;
+            }
+            values[i] = Double.longBitsToDouble(bits);
+        }
+    }
+
+    /**
+     * Streaming encoder, e.g. for chunk-wise writing of large data set columns. The number of elements must be known in
+     * advance, the encoded size is back-filled by {@link #finish()}.
+     */
+    public static class Encoder {
+        private final IoBuffer buffer;
+        private final boolean xor;
+        private final int nElements;
+        private final long wordCountPosition;
+        private int nEncoded;
+        private long word;
+        private int bitsFree = 64;
+        private int nWords;
+        // XOR state
+        private long lastBits;
+        private int lastLeading = Integer.MAX_VALUE;
+        private int lastTrailing;
+        // delta-of-delta state
+        private long lastDelta;
+
+        /**
+         * @param buffer the buffer to write the compressed array data to
+         * @param dataType the compression type ({@link DataType#DOUBLE_ARRAY_XOR} or
+         *        {@link DataType#DOUBLE_ARRAY_DELTA})
+         * @param nElements total number of elements to be encoded
+         */
+        public Encoder(final IoBuffer buffer, final DataType dataType, final int nElements) {
+            AssertUtils.notNull("buffer", buffer);
+            checkDataType(dataType);
+            AssertUtils.gtEqThanZero("nElements", nElements);
+            this.buffer = buffer;
+            this.xor = dataType == DataType.DOUBLE_ARRAY_XOR;
+            this.nElements = nElements;
+            buffer.ensureAdditionalCapacity(2L * Integer.BYTES);
+            buffer.putInt(nElements);
+            wordCountPosition = buffer.position();
+            buffer.putInt(-1); // number of words, back-filled by finish()
+        }
+
+        /**
+         * flushes the pending bits and back-fills the encoded size
+         */
+        public void finish() {
+            if (nEncoded != nElements) {
+                throw new IllegalStateException("encoded " + nEncoded + " vs. expected " + nElements + " elements");
+            }
+            if (bitsFree < 64) {
+                flush();
+            }
+            final long position = buffer.position();
+            buffer.position(wordCountPosition);
+            buffer.putInt(nWords);
+            buffer.position(position);
+        }
+
+        /**
+         * @param values values to be encoded
+         * @param offset index of the first value
+         * @param length number of values
+         */
+        public void put(final double[] values, final int offset, final int length) {
+            if (nEncoded + length > nElements) {
+                throw new IllegalStateException("exceeding the expected number of elements " + nElements);
+            }
+            buffer.ensureAdditionalCapacity((long) length * MAX_BYTES_PER_VALUE + Long.BYTES);
+            for (int i = offset; i < offset + length; i++) {
+                final long bits = Double.doubleToRawLongBits(values[i]);
+                if (nEncoded++ == 0) {
+                    writeBits(bits, 64);
+                } else if (xor) {
+                    putXor(bits);
+                } else {
+                    putDelta(bits);
+                }
+                lastBits = bits;
+            }
+        }
+
+        private void flush() {
+            buffer.putLong(word);
+            nWords++;
+            word = 0;
+            bitsFree = 64;
+        }
+
+        private void putDelta(final long bits) {
+            final long delta = bits - lastBits;
+            final long deltaOfDelta = delta - lastDelta;
+            lastDelta = delta;
+            final long zigZag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+            if (zigZag == 0) {
+                writeBits(0b0, 1);
+            } else if (zigZag >>> 7 == 0) {
+                writeBits((0b10L << 7) | zigZag, 9);
+            } else if (zigZag >>> 9 == 0) {
+                writeBits((0b110L << 9) | zigZag, 12);
+            } else if (zigZag >>> 12 == 0) {
+                writeBits((0b1110L << 12) | zigZag, 16);
+            } else {
+                writeBits(0b1111, 4);
+                writeBits(zigZag, 64);
+            }
+        }
+
+        private void putXor(final long bits) {
+            final long xorValue = bits ^ lastBits;
+            if (xorValue == 0) {
+                writeBits(0b0, 1);
+                return;
+            }
+            final int leading = Math.min(Long.numberOfLeadingZeros(xorValue), 31);
+            final int trailing = Long.numberOfTrailingZeros(xorValue);
+            if (leading >= lastLeading && trailing >= lastTrailing) {
+                // re-use previous window
+                writeBits(0b10, 2);
+                writeBits(xorValue >>> lastTrailing, 64 - lastLeading - lastTrailing);
+                return;
+            }
+            final int meaningful = 64 - leading - trailing;
+            writeBits((0b11L << 11) | ((long) leading << 6) | (meaningful - 1), 13);
+            writeBits(xorValue >>> trailing, meaningful);
+            lastLeading = leading;
+            lastTrailing = trailing;
+        }
+
+        private void writeBits(final long value, final int nBits) {
+            final long masked = value & (-1L >>> (64 - nBits));
+            if (nBits < bitsFree) {
+                word |= masked << (bitsFree - nBits);
+                bitsFree -= nBits;
+                return;
+            }
+            final int remaining = nBits - bitsFree;
+            word |= masked >>> remaining;
+            flush();
+            if (remaining > 0) {
+                word = masked << (64 - remaining);
+                bitsFree = 64 - remaining;
+            }
+        }
+    }
+
+    private static final class BitReader {
+        private final long[] words;
+        private int index;
+        private int bitPosition; // number of bits already consumed from words[index]
+
+        private BitReader(final long[] words) {
+            this.words = words;
+        }
+
+        private long readBit() {
+            final long bit = (words[index] >>> (63 - bitPosition)) & 1L;
+            if (++bitPosition == 64) {
+                index++;
+                bitPosition = 0;
+            }
+            return bit;
+        }
+
+        private long readBits(final int nBits) {
+            final int available = 64 - bitPosition;
+            final long current = words[index] & (-1L >>> bitPosition);
+            if (nBits < available) {
+                bitPosition += nBits;
+                return current >>> (available - nBits);
+            }
+            index++;
+            final int remaining = nBits - available;
+            bitPosition = remaining;
+            if (remaining == 0) {
+                return current;
+            }
+            return (current << remaining) | (words[index] >>> (64 - remaining));
+        }
+    }
+}
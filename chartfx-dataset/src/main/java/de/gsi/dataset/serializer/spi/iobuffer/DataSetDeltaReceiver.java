@@ -0,0 +1,190 @@
+package de.gsi.dataset.serializer.spi.iobuffer;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSet2D;
+import de.gsi.dataset.DataSetMetaData;
+import de.gsi.dataset.event.UpdatedDataEvent;
+import de.gsi.dataset.serializer.DataType;
+import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.serializer.spi.iobuffer.DataSetDeltaSerialiser.DeltaType;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Applies the messages written by {@link DataSetDeltaSerialiser} in place to a local {@link DoubleErrorDataSet}.
+ * <p>
+ * Delta messages are only applied on top of a preceding snapshot and in consecutive order of their sequence numbers.
+ * Lost (out-of-sequence) or inconsistent updates (data count mismatch after applying) are rejected and flag
+ * {@link #isResyncRequired()} until the next snapshot has been received. Each applied message fires a single update
+ * event on the local data set.
+ *
+ * @author rstein
+ */
+public class DataSetDeltaReceiver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSetDeltaReceiver.class);
+    private static final double[] EMPTY = new double[0];
+    private final DoubleErrorDataSet dataSet;
+    private long sequence = -1;
+    private boolean resyncRequired = true;
+
+    /**
+     * @param dataSet the local data set the updates are applied to
+     */
+    public DataSetDeltaReceiver(final DoubleErrorDataSet dataSet) {
+        AssertUtils.notNull("dataSet", dataSet);
+        this.dataSet = dataSet;
+    }
+
+    /**
+     * @param buffer the buffer positioned at the start of the message
+     * @return {@code true} if the message has been applied, {@code false} if it has been rejected (see
+     *         {@link #isResyncRequired()})
+     */
+    public synchronized boolean apply(final IoBuffer buffer) {
+        AssertUtils.notNull("buffer", buffer);
+        BinarySerialiser.checkHeaderInfo(buffer);
+        final List<FieldHeader> fields = BinarySerialiser.parseIoStream(buffer).getChildren();
+        final long payloadStart = buffer.position();
+
+        final DeltaType type = DeltaType.values()[getInteger(buffer, fields, DataSetDeltaSerialiser.DELTA_TYPE)];
+        final long messageSequence = getLong(buffer, fields, DataSetDeltaSerialiser.SEQUENCE);
+        final int dataCount = getInteger(buffer, fields, DataSetDeltaSerialiser.DATA_COUNT);
+        final int fromIndex = getInteger(buffer, fields, DataSetDeltaSerialiser.FROM_INDEX);
+        final int toIndex = getInteger(buffer, fields, DataSetDeltaSerialiser.TO_INDEX);
+
+        if (type == DeltaType.SNAPSHOT) {
+            buffer.position(payloadStart);
+            applySnapshot(DataSetSerialiser.readDataSetFromByteArray(buffer));
+        } else if (resyncRequired || messageSequence != sequence + 1) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.atWarn().addArgument(type).addArgument(messageSequence).addArgument(sequence)
+                        .log("rejected {} message #{} after #{} - awaiting snapshot");
+            }
+            resyncRequired = true;
+            return false;
+        } else {
+            final double[] x = getArray(buffer, fields, DataSetDeltaSerialiser.X_ARRAY_NAME);
+            final double[] y = getArray(buffer, fields, DataSetDeltaSerialiser.Y_ARRAY_NAME);
+            final double[] yen = getArray(buffer, fields, DataSetDeltaSerialiser.YEN);
+            final double[] yep = getArray(buffer, fields, DataSetDeltaSerialiser.YEP);
+            if (!applyDelta(type, fromIndex, toIndex, dataCount, x, y, yen.length == 0 ? new double[x.length] : yen,
+                        yep.length == 0 ? new double[x.length] : yep)) {
+                return false;
+            }
+        }
+        sequence = messageSequence;
+        resyncRequired = false;
+        return true;
+    }
+
+    public DoubleErrorDataSet getDataSet() {
+        return dataSet;
+    }
+
+    /**
+     * @return sequence number of the last applied message (-1: none applied yet)
+     */
+    public synchronized long getSequenceNumber() {
+        return sequence;
+    }
+
+    /**
+     * @return {@code true} if the local data set needs a new snapshot, i.e. no snapshot has been received yet or
+     *         delta messages have been lost
+     */
+    public synchronized boolean isResyncRequired() {
+        return resyncRequired;
+    }
+
+    private boolean applyDelta(final DeltaType type, final int fromIndex, final int toIndex, final int dataCount,
+            final double[] x, final double[] y, final double[] yen, final double[] yep) {
+        final boolean[] consistent = { false };
+        // N.B. notifications of the individual modifications are suppressed while holding the write lock
+        dataSet.lock().writeLockGuard(() -> {
+            switch (type) {
+            case APPEND:
+                dataSet.add(x, y, yen, yep);
+                if (dataSet.getDataCount() > dataCount) {
+                    // trim oldest samples, e.g. circular buffer on the sending end
+                    dataSet.remove(0, dataSet.getDataCount() - dataCount);
+                }
+                break;
+            case REPLACE_RANGE:
+                if (toIndex > dataSet.getDataCount()) {
+                    return;
+                }
+                dataSet.set(fromIndex, x, y, yen, yep);
+                break;
+            case REMOVE_RANGE:
+            default:
+                if (toIndex > dataSet.getDataCount()) {
+                    return;
+                }
+                if (toIndex > fromIndex) {
+                    dataSet.remove(fromIndex, toIndex);
+                }
+                break;
+            }
+            consistent[0] = dataSet.getDataCount() == dataCount;
+        });
+        if (!consistent[0]) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.atWarn().addArgument(type).addArgument(dataSet.getDataCount()).addArgument(dataCount)
+                        .log("inconsistent {} message: local data count {} vs. remote {} - awaiting snapshot");
+            }
+            resyncRequired = true;
+        }
+        dataSet.fireInvalidated(new UpdatedDataEvent(dataSet, type.toString()));
+        return consistent[0];
+    }
+
+    private void applySnapshot(final DataSet snapshot) {
+        dataSet.lock().writeLockGuard(() -> {
+            if (snapshot instanceof DataSet2D) {
+                dataSet.set((DataSet2D) snapshot);
+            } else {
+                dataSet.clearData();
+            }
+            if (snapshot instanceof DataSetMetaData) {
+                final DataSetMetaData metaData = (DataSetMetaData) snapshot;
+                dataSet.getInfoList().clear();
+                dataSet.getInfoList().addAll(metaData.getInfoList());
+                dataSet.getWarningList().clear();
+                dataSet.getWarningList().addAll(metaData.getWarningList());
+                dataSet.getErrorList().clear();
+                dataSet.getErrorList().addAll(metaData.getErrorList());
+                dataSet.getMetaInfo().clear();
+                dataSet.getMetaInfo().putAll(metaData.getMetaInfo());
+            }
+        });
+        dataSet.fireInvalidated(new UpdatedDataEvent(dataSet, DeltaType.SNAPSHOT.toString()));
+    }
+
+    private static double[] getArray(final IoBuffer buffer, final List<FieldHeader> fields, final String fieldName) {
+        final Optional<FieldHeader> header = DataSetSerialiser.checkFieldCompatibility(buffer, fields, fieldName,
+                DataSetSerialiser.NUMERIC_DATA_TYPES);
+        return header.isPresent() ? BinarySerialiser.getDoubleArray(buffer, header.get().getDataType()) : EMPTY;
+    }
+
+    private static int getInteger(final IoBuffer buffer, final List<FieldHeader> fields, final String fieldName) {
+        if (!DataSetSerialiser.checkFieldCompatibility(buffer, fields, fieldName, DataType.INT).isPresent()) {
+            throw new IllegalArgumentException("missing field '" + fieldName + "'");
+        }
+        return BinarySerialiser.getInteger(buffer);
+    }
+
+    private static long getLong(final IoBuffer buffer, final List<FieldHeader> fields, final String fieldName) {
+        if (!DataSetSerialiser.checkFieldCompatibility(buffer, fields, fieldName, DataType.LONG).isPresent()) {
+            throw new IllegalArgumentException("missing field '" + fieldName + "'");
+        }
+        return BinarySerialiser.getLong(buffer);
+    }
+}
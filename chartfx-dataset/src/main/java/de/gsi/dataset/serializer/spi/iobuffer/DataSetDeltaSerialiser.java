@@ -0,0 +1,173 @@
+package de.gsi.dataset.serializer.spi.iobuffer;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.DataSetError.ErrorType;
+import de.gsi.dataset.serializer.DataType;
+import de.gsi.dataset.serializer.IoBuffer;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.utils.AssertUtils;
+
+/**
+ * Serialises incremental updates of streaming DataSets into binary {@link IoBuffer} messages, to be applied on the
+ * receiving end by {@link DataSetDeltaReceiver}. A stream starts with a full {@link DeltaType#SNAPSHOT snapshot}
+ * (serialised via {@link DataSetSerialiser}, incl. axis descriptions, meta data and labels) followed by
+ * {@link DeltaType#APPEND append}, {@link DeltaType#REPLACE_RANGE replace-range} and {@link DeltaType#REMOVE_RANGE
+ * remove-range} messages that only carry the modified samples (x, y and y-errors). Thus bandwidth and de-serialisation
+ * cost scale with the change rather than with the data set size.
+ * <p>
+ * Each message carries a consecutive sequence number and the data count after the update, allowing the receiver to
+ * detect lost or inconsistent updates and to request a new snapshot. Append messages trim the oldest samples on the
+ * receiving end to the sender's data count, i.e. also cover (full) circular buffers such as
+ * {@code CircularDoubleErrorDataSet}.
+ * <p>
+ * N.B. one instance per stream, meta data, labels and styles are only transmitted with snapshots.
+ *
+ * @author rstein
+ */
+public class DataSetDeltaSerialiser {
+    protected static final String DELTA_TYPE = "deltaType";
+    protected static final String SEQUENCE = "sequence";
+    protected static final String DATA_COUNT = "dataCount";
+    protected static final String FROM_INDEX = "fromIndex";
+    protected static final String TO_INDEX = "toIndex";
+    protected static final String X_ARRAY_NAME = "x";
+    protected static final String Y_ARRAY_NAME = "y";
+    protected static final String YEN = "yen";
+    protected static final String YEP = "yep";
+    protected static final String DELTA_END = "DELTA_END";
+    private final boolean asFloat;
+    private long sequence = -1;
+
+    /**
+     * @param asFloat {@code true}: encode data as binary floats (smaller size, performance), or {@code false} as double
+     *        (better precision)
+     */
+    public DataSetDeltaSerialiser(final boolean asFloat) {
+        this.asFloat = asFloat;
+    }
+
+    /**
+     * @return sequence number of the last written message (-1: none written yet)
+     */
+    public synchronized long getSequenceNumber() {
+        return sequence;
+    }
+
+    public boolean isFloatEncoded() {
+        return asFloat;
+    }
+
+    /**
+     * writes the last {@code nAppended} samples of the data set
+     *
+     * @param buffer byte output buffer
+     * @param dataSet the (already updated) data set
+     * @param nAppended number of samples appended to the data set since the last message
+     */
+    public synchronized void writeAppend(final IoBuffer buffer, final DataSet dataSet, final int nAppended) {
+        AssertUtils.notNull("buffer", buffer);
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.gtEqThanZero("nAppended", nAppended);
+        dataSet.lock().readLockGuard(() -> {
+            final int dataCount = dataSet.getDataCount();
+            final int fromIndex = Math.max(0, dataCount - nAppended);
+            writeRange(buffer, DeltaType.APPEND, dataSet, fromIndex, dataCount);
+        });
+    }
+
+    /**
+     * @param buffer byte output buffer
+     * @param dataSet the (already updated) data set, used for the data count after removal
+     * @param fromIndex first removed index (inclusive, w.r.t. the data set before removal)
+     * @param toIndex last removed index (exclusive, w.r.t. the data set before removal)
+     */
+    public synchronized void writeRemoveRange(final IoBuffer buffer, final DataSet dataSet, final int fromIndex,
+            final int toIndex) {
+        AssertUtils.notNull("buffer", buffer);
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
+        dataSet.lock().readLockGuard(() -> {
+            writeDeltaHeader(buffer, DeltaType.REMOVE_RANGE, dataSet.getDataCount(), fromIndex, toIndex);
+            BinarySerialiser.putEndMarker(buffer, DELTA_END);
+        });
+    }
+
+    /**
+     * @param buffer byte output buffer
+     * @param dataSet the (already updated) data set
+     * @param fromIndex first modified index (inclusive)
+     * @param toIndex last modified index (exclusive)
+     */
+    public synchronized void writeReplaceRange(final IoBuffer buffer, final DataSet dataSet, final int fromIndex,
+            final int toIndex) {
+        AssertUtils.notNull("buffer", buffer);
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
+        dataSet.lock().readLockGuard(() -> {
+            AssertUtils.indexInBounds(toIndex - 1, dataSet.getDataCount(), "toIndex");
+            writeRange(buffer, DeltaType.REPLACE_RANGE, dataSet, fromIndex, toIndex);
+        });
+    }
+
+    /**
+     * writes the full data set, (re-)initialising the receiving end
+     *
+     * @param buffer byte output buffer
+     * @param dataSet the data set
+     */
+    public synchronized void writeSnapshot(final IoBuffer buffer, final DataSet dataSet) {
+        AssertUtils.notNull("buffer", buffer);
+        AssertUtils.notNull("dataSet", dataSet);
+        dataSet.lock().readLockGuard(() -> {
+            final int dataCount = dataSet.getDataCount();
+            writeDeltaHeader(buffer, DeltaType.SNAPSHOT, dataCount, 0, dataCount);
+            BinarySerialiser.putEndMarker(buffer, DELTA_END);
+            DataSetSerialiser.writeDataSetToByteArray(dataSet, buffer, asFloat);
+        });
+    }
+
+    private void writeDeltaHeader(final IoBuffer buffer, final DeltaType type, final int dataCount,
+            final int fromIndex, final int toIndex) {
+        sequence++;
+        BinarySerialiser.putHeaderInfo(buffer);
+        BinarySerialiser.put(buffer, DELTA_TYPE, type.ordinal());
+        BinarySerialiser.put(buffer, SEQUENCE, sequence);
+        BinarySerialiser.put(buffer, DATA_COUNT, dataCount);
+        BinarySerialiser.put(buffer, FROM_INDEX, fromIndex);
+        BinarySerialiser.put(buffer, TO_INDEX, toIndex);
+    }
+
+    private void writeRange(final IoBuffer buffer, final DeltaType type, final DataSet dataSet, final int fromIndex,
+            final int toIndex) {
+        writeDeltaHeader(buffer, type, dataSet.getDataCount(), fromIndex, toIndex);
+        final int n = toIndex - fromIndex;
+        final double[] chunk = new double[Math.max(1, Math.min(n, DataSetSerialiser.CHUNK_SIZE))];
+        final DataType dataType = asFloat ? DataType.FLOAT_ARRAY : DataType.DOUBLE_ARRAY;
+        DataSetSerialiser.writeColumn(buffer, X_ARRAY_NAME, n, n, dataType, chunk,
+                (from, target, length) -> dataSet.getValues(DIM_X, fromIndex + from, target, 0, length), null);
+        DataSetSerialiser.writeColumn(buffer, Y_ARRAY_NAME, n, n, dataType, chunk,
+                (from, target, length) -> dataSet.getValues(DIM_Y, fromIndex + from, target, 0, length), null);
+        if (dataSet instanceof DataSetError && ((DataSetError) dataSet).getErrorType(DIM_Y) != ErrorType.NO_ERROR) {
+            final DataSetError ds = (DataSetError) dataSet;
+            DataSetSerialiser.writeColumn(buffer, YEN, n, n, dataType, chunk,
+                    (from, target, length) -> ds.getErrorsNegative(DIM_Y, fromIndex + from, target, 0, length), null);
+            DataSetSerialiser.writeColumn(buffer, YEP, n, n, dataType, chunk,
+                    (from, target, length) -> ds.getErrorsPositive(DIM_Y, fromIndex + from, target, 0, length), null);
+        }
+        BinarySerialiser.putEndMarker(buffer, DELTA_END);
+    }
+
+    /**
+     * type of the delta-update message
+     */
+    public enum DeltaType {
+        SNAPSHOT, // full data set
+        APPEND, // samples appended at the end (oldest samples being trimmed to the data count)
+        REPLACE_RANGE, // samples within [fromIndex, toIndex) replaced
+        REMOVE_RANGE; // samples within [fromIndex, toIndex) removed
+    }
+}
@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory;
 
 import de.gsi.dataset.AxisDescription;
 import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSet3D;
 import de.gsi.dataset.DataSetError;
 import de.gsi.dataset.DataSetMetaData;
 import de.gsi.dataset.serializer.DataType;
@@ -22,6 +23,8 @@ import de.gsi.dataset.serializer.IoBuffer;
 import de.gsi.dataset.serializer.spi.BinarySerialiser;
 import de.gsi.dataset.serializer.spi.BinarySerialiser.HeaderInfo;
 import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.serializer.spi.FieldIndex;
+import de.gsi.dataset.serializer.spi.GorillaCodec;
 import de.gsi.dataset.spi.DataSetBuilder;
 import de.gsi.dataset.utils.AssertUtils;
 import de.gsi.dataset.utils.DataSetUtilsHelper;
@@ -31,6 +34,7 @@ import de.gsi.dataset.utils.DataSetUtilsHelper;
  * through:
  * <ul>
  * <li>using floats (ie. memory-IO vs network-IO bound serialisation), or</li>
+ * <li>lossless compression of the numeric data (see {@link GorillaCodec}), or</li>
  * <li>via {@link #setDataLablesSerialised(boolean)} (default: false) to control whether data labels and styles shall be
  * processed</li>
  * <li>via {@link #setMetaDataSerialised(boolean)} (default: true) to control whether meta data shall be processed</li>
@@ -61,8 +65,12 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
     private static final String VAL_RMS = "rms";
     private static final String VAL_MEAN = "mean";
     private static final String VAL_INTEGRAL = "integral";
+    static final int CHUNK_SIZE = 4096; // samples per column chunk streamed into the buffer
+    static final DataType[] NUMERIC_DATA_TYPES = { DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY,
+        DataType.DOUBLE_ARRAY_XOR, DataType.DOUBLE_ARRAY_DELTA };
     private static boolean transmitDataLabels = true;
     private static boolean transmitMetaData = true;
+    private static boolean transmitFieldIndex;
 
     protected DataSetSerialiser() {
         super();
@@ -100,6 +108,13 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
         return transmitDataLabels;
     }
 
+    /**
+     * @return {@code true} if a {@link FieldIndex} is written for random-access reading of individual fields
+     */
+    public static boolean isFieldIndexSerialised() {
+        return transmitFieldIndex;
+    }
+
     public static boolean isMetaDataSerialised() {
         return transmitMetaData;
     }
@@ -203,34 +218,32 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
 
         Optional<FieldHeader> header;
 
-        header = checkFieldCompatibility(readBuffer, fieldHeaderList, X_ARRAY_NAME, DataType.DOUBLE_ARRAY,
-                DataType.FLOAT_ARRAY);
+        header = checkFieldCompatibility(readBuffer, fieldHeaderList, X_ARRAY_NAME, NUMERIC_DATA_TYPES);
         if (header.isPresent()) {
             builder.setXValues(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
         }
 
-        header = checkFieldCompatibility(readBuffer, fieldHeaderList, Y_ARRAY_NAME, DataType.DOUBLE_ARRAY,
-                DataType.FLOAT_ARRAY);
+        header = checkFieldCompatibility(readBuffer, fieldHeaderList, Y_ARRAY_NAME, NUMERIC_DATA_TYPES);
         if (header.isPresent()) {
             builder.setYValues(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
         }
 
-        header = checkFieldCompatibility(readBuffer, fieldHeaderList, XEN, DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY);
+        header = checkFieldCompatibility(readBuffer, fieldHeaderList, XEN, NUMERIC_DATA_TYPES);
         if (header.isPresent()) {
             builder.setXNegErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
         }
 
-        header = checkFieldCompatibility(readBuffer, fieldHeaderList, XEP, DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY);
+        header = checkFieldCompatibility(readBuffer, fieldHeaderList, XEP, NUMERIC_DATA_TYPES);
         if (header.isPresent()) {
             builder.setXPosErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
         }
 
-        header = checkFieldCompatibility(readBuffer, fieldHeaderList, YEN, DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY);
+        header = checkFieldCompatibility(readBuffer, fieldHeaderList, YEN, NUMERIC_DATA_TYPES);
         if (header.isPresent()) {
             builder.setYNegErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
         }
 
-        header = checkFieldCompatibility(readBuffer, fieldHeaderList, YEP, DataType.DOUBLE_ARRAY, DataType.FLOAT_ARRAY);
+        header = checkFieldCompatibility(readBuffer, fieldHeaderList, YEP, NUMERIC_DATA_TYPES);
         if (header.isPresent()) {
             builder.setYPosErrorNoCopy(BinarySerialiser.getDoubleArray(readBuffer, header.get().getDataType()));
         }
@@ -274,16 +287,16 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
         transmitDataLabels = state;
     }
 
-    public static void setMetaDataSerialised(final boolean state) {
-        transmitMetaData = state;
+    /**
+     * @param state {@code true}: write a {@link FieldIndex} (about 70 bytes plus 8 bytes per field) for random-access
+     *        reading of individual fields, {@code false} (default): plain stream
+     */
+    public static void setFieldIndexSerialised(final boolean state) {
+        transmitFieldIndex = state;
     }
 
-    private static float[] toFloats(final double[] input) {
-        final float[] floatArray = new float[input.length];
-        for (int i = 0; i < input.length; i++) {
-            floatArray[i] = (float) input[i];
-        }
-        return floatArray;
+    public static void setMetaDataSerialised(final boolean state) {
+        transmitMetaData = state;
     }
 
     protected static void writeDataLabelsToStream(final IoBuffer buffer, final DataSet dataSet) {
@@ -320,29 +333,60 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
      *        (better precision)
      */
     public static void writeDataSetToByteArray(final DataSet dataSet, final IoBuffer buffer, final boolean asFloat) {
+        final DataType dataType = asFloat ? DataType.FLOAT_ARRAY : DataType.DOUBLE_ARRAY;
+        writeDataSetToByteArray(dataSet, buffer, dataType, dataType);
+    }
+
+    /**
+     * Write data set into byte buffer using the given per-column encodings, e.g. {@link DataType#DOUBLE_ARRAY_DELTA}
+     * for (quasi-)equidistant or time-stamp x values and {@link DataType#DOUBLE_ARRAY_XOR} for slowly varying y values.
+     *
+     * @param dataSet The DataSet to export
+     * @param buffer byte output buffer (N.B. keep caching this object)
+     * @param xEncoding encoding of the x values: {@link DataType#DOUBLE_ARRAY}, {@link DataType#FLOAT_ARRAY},
+     *        {@link DataType#DOUBLE_ARRAY_XOR} or {@link DataType#DOUBLE_ARRAY_DELTA}
+     * @param yEncoding encoding of the y values and errors (same choices as for x)
+     */
+    public static void writeDataSetToByteArray(final DataSet dataSet, final IoBuffer buffer, final DataType xEncoding,
+            final DataType yEncoding) {
         AssertUtils.notNull("dataSet", dataSet);
         AssertUtils.notNull("buffer", buffer);
+        checkNumericDataType("xEncoding", xEncoding);
+        checkNumericDataType("yEncoding", yEncoding);
 
-        dataSet.lock();
-
-        BinarySerialiser.putHeaderInfo(buffer);
+        dataSet.lock().readLockGuard(() -> {
+            BinarySerialiser.putHeaderInfo(buffer);
+            final long indexMarkerPosition = isFieldIndexSerialised() ? FieldIndex.putIndexMarker(buffer) : -1;
 
-        writeHeaderDataToStream(buffer, dataSet);
+            final long[] statisticsPositions = writeHeaderDataToStream(buffer, dataSet);
 
-        if (isMetaDataSerialised()) {
-            writeMetaDataToStream(buffer, dataSet);
-        }
+            if (isMetaDataSerialised()) {
+                writeMetaDataToStream(buffer, dataSet);
+            }
 
-        if (isDataLablesSerialised()) {
-            writeDataLabelsToStream(buffer, dataSet);
-        }
+            if (isDataLablesSerialised()) {
+                writeDataLabelsToStream(buffer, dataSet);
+            }
 
-        writeNumericBinaryDataToBuffer(buffer, dataSet, asFloat);
+            final double[] statistics = writeNumericBinaryDataToBuffer(buffer, dataSet, xEncoding, yEncoding);
+            for (int i = 0; i < statisticsPositions.length; i++) {
+                putDoubleAt(buffer, statisticsPositions[i], statistics[i]);
+            }
 
-        BinarySerialiser.putEndMarker(buffer, "OBJ_ROOT_END");
+            if (indexMarkerPosition >= 0) {
+                FieldIndex.putIndex(buffer, indexMarkerPosition);
+            }
+            BinarySerialiser.putEndMarker(buffer, "OBJ_ROOT_END");
+        });
     }
 
-    protected static void writeHeaderDataToStream(final IoBuffer buffer, final DataSet dataSet) {
+    /**
+     * @param buffer IoBuffer to write binary data into
+     * @param dataSet to be exported
+     * @return buffer positions of the integral, mean and rms values to be back-filled once the numeric data has been
+     *         written, see {@link #writeNumericBinaryDataToBuffer(IoBuffer, DataSet, DataType, DataType)}
+     */
+    protected static long[] writeHeaderDataToStream(final IoBuffer buffer, final DataSet dataSet) {
         // common header data
         BinarySerialiser.put(buffer, DATA_SET_NAME, dataSet.getName());
         final List<AxisDescription> axisDescriptions = dataSet.getAxisDescriptions();
@@ -368,9 +412,9 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
         // write some statistics for the human readable benefit when
         // opening the
         // file with standard text-based viewers
-        BinarySerialiser.put(buffer, VAL_INTEGRAL, integralSimple(dataSet));
-        BinarySerialiser.put(buffer, VAL_MEAN, mean(dataSet.getValues(DIM_Y)));
-        BinarySerialiser.put(buffer, VAL_RMS, rootMeanSquare(dataSet.getValues(DIM_Y)));
+        // N.B. the values are computed while streaming the numeric data and back-filled afterwards
+        return new long[] { putDoublePlaceholder(buffer, VAL_INTEGRAL), putDoublePlaceholder(buffer, VAL_MEAN),
+            putDoublePlaceholder(buffer, VAL_RMS) };
     }
 
     protected static void writeMetaDataToStream(final IoBuffer buffer, final DataSet dataSet) {
@@ -386,63 +430,139 @@ public class DataSetSerialiser extends DataSetUtilsHelper {
     }
 
     /**
+     * Streams the x, y (and error) columns in chunks from the data set into the buffer, converting to float or
+     * compressing on the fly if requested, and computes the header statistics of the y column in the same pass.
+     *
      * @param buffer IoBuffer to write binary data into
      * @param dataSet to be exported
-     * @param asFloat {@code true} use 32-bit floats (less memory, faster transfer) instead of 64-bit doubles (DataSet
-     *        default, higher precision)
+     * @param xEncoding encoding of the x values, e.g. {@link DataType#FLOAT_ARRAY} (less memory, faster transfer) or
+     *        {@link DataType#DOUBLE_ARRAY} (DataSet default, higher precision)
+     * @param yEncoding encoding of the y values and errors
+     * @return the integral, mean and rms of the y column
      */
-    protected static void writeNumericBinaryDataToBuffer(final IoBuffer buffer, final DataSet dataSet,
-            final boolean asFloat) {
+    protected static double[] writeNumericBinaryDataToBuffer(final IoBuffer buffer, final DataSet dataSet,
+            final DataType xEncoding, final DataType yEncoding) {
         final int nsamples = dataSet.getDataCount(DIM_X);
-
-        if (asFloat) {
-            BinarySerialiser.put(buffer, X_ARRAY_NAME, toFloats(dataSet.getValues(DIM_X)), new int[] { nsamples });
-            BinarySerialiser.put(buffer, Y_ARRAY_NAME, toFloats(dataSet.getValues(DIM_Y)), new int[] { nsamples });
-            if (!(dataSet instanceof DataSetError)) {
-                // data set does not have any error definition
-                return;
-            }
+        final double[] chunk = new double[Math.max(1, Math.min(nsamples, CHUNK_SIZE))];
+        final double[] xChunk = new double[chunk.length];
+
+        writeColumn(buffer, X_ARRAY_NAME, nsamples, Math.min(nsamples, dataSet.getDataCount(DIM_X)), xEncoding, chunk,
+                (from, target, length) -> dataSet.getValues(DIM_X, from, target, 0, length), null);
+
+        // y column incl. statistics: integral (trapezoid), mean and (un-biased) rms
+        final int ny = Math.min(nsamples, dataSet.getDataCount(DIM_Y));
+        final double[] sums = new double[4]; // sum(y), sum(y^2), sum(step*y[i-1]), sum(step*y[i])
+        final double[] last = { Double.NaN, Double.NaN }; // x, y of the previous sample
+        writeColumn(buffer, Y_ARRAY_NAME, nsamples, ny, yEncoding, chunk,
+                (from, target, length) -> dataSet.getValues(DIM_Y, from, target, 0, length), (from, y, length) -> {
+                    dataSet.getValues(DIM_X, from, xChunk, 0, length);
+                    for (int i = 0; i < length; i++) {
+                        sums[0] += y[i];
+                        sums[1] += y[i] * y[i];
+                        if (from + i > 0) {
+                            final double step = xChunk[i] - last[0];
+                            sums[2] += step * last[1];
+                            sums[3] += step * y[i];
+                        }
+                        last[0] = xChunk[i];
+                        last[1] = y[i];
+                    }
+                });
+        final double norm = 1.0 / ny;
+        final double mean = ny <= 0 ? Double.NaN : sums[0] * norm;
+        final double rms = ny <= 0 ? Double.NaN : Math.sqrt(Math.abs(sums[1] * norm - mean * mean));
+        final double integral = ny <= 1 || dataSet instanceof DataSet3D ? 0.0 : 0.5 * (sums[2] + sums[3]);
+
+        if (dataSet instanceof DataSetError) {
             final DataSetError ds = (DataSetError) dataSet;
             for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
-                switch (ds.getErrorType(dimIndex)) {
-                default:
-                case NO_ERROR:
+                final int dim = dimIndex;
+                final int n = Math.min(nsamples, dataSet.getDataCount(dim));
+                switch (ds.getErrorType(dim)) {
+                case ASYMMETRIC:
+                    writeColumn(buffer, dim == DIM_X ? XEN : YEN, nsamples, n, yEncoding, chunk,
+                            (from, target, length) -> ds.getErrorsNegative(dim, from, target, 0, length), null);
+                    writeColumn(buffer, dim == DIM_X ? XEP : YEP, nsamples, n, yEncoding, chunk,
+                            (from, target, length) -> ds.getErrorsPositive(dim, from, target, 0, length), null);
                     break;
+                case NO_ERROR:
+                    if (yEncoding != DataType.DOUBLE_ARRAY) {
+                        break;
+                    }
+                    // N.B. raw double-precision streams traditionally carry the (zero) positive errors
+                    // fall through
                 case SYMMETRIC:
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEP : YEP,
-                            toFloats(ds.getErrorsPositive(dimIndex)), new int[] { nsamples });
-                    break;
-                case ASYMMETRIC:
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEN : YEN,
-                            toFloats(ds.getErrorsNegative(dimIndex)), new int[] { nsamples });
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEP : YEP,
-                            toFloats(ds.getErrorsPositive(dimIndex)), new int[] { nsamples });
+                default:
+                    writeColumn(buffer, dim == DIM_X ? XEP : YEP, nsamples, n, yEncoding, chunk,
+                            (from, target, length) -> ds.getErrorsPositive(dim, from, target, 0, length), null);
                     break;
                 }
             }
-        } else {
-            BinarySerialiser.put(buffer, X_ARRAY_NAME, dataSet.getValues(DIM_X), new int[] { nsamples });
-            BinarySerialiser.put(buffer, Y_ARRAY_NAME, dataSet.getValues(DIM_Y), new int[] { nsamples });
-            if (!(dataSet instanceof DataSetError)) {
-                // data set does not have any error definition
-                return;
-            }
-            final DataSetError ds = (DataSetError) dataSet;
-            for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
-                switch (ds.getErrorType(dimIndex)) {
-                default:
-                case SYMMETRIC:
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEP : YEP, ds.getErrorsPositive(dimIndex),
-                            new int[] { nsamples });
-                    break;
-                case ASYMMETRIC:
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEN : YEN, ds.getErrorsNegative(dimIndex),
-                            new int[] { nsamples });
-                    BinarySerialiser.put(buffer, dimIndex == DIM_X ? XEP : YEP, ds.getErrorsPositive(dimIndex),
-                            new int[] { nsamples });
-                    break;
+        }
+
+        return new double[] { integral, mean, rms };
+    }
+
+    private static void putDoubleAt(final IoBuffer buffer, final long position, final double value) {
+        final long writePosition = buffer.position();
+        buffer.position(position);
+        buffer.putDouble(value);
+        buffer.position(writePosition);
+    }
+
+    private static long putDoublePlaceholder(final IoBuffer buffer, final String fieldName) {
+        BinarySerialiser.putFieldHeader(buffer, fieldName, DataType.DOUBLE);
+        final long position = buffer.position();
+        buffer.putDouble(Double.NaN);
+        return position;
+    }
+
+    static void writeColumn(final IoBuffer buffer, final String fieldName, final int nsamples,
+            final int nElements, final DataType dataType, final double[] chunk, final ColumnChunkHandler reader,
+            final ColumnChunkHandler observer) {
+        final long sizeMarkerStart = BinarySerialiser.putArrayHeader(buffer, fieldName, dataType,
+                new int[] { nsamples }, nElements);
+        final GorillaCodec.Encoder encoder = GorillaCodec.isCompressed(dataType)
+                ? new GorillaCodec.Encoder(buffer, dataType, nElements) : null;
+        if (encoder == null) {
+            buffer.putInt(nElements);
+        }
+        for (int from = 0; from < nElements; from += chunk.length) {
+            final int length = Math.min(chunk.length, nElements - from);
+            reader.handle(from, chunk, length);
+            if (encoder != null) {
+                encoder.put(chunk, 0, length);
+            } else if (dataType == DataType.FLOAT_ARRAY) {
+                for (int i = 0; i < length; i++) {
+                    buffer.putFloat((float) chunk[i]);
                 }
+            } else {
+                for (int i = 0; i < length; i++) {
+                    buffer.putDouble(chunk[i]);
+                }
+            }
+            if (observer != null) {
+                observer.handle(from, chunk, length);
             }
         }
+        if (encoder != null) {
+            encoder.finish();
+        }
+        BinarySerialiser.adjustDataByteSizeBlock(buffer, sizeMarkerStart);
+    }
+
+    private static void checkNumericDataType(final String name, final DataType dataType) {
+        if (!Arrays.asList(NUMERIC_DATA_TYPES).contains(dataType)) {
+            throw new IllegalArgumentException(
+                    name + " '" + dataType + "' must be one of " + Arrays.asList(NUMERIC_DATA_TYPES));
+        }
+    }
+
+    /**
+     * bulk access to a chunk of a data set column
+     */
+    @FunctionalInterface
+    interface ColumnChunkHandler {
+        void handle(int fromIndex, double[] chunk, int length);
     }
 }
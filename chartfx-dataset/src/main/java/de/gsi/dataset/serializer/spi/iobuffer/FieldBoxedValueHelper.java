@@ -30,47 +30,51 @@ public final class FieldBoxedValueHelper {
     public static void register(final AbstractSerialiser serialiser, final IoBuffer ioBuffer) {
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getBoolean()), // reader
+                (obj, field) -> field.getFieldAccessor().set(obj, ioBuffer.getBoolean()), // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        (Boolean) field.getField().get(obj)), // writer
+                        (Boolean) field.getFieldAccessor().get(obj)), // writer
                 Boolean.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getByte()), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), (Byte) field.getField().get(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().set(obj, ioBuffer.getByte()), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        (Byte) field.getFieldAccessor().get(obj)), // writer
                 Byte.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getShort()), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), (Short) field.getField().get(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().set(obj, ioBuffer.getShort()), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        (Short) field.getFieldAccessor().get(obj)), // writer
                 Short.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getInt()), // reader
+                (obj, field) -> field.getFieldAccessor().set(obj, ioBuffer.getInt()), // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        (Integer) field.getField().get(obj)), // writer
+                        (Integer) field.getFieldAccessor().get(obj)), // writer
                 Integer.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getLong()), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), (Long) field.getField().get(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().set(obj, ioBuffer.getLong()), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        (Long) field.getFieldAccessor().get(obj)), // writer
                 Long.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getFloat()), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), (Float) field.getField().get(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().set(obj, ioBuffer.getFloat()), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        (Float) field.getFieldAccessor().get(obj)), // writer
                 Float.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getDouble()), // reader
+                (obj, field) -> field.getFieldAccessor().set(obj, ioBuffer.getDouble()), // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        (Double) field.getField().get(obj)), // writer
+                        (Double) field.getFieldAccessor().get(obj)), // writer
                 Double.class));
 
 //        serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-//                (obj, field) -> field.getField().set(obj, ioBuffer.getString()), // reader
+//                (obj, field) -> field.getFieldAccessor().set(obj, ioBuffer.getString()), // reader
 //                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-//                        (String) field.getField().get(obj)), // writer
+//                        (String) field.getFieldAccessor().get(obj)), // writer
 //                String.class));
 
         if (LOGGER.isDebugEnabled()) {
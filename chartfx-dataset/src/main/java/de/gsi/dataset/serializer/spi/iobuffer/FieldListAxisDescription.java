@@ -40,7 +40,7 @@ public class FieldListAxisDescription extends IoBufferFieldSerialiser {
     }
 
     protected final void execFieldReader(final Object obj, ClassFieldDescription field) throws IllegalAccessException {
-        Collection<AxisDescription> setVal = (Collection<AxisDescription>) field.getField().get(obj); // NOPMD
+        Collection<AxisDescription> setVal = (Collection<AxisDescription>) field.getFieldAccessor().get(obj); // NOPMD
         // N.B. cast should fail at runtime (points to lib inconsistency)
         setVal.clear();
         final int nElements = ioBuffer.getInt(); // number of elements
@@ -75,12 +75,13 @@ public class FieldListAxisDescription extends IoBufferFieldSerialiser {
             setVal.add(ad);
         }
 
-        field.getField().set(obj, setVal);
+        field.getFieldAccessor().set(obj, setVal);
     }
 
     protected void execFieldWriter(Object obj, ClassFieldDescription field) throws IllegalAccessException {
         final String fieldName = field.getFieldName();
-        final List<AxisDescription> axisDescriptions = (List<AxisDescription>) field.getField().get(obj); // NOPMD
+        final List<AxisDescription> axisDescriptions = (List<AxisDescription>) field.getFieldAccessor() // NOPMD
+                                                                                    .get(obj);
         // N.B. cast should fail at runtime (points to lib inconsistency)
 
         final int nElements = axisDescriptions.size();
@@ -28,44 +28,51 @@ public final class FieldPrimitiveValueHelper {
     public static void register(final AbstractSerialiser serialiser, final IoBuffer ioBuffer) {
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().setBoolean(obj, ioBuffer.getBoolean()), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), field.getField().getBoolean(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().setBoolean(obj, ioBuffer.getBoolean()), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        field.getFieldAccessor().getBoolean(obj)), // writer
                 boolean.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().setByte(obj, ioBuffer.getByte()), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), field.getField().getByte(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().setByte(obj, ioBuffer.getByte()), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        field.getFieldAccessor().getByte(obj)), // writer
                 byte.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().setShort(obj, ioBuffer.getShort()), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), field.getField().getShort(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().setShort(obj, ioBuffer.getShort()), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        field.getFieldAccessor().getShort(obj)), // writer
                 short.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().setInt(obj, ioBuffer.getInt()), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), field.getField().getInt(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().setInt(obj, ioBuffer.getInt()), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        field.getFieldAccessor().getInt(obj)), // writer
                 int.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().setLong(obj, ioBuffer.getLong()), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), field.getField().getLong(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().setLong(obj, ioBuffer.getLong()), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        field.getFieldAccessor().getLong(obj)), // writer
                 long.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().setFloat(obj, ioBuffer.getFloat()), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), field.getField().getFloat(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().setFloat(obj, ioBuffer.getFloat()), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        field.getFieldAccessor().getFloat(obj)), // writer
                 float.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().setDouble(obj, ioBuffer.getDouble()), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), field.getField().getDouble(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().setDouble(obj, ioBuffer.getDouble()), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        field.getFieldAccessor().getDouble(obj)), // writer
                 double.class));
 
         serialiser.addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj, ioBuffer.getString()), // reader
+                (obj, field) -> field.getFieldAccessor().set(obj, ioBuffer.getString()), // reader
                 (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
-                        (String) field.getField().get(obj)), // writer
+                        (String) field.getFieldAccessor().get(obj)), // writer
                 String.class));
 
         if (LOGGER.isDebugEnabled()) {
@@ -52,14 +52,14 @@ public class IoBufferSerialiser extends AbstractSerialiser {
 
         // Collection serialiser mapper to IoBuffer
         final FieldSerialiserFunction collectionReader = (obj, field) -> {
-            final Collection<?> origCollection = (Collection<?>) field.getField().get(obj);
+            final Collection<?> origCollection = (Collection<?>) field.getFieldAccessor().get(obj);
             origCollection.clear();
 
             final Collection<?> setVal = BinarySerialiser.getCollection(ioBuffer, origCollection);
-            field.getField().set(obj, setVal);
+            field.getFieldAccessor().set(obj, setVal);
         }; // reader
         final FieldSerialiserFunction collectionWriter = (obj, field) -> {
-            final Collection<?> retVal = (Collection<?>) field.getField().get(obj);
+            final Collection<?> retVal = (Collection<?>) field.getFieldAccessor().get(obj);
             BinarySerialiser.put(ioBuffer, field.getFieldName(), retVal); // writer
         };
         addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, collectionReader, collectionWriter, Collection.class));
@@ -69,22 +69,23 @@ public class IoBufferSerialiser extends AbstractSerialiser {
 
         // Enum serialiser mapper to IoBuffer
         addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
-                (obj, field) -> field.getField().set(obj,
-                        BinarySerialiser.getEnum(ioBuffer, (Enum<?>) field.getField().get(obj))), // reader
-                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(), (Enum<?>) field.getField().get(obj)), // writer
+                (obj, field) -> field.getFieldAccessor().set(obj,
+                        BinarySerialiser.getEnum(ioBuffer, (Enum<?>) field.getFieldAccessor().get(obj))), // reader
+                (obj, field) -> BinarySerialiser.put(ioBuffer, field.getFieldName(),
+                        (Enum<?>) field.getFieldAccessor().get(obj)), // writer
                 Enum.class));
 
         // Map serialiser mapper to IoBuffer
         addClassDefinition(new IoBufferFieldSerialiser(ioBuffer, //
                 (obj, field) -> { // reader
-                    final Map<?, ?> origMap = (Map<?, ?>) field.getField().get(obj);
+                    final Map<?, ?> origMap = (Map<?, ?>) field.getFieldAccessor().get(obj);
                     origMap.clear();
                     final Map<?, ?> setVal = BinarySerialiser.getMap(ioBuffer, origMap);
 
-                    field.getField().set(obj, setVal);
+                    field.getFieldAccessor().set(obj, setVal);
                 }, // writer
                 (obj, field) -> {
-                    final Map<?, ?> retVal = (Map<?, ?>) field.getField().get(obj);
+                    final Map<?, ?> retVal = (Map<?, ?>) field.getFieldAccessor().get(obj);
                     BinarySerialiser.put(ioBuffer, field.getFieldName(), retVal);
                 }, Map.class));
 
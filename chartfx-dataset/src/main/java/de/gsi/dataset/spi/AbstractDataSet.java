@@ -391,7 +391,8 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
 
     /**
      * Returns label of a data point specified by the index. The label can be used as a category name if
-     * CategoryStepsDefinition is used or for annotations displayed for data points.
+     * CategoryStepsDefinition is used or for annotations displayed for data points. N.B. requires the (full) read lock
+     * if the data set is modified concurrently, see {@link StringHashMapList}
      *
      * @param index of the data label
      * @return data point label specified by the index or <code>null</code> if no label has been specified
@@ -454,7 +455,8 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
 
     /**
      * A string representation of the CSS style associated with this specific {@code DataSet} data point. @see
-     * #getStyle()
+     * #getStyle() N.B. requires the (full) read lock if the data set is modified concurrently, see
+     * {@link StringHashMapList}
      *
      * @param index the index of the specific data point
      * @return user-specific data set style description (ie. may be set by user)
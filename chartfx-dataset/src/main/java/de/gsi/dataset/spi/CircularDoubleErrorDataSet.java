@@ -9,6 +9,7 @@ import de.gsi.dataset.event.RemovedDataEvent;
 import de.gsi.dataset.utils.AssertUtils;
 import de.gsi.dataset.utils.CircularBuffer;
 import de.gsi.dataset.utils.DoubleCircularBuffer;
+import de.gsi.dataset.utils.MinMaxBlockTree;
 
 /**
  * @author rstein
@@ -22,6 +23,9 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
     protected DoubleCircularBuffer yErrorsNeg;
     protected CircularBuffer<String> dataTag;
     protected CircularBuffer<String> dataStyles;
+    // incremental axis limits over the physical (ring-buffer) index
+    protected final MinMaxBlockTree xLimits;
+    protected final MinMaxBlockTree yLimits;
 
     /**
      * Creates a new instance of <code>CircularDoubleErrorDataSet</code>.
@@ -39,6 +43,9 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
         yErrorsNeg = new DoubleCircularBuffer(initalSize);
         dataTag = new CircularBuffer<>(initalSize);
         dataStyles = new CircularBuffer<>(initalSize);
+        xLimits = new MinMaxBlockTree(slot -> xValues.elements()[slot]);
+        yLimits = new MinMaxBlockTree(slot -> yValues.elements()[slot] - yErrorsNeg.elements()[slot],
+                slot -> yValues.elements()[slot] + yErrorsPos.elements()[slot]);
     }
 
     /**
@@ -84,6 +91,7 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
     public CircularDoubleErrorDataSet add(final double x, final double y, final double yErrorNeg,
             final double yErrorPos, final String tag, final String style) {
         lock().writeLockGuard(() -> {
+            final int slot = xValues.writePosition();
             xValues.put(x);
             yValues.put(y);
             yErrorsPos.put(yErrorPos);
@@ -91,8 +99,7 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             dataTag.put(tag);
             dataStyles.put(style);
 
-            recomputeLimits(DIM_X);
-            recomputeLimits(DIM_Y);
+            updateLimits(slot, 1);
         });
 
         return fireInvalidated(new AddedDataEvent(this));
@@ -121,6 +128,7 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
         AssertUtils.equalDoubleArrays(xVals, yErrPos);
 
         lock().writeLockGuard(() -> {
+            final int slot = xValues.writePosition();
             this.xValues.put(xVals, xVals.length);
             this.yValues.put(yVals, yVals.length);
             this.yErrorsNeg.put(yErrNeg, yErrNeg.length);
@@ -128,8 +136,7 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             dataTag.put(new String[yErrPos.length], yErrPos.length);
             dataStyles.put(new String[yErrPos.length], yErrPos.length);
 
-            recomputeLimits(DIM_X);
-            recomputeLimits(DIM_Y);
+            updateLimits(slot, xVals.length);
         });
 
         return fireInvalidated(new AddedDataEvent(this));
@@ -197,9 +204,38 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             yErrorsPos.reset();
             dataTag.reset();
             dataStyles.reset();
+            xLimits.rebuild(0);
+            yLimits.rebuild(0);
             getAxisDescriptions().forEach(AxisDescription::clear);
         });
 
         return fireInvalidated(new RemovedDataEvent(this));
     }
+
+    /**
+     * updates the axis limits after 'length' elements have been written starting at the given physical ring-buffer
+     * index (N.B. needs to be called with the write lock held)
+     *
+     * @param slot physical index of the first written element
+     * @param length number of written elements
+     */
+    private void updateLimits(final int slot, final int length) {
+        final int capacity = xValues.elements().length;
+        final int dataCount = getDataCount();
+        if (length >= capacity) {
+            xLimits.rebuild(dataCount);
+            yLimits.rebuild(dataCount);
+        } else {
+            final int end = slot + length;
+            xLimits.update(dataCount, slot, Math.min(end, capacity));
+            yLimits.update(dataCount, slot, Math.min(end, capacity));
+            if (end > capacity) {
+                // wrapped around
+                xLimits.update(dataCount, 0, end - capacity);
+                yLimits.update(dataCount, 0, end - capacity);
+            }
+        }
+        xLimits.applyTo(getAxisDescription(DIM_X));
+        yLimits.applyTo(getAxisDescription(DIM_Y));
+    }
 }
@@ -1,13 +1,17 @@
 package de.gsi.dataset.spi;
 
-import de.gsi.dataset.AxisDescription;
+import java.nio.DoubleBuffer;
+
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet2D;
 import de.gsi.dataset.EditableDataSet;
+import de.gsi.dataset.MultiResolutionDataSet;
 import de.gsi.dataset.event.AddedDataEvent;
 import de.gsi.dataset.event.RemovedDataEvent;
 import de.gsi.dataset.event.UpdatedDataEvent;
 import de.gsi.dataset.utils.AssertUtils;
+import de.gsi.dataset.utils.MinMaxBlockTree;
+import de.gsi.dataset.utils.MinMaxPyramid;
 
 import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
 
@@ -19,10 +23,12 @@ import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
  * @author rstein
  */
 @SuppressWarnings("PMD.TooManyMethods") // part of the flexible class nature
-public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements EditableDataSet, DataSet2D {
+public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements EditableDataSet, DataSet2D, MultiResolutionDataSet {
     private static final long serialVersionUID = -493232313124620828L;
     protected DoubleArrayList xValues; // way faster than java default lists
     protected DoubleArrayList yValues; // way faster than java default lists
+    protected transient MinMaxPyramid minMaxPyramid; // optional, enabled on demand
+    protected transient MinMaxBlockTree[] limitTrees; // incremental axis limits, (re-)built on demand
 
     /**
      * Creates a new instance of <code>DoubleDataSet</code> as copy of another (deep-copy).
@@ -107,10 +113,9 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
                 addDataLabel(xValues.size() - 1, label);
             }
 
-            getAxisDescription(0).add(x);
-            getAxisDescription(1).add(y);
+            updateLimits(xValues.size() - 1, xValues.size());
         });
-        return fireInvalidated(new UpdatedDataEvent(this, "add"));
+        return fireInvalidated(new AddedDataEvent(this, "add"));
     }
 
     /**
@@ -132,8 +137,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             xValues.setElements(addAt, xValuesNew);
             yValues.setElements(addAt, yValuesNew);
 
-            getAxisDescription(0).add(xValuesNew);
-            getAxisDescription(1).add(yValuesNew);
+            updateLimits(addAt, addAt + newElements);
         });
 
         return fireInvalidated(new AddedDataEvent(this));
@@ -175,13 +179,13 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
     public DoubleDataSet add(final int index, final double x, final double y, final String label) {
         lock().writeLockGuard(() -> {
             final int indexAt = Math.max(0, Math.min(index, getDataCount() + 1));
+            invalidateMinMaxPyramid(indexAt);
 
             xValues.add(indexAt, x);
             yValues.add(indexAt, y);
             getDataLabelMap().addValueAndShiftKeys(indexAt, xValues.size(), label);
             getDataStyleMap().shiftKeys(indexAt, xValues.size());
-            getAxisDescription(0).add(x);
-            getAxisDescription(1).add(y);
+            updateLimits(indexAt, xValues.size());
         });
         return fireInvalidated(new AddedDataEvent(this));
     }
@@ -202,12 +206,12 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
 
         lock().writeLockGuard(() -> {
             final int indexAt = Math.max(0, Math.min(index, getDataCount() + 1));
+            invalidateMinMaxPyramid(indexAt);
             xValues.addElements(indexAt, x, 0, min);
             yValues.addElements(indexAt, y, 0, min);
-            getAxisDescription(0).add(x, min);
-            getAxisDescription(0).add(y, min);
-            getDataLabelMap().shiftKeys(indexAt, xValues.size());
-            getDataStyleMap().shiftKeys(indexAt, xValues.size());
+            getDataLabelMap().shiftKeys(indexAt, xValues.size(), min);
+            getDataStyleMap().shiftKeys(indexAt, xValues.size(), min);
+            updateLimits(indexAt, xValues.size());
         });
         return fireInvalidated(new AddedDataEvent(this));
     }
@@ -221,11 +225,12 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         lock().writeLockGuard(() -> {
             xValues.clear();
             yValues.clear();
+            invalidateMinMaxPyramid(0);
             getDataLabelMap().clear();
             getDataStyleMap().clear();
             clearMetaInfo();
 
-            getAxisDescriptions().forEach(AxisDescription::clear);
+            updateLimits(0, 0);
         });
         return fireInvalidated(new RemovedDataEvent(this, "clearData()"));
     }
@@ -252,6 +257,25 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         return dimIndex == DataSet.DIM_X ? xValues.elements() : yValues.elements();
     }
 
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final double[] target, final int targetOffset,
+            final int length) {
+        System.arraycopy(dimIndex == DataSet.DIM_X ? xValues.elements() : yValues.elements(), fromIndex, target,
+                targetOffset, length);
+        return target;
+    }
+
+    @Override
+    public DoubleBuffer getValuesView(final int dimIndex) {
+        final double[] values = dimIndex == DataSet.DIM_X ? xValues.elements() : yValues.elements();
+        return DoubleBuffer.wrap(values, 0, getDataCount(dimIndex)).asReadOnlyBuffer();
+    }
+
+    @Override
+    public MinMaxPyramid getMinMaxPyramid() {
+        return minMaxPyramid;
+    }
+
     /**
      * @param amount storage capacity increase
      * @return itself (fluent design)
@@ -265,6 +289,62 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         return getThis();
     }
 
+    /**
+     * incrementally updates the axis limits after the data points within <code>[fromIndex, toIndex)</code> and/or the
+     * number of data points changed, see {@link MinMaxBlockTree} (N.B. needs to be called with the write lock held)
+     *
+     * @param fromIndex first modified data point index
+     * @param toIndex last modified data point index (exclusive)
+     */
+    protected void updateLimits(final int fromIndex, final int toIndex) {
+        final int dataCount = getDataCount();
+        if (limitTrees == null) {
+            limitTrees = new MinMaxBlockTree[] { new MinMaxBlockTree(i -> xValues.elements()[i]),
+                new MinMaxBlockTree(i -> yValues.elements()[i]) };
+            for (final MinMaxBlockTree tree : limitTrees) {
+                tree.rebuild(dataCount);
+            }
+        } else {
+            for (final MinMaxBlockTree tree : limitTrees) {
+                tree.update(dataCount, fromIndex, toIndex);
+            }
+        }
+        for (int dimIndex = 0; dimIndex < limitTrees.length; dimIndex++) {
+            limitTrees[dimIndex].applyTo(getAxisDescription(dimIndex));
+        }
+    }
+
+    /**
+     * invalidates the optional min/max index from the given index onwards (N.B. appended data is merged lazily)
+     *
+     * @param fromIndex first modified data point index
+     */
+    protected void invalidateMinMaxPyramid(final int fromIndex) {
+        if (minMaxPyramid != null) {
+            minMaxPyramid.invalidate(fromIndex);
+        }
+    }
+
+    /**
+     * re-computes the limits by scanning all data points, needs to be called after the arrays returned by
+     * {@link #getValues(int)} have been modified directly
+     */
+    @Override
+    public DoubleDataSet recomputeLimits(final int dimension) {
+        if (dimension > DIM_Y) {
+            return super.recomputeLimits(dimension);
+        }
+        lock().writeLockGuard(() -> {
+            if (limitTrees == null) {
+                updateLimits(0, getDataCount());
+                return;
+            }
+            limitTrees[dimension].rebuild(getDataCount());
+            limitTrees[dimension].applyTo(getAxisDescription(dimension));
+        });
+        return getThis();
+    }
+
     /**
      * remove point from data set
      *
@@ -289,6 +369,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
 
             final int clampedToIndex = Math.min(toIndex, getDataCount());
+            invalidateMinMaxPyramid(fromIndex);
             xValues.removeElements(fromIndex, clampedToIndex);
             yValues.removeElements(fromIndex, clampedToIndex);
 
@@ -296,9 +377,8 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             getDataLabelMap().remove(fromIndex, clampedToIndex);
             getDataStyleMap().remove(fromIndex, clampedToIndex);
 
-            // invalidate and recompute ranges
-            recomputeLimits(DIM_X);
-            recomputeLimits(DIM_Y);
+            // update ranges of the shifted data points
+            updateLimits(fromIndex, getDataCount());
         });
         return fireInvalidated(new RemovedDataEvent(this));
     }
@@ -353,6 +433,12 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         return fireInvalidated(new UpdatedDataEvent(this));
     }
 
+    @Override
+    public DoubleDataSet setMinMaxPyramidEnabled(final boolean state) {
+        lock().writeLockGuard(() -> minMaxPyramid = state ? new MinMaxPyramid(this, DIM_Y) : null);
+        return getThis();
+    }
+
     /**
      * <p>
      * Initialises the data set with specified data.
@@ -408,6 +494,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         lock().writeLockGuard(() -> {
             getDataLabelMap().clear();
             getDataStyleMap().clear();
+            invalidateMinMaxPyramid(0);
             if (copy) {
                 if (this.xValues == null) {
                     this.xValues = new DoubleArrayList();
@@ -457,12 +544,11 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             yValues.size(dataCount);
             xValues.elements()[index] = x;
             yValues.elements()[index] = y;
+            invalidateMinMaxPyramid(index);
             getDataLabelMap().remove(index);
             getDataStyleMap().remove(index);
 
-            // invalidate and recompute ranges
-            recomputeLimits(DIM_X);
-            recomputeLimits(DIM_Y);
+            updateLimits(index, index + 1);
         });
         return fireInvalidated(new UpdatedDataEvent(this, "set - single"));
     }
@@ -472,12 +558,11 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             resize(Math.max(index + x.length, xValues.size()));
             System.arraycopy(x, 0, xValues.elements(), index, x.length);
             System.arraycopy(y, 0, yValues.elements(), index, y.length);
-            getDataLabelMap().remove(index, index + x.length);
-            getDataStyleMap().remove(index, index + x.length);
+            invalidateMinMaxPyramid(index);
+            getDataLabelMap().clear(index, index + x.length);
+            getDataStyleMap().clear(index, index + x.length);
 
-            // invalidate and recompute ranges
-            recomputeLimits(DIM_X);
-            recomputeLimits(DIM_Y);
+            updateLimits(index, index + x.length);
         });
         return fireInvalidated(new UpdatedDataEvent(this, "set - via arrays"));
     }
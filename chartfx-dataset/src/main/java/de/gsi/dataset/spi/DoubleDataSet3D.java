@@ -1,5 +1,6 @@
 package de.gsi.dataset.spi;
 
+import java.nio.DoubleBuffer;
 import java.util.Arrays;
 
 import de.gsi.dataset.DataSet;
@@ -149,6 +150,50 @@ public class DoubleDataSet3D extends AbstractDataSet3D<DoubleDataSet3D> {
         }
     }
 
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final double[] target, final int targetOffset,
+            final int length) {
+        switch (dimIndex) {
+        case DIM_X:
+            System.arraycopy(xValues, fromIndex, target, targetOffset, length);
+            break;
+        case DIM_Y:
+            System.arraycopy(yValues, fromIndex, target, targetOffset, length);
+            break;
+        case DIM_Z: {
+            // row-wise copy of the z[y][x] matrix
+            final int nx = xValues.length;
+            int index = fromIndex;
+            int offset = targetOffset;
+            final int end = fromIndex + length;
+            while (index < end) {
+                final int column = index % nx;
+                final int n = Math.min(nx - column, end - index);
+                System.arraycopy(zValues[index / nx], column, target, offset, n);
+                index += n;
+                offset += n;
+            }
+            break;
+        }
+        default:
+            Arrays.fill(target, targetOffset, targetOffset + length, Double.NaN);
+            break;
+        }
+        return target;
+    }
+
+    @Override
+    public DoubleBuffer getValuesView(final int dimIndex) {
+        switch (dimIndex) {
+        case DIM_X:
+            return DoubleBuffer.wrap(xValues).asReadOnlyBuffer();
+        case DIM_Y:
+            return DoubleBuffer.wrap(yValues).asReadOnlyBuffer();
+        default:
+            return super.getValuesView(dimIndex);
+        }
+    }
+
     @Override
     public double getZ(final int xIndex, final int yIndex) {
         return zValues[yIndex][xIndex];
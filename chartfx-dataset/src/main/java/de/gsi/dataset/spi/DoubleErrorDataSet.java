@@ -1,14 +1,19 @@
 package de.gsi.dataset.spi;
 
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
 import de.gsi.dataset.AxisDescription;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet2D;
 import de.gsi.dataset.DataSetError;
 import de.gsi.dataset.EditableDataSet;
+import de.gsi.dataset.MultiResolutionDataSet;
 import de.gsi.dataset.event.AddedDataEvent;
 import de.gsi.dataset.event.RemovedDataEvent;
 import de.gsi.dataset.event.UpdatedDataEvent;
 import de.gsi.dataset.utils.AssertUtils;
+import de.gsi.dataset.utils.MinMaxPyramid;
 
 import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
 
@@ -21,7 +26,7 @@ import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
  */
 @SuppressWarnings("PMD.TooManyMethods") // part of the flexible class nature
 public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
-        implements DataSetError, EditableDataSet, DataSet2D {
+        implements DataSetError, EditableDataSet, DataSet2D, MultiResolutionDataSet {
     private static final String Y_COORDINATES = "Y coordinates";
     private static final String X_COORDINATES = "X coordinates";
     private static final long serialVersionUID = 8931518518245752926L;
@@ -29,6 +34,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
     protected DoubleArrayList yValues; // way faster than java default lists
     protected DoubleArrayList yErrorsPos;
     protected DoubleArrayList yErrorsNeg;
+    protected transient MinMaxPyramid minMaxPyramid; // optional, enabled on demand
 
     /**
      * Creates a new instance of <code>DoubleErrorDataSet</code> as copy of another (deep-copy).
@@ -139,7 +145,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             getAxisDescription(1).add(y - yErrorNeg);
             getAxisDescription(1).add(y + yErrorPos);
         });
-        return fireInvalidated(new UpdatedDataEvent(this, "add"));
+        return fireInvalidated(new AddedDataEvent(this, "add"));
     }
 
     /**
@@ -232,6 +238,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             final double yErrorPos, final String label) {
         lock().writeLockGuard(() -> {
             final int indexAt = Math.max(0, Math.min(index, getDataCount() + 1));
+            invalidateMinMaxPyramid(indexAt);
 
             xValues.add(indexAt, x);
             yValues.add(indexAt, y);
@@ -267,6 +274,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
 
         lock().writeLockGuard(() -> {
             final int indexAt = Math.max(0, Math.min(index, getDataCount()));
+            invalidateMinMaxPyramid(indexAt);
 
             xValues.addElements(indexAt, x, 0, min);
             yValues.addElements(indexAt, y, 0, min);
@@ -277,8 +285,8 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             recomputeLimits(DIM_X);
             recomputeLimits(DIM_Y);
 
-            getDataLabelMap().shiftKeys(indexAt, xValues.size());
-            getDataStyleMap().shiftKeys(indexAt, xValues.size());
+            getDataLabelMap().shiftKeys(indexAt, xValues.size(), min);
+            getDataStyleMap().shiftKeys(indexAt, xValues.size(), min);
         });
 
         return fireInvalidated(new AddedDataEvent(this));
@@ -295,6 +303,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             yValues.clear();
             yErrorsPos.clear();
             yErrorsNeg.clear();
+            invalidateMinMaxPyramid(0);
             getDataLabelMap().clear();
             getDataStyleMap().clear();
             clearMetaInfo();
@@ -304,6 +313,16 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         return fireInvalidated(new RemovedDataEvent(this, "clearData()"));
     }
 
+    private double[] copyErrors(final int dimIndex, final DoubleArrayList errors, final int fromIndex,
+            final double[] target, final int targetOffset, final int length) {
+        if (dimIndex == DIM_X) {
+            Arrays.fill(target, targetOffset, targetOffset + length, 0.0);
+        } else {
+            System.arraycopy(errors.elements(), fromIndex, target, targetOffset, length);
+        }
+        return target;
+    }
+
     @Override
     public final double get(final int dimIndex, final int index) {
         return dimIndex == DataSet.DIM_X ? xValues.elements()[index] : yValues.elements()[index];
@@ -336,16 +355,47 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         return dimIndex == DIM_X ? super.getErrorsNegative(dimIndex) : yErrorsNeg.elements();
     }
 
+    @Override
+    public double[] getErrorsNegative(final int dimIndex, final int fromIndex, final double[] target,
+            final int targetOffset, final int length) {
+        return copyErrors(dimIndex, yErrorsNeg, fromIndex, target, targetOffset, length);
+    }
+
     @Override
     public double[] getErrorsPositive(final int dimIndex) {
         return dimIndex == DIM_X ? super.getErrorsPositive(dimIndex) : yErrorsPos.elements();
     }
 
+    @Override
+    public double[] getErrorsPositive(final int dimIndex, final int fromIndex, final double[] target,
+            final int targetOffset, final int length) {
+        return copyErrors(dimIndex, yErrorsPos, fromIndex, target, targetOffset, length);
+    }
+
+    @Override
+    public MinMaxPyramid getMinMaxPyramid() {
+        return minMaxPyramid;
+    }
+
     @Override
     public final double[] getValues(final int dimIndex) {
         return dimIndex == DataSet.DIM_X ? xValues.elements() : yValues.elements();
     }
 
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final double[] target, final int targetOffset,
+            final int length) {
+        System.arraycopy(dimIndex == DataSet.DIM_X ? xValues.elements() : yValues.elements(), fromIndex, target,
+                targetOffset, length);
+        return target;
+    }
+
+    @Override
+    public DoubleBuffer getValuesView(final int dimIndex) {
+        final double[] values = dimIndex == DataSet.DIM_X ? xValues.elements() : yValues.elements();
+        return DoubleBuffer.wrap(values, 0, getDataCount(dimIndex)).asReadOnlyBuffer();
+    }
+
     @Override
     public double getX(final int index) {
         return xValues.elements()[index];
@@ -379,6 +429,17 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         return getThis();
     }
 
+    /**
+     * invalidates the optional min/max index from the given index onwards (N.B. appended data is merged lazily)
+     *
+     * @param fromIndex first modified data point index
+     */
+    protected void invalidateMinMaxPyramid(final int fromIndex) {
+        if (minMaxPyramid != null) {
+            minMaxPyramid.invalidate(fromIndex);
+        }
+    }
+
     @Override
     public DoubleErrorDataSet remove(int index) {
         return remove(index, index + 1);
@@ -397,6 +458,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
 
             final int clampedToIndex = Math.min(toIndex, getDataCount());
+            invalidateMinMaxPyramid(fromIndex);
             xValues.removeElements(fromIndex, clampedToIndex);
             yValues.removeElements(fromIndex, clampedToIndex);
             yErrorsNeg.removeElements(fromIndex, clampedToIndex);
@@ -404,7 +466,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
 
             // remove old label and style keys
             getDataLabelMap().remove(fromIndex, clampedToIndex);
-            getDataLabelMap().remove(fromIndex, clampedToIndex);
+            getDataStyleMap().remove(fromIndex, clampedToIndex);
 
             // invalidate and recompute ranges
             recomputeLimits(DIM_X);
@@ -545,6 +607,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         lock().writeLockGuard(() -> {
             getDataLabelMap().clear();
             getDataStyleMap().clear();
+            invalidateMinMaxPyramid(0);
             if (copy) {
                 if (this.xValues == null) {
                     this.xValues = new DoubleArrayList();
@@ -625,6 +688,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             yErrorsPos.size(dataCount);
             yErrorsNeg.elements()[index] = yErrorNeg;
             yErrorsPos.elements()[index] = yErrorPos;
+            invalidateMinMaxPyramid(index);
             getDataLabelMap().remove(index);
             getDataStyleMap().remove(index);
 
@@ -644,8 +708,9 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             System.arraycopy(y, 0, yValues.elements(), index, y.length);
             System.arraycopy(yErrorNeg, 0, yErrorsNeg.elements(), index, yErrorNeg.length);
             System.arraycopy(yErrorPos, 0, yErrorsPos.elements(), index, yErrorPos.length);
-            getDataLabelMap().remove(index, index + x.length);
-            getDataStyleMap().remove(index, index + x.length);
+            invalidateMinMaxPyramid(index);
+            getDataLabelMap().clear(index, index + x.length);
+            getDataStyleMap().clear(index, index + x.length);
 
             // invalidate and recompute ranges
             recomputeLimits(DIM_X);
@@ -654,6 +719,12 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         return fireInvalidated(new UpdatedDataEvent(this, "set - via arrays"));
     }
 
+    @Override
+    public DoubleErrorDataSet setMinMaxPyramidEnabled(final boolean state) {
+        lock().writeLockGuard(() -> minMaxPyramid = state ? new MinMaxPyramid(this, DIM_Y) : null);
+        return getThis();
+    }
+
     /**
      * Trims the arrays list so that the capacity is equal to the size.
      *
@@ -1,24 +1,45 @@
 package de.gsi.dataset.spi;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
-import de.gsi.dataset.AxisDescription;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet2D;
 import de.gsi.dataset.DataSetError;
 import de.gsi.dataset.event.AddedDataEvent;
 import de.gsi.dataset.event.RemovedDataEvent;
-import de.gsi.dataset.spi.utils.DoublePointError;
 
 /**
+ * Time-windowed first-in-first-out data set: keeps at most 'capacity' data points and drops those that are older than
+ * 'maxDistance' w.r.t. to the newest x coordinate (e.g. time-stamp).
+ * <p>
+ * The data is stored in primitive ring buffers (struct-of-arrays) and the x/y min/max limits are maintained
+ * incrementally via monotonic deques. Appending a point is thus O(1) (amortised) and expiring the k oldest points is
+ * O(k), without allocating any per-point objects.
+ * <p>
+ * N.B. the x coordinates are assumed to be monotonically increasing (e.g. time-stamps): points are expired starting
+ * from the oldest one. Points with non-finite x coordinates are ignored; non-finite y coordinates are stored but do not
+ * contribute to the axis limits. The y limits include the error bars (i.e. y - yErrorNeg and y + yErrorPos), same as
+ * {@link AbstractErrorDataSet#recomputeLimits(int)}.
+ *
  * @author rstein
  */
 public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         implements DataSet2D, DataSetError {
     private static final long serialVersionUID = -7153702141838930486L;
-    protected LimitedQueue<DataBlob> data;
+    protected final int capacity;
+    protected final double[] xValues;
+    protected final double[] yValues;
+    protected final double[] yErrorsNeg;
+    protected final double[] yErrorsPos;
+    protected final String[] dataTags;
+    protected final String[] dataStyles;
     protected double maxDistance = Double.MAX_VALUE;
+    private final SlidingExtremum xMin;
+    private final SlidingExtremum xMax;
+    private final SlidingExtremum yMin;
+    private final SlidingExtremum yMax;
+    private long firstSequence; // sequence number of the oldest point
+    private long nextSequence; // sequence number of the next point to be added
 
     /**
      * Creates a new instance of <code>FifoDoubleErrorDataSet</code>.
@@ -40,7 +61,7 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
      * @throws IllegalArgumentException if <code>name</code> is <code>null</code>
      */
     public FifoDoubleErrorDataSet(final String name, final int initalSize, final double maxDistance) {
-        super(name, 2, ErrorType.SYMMETRIC, ErrorType.SYMMETRIC);
+        super(name, 2, ErrorType.NO_ERROR, ErrorType.ASYMMETRIC);
         if (initalSize <= 0) {
             throw new IllegalArgumentException("negative or zero initalSize = " + initalSize);
         }
@@ -48,7 +69,17 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
             throw new IllegalArgumentException("negative or zero maxDistance = " + maxDistance);
         }
         this.maxDistance = maxDistance;
-        data = new LimitedQueue<>(initalSize);
+        capacity = initalSize;
+        xValues = new double[initalSize];
+        yValues = new double[initalSize];
+        yErrorsNeg = new double[initalSize];
+        yErrorsPos = new double[initalSize];
+        dataTags = new String[initalSize];
+        dataStyles = new String[initalSize];
+        xMin = new SlidingExtremum(xValues, null, false);
+        xMax = new SlidingExtremum(xValues, null, true);
+        yMin = new SlidingExtremum(yValues, yErrorsNeg, false);
+        yMax = new SlidingExtremum(yValues, yErrorsPos, true);
     }
 
     /**
@@ -56,8 +87,8 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
      *
      * @param x the new x coordinate
      * @param y the new y coordinate
-     * @param yErrorNeg the +dy error
-     * @param yErrorPos the -dy error
+     * @param yErrorNeg the -dy error
+     * @param yErrorPos the +dy error
      * @return itself
      */
     public FifoDoubleErrorDataSet add(final double x, final double y, final double yErrorNeg, final double yErrorPos) {
@@ -69,8 +100,8 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
      *
      * @param x the new x coordinate
      * @param y the new y coordinate
-     * @param yErrorNeg the +dy error
-     * @param yErrorPos the -dy error
+     * @param yErrorNeg the -dy error
+     * @param yErrorPos the +dy error
      * @param tag the data tag
      * @return itself
      */
@@ -84,8 +115,8 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
      *
      * @param x the new x coordinate
      * @param y the new y coordinate
-     * @param yErrorNeg the +dy error
-     * @param yErrorPos the -dy error
+     * @param yErrorNeg the -dy error
+     * @param yErrorPos the +dy error
      * @param tag the data tag
      * @param style the data point style
      * @return itself
@@ -93,12 +124,10 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
     public FifoDoubleErrorDataSet add(final double x, final double y, final double yErrorNeg, final double yErrorPos,
             final String tag, final String style) {
         lock().writeLockGuard(() -> {
-            data.add(new DataBlob(x, y, yErrorNeg, yErrorPos, tag, style));
+            addPoint(x, y, yErrorNeg, yErrorPos, tag, style);
             // remove old fields
-            expire(x);
-
-            recomputeLimits(0);
-            recomputeLimits(1);
+            expireOldest(x);
+            updateLimits();
         });
         fireInvalidated(new AddedDataEvent(this));
 
@@ -113,16 +142,21 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
      *
      * @param xValues the new x coordinates
      * @param yValues the new y coordinates
-     * @param yErrorsNeg the +dy errors
-     * @param yErrorsPos the -dy errors
+     * @param yErrorsNeg the -dy errors
+     * @param yErrorsPos the +dy errors
      * @return itself
      */
     public FifoDoubleErrorDataSet add(final double[] xValues, final double[] yValues, final double[] yErrorsNeg,
             final double[] yErrorsPos) {
         lock().writeLockGuard(() -> {
+            double newest = Double.NaN;
             for (int i = 0; i < xValues.length; i++) {
-                this.add(xValues[i], yValues[i], yErrorsNeg[i], yErrorsPos[i]);
+                if (addPoint(xValues[i], yValues[i], yErrorsNeg[i], yErrorsPos[i], null, null)) {
+                    newest = xValues[i];
+                }
             }
+            expireOldest(newest);
+            updateLimits();
         });
         fireInvalidated(new AddedDataEvent(this));
         return this;
@@ -137,35 +171,9 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
      */
     public int expire(final double now) {
         final int dataPointsToRemove = lock().writeLockGuard(() -> {
-            getAxisDescriptions().forEach(AxisDescription::clear);
-
-            final List<DataBlob> toRemoveList = new ArrayList<>();
-            // for (final DataBlob blob : (LimitedQueue<DataBlob>) data.clone()) {
-            for (final DataBlob blob : data) {
-                final double x = blob.getX();
-                final double y = blob.getX();
-
-                if (Double.isFinite(x) && Double.isFinite(y)) {
-                    if (Math.abs(now - x) > maxDistance) {
-                        // data.remove(blob);
-                        toRemoveList.add(blob);
-                    } else {
-                        getAxisDescription(0).add(x + blob.getErrorX());
-                        getAxisDescription(0).add(x - blob.getErrorX());
-                        getAxisDescription(1).add(y + blob.getErrorY());
-                        getAxisDescription(1).add(y - blob.getErrorY());
-                    }
-                } else {
-                    // data.remove(blob);
-                    toRemoveList.add(blob);
-                }
-            }
-
-            data.removeAll(toRemoveList);
-            recomputeLimits(0);
-            recomputeLimits(1);
-            // computeLimits(); // N.B. already computed above
-            return toRemoveList.size();
+            final int nRemoved = expireOldest(now);
+            updateLimits();
+            return nRemoved;
         });
         if (dataPointsToRemove != 0) {
             fireInvalidated(new RemovedDataEvent(this, "expired data"));
@@ -173,24 +181,56 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
         return dataPointsToRemove;
     }
 
+    @Override
+    public final double get(final int dimIndex, final int index) {
+        return dimIndex == DataSet.DIM_X ? xValues[slot(index)] : yValues[slot(index)];
+    }
+
+    /**
+     * @return maximum number of data points kept in this data set
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
     @Override
     public int getDataCount(final int dimIndex) {
-        return data.size();
+        return (int) (nextSequence - firstSequence);
     }
 
     @Override
     public String getDataLabel(final int index) {
-        return data.get(index).getDataLabel();
+        return dataTags[slot(index)];
     }
 
     @Override
     public double getErrorNegative(final int dimIndex, final int index) {
-        return dimIndex == DIM_X ? data.get(index).getErrorX() : data.get(index).getErrorY();
+        return dimIndex == DIM_X ? 0.0 : yErrorsNeg[slot(index)];
     }
 
     @Override
     public double getErrorPositive(final int dimIndex, final int index) {
-        return dimIndex == DIM_X ? data.get(index).getErrorX() : data.get(index).getErrorY();
+        return dimIndex == DIM_X ? 0.0 : yErrorsPos[slot(index)];
+    }
+
+    @Override
+    public double[] getErrorsNegative(final int dimIndex, final int fromIndex, final double[] target,
+            final int targetOffset, final int length) {
+        if (dimIndex == DIM_X) {
+            Arrays.fill(target, targetOffset, targetOffset + length, 0.0);
+            return target;
+        }
+        return copyRing(yErrorsNeg, fromIndex, target, targetOffset, length);
+    }
+
+    @Override
+    public double[] getErrorsPositive(final int dimIndex, final int fromIndex, final double[] target,
+            final int targetOffset, final int length) {
+        if (dimIndex == DIM_X) {
+            Arrays.fill(target, targetOffset, targetOffset + length, 0.0);
+            return target;
+        }
+        return copyRing(yErrorsPos, fromIndex, target, targetOffset, length);
     }
 
     /**
@@ -202,19 +242,30 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
 
     @Override
     public String getStyle(final int index) {
-        return data.get(index).getStyle();
+        return dataStyles[slot(index)];
     }
 
     @Override
-    public final double get(final int dimIndex, final int index) {
-        return dimIndex == DataSet.DIM_X ? data.get(index).getX() : data.get(index).getY();
+    public double[] getValues(final int dimIndex, final int fromIndex, final double[] target, final int targetOffset,
+            final int length) {
+        return copyRing(dimIndex == DIM_X ? xValues : yValues, fromIndex, target, targetOffset, length);
     }
 
     /**
      * remove all data points
      */
     public void reset() {
-        data.clear();
+        lock().writeLockGuard(() -> {
+            // release references
+            Arrays.fill(dataTags, null);
+            Arrays.fill(dataStyles, null);
+            firstSequence = nextSequence;
+            xMin.clear();
+            xMax.clear();
+            yMin.clear();
+            yMax.clear();
+            updateLimits();
+        });
         fireInvalidated(new RemovedDataEvent(this, "reset"));
     }
 
@@ -225,55 +276,150 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
         this.maxDistance = maxDistance;
     }
 
-    protected class DataBlob extends DoublePointError {
-        protected String style;
-        protected String tag;
-
-        protected DataBlob(final double x, final double y, final double errorX, final double errorY) {
-            this(x, y, errorX, errorY, null, null);
+    /**
+     * appends a point, drops the oldest one if the capacity is exceeded (N.B. needs write lock)
+     *
+     * @return false if the point has been ignored due to a non-finite x coordinate
+     */
+    private boolean addPoint(final double x, final double y, final double yErrorNeg, final double yErrorPos,
+            final String tag, final String style) {
+        if (!Double.isFinite(x)) {
+            return false;
         }
-
-        protected DataBlob(final double x, final double y, final double errorX, final double errorY, final String tag,
-                final String style) {
-            super(x, y, errorX, errorY);
-            this.tag = tag;
-            this.style = style;
+        if (nextSequence - firstSequence == capacity) {
+            removeOldest();
+        }
+        final long sequence = nextSequence++;
+        final int slot = (int) (sequence % capacity);
+        xValues[slot] = x;
+        yValues[slot] = y;
+        yErrorsNeg[slot] = yErrorNeg;
+        yErrorsPos[slot] = yErrorPos;
+        dataTags[slot] = tag;
+        dataStyles[slot] = style;
+        xMin.push(sequence);
+        xMax.push(sequence);
+        if (Double.isFinite(y - yErrorNeg)) {
+            yMin.push(sequence);
         }
+        if (Double.isFinite(y + yErrorPos)) {
+            yMax.push(sequence);
+        }
+        return true;
+    }
 
-        public String getDataLabel() {
-            return tag;
+    private double[] copyRing(final double[] ring, final int fromIndex, final double[] target, final int targetOffset,
+            final int length) {
+        final int start = slot(fromIndex);
+        final int firstLength = Math.min(length, capacity - start);
+        System.arraycopy(ring, start, target, targetOffset, firstLength);
+        System.arraycopy(ring, 0, target, targetOffset + firstLength, length - firstLength);
+        return target;
+    }
+
+    /**
+     * removes the oldest points that are further than maxDistance away from 'now' (N.B. needs write lock)
+     *
+     * @return number of removed points
+     */
+    private int expireOldest(final double now) {
+        if (!Double.isFinite(now)) {
+            return 0;
         }
+        int nRemoved = 0;
+        while (nextSequence > firstSequence && Math.abs(now - xValues[slot(0)]) > maxDistance) {
+            removeOldest();
+            nRemoved++;
+        }
+        return nRemoved;
+    }
+
+    private void removeOldest() {
+        final long sequence = firstSequence++;
+        final int slot = (int) (sequence % capacity);
+        dataTags[slot] = null;
+        dataStyles[slot] = null;
+        xMin.evict(sequence);
+        xMax.evict(sequence);
+        yMin.evict(sequence);
+        yMax.evict(sequence);
+    }
+
+    private int slot(final int index) {
+        return (int) ((firstSequence + index) % capacity);
+    }
 
-        public String getStyle() {
-            return style;
+    private void updateLimits() {
+        if (xMin.isEmpty()) {
+            getAxisDescription(DIM_X).clear();
+        } else {
+            getAxisDescription(DIM_X).set(xMin.get(), xMax.get());
+        }
+        if (yMin.isEmpty()) {
+            getAxisDescription(DIM_Y).clear();
+        } else {
+            getAxisDescription(DIM_Y).set(yMin.get(), yMax.get());
         }
     }
 
     /**
-     * @author rstein
-     * @param <E> generics template reference
+     * monotonic deque of point sequence numbers yielding the minimum (maximum) of the values minus (plus) their errors
+     * within the sliding window in O(1), each point is pushed and evicted at most once
      */
-    public class LimitedQueue<E> extends ArrayList<E> {
-        private static final long serialVersionUID = -5751322669709687363L;
-        private final int limit;
-
-        /**
-         * @param limit size of queue
-         */
-        public LimitedQueue(final int limit) {
-            this.limit = limit;
-            if (limit < 1) {
-                throw new IllegalArgumentException("Queue limit must be greater than 0");
+    private class SlidingExtremum {
+        private final double[] values;
+        private final double[] errors; // may be null
+        private final boolean isMax;
+        private final long[] deque = new long[capacity];
+        private int head; // index of the oldest entry
+        private int size;
+
+        private SlidingExtremum(final double[] values, final double[] errors, final boolean isMax) {
+            this.values = values;
+            this.errors = errors;
+            this.isMax = isMax;
+        }
+
+        private void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        private void evict(final long sequence) {
+            if (size > 0 && deque[head] == sequence) {
+                head = (head + 1) % capacity;
+                size--;
+            }
+        }
+
+        private double get() {
+            return value(deque[head]);
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void push(final long sequence) {
+            final double value = value(sequence);
+            // drop entries that can no longer become the extremum
+            while (size > 0) {
+                final double last = value(deque[(head + size - 1) % capacity]);
+                if (isMax ? last > value : last < value) {
+                    break;
+                }
+                size--;
             }
+            deque[(head + size) % capacity] = sequence;
+            size++;
         }
 
-        @Override
-        public boolean add(final E o) {
-            final boolean r = super.add(o);
-            if (size() > limit) {
-                super.remove(0);
+        private double value(final long sequence) {
+            final int slot = (int) (sequence % capacity);
+            if (errors == null) {
+                return values[slot];
             }
-            return r;
+            return isMax ? values[slot] + errors[slot] : values[slot] - errors[slot];
         }
     }
 }
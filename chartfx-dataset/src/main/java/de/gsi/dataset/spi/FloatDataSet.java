@@ -213,8 +213,8 @@ public class FloatDataSet extends AbstractDataSet<FloatDataSet> implements Edita
                 getAxisDescription(1).add(y[i]);
             }
 
-            getDataLabelMap().shiftKeys(indexAt, xValues.size());
-            getDataStyleMap().shiftKeys(indexAt, xValues.size());
+            getDataLabelMap().shiftKeys(indexAt, xValues.size(), min);
+            getDataStyleMap().shiftKeys(indexAt, xValues.size(), min);
         });
         return fireInvalidated(new AddedDataEvent(this));
     }
@@ -254,6 +254,16 @@ public class FloatDataSet extends AbstractDataSet<FloatDataSet> implements Edita
         return Math.min(xValues.size(), yValues.size());
     }
 
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final double[] target, final int targetOffset,
+            final int length) {
+        final float[] values = dimIndex == DIM_X ? xValues.elements() : yValues.elements();
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] = values[fromIndex + i];
+        }
+        return target;
+    }
+
     public float[] getXFloatValues() {
         return xValues.elements();
     }
@@ -314,7 +324,7 @@ public class FloatDataSet extends AbstractDataSet<FloatDataSet> implements Edita
 
             // remove old label and style keys
             getDataLabelMap().remove(fromIndex, clampedToIndex);
-            getDataLabelMap().remove(fromIndex, clampedToIndex);
+            getDataStyleMap().remove(fromIndex, clampedToIndex);
 
             // invalidate ranges
             // -> fireInvalidated calls computeLimits for autoNotification
@@ -484,8 +494,8 @@ public class FloatDataSet extends AbstractDataSet<FloatDataSet> implements Edita
             resize(Math.max(index + x.length, xValues.size()));
             System.arraycopy(toFloats(x), 0, xValues.elements(), index, x.length);
             System.arraycopy(toFloats(y), 0, yValues.elements(), index, y.length);
-            getDataLabelMap().remove(index, index + x.length);
-            getDataStyleMap().remove(index, index + x.length);
+            getDataLabelMap().clear(index, index + x.length);
+            getDataStyleMap().clear(index, index + x.length);
 
             // invalidate and recompute ranges
             recomputeLimits(DIM_X);
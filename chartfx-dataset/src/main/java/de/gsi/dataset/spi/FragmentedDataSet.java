@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 
+import de.gsi.dataset.AxisDescription;
 import de.gsi.dataset.DataSet;
 import de.gsi.dataset.DataSet2D;
 import de.gsi.dataset.event.AddedDataEvent;
@@ -93,6 +94,26 @@ public class FragmentedDataSet extends AbstractDataSet<FragmentedDataSet> implem
         return list;
     }
 
+    /**
+     * re-computes the limits as union of the sub-dataset limits, i.e. O(number of sub-datasets) rather than O(number
+     * of data points)
+     */
+    @Override
+    public FragmentedDataSet recomputeLimits(final int dimension) {
+        lock().writeLockGuard(() -> {
+            final AxisDescription range = getAxisDescription(dimension);
+            range.clear();
+            for (final DataSet dataset : list) {
+                final AxisDescription fragmentRange = dataset.getAxisDescription(dimension);
+                if (fragmentRange.isDefined()) {
+                    range.add(fragmentRange.getMin());
+                    range.add(fragmentRange.getMax());
+                }
+            }
+        });
+        return getThis();
+    }
+
     @Override
     public String getStyle(int i) {
         for (final DataSet dataset : list) {
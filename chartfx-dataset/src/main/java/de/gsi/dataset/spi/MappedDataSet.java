@@ -0,0 +1,506 @@
+package de.gsi.dataset.spi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import de.gsi.dataset.AxisDescription;
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.utils.ArrayCache;
+
+/**
+ * Read-only <code>DataSet</code> backed by a memory-mapped, column-oriented binary file.
+ * <p>
+ * Opening a file only parses the (small) header and maps the columns into the address space. The data itself is paged
+ * in lazily by the operating system on first access, thus opening is independent of the file size and only the index
+ * ranges that are actually being accessed (e.g. the visible x-range when rendering) are read from disk. The axis
+ * limits are stored in the header so that no full scan is required to auto-range the axes.
+ * <p>
+ * File layout (little-endian):
+ *
+ * <pre>
+ * int     magic ('CFXM')
+ * int     format version
+ * int     dimension n
+ * int     header size in bytes (= offset of first column, multiple of 8)
+ * n x     [int data count, int error type ordinal, double min, double max]
+ * string  data set name, followed by n x [string axis name, string axis unit] (int byte-length + UTF-8 bytes)
+ * ...     padding to header size
+ * n x     value column (data count doubles)
+ * n x     error columns: none (NO_ERROR), one (SYMMETRIC) or negative followed by positive (ASYMMETRIC) column
+ * </pre>
+ *
+ * usage example:
+ *
+ * <pre>
+ * MappedDataSet.write(dataSet, path);
+ * final DataSet mapped = new MappedDataSet(path);
+ * </pre>
+ *
+ * @author rstein
+ */
+public class MappedDataSet extends AbstractErrorDataSet<MappedDataSet> {
+    private static final long serialVersionUID = 7843307366286937402L;
+    private static final String CLASS_NAME = MappedDataSet.class.getSimpleName();
+    /** 'CFXM' */
+    public static final int MAGIC = 0x4346584D;
+    public static final int VERSION = 1;
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final int CHUNK_SHIFT = 27; // 2^27 doubles = 1 GiB per mapped region
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int WRITE_BLOCK_SIZE = 1 << 16; // in doubles
+    private static final int NO_COLUMN = -1;
+    private final int[] dataCount;
+    private final int[] errorNegColumn;
+    private final int[] errorPosColumn;
+    private final transient DoubleBuffer[][] columns; // [column][chunk]
+
+    /**
+     * Opens a data set file previously written by {@link #write(DataSet, Path)}.
+     *
+     * @param file path of the file to be mapped
+     * @throws IOException in case the file cannot be opened or is not a valid data set file
+     */
+    public MappedDataSet(final Path file) throws IOException {
+        this(file, readHeader(file));
+    }
+
+    private MappedDataSet(final Path file, final Header header) throws IOException {
+        super(header.name, header.dimension, header.errorTypes);
+        final int nDims = header.dimension;
+        dataCount = header.dataCount;
+        errorNegColumn = new int[nDims];
+        errorPosColumn = new int[nDims];
+
+        int nColumns = nDims;
+        for (int dimIndex = 0; dimIndex < nDims; dimIndex++) {
+            final AxisDescription axis = getAxisDescription(dimIndex);
+            if (header.min[dimIndex] <= header.max[dimIndex]) {
+                axis.set(header.axisName[dimIndex], header.axisUnit[dimIndex], header.min[dimIndex],
+                        header.max[dimIndex]);
+            } else {
+                axis.set(header.axisName[dimIndex], header.axisUnit[dimIndex]);
+            }
+            switch (getErrorType(dimIndex)) {
+            case ASYMMETRIC:
+                errorNegColumn[dimIndex] = nColumns++;
+                errorPosColumn[dimIndex] = nColumns++;
+                break;
+            case SYMMETRIC:
+                errorNegColumn[dimIndex] = nColumns;
+                errorPosColumn[dimIndex] = nColumns++;
+                break;
+            case NO_ERROR:
+            default:
+                errorNegColumn[dimIndex] = NO_COLUMN;
+                errorPosColumn[dimIndex] = NO_COLUMN;
+                break;
+            }
+        }
+
+        columns = new DoubleBuffer[nColumns][];
+        // N.B. the mapping remains valid after the channel has been closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = header.headerSize;
+            for (int column = 0; column < nColumns; column++) {
+                fileSize += (long) dataCount[getColumnDimension(column)] * Double.BYTES;
+            }
+            if (fileSize > channel.size()) {
+                throw new IOException("file '" + file + "' is truncated: expected " + fileSize + " bytes but has "
+                                      + channel.size());
+            }
+            long offset = header.headerSize;
+            for (int column = 0; column < nColumns; column++) {
+                offset = mapColumn(channel, column, offset, dataCount[getColumnDimension(column)]);
+            }
+        }
+    }
+
+    @Override
+    public double get(final int dimIndex, final int index) {
+        return getColumnValue(dimIndex, index);
+    }
+
+    @Override
+    public int getDataCount(final int dimIndex) {
+        return dataCount[dimIndex];
+    }
+
+    @Override
+    public double getErrorNegative(final int dimIndex, final int index) {
+        final int column = errorNegColumn[dimIndex];
+        return column == NO_COLUMN ? 0.0 : getColumnValue(column, index);
+    }
+
+    @Override
+    public double getErrorPositive(final int dimIndex, final int index) {
+        final int column = errorPosColumn[dimIndex];
+        return column == NO_COLUMN ? 0.0 : getColumnValue(column, index);
+    }
+
+    @Override
+    public double[] getErrorsNegative(final int dimIndex, final int fromIndex, final double[] target,
+            final int targetOffset, final int length) {
+        return copyColumn(errorNegColumn[dimIndex], fromIndex, target, targetOffset, length);
+    }
+
+    @Override
+    public double[] getErrorsPositive(final int dimIndex, final int fromIndex, final double[] target,
+            final int targetOffset, final int length) {
+        return copyColumn(errorPosColumn[dimIndex], fromIndex, target, targetOffset, length);
+    }
+
+    @Override
+    public double getValue(final int dimIndex, final double x) {
+        if (getDataCount(DIM_X) == 0) {
+            return Double.NaN;
+        }
+        final int index1 = getIndex(DIM_X, x);
+        final double x1 = get(DIM_X, index1);
+        final double y1 = get(dimIndex, index1);
+        int index2 = x1 < x ? index1 + 1 : index1 - 1;
+        index2 = Math.max(0, Math.min(index2, getDataCount(DIM_X) - 1));
+        final double y2 = get(dimIndex, index2);
+        if (Double.isNaN(y1) || Double.isNaN(y2)) {
+            // case where the function has a gap (y-coordinate equals to NaN
+            return Double.NaN;
+        }
+
+        final double x2 = get(DIM_X, index2);
+        if (x1 == x2) {
+            return y1;
+        }
+
+        return y1 + (((y2 - y1) * (x - x1)) / (x2 - x1));
+    }
+
+    @Override
+    public double[] getValues(final int dimIndex, final int fromIndex, final double[] target, final int targetOffset,
+            final int length) {
+        return copyColumn(dimIndex, fromIndex, target, targetOffset, length);
+    }
+
+    @Override
+    public DoubleBuffer getValuesView(final int dimIndex) {
+        final DoubleBuffer[] chunks = columns[dimIndex];
+        if (chunks.length == 1) {
+            return chunks[0].asReadOnlyBuffer();
+        }
+        return super.getValuesView(dimIndex);
+    }
+
+    private double[] copyColumn(final int column, final int fromIndex, final double[] target, final int targetOffset,
+            final int length) {
+        if (column == NO_COLUMN) {
+            for (int i = 0; i < length; i++) {
+                target[targetOffset + i] = 0.0;
+            }
+            return target;
+        }
+        int index = fromIndex;
+        int offset = targetOffset;
+        int remaining = length;
+        while (remaining > 0) {
+            final DoubleBuffer chunk = columns[column][index >>> CHUNK_SHIFT].duplicate();
+            final int position = index & CHUNK_MASK;
+            final int n = Math.min(remaining, chunk.limit() - position);
+            chunk.position(position);
+            chunk.get(target, offset, n);
+            index += n;
+            offset += n;
+            remaining -= n;
+        }
+        return target;
+    }
+
+    private int getColumnDimension(final int column) {
+        if (column < getDimension()) {
+            return column;
+        }
+        for (int dimIndex = 0; dimIndex < getDimension(); dimIndex++) {
+            if (errorNegColumn[dimIndex] == column || errorPosColumn[dimIndex] == column) {
+                return dimIndex;
+            }
+        }
+        throw new IllegalStateException("no dimension for column " + column);
+    }
+
+    private double getColumnValue(final int column, final int index) {
+        return columns[column][index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    private long mapColumn(final FileChannel channel, final int column, final long offset, final int length)
+            throws IOException {
+        final int nChunks = Math.max(1, (length + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+        columns[column] = new DoubleBuffer[nChunks];
+        long position = offset;
+        for (int chunk = 0; chunk < nChunks; chunk++) {
+            final int chunkLength = Math.min(CHUNK_SIZE, length - chunk * CHUNK_SIZE);
+            final long nBytes = (long) chunkLength * Double.BYTES;
+            columns[column][chunk] = channel.map(FileChannel.MapMode.READ_ONLY, position, nBytes).order(BYTE_ORDER)
+                                             .asDoubleBuffer();
+            position += nBytes;
+        }
+        return position;
+    }
+
+    /**
+     * Writes the given data set in the column-oriented binary format that can be mapped by
+     * {@link #MappedDataSet(Path)}. The data is streamed in blocks and thus does not need to fit into a single array.
+     *
+     * @param dataSet the data set to be written (N.B. read lock is held while writing)
+     * @param file destination (will be overwritten if existing)
+     * @throws IOException in case of I/O errors
+     */
+    public static void write(final DataSet dataSet, final Path file) throws IOException {
+        if (dataSet == null) {
+            throw new IllegalArgumentException("dataSet must not be null");
+        }
+        if (file == null) {
+            throw new IllegalArgumentException("file must not be null");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            final IOException[] exception = new IOException[1];
+            dataSet.lock().readLockGuard(() -> {
+                try {
+                    writeLocked(dataSet, channel);
+                } catch (final IOException e) {
+                    exception[0] = e;
+                }
+            });
+            if (exception[0] != null) {
+                throw exception[0];
+            }
+        }
+    }
+
+    private static ByteBuffer encodeHeader(final DataSet dataSet, final ErrorType[] errorTypes, final double[] min,
+            final double[] max) {
+        final int nDims = dataSet.getDimension();
+        final byte[][] strings = new byte[2 * nDims + 1][];
+        strings[0] = toBytes(dataSet.getName());
+        int stringBytes = Integer.BYTES + strings[0].length;
+        for (int dimIndex = 0; dimIndex < nDims; dimIndex++) {
+            final AxisDescription axis = dataSet.getAxisDescription(dimIndex);
+            strings[2 * dimIndex + 1] = toBytes(axis.getName());
+            strings[2 * dimIndex + 2] = toBytes(axis.getUnit());
+            stringBytes += 2 * Integer.BYTES + strings[2 * dimIndex + 1].length + strings[2 * dimIndex + 2].length;
+        }
+        final int headerSize = align(4 * Integer.BYTES + nDims * (2 * Integer.BYTES + 2 * Double.BYTES) + stringBytes);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(headerSize).order(BYTE_ORDER);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(nDims).putInt(headerSize);
+        for (int dimIndex = 0; dimIndex < nDims; dimIndex++) {
+            buffer.putInt(dataSet.getDataCount(dimIndex)).putInt(errorTypes[dimIndex].ordinal());
+            buffer.putDouble(min[dimIndex]).putDouble(max[dimIndex]);
+        }
+        for (final byte[] string : strings) {
+            buffer.putInt(string.length).put(string);
+        }
+        buffer.position(0);
+        return buffer;
+    }
+
+    private static int align(final int nBytes) {
+        return (nBytes + Double.BYTES - 1) & -Double.BYTES;
+    }
+
+    private static String readString(final ByteBuffer buffer) throws IOException {
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("corrupt header string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Header readHeader(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer preamble = ByteBuffer.allocate(4 * Integer.BYTES).order(BYTE_ORDER);
+            readFully(channel, preamble, 0);
+            if (preamble.getInt() != MAGIC) {
+                throw new IOException("file '" + file + "' is not a " + CLASS_NAME + " file");
+            }
+            final int version = preamble.getInt();
+            if (version != VERSION) {
+                throw new IOException("unsupported " + CLASS_NAME + " version " + version + " in '" + file + "'");
+            }
+            final int dimension = preamble.getInt();
+            final int headerSize = preamble.getInt();
+            if (headerSize < preamble.capacity() || headerSize > channel.size() || dimension <= 0
+                    || dimension > headerSize / (2 * Integer.BYTES + 2 * Double.BYTES)) {
+                throw new IOException("corrupt header (dimension = " + dimension + ", size = " + headerSize + ") in '"
+                                      + file + "'");
+            }
+            final Header header = new Header(dimension);
+            header.headerSize = headerSize;
+
+            final ByteBuffer buffer = ByteBuffer.allocate(header.headerSize - preamble.capacity()).order(BYTE_ORDER);
+            readFully(channel, buffer, preamble.capacity());
+            final ErrorType[] types = ErrorType.values();
+            for (int dimIndex = 0; dimIndex < header.dimension; dimIndex++) {
+                header.dataCount[dimIndex] = buffer.getInt();
+                if (header.dataCount[dimIndex] < 0) {
+                    throw new IOException("corrupt data count " + header.dataCount[dimIndex] + " in '" + file + "'");
+                }
+                header.errorTypes[dimIndex] = types[buffer.getInt()];
+                header.min[dimIndex] = buffer.getDouble();
+                header.max[dimIndex] = buffer.getDouble();
+            }
+            header.name = readString(buffer);
+            for (int dimIndex = 0; dimIndex < header.dimension; dimIndex++) {
+                header.axisName[dimIndex] = readString(buffer);
+                header.axisUnit[dimIndex] = readString(buffer);
+            }
+            return header;
+        } catch (final RuntimeException e) { // NOPMD - mapped to checked exception
+            throw new IOException("corrupt header in '" + file + "'", e);
+        }
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+            throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            final int n = channel.read(buffer, pos);
+            if (n < 0) {
+                throw new IOException("unexpected end of file");
+            }
+            pos += n;
+        }
+        buffer.flip();
+    }
+
+    private static byte[] toBytes(final String string) {
+        return string == null ? new byte[0] : string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+            throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            pos += channel.write(buffer, pos);
+        }
+    }
+
+    private static void writeLocked(final DataSet dataSet, final FileChannel channel) throws IOException {
+        final int nDims = dataSet.getDimension();
+        final DataSetError errorDataSet = dataSet instanceof DataSetError ? (DataSetError) dataSet : null;
+        final ErrorType[] errorTypes = new ErrorType[nDims];
+        final double[] min = new double[nDims];
+        final double[] max = new double[nDims];
+        for (int dimIndex = 0; dimIndex < nDims; dimIndex++) {
+            errorTypes[dimIndex] = errorDataSet == null ? ErrorType.NO_ERROR : errorDataSet.getErrorType(dimIndex);
+        }
+        final ByteBuffer header = encodeHeader(dataSet, errorTypes, min, max);
+
+        // column offsets: first all value columns, followed by the error columns
+        final long[] valueOffset = new long[nDims];
+        final long[] errorNegOffset = new long[nDims];
+        final long[] errorPosOffset = new long[nDims];
+        long offset = header.capacity();
+        for (int dimIndex = 0; dimIndex < nDims; dimIndex++) {
+            valueOffset[dimIndex] = offset;
+            offset += (long) dataSet.getDataCount(dimIndex) * Double.BYTES;
+        }
+        for (int dimIndex = 0; dimIndex < nDims; dimIndex++) {
+            final long nBytes = (long) dataSet.getDataCount(dimIndex) * Double.BYTES;
+            errorNegOffset[dimIndex] = offset;
+            errorPosOffset[dimIndex] = offset;
+            if (errorTypes[dimIndex] == ErrorType.ASYMMETRIC) {
+                errorPosOffset[dimIndex] += nBytes;
+                offset += 2 * nBytes;
+            } else if (errorTypes[dimIndex] == ErrorType.SYMMETRIC) {
+                offset += nBytes;
+            }
+        }
+
+        final double[] values = ArrayCache.getCachedDoubleArray(CLASS_NAME + ":values", WRITE_BLOCK_SIZE);
+        final double[] errorNeg = ArrayCache.getCachedDoubleArray(CLASS_NAME + ":errorNeg", WRITE_BLOCK_SIZE);
+        final double[] errorPos = ArrayCache.getCachedDoubleArray(CLASS_NAME + ":errorPos", WRITE_BLOCK_SIZE);
+        final ByteBuffer block = ByteBuffer.allocateDirect(WRITE_BLOCK_SIZE * Double.BYTES).order(BYTE_ORDER);
+        final DoubleBuffer blockDoubles = block.asDoubleBuffer();
+        try {
+            for (int dimIndex = 0; dimIndex < nDims; dimIndex++) {
+                final int nData = dataSet.getDataCount(dimIndex);
+                final ErrorType errorType = errorTypes[dimIndex];
+                double dimMin = Double.POSITIVE_INFINITY;
+                double dimMax = Double.NEGATIVE_INFINITY;
+                for (int from = 0; from < nData; from += WRITE_BLOCK_SIZE) {
+                    final int length = Math.min(WRITE_BLOCK_SIZE, nData - from);
+                    final long byteOffset = (long) from * Double.BYTES;
+                    dataSet.getValues(dimIndex, from, values, 0, length);
+                    writeBlock(channel, block, blockDoubles, values, length, valueOffset[dimIndex] + byteOffset);
+                    if (errorType == ErrorType.NO_ERROR) {
+                        for (int i = 0; i < length; i++) {
+                            dimMin = Math.min(dimMin, values[i]);
+                            dimMax = Math.max(dimMax, values[i]);
+                        }
+                        continue;
+                    }
+                    errorDataSet.getErrorsPositive(dimIndex, from, errorPos, 0, length);
+                    writeBlock(channel, block, blockDoubles, errorPos, length, errorPosOffset[dimIndex] + byteOffset);
+                    if (errorType == ErrorType.ASYMMETRIC) {
+                        errorDataSet.getErrorsNegative(dimIndex, from, errorNeg, 0, length);
+                        writeBlock(channel, block, blockDoubles, errorNeg, length,
+                                errorNegOffset[dimIndex] + byteOffset);
+                    } else {
+                        System.arraycopy(errorPos, 0, errorNeg, 0, length);
+                    }
+                    for (int i = 0; i < length; i++) {
+                        dimMin = Math.min(dimMin, values[i] - errorNeg[i]);
+                        dimMax = Math.max(dimMax, values[i] + errorPos[i]);
+                    }
+                }
+                min[dimIndex] = dimMin;
+                max[dimIndex] = dimMax;
+            }
+        } finally {
+            ArrayCache.release(CLASS_NAME + ":values", values);
+            ArrayCache.release(CLASS_NAME + ":errorNeg", errorNeg);
+            ArrayCache.release(CLASS_NAME + ":errorPos", errorPos);
+        }
+
+        // header is written last since it contains the limits
+        writeFully(channel, encodeHeader(dataSet, errorTypes, min, max), 0);
+    }
+
+    private static void writeBlock(final FileChannel channel, final ByteBuffer block, final DoubleBuffer blockDoubles,
+            final double[] data, final int length, final long position) throws IOException {
+        blockDoubles.clear();
+        blockDoubles.put(data, 0, length);
+        block.clear().limit(length * Double.BYTES);
+        writeFully(channel, block, position);
+    }
+
+    private static class Header {
+        private final int dimension;
+        private final int[] dataCount;
+        private final ErrorType[] errorTypes;
+        private final double[] min;
+        private final double[] max;
+        private final String[] axisName;
+        private final String[] axisUnit;
+        private int headerSize;
+        private String name;
+
+        private Header(final int dimension) {
+            this.dimension = dimension;
+            dataCount = new int[dimension];
+            errorTypes = new ErrorType[dimension];
+            min = new double[dimension];
+            max = new double[dimension];
+            axisName = new String[dimension];
+            axisUnit = new String[dimension];
+        }
+    }
+}
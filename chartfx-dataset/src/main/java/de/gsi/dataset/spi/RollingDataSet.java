@@ -113,6 +113,7 @@ public class RollingDataSet extends FragmentedDataSet {
                 for (int i = 0; i < xValues.size(); i++) {
                     this.getXValues()[i] += value;
                 }
+                recomputeLimits(DIM_X);
             });
             fireInvalidated(new UpdatedDataEvent(this));
         }
@@ -1,67 +1,372 @@
 package de.gsi.dataset.spi.utils;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
-public class StringHashMapList extends ConcurrentHashMap<Integer, String> {
-    private static final long serialVersionUID = 4588196035279167053L;
-    private static final long PARALLELISM_THRESHOLD = 1000;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * Compact index-to-string map used for per-point data labels and styles.
+ * <p>
+ * Rather than boxing every index and storing a String reference per entry, the strings are dictionary-encoded: each
+ * distinct string is stored (and thus interned) once and the indices map to an {@code int} code via a gap buffer.
+ * Inserting or removing keys at a given index ({@link #shiftKeys}, {@link #remove(int, int)}) moves only the gap, i.e.
+ * repeated insertions/removals at or near the same position (notably appends and removals from the front) are O(1)
+ * amortised. Identical strings share the same instance and code, e.g. renderers may group points by code or reference
+ * rather than comparing strings.
+ * <p>
+ * N.B. not synchronised: modifications should be performed while holding the data set's write lock and reads while
+ * holding its (full) read lock. The gap buffer and dictionary codes are modified in place, i.e. optimistic readers
+ * (e.g. {@code DataSetLock#readLockGuardOptimistic}) running concurrently with a writer may obtain wrong values.
+ *
+ * @author rstein
+ */
+public class StringHashMapList extends AbstractMap<Integer, String> implements Serializable {
+    private static final long serialVersionUID = -2358170235519405406L;
+    /** code of indices without value */
+    public static final int NO_VALUE = -1;
+    private static final int MIN_CAPACITY = 16;
+    private final Object2IntOpenHashMap<String> dictionaryIndex = new Object2IntOpenHashMap<>();
+    private String[] dictionary = new String[MIN_CAPACITY];
+    private int dictionarySize;
+    private int[] codes = new int[0]; // gap buffer of dictionary codes
+    private int gapStart; // first physical gap index
+    private int gapEnd; // first physical index after the gap
+    private int length; // logical length, i.e. highest key + 1 (or more)
+    private int nValues; // number of indices with values
+    private transient Set<Entry<Integer, String>> entrySet;
+
+    /**
+     * Creates an empty map
+     */
+    public StringHashMapList() {
+        super();
+        dictionaryIndex.defaultReturnValue(NO_VALUE);
+    }
 
     /**
-     * shift elements all keys from starting index until the last toIndex.
+     * shift elements all keys from starting index until the last toIndex and adds the new label at fromIndex.
      *
      * @param fromIndex the start index (inclusive).
      * @param toIndex the end index (exclusive).
      * @param label label to be added
      */
     public void addValueAndShiftKeys(final int fromIndex, final int toIndex, final String label) {
-        for (int i = toIndex; i >= fromIndex; i--) {
-            final String oldData = remove(i);
-            if (oldData != null) {
-                put(i + 1, oldData);
-            }
-        }
+        shiftKeys(fromIndex, toIndex);
         if (label != null && !label.isEmpty()) {
             put(fromIndex, label);
         }
     }
 
+    @Override
+    public void clear() {
+        Arrays.fill(dictionary, 0, dictionarySize, null);
+        dictionarySize = 0;
+        dictionaryIndex.clear();
+        codes = new int[0];
+        gapStart = 0;
+        gapEnd = 0;
+        length = 0;
+        nValues = 0;
+    }
+
+    /**
+     * Clears the values of the given range without shifting the remaining keys.
+     *
+     * @param fromIndex the start index (inclusive).
+     * @param toIndex the end index (exclusive).
+     */
+    public void clear(final int fromIndex, final int toIndex) {
+        for (int index = Math.max(0, fromIndex); index < Math.min(toIndex, length); index++) {
+            setCode(index, NO_VALUE);
+        }
+        compactDictionary();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof Integer && getCode((Integer) key) != NO_VALUE;
+    }
+
+    @Override
+    public Set<Entry<Integer, String>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public String get(final Object key) {
+        return key instanceof Integer ? getValue(getCode((Integer) key)) : null;
+    }
+
+    /**
+     * @param index data point index
+     * @return dictionary code of the value at the given index or {@link #NO_VALUE}
+     */
+    public int getCode(final int index) {
+        // N.B. local copy and bounds check: does not throw even if (erroneously) called concurrently with a writer
+        final int[] localCodes = codes;
+        final int physical = index < gapStart ? index : index + gapEnd - gapStart;
+        if (index < 0 || index >= length || physical >= localCodes.length) {
+            return NO_VALUE;
+        }
+        return localCodes[physical];
+    }
+
+    /**
+     * @return number of distinct (dictionary-encoded) values
+     */
+    public int getDictionarySize() {
+        return dictionarySize;
+    }
+
     /**
-     * Removes elements of this list using optimised system calls.
+     * @param code dictionary code as returned by {@link #getCode(int)}
+     * @return value for the given code or {@code null} for {@link #NO_VALUE}
+     */
+    public String getValue(final int code) {
+        final String[] localDictionary = dictionary;
+        return code < 0 || code >= localDictionary.length ? null : localDictionary[code];
+    }
+
+    @Override
+    public String put(final Integer key, final String value) {
+        final String oldValue = getValue(setCode(key, encode(value)));
+        compactDictionary();
+        return oldValue;
+    }
+
+    @Override
+    public String remove(final Object key) {
+        if (!(key instanceof Integer)) {
+            return null;
+        }
+        final int index = (Integer) key;
+        if (index < 0 || index >= length) {
+            return null;
+        }
+        final String oldValue = getValue(setCode(index, NO_VALUE));
+        compactDictionary();
+        return oldValue;
+    }
+
+    /**
+     * Removes elements of this list and shifts the keys of all following elements accordingly.
      *
      * @param fromIndex the start index (inclusive).
      * @param toIndex the end index (exclusive).
      */
     public void remove(final int fromIndex, final int toIndex) {
-        // remove old keys
-        final int diffLength = toIndex - fromIndex;
-        for (int i = 0; i < diffLength; i++) {
-            remove(toIndex + i);
+        final int from = Math.max(0, fromIndex);
+        final int to = Math.min(toIndex, length);
+        if (to <= from) {
+            return;
         }
+        moveGap(from);
+        final int diffLength = to - from;
+        for (int i = gapEnd; i < gapEnd + diffLength; i++) {
+            if (codes[i] != NO_VALUE) {
+                nValues--;
+            }
+        }
+        gapEnd += diffLength;
+        length -= diffLength;
+        compactDictionary();
     }
 
     public void setAll(final StringHashMapList other) {
         clear();
-        other.forEachEntry(PARALLELISM_THRESHOLD, kv -> {
-            String label = kv.getValue();
-            if (label != null && !label.isEmpty()) {
-                this.put(kv.getKey(), label);
-            }
-        });
+        if (other.isEmpty()) {
+            return;
+        }
+        dictionary = Arrays.copyOf(other.dictionary, other.dictionary.length);
+        dictionarySize = other.dictionarySize;
+        dictionaryIndex.putAll(other.dictionaryIndex);
+        codes = new int[Math.max(MIN_CAPACITY, other.length)];
+        System.arraycopy(other.codes, 0, codes, 0, other.gapStart);
+        System.arraycopy(other.codes, other.gapEnd, codes, other.gapStart, other.length - other.gapStart);
+        Arrays.fill(codes, other.length, codes.length, NO_VALUE);
+        gapStart = other.length;
+        gapEnd = codes.length;
+        length = other.length;
+        nValues = other.nValues;
     }
 
     /**
-     * shift elements all keys from starting index until the last toIndex.
+     * shift elements all keys from starting index by one.
      *
      * @param fromIndex the start index (inclusive).
-     * @param toIndex the end index (exclusive).
+     * @param toIndex the end index (exclusive), N.B. retained for compatibility: all following keys are shifted
      */
     public void shiftKeys(final int fromIndex, final int toIndex) {
-        for (int i = toIndex; i >= fromIndex; i--) {
-            final String oldData = remove(i);
-            if (oldData != null) {
-                put(i + 1, oldData);
+        shiftKeys(fromIndex, toIndex, 1);
+    }
+
+    /**
+     * shift elements all keys from starting index by the given number of elements, e.g. after inserting nShift data
+     * points.
+     *
+     * @param fromIndex the start index (inclusive).
+     * @param toIndex the end index (exclusive), N.B. retained for compatibility: all following keys are shifted
+     * @param nShift number of indices the keys are shifted by
+     */
+    public void shiftKeys(final int fromIndex, final int toIndex, final int nShift) {
+        if (fromIndex < 0 || fromIndex >= length || nShift <= 0) {
+            return;
+        }
+        insert(fromIndex, nShift);
+    }
+
+    @Override
+    public int size() {
+        return nValues;
+    }
+
+    private void compactDictionary() {
+        if (dictionarySize <= 2 * nValues + MIN_CAPACITY) {
+            return;
+        }
+        // drop unused strings, e.g. after many unique labels have been overwritten or removed
+        final int[] newCode = new int[dictionarySize];
+        Arrays.fill(newCode, NO_VALUE);
+        final String[] oldDictionary = dictionary;
+        dictionary = new String[Math.max(MIN_CAPACITY, 2 * nValues)];
+        dictionarySize = 0;
+        dictionaryIndex.clear();
+        for (int i = 0; i < codes.length; i++) {
+            if ((i < gapStart || i >= gapEnd) && codes[i] != NO_VALUE) {
+                final int code = codes[i];
+                if (newCode[code] == NO_VALUE) {
+                    newCode[code] = encode(oldDictionary[code]);
+                }
+                codes[i] = newCode[code];
             }
         }
     }
 
+    private int encode(final String value) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        final int code = dictionaryIndex.getInt(value);
+        if (code != NO_VALUE) {
+            return code;
+        }
+        if (dictionarySize == dictionary.length) {
+            dictionary = Arrays.copyOf(dictionary, 2 * dictionarySize);
+        }
+        dictionary[dictionarySize] = value;
+        dictionaryIndex.put(value, dictionarySize);
+        return dictionarySize++;
+    }
+
+    private void insert(final int index, final int nElements) {
+        moveGap(index);
+        if (gapEnd - gapStart < nElements) {
+            final int newCapacity = Math.max(MIN_CAPACITY, Math.max(2 * codes.length, length + nElements));
+            final int[] newCodes = new int[newCapacity];
+            final int tailLength = codes.length - gapEnd;
+            System.arraycopy(codes, 0, newCodes, 0, gapStart);
+            System.arraycopy(codes, gapEnd, newCodes, newCapacity - tailLength, tailLength);
+            codes = newCodes;
+            gapEnd = newCapacity - tailLength;
+        }
+        Arrays.fill(codes, gapStart, gapStart + nElements, NO_VALUE);
+        gapStart += nElements;
+        length += nElements;
+    }
+
+    private void moveGap(final int index) {
+        if (index < gapStart) {
+            final int n = gapStart - index;
+            System.arraycopy(codes, index, codes, gapEnd - n, n);
+            gapStart -= n;
+            gapEnd -= n;
+        } else if (index > gapStart) {
+            final int n = index - gapStart;
+            System.arraycopy(codes, gapEnd, codes, gapStart, n);
+            gapStart += n;
+            gapEnd += n;
+        }
+    }
+
+    private int setCode(final int index, final int code) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("index " + index + " must be positive");
+        }
+        if (index >= length) {
+            if (code == NO_VALUE) {
+                return NO_VALUE;
+            }
+            insert(length, index + 1 - length);
+        }
+        final int physical = index < gapStart ? index : index + gapEnd - gapStart;
+        final int oldCode = codes[physical];
+        codes[physical] = code;
+        if (oldCode == NO_VALUE && code != NO_VALUE) {
+            nValues++;
+        } else if (oldCode != NO_VALUE && code == NO_VALUE) {
+            nValues--;
+        }
+        return oldCode;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<Integer, String>> {
+        @Override
+        public void clear() {
+            StringHashMapList.this.clear();
+        }
+
+        @Override
+        public Iterator<Entry<Integer, String>> iterator() {
+            return new Iterator<>() {
+                private int nextIndex = advance(0);
+                private int lastIndex = -1;
+
+                @Override
+                public boolean hasNext() {
+                    return nextIndex < length;
+                }
+
+                @Override
+                public Entry<Integer, String> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    lastIndex = nextIndex;
+                    nextIndex = advance(nextIndex + 1);
+                    return new AbstractMap.SimpleImmutableEntry<>(lastIndex, getValue(getCode(lastIndex)));
+                }
+
+                @Override
+                public void remove() {
+                    if (lastIndex < 0) {
+                        throw new IllegalStateException();
+                    }
+                    StringHashMapList.this.remove(lastIndex);
+                    lastIndex = -1;
+                }
+
+                private int advance(final int index) {
+                    int i = index;
+                    while (i < length && getCode(i) == NO_VALUE) {
+                        i++;
+                    }
+                    return i;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return nValues;
+        }
+    }
 }
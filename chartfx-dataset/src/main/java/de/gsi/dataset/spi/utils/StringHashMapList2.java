@@ -11,7 +11,6 @@ import java.util.Set;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 
 public class StringHashMapList2 implements Map<Integer, String> {
-    private static final long PARALLELISM_THRESHOLD = 1000;
     private final IntArrayList indices = new IntArrayList(10);
     private final List<String> data = new ArrayList<>();
 
@@ -168,10 +167,9 @@ public class StringHashMapList2 implements Map<Integer, String> {
 
     public void setAll(final StringHashMapList other) {
         clear();
-        other.forEachEntry(PARALLELISM_THRESHOLD, kv -> {
-            String label = kv.getValue();
+        other.forEach((key, label) -> {
             if (label != null && !label.isEmpty()) {
-                this.put(kv.getKey(), label);
+                this.put(key, label);
             }
         });
     }
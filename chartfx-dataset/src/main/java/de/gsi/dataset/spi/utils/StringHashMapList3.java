@@ -1,7 +1,6 @@
 package de.gsi.dataset.spi.utils;
 
 public class StringHashMapList3 extends IntStringMap {
-    private static final long PARALLELISM_THRESHOLD = 1000;
     private static final int DEFAULT_SIZE = 1000;
     private static final float DEFAULT_FILL_FACTOR = 0.1f;
 
@@ -45,10 +44,9 @@ public class StringHashMapList3 extends IntStringMap {
 
     public void setAll(final StringHashMapList other) {
         clear();
-        other.forEachEntry(PARALLELISM_THRESHOLD, kv -> {
-            String label = kv.getValue();
+        other.forEach((key, label) -> {
             if (label != null && !label.isEmpty()) {
-                this.put(kv.getKey(), label);
+                this.put(key, label);
             }
         });
     }
@@ -1,345 +1,461 @@
 package de.gsi.dataset.utils;
 
-import java.util.WeakHashMap;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 
 /**
  * Simple cache for large recurring primitive arrays, e.g. to be used in functions where often large temporary arrays
  * are needed but that are otherwise outside the function scope not needed.
- * 
+ *
  * usage example:
- * 
+ *
  * <pre>
  * private final static String UNIQUE_IDENTIFIER = "class/app unique name";
  * [..]
- * 
+ *
  * final double[] localTempBuffer = ArrayCache.getCachedDoubleArray(UNIQUE_IDENTIFIER, 200);
- * 
+ *
  * [..] user code [..]
- * 
- * ArrayCache.release(UNIQUE_IDENTIFIER, 100);
+ *
+ * ArrayCache.release(UNIQUE_IDENTIFIER, localTempBuffer);
  * </pre>
- * 
+ *
+ * Requested sizes are rounded up to power-of-two size classes (see {@link #getArraySize(int)}), i.e. the returned
+ * array may be larger than requested and users must not rely on {@code array.length}. Released arrays are first kept
+ * in a lock-free thread-local tier (one array per name and size class, limited to
+ * {@value #MAX_THREAD_LOCAL_ARRAY_BYTES} bytes) and otherwise in a shared overflow tier whose retained memory is
+ * bounded by {@link #setMaxRetainedBytes(long)}. Arrays exceeding the bound are left to the garbage collector.
+ * <p>
  * N.B. for other simple caching needs see @see Cache
- * 
+ *
  * @author rstein
  *
  */
 public final class ArrayCache { // NOPMD nomen est omen
-    private static ConcurrentHashMap<String, WeakHashMap<Integer, boolean[]>> booleanArrayCache = new ConcurrentHashMap<>();
-    private static ConcurrentHashMap<String, WeakHashMap<Integer, byte[]>> byteArrayCache = new ConcurrentHashMap<>();
-    private static ConcurrentHashMap<String, WeakHashMap<Integer, double[]>> doubleArrayCache = new ConcurrentHashMap<>();
-    private static ConcurrentHashMap<String, WeakHashMap<Integer, float[]>> floatArrayCache = new ConcurrentHashMap<>();
-    private static ConcurrentHashMap<String, WeakHashMap<Integer, int[]>> intArrayCache = new ConcurrentHashMap<>();
-    private static ConcurrentHashMap<String, WeakHashMap<Integer, long[]>> longArrayCache = new ConcurrentHashMap<>();
-    private static ConcurrentHashMap<String, WeakHashMap<Integer, short[]>> shortArrayCache = new ConcurrentHashMap<>(); // NOPMD
-    private static ConcurrentHashMap<String, WeakHashMap<Integer, String[]>> stringArrayCache = new ConcurrentHashMap<>();
+    /** smallest size class: 2^4 = 16 elements */
+    public static final int MIN_SIZE_CLASS_SHIFT = 4;
+    /** largest size class: 2^30 elements, larger requests are allocated exactly and not pooled */
+    public static final int MAX_SIZE_CLASS_SHIFT = 30;
+    /** arrays larger than this are only kept in the shared (bounded) tier */
+    public static final int MAX_THREAD_LOCAL_ARRAY_BYTES = 1 << 20;
+    /** default upper bound of bytes retained in the shared tier */
+    public static final long DEFAULT_MAX_RETAINED_BYTES = 256L << 20;
+    private static final int N_SIZE_CLASSES = MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1;
+
+    private static final AtomicLong maxRetainedBytes = new AtomicLong(DEFAULT_MAX_RETAINED_BYTES);
+    private static final AtomicLong retainedBytes = new AtomicLong();
+    private static final LongAdder hitCount = new LongAdder();
+    private static final LongAdder missCount = new LongAdder();
+    private static final LongAdder droppedCount = new LongAdder();
+
+    private static final Pool<boolean[]> booleanArrayCache = new Pool<>(boolean[]::new, a -> a.length, 1);
+    private static final Pool<byte[]> byteArrayCache = new Pool<>(byte[]::new, a -> a.length, Byte.BYTES);
+    private static final Pool<double[]> doubleArrayCache = new Pool<>(double[]::new, a -> a.length, Double.BYTES);
+    private static final Pool<float[]> floatArrayCache = new Pool<>(float[]::new, a -> a.length, Float.BYTES);
+    private static final Pool<int[]> intArrayCache = new Pool<>(int[]::new, a -> a.length, Integer.BYTES);
+    private static final Pool<long[]> longArrayCache = new Pool<>(long[]::new, a -> a.length, Long.BYTES);
+    private static final Pool<short[]> shortArrayCache = new Pool<>(short[]::new, a -> a.length, Short.BYTES); // NOPMD
+    private static final Pool<String[]> stringArrayCache = new Pool<>(String[]::new, a -> a.length, Long.BYTES);
 
     private ArrayCache() {
         // static helper class
     }
 
+    /**
+     * drops all arrays retained in the shared tier (N.B. thread-local tiers are released with their threads)
+     */
+    public static void clear() {
+        booleanArrayCache.clear();
+        byteArrayCache.clear();
+        doubleArrayCache.clear();
+        floatArrayCache.clear();
+        intArrayCache.clear();
+        longArrayCache.clear();
+        shortArrayCache.clear();
+        stringArrayCache.clear();
+    }
+
+    /**
+     * @param requestedSize requested number of array elements
+     * @return effective length of arrays returned for the requested size (i.e. next power-of-two size class)
+     */
+    public static int getArraySize(final int requestedSize) {
+        if (requestedSize < 0) {
+            throw new NegativeArraySizeException("requestedSize = " + requestedSize);
+        }
+        final int shift = getSizeClassShift(requestedSize);
+        return shift > MAX_SIZE_CLASS_SHIFT ? requestedSize : 1 << shift;
+    }
+
     /**
      * Returns cached large recurring primitive arrays, e.g. to be used in functions where often large temporary arrays
      * are needed but that are otherwise outside the function scope not needed.
-     * 
+     *
      * <p>
      * N.B. do not forget to release/return ownership of the array via {@link #release}
-     * 
+     *
      * @param arrayName unique array name
      * @param size requested array size
-     * @return cached copy (N.B. removed from internal HashMap)
+     * @return cached copy (N.B. removed from internal cache) with {@code length >= size}
      */
     public static boolean[] getCachedBooleanArray(final String arrayName, final int size) {
-        synchronized (booleanArrayCache) {
-            final WeakHashMap<Integer, boolean[]> nameHashMap = booleanArrayCache.computeIfAbsent(arrayName,
-                    key -> new WeakHashMap<>());
-            boolean[] cachedArray = nameHashMap.get(size);
-            if (cachedArray == null) {
-                cachedArray = new boolean[size];
-            } else {
-                booleanArrayCache.get(arrayName).remove(size);
-            }
-            return cachedArray;
-        }
+        return booleanArrayCache.get(arrayName, size);
     }
 
     /**
      * Returns cached large recurring primitive arrays, e.g. to be used in functions where often large temporary arrays
      * are needed but that are otherwise outside the function scope not needed.
-     * 
+     *
      * <p>
      * N.B. do not forget to release/return ownership of the array via {@link #release}
-     * 
+     *
      * @param arrayName unique array name
      * @param size requested array size
-     * @return cached copy (N.B. removed from internal HashMap)
+     * @return cached copy (N.B. removed from internal cache) with {@code length >= size}
      */
     public static byte[] getCachedByteArray(final String arrayName, final int size) {
-        synchronized (byteArrayCache) {
-            final WeakHashMap<Integer, byte[]> nameHashMap = byteArrayCache.computeIfAbsent(arrayName,
-                    key -> new WeakHashMap<>());
-            byte[] cachedArray = nameHashMap.get(size);
-            if (cachedArray == null) {
-                cachedArray = new byte[size];
-            } else {
-                byteArrayCache.get(arrayName).remove(size);
-            }
-            return cachedArray;
-        }
+        return byteArrayCache.get(arrayName, size);
     }
 
     /**
      * Returns cached large recurring primitive arrays, e.g. to be used in functions where often large temporary arrays
      * are needed but that are otherwise outside the function scope not needed.
-     * 
+     *
      * <p>
      * N.B. do not forget to release/return ownership of the array via {@link #release}
-     * 
+     *
      * @param arrayName unique array name
      * @param size requested array size
-     * @return cached copy (N.B. removed from internal HashMap)
+     * @return cached copy (N.B. removed from internal cache) with {@code length >= size}
      */
     public static double[] getCachedDoubleArray(final String arrayName, final int size) {
-        synchronized (doubleArrayCache) {
-            final WeakHashMap<Integer, double[]> nameHashMap = doubleArrayCache.computeIfAbsent(arrayName,
-                    key -> new WeakHashMap<>());
-            double[] cachedArray = nameHashMap.get(size);
-            if (cachedArray == null) {
-                cachedArray = new double[size];
-            } else {
-                doubleArrayCache.get(arrayName).remove(size);
-            }
-            return cachedArray;
-        }
+        return doubleArrayCache.get(arrayName, size);
     }
 
     /**
      * Returns cached large recurring primitive arrays, e.g. to be used in functions where often large temporary arrays
      * are needed but that are otherwise outside the function scope not needed.
-     * 
+     *
      * <p>
      * N.B. do not forget to release/return ownership of the array via {@link #release}
-     * 
+     *
      * @param arrayName unique array name
      * @param size requested array size
-     * @return cached copy (N.B. removed from internal HashMap)
+     * @return cached copy (N.B. removed from internal cache) with {@code length >= size}
      */
     public static float[] getCachedFloatArray(final String arrayName, final int size) {
-        synchronized (floatArrayCache) {
-            final WeakHashMap<Integer, float[]> nameHashMap = floatArrayCache.computeIfAbsent(arrayName,
-                    key -> new WeakHashMap<>());
-            float[] cachedArray = nameHashMap.get(size);
-            if (cachedArray == null) {
-                cachedArray = new float[size];
-            } else {
-                floatArrayCache.get(arrayName).remove(size);
-            }
-            return cachedArray;
-        }
+        return floatArrayCache.get(arrayName, size);
     }
 
     /**
      * Returns cached large recurring primitive arrays, e.g. to be used in functions where often large temporary arrays
      * are needed but that are otherwise outside the function scope not needed.
-     * 
+     *
      * <p>
      * N.B. do not forget to release/return ownership of the array via {@link #release}
-     * 
+     *
      * @param arrayName unique array name
      * @param size requested array size
-     * @return cached copy (N.B. removed from internal HashMap)
+     * @return cached copy (N.B. removed from internal cache) with {@code length >= size}
      */
     public static int[] getCachedIntArray(final String arrayName, final int size) {
-        synchronized (intArrayCache) {
-            final WeakHashMap<Integer, int[]> nameHashMap = intArrayCache.computeIfAbsent(arrayName,
-                    key -> new WeakHashMap<>());
-            int[] cachedArray = nameHashMap.get(size);
-            if (cachedArray == null) {
-                cachedArray = new int[size];
-            } else {
-                intArrayCache.get(arrayName).remove(size);
-            }
-            return cachedArray;
-        }
+        return intArrayCache.get(arrayName, size);
     }
 
     /**
      * Returns cached large recurring primitive arrays, e.g. to be used in functions where often large temporary arrays
      * are needed but that are otherwise outside the function scope not needed.
-     * 
+     *
      * <p>
      * N.B. do not forget to release/return ownership of the array via {@link #release}
-     * 
+     *
      * @param arrayName unique array name
      * @param size requested array size
-     * @return cached copy (N.B. removed from internal HashMap)
+     * @return cached copy (N.B. removed from internal cache) with {@code length >= size}
      */
     public static long[] getCachedLongArray(final String arrayName, final int size) {
-        synchronized (longArrayCache) {
-            final WeakHashMap<Integer, long[]> nameHashMap = longArrayCache.computeIfAbsent(arrayName,
-                    key -> new WeakHashMap<>());
-            long[] cachedArray = nameHashMap.get(size);
-            if (cachedArray == null) {
-                cachedArray = new long[size];
-            } else {
-                longArrayCache.get(arrayName).remove(size);
-            }
-            return cachedArray;
-        }
+        return longArrayCache.get(arrayName, size);
     }
 
     /**
      * Returns cached large recurring primitive arrays, e.g. to be used in functions where often large temporary arrays
      * are needed but that are otherwise outside the function scope not needed.
-     * 
+     *
      * <p>
      * N.B. do not forget to release/return ownership of the array via {@link #release}
-     * 
+     *
      * @param arrayName unique array name
      * @param size requested array size
-     * @return cached copy (N.B. removed from internal HashMap)
+     * @return cached copy (N.B. removed from internal cache) with {@code length >= size}
      */
-    public static short[] getCachedShortArray(final String arrayName, final int size) {
-        synchronized (shortArrayCache) {
-            final WeakHashMap<Integer, short[]> nameHashMap = shortArrayCache.computeIfAbsent(arrayName,
-                    key -> new WeakHashMap<>());
-            short[] cachedArray = nameHashMap.get(size);
-            if (cachedArray == null) {
-                cachedArray = new short[size];
-            } else {
-                shortArrayCache.get(arrayName).remove(size);
-            }
-            return cachedArray;
-        }
+    public static short[] getCachedShortArray(final String arrayName, final int size) { // NOPMD
+        return shortArrayCache.get(arrayName, size);
     }
 
     /**
      * Returns cached large recurring primitive arrays, e.g. to be used in functions where often large temporary arrays
      * are needed but that are otherwise outside the function scope not needed.
-     * 
+     *
      * <p>
      * N.B. do not forget to release/return ownership of the array via {@link #release}
-     * 
+     *
      * @param arrayName unique array name
      * @param size requested array size
-     * @return cached copy (N.B. removed from internal HashMap)
+     * @return cached copy (N.B. removed from internal cache) with {@code length >= size}
      */
     public static String[] getCachedStringArray(final String arrayName, final int size) {
-        synchronized (stringArrayCache) {
-            final WeakHashMap<Integer, String[]> nameHashMap = stringArrayCache.computeIfAbsent(arrayName,
-                    key -> new WeakHashMap<>());
-            String[] cachedArray = nameHashMap.get(size);
-            if (cachedArray == null) {
-                cachedArray = new String[size];
-            } else {
-                stringArrayCache.get(arrayName).remove(size);
-            }
-            return cachedArray;
-        }
+        return stringArrayCache.get(arrayName, size);
+    }
+
+    /**
+     * @return number of released arrays that have not been retained because of the {@link #getMaxRetainedBytes()}
+     *         bound
+     */
+    public static long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * @return number of requests served from either the thread-local or shared tier
+     */
+    public static long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return upper bound of bytes retained in the shared tier
+     */
+    public static long getMaxRetainedBytes() {
+        return maxRetainedBytes.get();
+    }
+
+    /**
+     * @return number of requests that required a new allocation
+     */
+    public static long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return number of bytes currently retained in the shared tier (N.B. excluding the small thread-local tiers)
+     */
+    public static long getRetainedBytes() {
+        return retainedBytes.get();
     }
 
     /**
      * Returns ownership of array to cache
-     * 
+     *
      * @param arrayName unique array name
      * @param cachedArray the array to be released/return ownership to the cache
      */
     public static void release(final String arrayName, final boolean[] cachedArray) {
-        if (cachedArray == null) {
-            return;
-        }
-        booleanArrayCache.get(arrayName).put(cachedArray.length, cachedArray);
+        booleanArrayCache.release(arrayName, cachedArray);
     }
 
     /**
      * Returns ownership of array to cache
-     * 
+     *
      * @param arrayName unique array name
      * @param cachedArray the array to be released/return ownership to the cache
      */
     public static void release(final String arrayName, final byte[] cachedArray) {
-        if (cachedArray == null) {
-            return;
-        }
-        byteArrayCache.get(arrayName).put(cachedArray.length, cachedArray);
+        byteArrayCache.release(arrayName, cachedArray);
     }
 
     /**
      * Returns ownership of array to cache
-     * 
+     *
      * @param arrayName unique array name
      * @param cachedArray the array to be released/return ownership to the cache
      */
     public static void release(final String arrayName, final double[] cachedArray) {
-        if (cachedArray == null) {
-            return;
-        }
-        doubleArrayCache.get(arrayName).put(cachedArray.length, cachedArray);
+        doubleArrayCache.release(arrayName, cachedArray);
     }
 
     /**
      * Returns ownership of array to cache
-     * 
+     *
      * @param arrayName unique array name
      * @param cachedArray the array to be released/return ownership to the cache
      */
     public static void release(final String arrayName, final float[] cachedArray) {
-        if (cachedArray == null) {
-            return;
-        }
-        floatArrayCache.get(arrayName).put(cachedArray.length, cachedArray);
+        floatArrayCache.release(arrayName, cachedArray);
     }
 
     /**
      * Returns ownership of array to cache
-     * 
+     *
      * @param arrayName unique array name
      * @param cachedArray the array to be released/return ownership to the cache
      */
     public static void release(final String arrayName, final int[] cachedArray) {
-        if (cachedArray == null) {
-            return;
-        }
-        intArrayCache.get(arrayName).put(cachedArray.length, cachedArray);
+        intArrayCache.release(arrayName, cachedArray);
     }
 
     /**
      * Returns ownership of array to cache
-     * 
+     *
      * @param arrayName unique array name
      * @param cachedArray the array to be released/return ownership to the cache
      */
     public static void release(final String arrayName, final long[] cachedArray) {
-        if (cachedArray == null) {
-            return;
-        }
-        longArrayCache.get(arrayName).put(cachedArray.length, cachedArray);
+        longArrayCache.release(arrayName, cachedArray);
     }
 
     /**
      * Returns ownership of array to cache
-     * 
+     *
      * @param arrayName unique array name
      * @param cachedArray the array to be released/return ownership to the cache
      */
     public static void release(final String arrayName, final short[] cachedArray) { // NOPMD
-        if (cachedArray == null) {
-            return;
-        }
-        shortArrayCache.get(arrayName).put(cachedArray.length, cachedArray);
+        shortArrayCache.release(arrayName, cachedArray);
     }
 
     /**
      * Returns ownership of array to cache
-     * 
+     *
      * @param arrayName unique array name
      * @param cachedArray the array to be released/return ownership to the cache
      */
     public static void release(final String arrayName, final String[] cachedArray) {
-        if (cachedArray == null) {
-            return;
+        stringArrayCache.release(arrayName, cachedArray);
+    }
+
+    /**
+     * resets the hit, miss and dropped counters
+     */
+    public static void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+        droppedCount.reset();
+    }
+
+    /**
+     * @param maxBytes upper bound of bytes retained in the shared tier (N.B. already retained arrays are not evicted)
+     */
+    public static void setMaxRetainedBytes(final long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes = " + maxBytes + " must be >= 0");
+        }
+        maxRetainedBytes.set(maxBytes);
+    }
+
+    private static int getSizeClassShift(final int size) {
+        if (size <= 1 << MIN_SIZE_CLASS_SHIFT) {
+            return MIN_SIZE_CLASS_SHIFT;
+        }
+        return Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    /**
+     * per array-type pool, arrays of size class {@code 2^(MIN_SIZE_CLASS_SHIFT + i)} are stored in bin {@code i}
+     *
+     * @param <T> generic array type
+     */
+    private static class Pool<T> {
+        private final IntFunction<T> allocator;
+        private final ToIntFunction<T> lengthFunction;
+        private final int bytesPerElement;
+        private final ThreadLocal<Map<String, Object[]>> localTier = ThreadLocal.withInitial(HashMap::new);
+        private final ConcurrentHashMap<String, ConcurrentLinkedDeque<T>[]> sharedTier = new ConcurrentHashMap<>();
+
+        private Pool(final IntFunction<T> allocator, final ToIntFunction<T> lengthFunction, final int bytesPerElement) {
+            this.allocator = allocator;
+            this.lengthFunction = lengthFunction;
+            this.bytesPerElement = bytesPerElement;
+        }
+
+        private void clear() {
+            for (final ConcurrentLinkedDeque<T>[] bins : sharedTier.values()) {
+                for (final ConcurrentLinkedDeque<T> bin : bins) {
+                    T array;
+                    while ((array = bin.pollFirst()) != null) {
+                        retainedBytes.addAndGet(-getBytes(array));
+                    }
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private T get(final String arrayName, final int size) {
+            if (size < 0) {
+                throw new NegativeArraySizeException("size = " + size);
+            }
+            final int shift = getSizeClassShift(size);
+            if (shift > MAX_SIZE_CLASS_SHIFT) {
+                missCount.increment();
+                return allocator.apply(size);
+            }
+            final int bin = shift - MIN_SIZE_CLASS_SHIFT;
+
+            final Object[] localBins = localTier.get().get(arrayName);
+            if (localBins != null && localBins[bin] != null) {
+                final T cachedArray = (T) localBins[bin];
+                localBins[bin] = null;
+                hitCount.increment();
+                return cachedArray;
+            }
+
+            final ConcurrentLinkedDeque<T>[] sharedBins = sharedTier.get(arrayName);
+            if (sharedBins != null) {
+                final T cachedArray = sharedBins[bin].pollFirst();
+                if (cachedArray != null) {
+                    retainedBytes.addAndGet(-getBytes(cachedArray));
+                    hitCount.increment();
+                    return cachedArray;
+                }
+            }
+
+            missCount.increment();
+            return allocator.apply(1 << shift);
+        }
+
+        private long getBytes(final T array) {
+            return (long) lengthFunction.applyAsInt(array) * bytesPerElement;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void release(final String arrayName, final T cachedArray) {
+            if (cachedArray == null) {
+                return;
+            }
+            final int length = lengthFunction.applyAsInt(cachedArray);
+            if (length < 1 << MIN_SIZE_CLASS_SHIFT) {
+                return;
+            }
+            // N.B. floor: class 'i' may hold any array with length >= 2^(MIN_SIZE_CLASS_SHIFT + i)
+            final int bin = Math.min(Integer.SIZE - 1 - Integer.numberOfLeadingZeros(length), MAX_SIZE_CLASS_SHIFT)
+                            - MIN_SIZE_CLASS_SHIFT;
+            final long bytes = getBytes(cachedArray);
+
+            if (bytes <= MAX_THREAD_LOCAL_ARRAY_BYTES) {
+                final Object[] localBins = localTier.get().computeIfAbsent(arrayName, key -> new Object[N_SIZE_CLASSES]);
+                if (localBins[bin] == null) {
+                    localBins[bin] = cachedArray;
+                    return;
+                }
+            }
+
+            if (retainedBytes.addAndGet(bytes) > maxRetainedBytes.get()) {
+                retainedBytes.addAndGet(-bytes);
+                droppedCount.increment();
+                return;
+            }
+            sharedTier.computeIfAbsent(arrayName, key -> {
+                final ConcurrentLinkedDeque<T>[] bins = new ConcurrentLinkedDeque[N_SIZE_CLASSES];
+                for (int i = 0; i < N_SIZE_CLASSES; i++) {
+                    bins[i] = new ConcurrentLinkedDeque<>();
+                }
+                return bins;
+            })[bin].addFirst(cachedArray);
         }
-        stringArrayCache.get(arrayName).put(cachedArray.length, cachedArray);
     }
 }
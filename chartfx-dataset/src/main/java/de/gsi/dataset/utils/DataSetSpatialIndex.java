@@ -0,0 +1,234 @@
+package de.gsi.dataset.utils;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.event.AddedDataEvent;
+import de.gsi.dataset.event.EventListener;
+import de.gsi.dataset.event.UpdateEvent;
+
+/**
+ * Two-dimensional spatial index (k-d tree) over the (x,y) data coordinates of a data set, e.g. for nearest-point
+ * picking and rectangular (rubber-band) selections that -- unlike the index searches along x -- also work for unsorted
+ * (scatter) data.
+ * <p>
+ * The tree is built lazily on the first query, i.e. O(n log n), and queries take O(sqrt(n) + k) for k matching points.
+ * Registered as a listener on the data set, it tracks modifications: points appended to a data set are kept in a
+ * linearly searched tail until the tail exceeds a fraction of the indexed points (N.B. based on {@link AddedDataEvent}s
+ * and the first and last indexed point remaining unchanged), any other modification triggers a rebuild on the next
+ * query. Non-finite points are not indexed. N.B. not thread-safe, intended to be used from a single (e.g. the UI)
+ * thread.
+ *
+ * @author rstein
+ */
+public class DataSetSpatialIndex implements EventListener {
+    private static final int LEAF_SIZE = 16;
+    private static final int MIN_TAIL_SIZE = 1024;
+    private final AtomicBoolean modified = new AtomicBoolean(true);
+    private final AtomicBoolean appendedOnly = new AtomicBoolean(false); // only AddedDataEvents since last update
+    private double[] xValues = new double[0]; // in tree order
+    private double[] yValues = new double[0]; // in tree order
+    private int[] indices = new int[0]; // data set index of tree element
+    private int nTree; // number of (finite) points in the tree
+    private int nIndexed; // number of data set points covered by the tree
+    private int nTotal; // number of data set points covered by the tree and tail
+    private final double[] firstPoint = new double[2];
+    private final double[] lastPoint = new double[2];
+
+    /**
+     * Calls the action for each data point index with coordinates within the given (inclusive) range. The index is
+     * updated beforehand if the data set has been modified.
+     *
+     * @param dataSet the indexed data set
+     * @param xMin minimum x coordinate
+     * @param xMax maximum x coordinate
+     * @param yMin minimum y coordinate
+     * @param yMax maximum y coordinate
+     * @param action consumer of the data point indices (unordered)
+     */
+    public void forEachInRange(final DataSet dataSet, final double xMin, final double xMax, final double yMin,
+            final double yMax, final IntConsumer action) {
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.notNull("action", action);
+        dataSet.lock().readLockGuard(() -> {
+            update(dataSet);
+            search(0, nTree, 0, xMin, xMax, yMin, yMax, action);
+            for (int index = nIndexed; index < nTotal; index++) {
+                final double x = dataSet.get(DIM_X, index);
+                final double y = dataSet.get(DIM_Y, index);
+                if (x >= xMin && x <= xMax && y >= yMin && y <= yMax) {
+                    action.accept(index);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return number of data points covered by the index (N.B. including non-finite points that are never matched)
+     */
+    public int getSize() {
+        return nTotal;
+    }
+
+    @Override
+    public void handle(final UpdateEvent event) {
+        if (!(event instanceof AddedDataEvent)) {
+            appendedOnly.set(false);
+        }
+        modified.set(true);
+    }
+
+    /**
+     * forces a rebuild of the index on the next query, e.g. if the data set has been modified without notification
+     */
+    public void invalidate() {
+        appendedOnly.set(false);
+        modified.set(true);
+    }
+
+    private boolean isSamePoint(final DataSet dataSet, final int index, final double[] point) {
+        return Double.compare(dataSet.get(DIM_X, index), point[0]) == 0
+                && Double.compare(dataSet.get(DIM_Y, index), point[1]) == 0;
+    }
+
+    private void rebuild(final DataSet dataSet, final int dataCount) {
+        if (xValues.length < dataCount) {
+            xValues = new double[dataCount];
+            yValues = new double[dataCount];
+            indices = new int[dataCount];
+        }
+        nTree = 0;
+        for (int index = 0; index < dataCount; index++) {
+            final double x = dataSet.get(DIM_X, index);
+            final double y = dataSet.get(DIM_Y, index);
+            if (Double.isFinite(x) && Double.isFinite(y)) {
+                xValues[nTree] = x;
+                yValues[nTree] = y;
+                indices[nTree] = index;
+                nTree++;
+            }
+        }
+        if (dataCount > 0) {
+            firstPoint[0] = dataSet.get(DIM_X, 0);
+            firstPoint[1] = dataSet.get(DIM_Y, 0);
+            lastPoint[0] = dataSet.get(DIM_X, dataCount - 1);
+            lastPoint[1] = dataSet.get(DIM_Y, dataCount - 1);
+        }
+        nIndexed = dataCount;
+        nTotal = dataCount;
+        build(0, nTree, 0);
+    }
+
+    private void build(final int from, final int to, final int depth) {
+        if (to - from <= LEAF_SIZE) {
+            return;
+        }
+        final int mid = (from + to) >>> 1;
+        select(from, to - 1, mid, (depth & 1) == 0 ? xValues : yValues);
+        build(from, mid, depth + 1);
+        build(mid + 1, to, depth + 1);
+    }
+
+    private void search(final int from, final int to, final int depth, final double xMin, final double xMax,
+            final double yMin, final double yMax, final IntConsumer action) {
+        if (to - from <= LEAF_SIZE) {
+            for (int i = from; i < to; i++) {
+                if (xValues[i] >= xMin && xValues[i] <= xMax && yValues[i] >= yMin && yValues[i] <= yMax) {
+                    action.accept(indices[i]);
+                }
+            }
+            return;
+        }
+        final int mid = (from + to) >>> 1;
+        final double x = xValues[mid];
+        final double y = yValues[mid];
+        if (x >= xMin && x <= xMax && y >= yMin && y <= yMax) {
+            action.accept(indices[mid]);
+        }
+        final boolean splitX = (depth & 1) == 0;
+        final double split = splitX ? x : y;
+        if ((splitX ? xMin : yMin) <= split) {
+            search(from, mid, depth + 1, xMin, xMax, yMin, yMax, action);
+        }
+        if ((splitX ? xMax : yMax) >= split) {
+            search(mid + 1, to, depth + 1, xMin, xMax, yMin, yMax, action);
+        }
+    }
+
+    /**
+     * partially sorts the range such that the k-th element is in its sorted position, all elements before (after) are
+     * smaller-or-equal (larger-or-equal) -- Hoare's quick-select with median-of-three pivot
+     */
+    private void select(final int fromIndex, final int toIndex, final int k, final double[] keys) {
+        int left = fromIndex;
+        int right = toIndex;
+        while (right > left) {
+            final int mid = (left + right) >>> 1;
+            // median-of-three pivot, robust against pre-sorted data
+            if (keys[mid] < keys[left]) {
+                swap(left, mid);
+            }
+            if (keys[right] < keys[left]) {
+                swap(left, right);
+            }
+            if (keys[right] < keys[mid]) {
+                swap(mid, right);
+            }
+            final double pivot = keys[mid];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(final int i, final int j) {
+        final double tmpX = xValues[i];
+        xValues[i] = xValues[j];
+        xValues[j] = tmpX;
+        final double tmpY = yValues[i];
+        yValues[i] = yValues[j];
+        yValues[j] = tmpY;
+        final int tmpIndex = indices[i];
+        indices[i] = indices[j];
+        indices[j] = tmpIndex;
+    }
+
+    private void update(final DataSet dataSet) {
+        final int dataCount = Math.min(dataSet.getDataCount(DIM_X), dataSet.getDataCount(DIM_Y));
+        final boolean isModified = modified.getAndSet(false);
+        final boolean isAppendedOnly = appendedOnly.getAndSet(true);
+        if (!isModified && dataCount == nTotal) {
+            return;
+        }
+        if (isAppendedOnly && dataCount > nTotal && nIndexed > 0 && dataCount - nIndexed <= Math.max(MIN_TAIL_SIZE, nIndexed / 4)
+                && isSamePoint(dataSet, 0, firstPoint) && isSamePoint(dataSet, nIndexed - 1, lastPoint)) {
+            // appended (rather than inserted) data -> search new points linearly until the tail becomes too large
+            nTotal = dataCount;
+            return;
+        }
+        rebuild(dataSet, dataCount);
+    }
+}
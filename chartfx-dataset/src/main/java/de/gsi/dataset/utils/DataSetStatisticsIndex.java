@@ -0,0 +1,462 @@
+package de.gsi.dataset.utils;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Arrays;
+import java.util.function.DoubleSupplier;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.event.AddedDataEvent;
+import de.gsi.dataset.event.EventListener;
+import de.gsi.dataset.event.UpdateEvent;
+
+/**
+ * Range-query index for simple statistics (minimum, maximum, mean, r.m.s., trapezoidal integral and median) of the
+ * y-values of a data set within an arbitrary index range <code>[indexMin, indexMax)</code>, e.g. for the measurement
+ * indicators that otherwise re-scan their range after each data set update.
+ * <p>
+ * The index keeps per-block prefix sums of the count, y, y² and trapezoid integral of the finite samples (queries are
+ * O(block size)), a {@link MinMaxBlockTree} for the range minimum and maximum (O(block size + log n)) and -- built
+ * lazily on the first median query -- per-block sorted copies of the y-values for order statistics (O(n/block size *
+ * log(block size) + block size) per bisection step). As for {@link DataSetSpatialIndex}, points appended to a data set
+ * (based on {@link AddedDataEvent}s and the first and last indexed point remaining unchanged) are merged incrementally,
+ * any other modification triggers a rebuild on the next query. Non-finite samples are ignored.
+ * <p>
+ * Repeated notifications with the same event instance are ignored, i.e. listeners may forward their events to a
+ * shared index to make sure it is up-to-date before querying it, independent of the listener notification order.
+ *
+ * @author rstein
+ */
+public class DataSetStatisticsIndex implements EventListener {
+    private static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int SORTED_BLOCK_SHIFT = 12;
+    private static final int SORTED_BLOCK_SIZE = 1 << SORTED_BLOCK_SHIFT;
+    private boolean modified = true;
+    private boolean appendedOnly; // only AddedDataEvents since last update
+    private UpdateEvent lastEvent;
+    private DataSet dataSet;
+    private int nIndexed;
+    private final double[] firstPoint = new double[2];
+    private final double[] lastPoint = new double[2];
+    // prefix sums at block boundaries, i.e. element [b] covers the samples [0, b * BLOCK_SIZE)
+    private int[] prefixCount = new int[1];
+    private double[] prefixSum = new double[1];
+    private double[] prefixSum2 = new double[1];
+    private double[] prefixIntegral = new double[1];
+    private final MinMaxBlockTree minMaxTree = new MinMaxBlockTree(index -> dataSet.get(DIM_Y, index));
+    // sorted finite y-values per block of SORTED_BLOCK_SIZE samples (non-finite values are sorted last as NaN)
+    private double[] sorted;
+    private int[] sortedFiniteCount;
+    private int nSortedBlocks;
+    private double[] bufferX = new double[BLOCK_SIZE + 1];
+    private double[] bufferY = new double[BLOCK_SIZE + 1];
+
+    /**
+     * @param dataSet the data set
+     * @param indexMin first index (inclusive)
+     * @param indexMax last index (exclusive)
+     * @return number of finite y-values within the range
+     */
+    public int getCount(final DataSet dataSet, final int indexMin, final int indexMax) {
+        return query(dataSet, () -> (double) count(indexMin, indexMax)).intValue();
+    }
+
+    /**
+     * @param dataSet the data set
+     * @param indexMin first index (inclusive) -- N.B. the integral is negative for indexMin &gt; indexMax
+     * @param indexMax last index (exclusive)
+     * @return trapezoidal integral of y over x of the data points within the range (pairs with non-finite contribution
+     *         are skipped)
+     */
+    public double getIntegral(final DataSet dataSet, final int indexMin, final int indexMax) {
+        return query(dataSet, () -> {
+            final double sign = indexMin > indexMax ? -1.0 : +1.0;
+            // integral over the pairs (i, i+1) with i in [min, max - 1)
+            final int from = Math.max(0, Math.min(indexMin, indexMax));
+            final int to = Math.min(nIndexed - 1, Math.max(indexMin, indexMax) - 1);
+            if (to <= from) {
+                return 0.0;
+            }
+            return sign * (integralPrefix(to) - integralPrefix(from));
+        });
+    }
+
+    /**
+     * @param dataSet the data set
+     * @param indexMin first index (inclusive)
+     * @param indexMax last index (exclusive)
+     * @return maximum finite y-value within the range or {@code -Double.MAX_VALUE} if there is none
+     */
+    public double getMaximum(final DataSet dataSet, final int indexMin, final int indexMax) {
+        return query(dataSet, () -> minMaxTree.getMax(indexMin, indexMax));
+    }
+
+    /**
+     * @param dataSet the data set
+     * @param indexMin first index (inclusive)
+     * @param indexMax last index (exclusive)
+     * @return mean of the finite y-values within the range or NaN if there is none
+     */
+    public double getMean(final DataSet dataSet, final int indexMin, final int indexMax) {
+        return query(dataSet, () -> {
+            final int count = count(indexMin, indexMax);
+            return count > 0 ? sum(indexMin, indexMax, false) / count : Double.NaN;
+        });
+    }
+
+    /**
+     * @param dataSet the data set
+     * @param indexMin first index (inclusive)
+     * @param indexMax last index (exclusive)
+     * @return median of the finite y-values within the range (mean of the two central values for an even count) or
+     *         NaN if there is none
+     */
+    public double getMedian(final DataSet dataSet, final int indexMin, final int indexMax) {
+        return query(dataSet, () -> {
+            final int from = Math.max(0, indexMin);
+            final int to = Math.min(indexMax, nIndexed);
+            final int count = count(from, to);
+            if (count == 0) {
+                return Double.NaN;
+            }
+            updateSortedBlocks();
+            final double upper = select(from, to, count / 2);
+            return count % 2 == 0 ? 0.5 * (select(from, to, count / 2 - 1) + upper) : upper;
+        });
+    }
+
+    /**
+     * @param dataSet the data set
+     * @param indexMin first index (inclusive)
+     * @param indexMax last index (exclusive)
+     * @return minimum finite y-value within the range or {@code +Double.MAX_VALUE} if there is none
+     */
+    public double getMinimum(final DataSet dataSet, final int indexMin, final int indexMax) {
+        return query(dataSet, () -> minMaxTree.getMin(indexMin, indexMax));
+    }
+
+    /**
+     * @param dataSet the data set
+     * @param indexMin first index (inclusive)
+     * @param indexMax last index (exclusive)
+     * @return absolute difference between the maximum and minimum finite y-value within the range
+     */
+    public double getRange(final DataSet dataSet, final int indexMin, final int indexMax) {
+        return query(dataSet,
+                () -> Math.abs(minMaxTree.getMax(indexMin, indexMax) - minMaxTree.getMin(indexMin, indexMax)));
+    }
+
+    /**
+     * @param dataSet the data set
+     * @param indexMin first index (inclusive)
+     * @param indexMax last index (exclusive)
+     * @return un-biased r.m.s. (ie. standard deviation) of the finite y-values within the range or NaN if there is none
+     */
+    public double getRms(final DataSet dataSet, final int indexMin, final int indexMax) {
+        return query(dataSet, () -> {
+            final int count = count(indexMin, indexMax);
+            if (count == 0) {
+                return Double.NaN;
+            }
+            final double mean = sum(indexMin, indexMax, false) / count;
+            final double mean2 = sum(indexMin, indexMax, true) / count;
+            return Math.sqrt(Math.abs(mean2 - mean * mean));
+        });
+    }
+
+    @Override
+    public void handle(final UpdateEvent event) {
+        synchronized (this) {
+            if (event != null && event == lastEvent) {
+                // already notified, e.g. forwarded by another listener
+                return;
+            }
+            lastEvent = event;
+            if (!(event instanceof AddedDataEvent)) {
+                appendedOnly = false;
+            }
+            modified = true;
+        }
+    }
+
+    /**
+     * forces a rebuild of the index on the next query, e.g. if the data set has been modified without notification
+     */
+    public void invalidate() {
+        synchronized (this) {
+            appendedOnly = false;
+            modified = true;
+        }
+    }
+
+    private int count(final int indexMin, final int indexMax) {
+        final int from = Math.max(0, indexMin);
+        final int to = Math.min(indexMax, nIndexed);
+        if (to <= from) {
+            return 0;
+        }
+        return countPrefix(to) - countPrefix(from);
+    }
+
+    private int countPrefix(final int index) {
+        int count = prefixCount[index >> BLOCK_SHIFT];
+        final int start = index & -BLOCK_SIZE;
+        final int length = fill(start, index, false);
+        for (int i = 0; i < length; i++) {
+            if (Double.isFinite(bufferY[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * copies the y (and x) values of [from, to) to the local buffers
+     */
+    private int fill(final int from, final int to, final boolean withX) {
+        final int length = to - from;
+        if (length <= 0) {
+            return 0;
+        }
+        if (bufferY.length < length) {
+            bufferX = new double[length];
+            bufferY = new double[length];
+        }
+        dataSet.getValues(DIM_Y, from, bufferY, 0, length);
+        if (withX) {
+            dataSet.getValues(DIM_X, from, bufferX, 0, length);
+        }
+        return length;
+    }
+
+    private double integralPrefix(final int index) {
+        // sum of the trapezoids (i, i+1) for i < index
+        double integral = prefixIntegral[index >> BLOCK_SHIFT];
+        final int start = index & -BLOCK_SIZE;
+        final int length = fill(start, Math.min(index + 1, nIndexed), true);
+        for (int i = 0; i < length - 1 && start + i < index; i++) {
+            integral += trapezoid(i);
+        }
+        return integral;
+    }
+
+    private boolean isSamePoint(final int index, final double[] point) {
+        return Double.compare(dataSet.get(DIM_X, index), point[0]) == 0
+                && Double.compare(dataSet.get(DIM_Y, index), point[1]) == 0;
+    }
+
+    private Double query(final DataSet source, final DoubleSupplier function) {
+        AssertUtils.notNull("dataSet", source);
+        // N.B. lock order: data set lock before index monitor
+        return source.lock().readLockGuard(() -> {
+            synchronized (this) {
+                update(source);
+                return function.getAsDouble();
+            }
+        });
+    }
+
+    /**
+     * re-computes the prefix sums from the given block onwards
+     */
+    private void rebuildPrefix(final int firstBlock) {
+        final int nBlocks = (nIndexed + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+        if (prefixCount.length < nBlocks + 1) {
+            final int capacity = Math.max(nBlocks + 1, 2 * prefixCount.length);
+            prefixCount = Arrays.copyOf(prefixCount, capacity);
+            prefixSum = Arrays.copyOf(prefixSum, capacity);
+            prefixSum2 = Arrays.copyOf(prefixSum2, capacity);
+            prefixIntegral = Arrays.copyOf(prefixIntegral, capacity);
+        }
+        for (int block = firstBlock; block < nBlocks; block++) {
+            final int start = block << BLOCK_SHIFT;
+            final int end = Math.min(start + BLOCK_SIZE, nIndexed);
+            // N.B. one more sample for the trapezoid spanning the block boundary
+            final int length = fill(start, Math.min(end + 1, nIndexed), true);
+            int count = 0;
+            double sum = 0.0;
+            double sum2 = 0.0;
+            double integral = 0.0;
+            for (int i = 0; i < end - start; i++) {
+                final double y = bufferY[i];
+                if (Double.isFinite(y)) {
+                    count++;
+                    sum += y;
+                    sum2 += y * y;
+                }
+                if (i + 1 < length) {
+                    integral += trapezoid(i);
+                }
+            }
+            prefixCount[block + 1] = prefixCount[block] + count;
+            prefixSum[block + 1] = prefixSum[block] + sum;
+            prefixSum2[block + 1] = prefixSum2[block] + sum2;
+            prefixIntegral[block + 1] = prefixIntegral[block] + integral;
+        }
+    }
+
+    /**
+     * @return the k-th (0-based) smallest finite y-value within [from, to) -- bisection over the (ordered) bit
+     *         representation of the value range
+     */
+    private double select(final int from, final int to, final int k) {
+        long lo = sortableBits(minMaxTree.getMin(from, to));
+        long hi = sortableBits(minMaxTree.getMax(from, to));
+        while (lo < hi) {
+            final long mid = (lo >> 1) + (hi >> 1) + (lo & hi & 1); // N.B. (lo + hi) / 2 may overflow
+            if (countLessOrEqual(from, to, fromSortableBits(mid)) > k) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return fromSortableBits(lo);
+    }
+
+    private int countLessOrEqual(final int from, final int to, final double value) {
+        int count = 0;
+        final int firstFullBlock = (from + SORTED_BLOCK_SIZE - 1) >> SORTED_BLOCK_SHIFT;
+        final int lastFullBlock = Math.min(to >> SORTED_BLOCK_SHIFT, nSortedBlocks) - 1;
+        if (firstFullBlock > lastFullBlock) {
+            return countLessOrEqualLinear(from, to, value);
+        }
+        count += countLessOrEqualLinear(from, firstFullBlock << SORTED_BLOCK_SHIFT, value);
+        count += countLessOrEqualLinear((lastFullBlock + 1) << SORTED_BLOCK_SHIFT, to, value);
+        for (int block = firstFullBlock; block <= lastFullBlock; block++) {
+            final int start = block << SORTED_BLOCK_SHIFT;
+            // upper bound (binary search) within the finite part of the sorted block
+            int low = start;
+            int high = start + sortedFiniteCount[block];
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (sorted[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            count += low - start;
+        }
+        return count;
+    }
+
+    private int countLessOrEqualLinear(final int from, final int to, final double value) {
+        int count = 0;
+        for (int start = from; start < to; start += BLOCK_SIZE) {
+            final int length = fill(start, Math.min(start + BLOCK_SIZE, to), false);
+            for (int i = 0; i < length; i++) {
+                if (Double.isFinite(bufferY[i]) && bufferY[i] <= value) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private double sum(final int indexMin, final int indexMax, final boolean squared) {
+        final int from = Math.max(0, indexMin);
+        final int to = Math.min(indexMax, nIndexed);
+        if (to <= from) {
+            return 0.0;
+        }
+        return sumPrefix(to, squared) - sumPrefix(from, squared);
+    }
+
+    private double sumPrefix(final int index, final boolean squared) {
+        double sum = squared ? prefixSum2[index >> BLOCK_SHIFT] : prefixSum[index >> BLOCK_SHIFT];
+        final int length = fill(index & -BLOCK_SIZE, index, false);
+        for (int i = 0; i < length; i++) {
+            final double y = bufferY[i];
+            if (Double.isFinite(y)) {
+                sum += squared ? y * y : y;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @return trapezoid between the buffered samples i and i+1 or zero if non-finite
+     */
+    private double trapezoid(final int i) {
+        // N.B. same as SimpleDataSetEstimators::getIntegral
+        final double integral = (bufferX[i + 1] - bufferX[i]) * 0.5 * (bufferY[i] + bufferY[i + 1]);
+        return Double.isFinite(integral) ? integral : 0.0;
+    }
+
+    private void update(final DataSet source) {
+        final int dataCount = source.getDataCount(DIM_Y);
+        final boolean isModified = modified || source != dataSet;
+        final boolean isAppendedOnly = appendedOnly && source == dataSet;
+        modified = false;
+        appendedOnly = true;
+        if (!isModified && dataCount == nIndexed) {
+            return;
+        }
+        final int oldSize = nIndexed;
+        if (isAppendedOnly && dataCount > oldSize && oldSize > 0 && isSamePoint(0, firstPoint)
+                && isSamePoint(oldSize - 1, lastPoint)) {
+            // appended data -> update the trailing (partial) blocks only
+            nIndexed = dataCount;
+            rebuildPrefix((oldSize - 1) >> BLOCK_SHIFT);
+            minMaxTree.update(dataCount, oldSize, dataCount);
+            if (sorted != null) {
+                updateSortedBlocks();
+            }
+        } else {
+            dataSet = source;
+            nIndexed = dataCount;
+            rebuildPrefix(0);
+            minMaxTree.rebuild(dataCount);
+            sorted = null; // N.B. re-built on demand
+            nSortedBlocks = 0;
+        }
+        if (dataCount > 0) {
+            firstPoint[0] = source.get(DIM_X, 0);
+            firstPoint[1] = source.get(DIM_Y, 0);
+            lastPoint[0] = source.get(DIM_X, dataCount - 1);
+            lastPoint[1] = source.get(DIM_Y, dataCount - 1);
+        }
+    }
+
+    /**
+     * sorts the (new) complete blocks of samples
+     */
+    private void updateSortedBlocks() {
+        final int nBlocks = nIndexed >> SORTED_BLOCK_SHIFT;
+        if (sorted == null) {
+            sorted = new double[Math.max(SORTED_BLOCK_SIZE, nBlocks << SORTED_BLOCK_SHIFT)];
+            sortedFiniteCount = new int[Math.max(1, nBlocks)];
+            nSortedBlocks = 0;
+        } else if (sortedFiniteCount.length < nBlocks) {
+            sorted = Arrays.copyOf(sorted, Math.max(nBlocks, 2 * sortedFiniteCount.length) << SORTED_BLOCK_SHIFT);
+            sortedFiniteCount = Arrays.copyOf(sortedFiniteCount, Math.max(nBlocks, 2 * sortedFiniteCount.length));
+        }
+        for (int block = nSortedBlocks; block < nBlocks; block++) {
+            final int start = block << SORTED_BLOCK_SHIFT;
+            dataSet.getValues(DIM_Y, start, sorted, start, SORTED_BLOCK_SIZE);
+            int nFinite = 0;
+            for (int i = start; i < start + SORTED_BLOCK_SIZE; i++) {
+                if (Double.isFinite(sorted[i])) {
+                    nFinite++;
+                } else {
+                    sorted[i] = Double.NaN; // sorted last
+                }
+            }
+            Arrays.sort(sorted, start, start + SORTED_BLOCK_SIZE);
+            sortedFiniteCount[block] = nFinite;
+        }
+        nSortedBlocks = nBlocks;
+    }
+
+    private static double fromSortableBits(final long bits) {
+        return Double.longBitsToDouble(bits ^ ((bits >> 63) & Long.MAX_VALUE));
+    }
+
+    private static long sortableBits(final double value) {
+        // monotonic mapping of doubles onto signed longs
+        final long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+}
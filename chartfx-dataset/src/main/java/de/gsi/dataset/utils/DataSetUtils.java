@@ -440,7 +440,9 @@ public class DataSetUtils extends DataSetUtilsHelper {
      * Read a Dataset from a file containing comma separated values.<br>
      * Automatically determines compression from the file extension.<br>
      * The data format is a custom extension of csv with an additional #-commented Metadata Header and a $-commented
-     * column header. Expects the following columns in this order to be present: index, x, y, eyn, eyp.
+     * column header. Expects the following columns in this order to be present: index, x, y, eyn, eyp.<br>
+     * N.B. the file is parsed onto the heap. See {@link de.gsi.dataset.spi.MappedDataSet} for a memory-mapped binary
+     * format that is better suited for large archives.
      *
      * @param fileName Path and name of file containing csv data.
      * @return DataSet with the data and metadata read from the file
@@ -32,6 +32,13 @@ public class DoubleCircularBuffer {
         return writePos;
     }
 
+    /**
+     * @return the backing array in physical (i.e. not read) order, valid elements are within [0, available())
+     */
+    public double[] elements() {
+        return elements;
+    }
+
     /**
      * 
      * @param into storage container
@@ -172,6 +179,13 @@ public class DoubleCircularBuffer {
         flipped = false;
     }
 
+    /**
+     * @return physical index of the next element to be written (i.e. of the oldest element once the buffer is full)
+     */
+    public int writePosition() {
+        return writePos;
+    }
+
     /**
      * meant for testing/illustrating usage
      *
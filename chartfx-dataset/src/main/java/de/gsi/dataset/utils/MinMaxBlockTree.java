@@ -0,0 +1,270 @@
+package de.gsi.dataset.utils;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+import de.gsi.dataset.AxisDescription;
+
+/**
+ * Incrementally maintained minimum and maximum of an indexed data range, e.g. to keep the {@link AxisDescription}
+ * limits of a data set up-to-date without re-scanning all samples after each modification.
+ * <p>
+ * The samples are grouped into blocks of {@code 2^BLOCK_SHIFT} consecutive indices. A segment tree stores the min/max
+ * of each block (leaves) and of each pair of sub-trees (nodes). After modifying the samples within
+ * <code>[fromIndex, toIndex)</code> only the affected blocks and their parent nodes are re-computed, i.e.
+ * O(toIndex - fromIndex + log n). Appended samples are merged into their blocks without re-scanning. The global
+ * limits are available in O(1), the limits of an arbitrary index range in O(block size + log n).
+ * <p>
+ * The samples are accessed via the supplied lower/upper value functions (e.g. value minus/plus error). Non-finite
+ * values are ignored, consistent with {@link de.gsi.dataset.spi.DataRange#add(double)}. N.B. not thread-safe, updates
+ * and queries should be performed while holding the data set's write lock.
+ *
+ * @author rstein
+ */
+public class MinMaxBlockTree {
+    /** log2 of the number of samples per block */
+    public static final int BLOCK_SHIFT = 6;
+    private final IntToDoubleFunction lowerValue;
+    private final IntToDoubleFunction upperValue;
+    private double[] nodeMin = new double[2];
+    private double[] nodeMax = new double[2];
+    private int leafCount = 1; // number of leaves, always a power of two
+    private int size;
+
+    /**
+     * @param values function returning the value for a given index
+     */
+    public MinMaxBlockTree(final IntToDoubleFunction values) {
+        this(values, values);
+    }
+
+    /**
+     * @param lowerValue function returning the value used for the minimum for a given index (e.g. value - negative
+     *            error)
+     * @param upperValue function returning the value used for the maximum for a given index (e.g. value + positive
+     *            error)
+     */
+    public MinMaxBlockTree(final IntToDoubleFunction lowerValue, final IntToDoubleFunction upperValue) {
+        AssertUtils.notNull("lowerValue", lowerValue);
+        AssertUtils.notNull("upperValue", upperValue);
+        this.lowerValue = lowerValue;
+        this.upperValue = upperValue;
+        clear(0);
+    }
+
+    /**
+     * sets the axis range to the tracked limits or clears it if there are no finite samples
+     *
+     * @param axisDescription the axis description to be updated
+     */
+    public void applyTo(final AxisDescription axisDescription) {
+        if (isEmpty()) {
+            axisDescription.clear();
+        } else {
+            axisDescription.set(getMin(), getMax());
+        }
+    }
+
+    /**
+     * @return maximum of all finite samples or {@code -Double.MAX_VALUE} if there are none
+     */
+    public double getMax() {
+        return nodeMax[1];
+    }
+
+    /**
+     * @return minimum of all finite samples or {@code +Double.MAX_VALUE} if there are none
+     */
+    public double getMin() {
+        return nodeMin[1];
+    }
+
+    /**
+     * @param fromIndex first sample index (inclusive)
+     * @param toIndex last sample index (exclusive)
+     * @return maximum of the finite samples within the range or {@code -Double.MAX_VALUE} if there are none, O(block
+     *         size + log n)
+     */
+    public double getMax(final int fromIndex, final int toIndex) {
+        return query(fromIndex, toIndex, false);
+    }
+
+    /**
+     * @param fromIndex first sample index (inclusive)
+     * @param toIndex last sample index (exclusive)
+     * @return minimum of the finite samples within the range or {@code +Double.MAX_VALUE} if there are none, O(block
+     *         size + log n)
+     */
+    public double getMin(final int fromIndex, final int toIndex) {
+        return query(fromIndex, toIndex, true);
+    }
+
+    /**
+     * @return number of tracked samples
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no finite samples
+     */
+    public boolean isEmpty() {
+        return getMin() > getMax();
+    }
+
+    /**
+     * re-computes the limits from scratch, O(n)
+     *
+     * @param newSize the number of samples
+     */
+    public void rebuild(final int newSize) {
+        clear(newSize);
+        for (int block = 0; block < getBlockCount(newSize); block++) {
+            computeLeaf(block);
+        }
+        for (int node = leafCount - 1; node > 0; node--) {
+            computeNode(node);
+        }
+    }
+
+    /**
+     * updates the limits after the samples within <code>[fromIndex, toIndex)</code> have been modified and/or the
+     * number of samples changed (in the latter case, samples between the old and new size are implicitly included)
+     *
+     * @param newSize the new number of samples
+     * @param fromIndex first modified sample index
+     * @param toIndex last modified sample index (exclusive)
+     */
+    public void update(final int newSize, final int fromIndex, final int toIndex) {
+        final int oldSize = size;
+        int from = Math.max(0, fromIndex);
+        int to = Math.min(toIndex, Math.max(oldSize, newSize));
+        if (newSize != oldSize) {
+            from = Math.min(from, Math.min(oldSize, newSize));
+            to = Math.max(to, Math.max(oldSize, newSize));
+        }
+        if (to <= from) {
+            return;
+        }
+        if (getBlockCount(newSize) > leafCount) {
+            // N.B. capacity doubling -> amortised O(1) per appended sample
+            rebuild(newSize);
+            return;
+        }
+        size = newSize;
+
+        final int firstBlock = from >> BLOCK_SHIFT;
+        final int lastBlock = (to - 1) >> BLOCK_SHIFT;
+        if (from >= oldSize) {
+            // pure append: merge new samples into their (partially filled) blocks
+            for (int index = from; index < to; index++) {
+                mergeLeaf(leafCount + (index >> BLOCK_SHIFT), index);
+            }
+        } else {
+            for (int block = firstBlock; block <= lastBlock; block++) {
+                computeLeaf(block);
+            }
+        }
+
+        // propagate towards the root
+        int lo = (leafCount + firstBlock) >> 1;
+        int hi = (leafCount + lastBlock) >> 1;
+        while (lo > 0) {
+            for (int node = lo; node <= hi; node++) {
+                computeNode(node);
+            }
+            lo >>= 1;
+            hi >>= 1;
+        }
+    }
+
+    private void clear(final int newSize) {
+        final int nBlocks = getBlockCount(newSize);
+        if (nBlocks > leafCount || nodeMin.length != 2 * leafCount) {
+            while (leafCount < nBlocks) {
+                leafCount <<= 1;
+            }
+            nodeMin = new double[2 * leafCount];
+            nodeMax = new double[2 * leafCount];
+        }
+        Arrays.fill(nodeMin, Double.MAX_VALUE);
+        Arrays.fill(nodeMax, -Double.MAX_VALUE);
+        size = newSize;
+    }
+
+    private void computeLeaf(final int block) {
+        final int leaf = leafCount + block;
+        nodeMin[leaf] = Double.MAX_VALUE;
+        nodeMax[leaf] = -Double.MAX_VALUE;
+        final int end = Math.min(size, (block + 1) << BLOCK_SHIFT);
+        for (int index = block << BLOCK_SHIFT; index < end; index++) {
+            mergeLeaf(leaf, index);
+        }
+    }
+
+    private void computeNode(final int node) {
+        final int left = node << 1;
+        nodeMin[node] = Math.min(nodeMin[left], nodeMin[left + 1]);
+        nodeMax[node] = Math.max(nodeMax[left], nodeMax[left + 1]);
+    }
+
+    private void mergeLeaf(final int leaf, final int index) {
+        final double lower = lowerValue.applyAsDouble(index);
+        if (Double.isFinite(lower) && lower < nodeMin[leaf]) {
+            nodeMin[leaf] = lower;
+        }
+        final double upper = upperValue.applyAsDouble(index);
+        if (Double.isFinite(upper) && upper > nodeMax[leaf]) {
+            nodeMax[leaf] = upper;
+        }
+    }
+
+    private double query(final int fromIndex, final int toIndex, final boolean isMin) {
+        final int from = Math.max(0, fromIndex);
+        final int to = Math.min(toIndex, size);
+        double result = isMin ? Double.MAX_VALUE : -Double.MAX_VALUE;
+        if (to <= from) {
+            return result;
+        }
+        // partially covered blocks at both ends are scanned, fully covered blocks are taken from the tree
+        final int firstFullBlock = (from + (1 << BLOCK_SHIFT) - 1) >> BLOCK_SHIFT;
+        final int lastFullBlock = (to >> BLOCK_SHIFT) - 1;
+        if (firstFullBlock > lastFullBlock) {
+            return scan(from, to, isMin, result);
+        }
+        result = scan(from, firstFullBlock << BLOCK_SHIFT, isMin, result);
+        result = scan((lastFullBlock + 1) << BLOCK_SHIFT, to, isMin, result);
+        final double[] nodes = isMin ? nodeMin : nodeMax;
+        int lo = leafCount + firstFullBlock;
+        int hi = leafCount + lastFullBlock + 1;
+        while (lo < hi) {
+            if ((lo & 1) == 1) {
+                result = isMin ? Math.min(result, nodes[lo]) : Math.max(result, nodes[lo]);
+                lo++;
+            }
+            if ((hi & 1) == 1) {
+                hi--;
+                result = isMin ? Math.min(result, nodes[hi]) : Math.max(result, nodes[hi]);
+            }
+            lo >>= 1;
+            hi >>= 1;
+        }
+        return result;
+    }
+
+    private double scan(final int from, final int to, final boolean isMin, final double initial) {
+        double result = initial;
+        for (int index = from; index < to; index++) {
+            final double value = isMin ? lowerValue.applyAsDouble(index) : upperValue.applyAsDouble(index);
+            if (Double.isFinite(value)) {
+                result = isMin ? Math.min(result, value) : Math.max(result, value);
+            }
+        }
+        return result;
+    }
+
+    private static int getBlockCount(final int nSamples) {
+        return (nSamples + (1 << BLOCK_SHIFT) - 1) >> BLOCK_SHIFT;
+    }
+}
@@ -0,0 +1,363 @@
+package de.gsi.dataset.utils;
+
+import de.gsi.dataset.DataSet;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Multi-resolution min/max (M4-type) index over one dimension of a {@link DataSet}.
+ * <p>
+ * Level '0' groups {@code 2^MIN_BIN_SHIFT} consecutive samples into one bin, each further level merges two bins of the
+ * previous level. Each bin stores the index and value of its minimum and maximum sample. The pyramid is synchronised
+ * lazily: appended samples are merged incrementally on the next query (O(log n) per sample), any other modification
+ * needs to be announced via {@link #invalidate(int)} which truncates the pyramid to the unaffected head.
+ * <p>
+ * The primary use-case is {@link #getReducedIndices(int, int, int, int[])} which returns, for a given index range and
+ * number of output columns, the first, min, max and last sample indices for each bin of the best-fitting level. This
+ * permits renderers to transform only about four points per pixel column rather than all visible samples.
+ * <p>
+ * N.B. the index assumes that the underlying data is sorted in the abscissa. Queries should be performed while holding
+ * the data set's read lock.
+ *
+ * @author rstein
+ */
+public class MinMaxPyramid {
+    /** log2 of the number of samples per level-0 bin */
+    public static final int MIN_BIN_SHIFT = 4;
+    private final DataSet dataSet;
+    private final int dimIndex;
+    private final IntArrayList[] minIndex = new IntArrayList[Integer.SIZE];
+    private final IntArrayList[] maxIndex = new IntArrayList[Integer.SIZE];
+    private final DoubleArrayList[] minValue = new DoubleArrayList[Integer.SIZE];
+    private final DoubleArrayList[] maxValue = new DoubleArrayList[Integer.SIZE];
+    private int nLevels;
+    private int validCount;
+    // temporary result of the last range min/max query
+    private int queryMinIndex;
+    private int queryMaxIndex;
+    private double queryMin;
+    private double queryMax;
+
+    /**
+     * @param dataSet the source data set
+     * @param dimIndex the dimension for which the min/max values are being tracked (usually {@link DataSet#DIM_Y})
+     */
+    public MinMaxPyramid(final DataSet dataSet, final int dimIndex) {
+        this.dataSet = dataSet;
+        this.dimIndex = dimIndex;
+    }
+
+    /**
+     * @return the number of samples that are currently indexed
+     */
+    public synchronized int getIndexedCount() {
+        return validCount;
+    }
+
+    /**
+     * @return number of active pyramid levels
+     */
+    public synchronized int getLevelCount() {
+        return nLevels;
+    }
+
+    /**
+     * computes the indices of the minimum and maximum sample within the given index range
+     *
+     * @param fromIndex start index (inclusive)
+     * @param toIndex stop index (exclusive)
+     * @return array containing the {@code [minIndex, maxIndex]} or {@code [-1, -1]} for empty or all-NaN ranges
+     */
+    public synchronized int[] getMinMaxIndices(final int fromIndex, final int toIndex) {
+        synchronise();
+        final int from = Math.max(0, fromIndex);
+        final int to = Math.min(toIndex, validCount);
+        if (from >= to) {
+            return new int[] { -1, -1 };
+        }
+        queryRange(from, to);
+        return new int[] { queryMinIndex, queryMaxIndex };
+    }
+
+    /**
+     * Computes the M4-type (first, minimum, maximum, last) representative sample indices for the given range using the
+     * coarsest pyramid level that still provides at least {@code nColumns} bins.
+     *
+     * @param fromIndex start index (inclusive)
+     * @param toIndex stop index (exclusive)
+     * @param nColumns number of output columns (usually the number of horizontal pixels)
+     * @param indices storage for the sorted resulting indices (needs to have at least {@link #getRequiredCapacity(int)}
+     *            elements)
+     * @return number of indices written to {@code indices} or '-1' if the range is too small to be reduced
+     */
+    public synchronized int getReducedIndices(final int fromIndex, final int toIndex, final int nColumns,
+            final int[] indices) {
+        synchronise();
+        final int from = Math.max(0, fromIndex);
+        final int to = Math.min(toIndex, validCount);
+        final int level = getLevelFor(to - from, nColumns);
+        if (level < 0) {
+            return -1;
+        }
+        if (indices == null || indices.length < getRequiredCapacity(nColumns)) {
+            throw new IllegalArgumentException("indices storage too small for nColumns = " + nColumns);
+        }
+        final int shift = MIN_BIN_SHIFT + level;
+        final int binSize = 1 << shift;
+        final int firstBin = (from + binSize - 1) >> shift;
+        final int lastBin = to >> shift; // exclusive
+
+        int count = 0;
+        // partial bin at the beginning
+        final int headEnd = Math.min(firstBin << shift, to);
+        if (from < headEnd) {
+            count = addRange(indices, count, from, headEnd);
+        }
+
+        final int[] minIdx = minIndex[level].elements();
+        final int[] maxIdx = maxIndex[level].elements();
+        for (int bin = firstBin; bin < lastBin; bin++) {
+            final int start = bin << shift;
+            count = addSorted(indices, count, start, minIdx[bin], maxIdx[bin], start + binSize - 1);
+        }
+
+        // partial bin at the end
+        final int tailStart = Math.max(lastBin << shift, headEnd);
+        if (tailStart < to) {
+            count = addRange(indices, count, tailStart, to);
+        }
+        return count;
+    }
+
+    /**
+     * Invalidates the index from the given sample index onwards. Needs to be called for any modification other than
+     * appending samples at the end (e.g. insertion, removal, or modification of existing samples).
+     *
+     * @param fromIndex first modified sample index
+     */
+    public synchronized void invalidate(final int fromIndex) {
+        if (fromIndex >= validCount) {
+            return;
+        }
+        // truncate to the last complete level-0 bin before 'fromIndex'
+        final int newCount = Math.max(0, fromIndex) >> MIN_BIN_SHIFT << MIN_BIN_SHIFT;
+        validCount = newCount;
+        for (int level = 0; level < nLevels; level++) {
+            final int shift = MIN_BIN_SHIFT + level;
+            final int nBins = (newCount + (1 << shift) - 1) >> shift;
+            minIndex[level].size(nBins);
+            maxIndex[level].size(nBins);
+            minValue[level].size(nBins);
+            maxValue[level].size(nBins);
+            if (level == 0 || (newCount & ((1 << shift) - 1)) == 0) {
+                continue;
+            }
+            // last bin is partial -> recompute from the (already truncated) lower level
+            final int bin = nBins - 1;
+            final int lowerBins = minIndex[level - 1].size();
+            resetBin(level, bin);
+            for (int child = bin << 1; child < lowerBins; child++) {
+                mergeBin(level, bin, level - 1, child);
+            }
+        }
+        while (nLevels > 0 && minIndex[nLevels - 1].isEmpty()) {
+            nLevels--;
+        }
+    }
+
+    /**
+     * drops the complete index
+     */
+    public synchronized void reset() {
+        invalidate(0);
+    }
+
+    /**
+     * merges newly appended samples of the underlying data set into the index
+     */
+    protected void synchronise() {
+        final int dataCount = dataSet.getDataCount(dimIndex);
+        if (dataCount < validCount) {
+            invalidate(dataCount);
+        }
+        for (int index = validCount; index < dataCount; index++) {
+            append(index, dataSet.get(dimIndex, index));
+        }
+        validCount = dataCount;
+    }
+
+    private int addRange(final int[] indices, final int count, final int from, final int to) {
+        queryRange(from, to);
+        if (queryMinIndex < 0) {
+            return addSorted(indices, count, from, from, from, to - 1);
+        }
+        return addSorted(indices, count, from, queryMinIndex, queryMaxIndex, to - 1);
+    }
+
+    private void append(final int index, final double value) {
+        for (int level = 0;; level++) {
+            final int shift = MIN_BIN_SHIFT + level;
+            final int bin = index >> shift;
+            if (level >= nLevels) {
+                if (bin == 0 && level > 0) {
+                    // the previous level contains only one bin -> no need for a coarser level
+                    return;
+                }
+                ensureLevel(level);
+                if (level > 0) {
+                    // newly created level: merge existing bins of previous level
+                    final int lowerBins = minIndex[level - 1].size() - 1;
+                    for (int child = 0; child < lowerBins; child++) {
+                        final int parent = child >> 1;
+                        if (parent >= minIndex[level].size()) {
+                            addEmptyBin(level);
+                        }
+                        mergeBin(level, parent, level - 1, child);
+                    }
+                }
+            }
+            if (bin >= minIndex[level].size()) {
+                addEmptyBin(level);
+            }
+            updateBin(level, bin, index, value);
+        }
+    }
+
+    private void addEmptyBin(final int level) {
+        minIndex[level].add(-1);
+        maxIndex[level].add(-1);
+        minValue[level].add(Double.NaN);
+        maxValue[level].add(Double.NaN);
+    }
+
+    private void ensureLevel(final int level) {
+        if (minIndex[level] == null) {
+            minIndex[level] = new IntArrayList();
+            maxIndex[level] = new IntArrayList();
+            minValue[level] = new DoubleArrayList();
+            maxValue[level] = new DoubleArrayList();
+        }
+        nLevels = level + 1;
+    }
+
+    private int getLevelFor(final int range, final int nColumns) {
+        if (nColumns <= 0 || range <= 0) {
+            return -1;
+        }
+        final int samplesPerColumn = range / nColumns;
+        if (samplesPerColumn < (1 << MIN_BIN_SHIFT)) {
+            return -1;
+        }
+        final int level = (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(samplesPerColumn)) - MIN_BIN_SHIFT;
+        return Math.min(level, nLevels - 1);
+    }
+
+    private void mergeBin(final int level, final int bin, final int childLevel, final int child) {
+        final int childMin = minIndex[childLevel].getInt(child);
+        if (childMin >= 0) {
+            updateBin(level, bin, childMin, minValue[childLevel].getDouble(child));
+        }
+        final int childMax = maxIndex[childLevel].getInt(child);
+        if (childMax >= 0) {
+            updateBin(level, bin, childMax, maxValue[childLevel].getDouble(child));
+        }
+    }
+
+    private void queryLevel(final int level, final int from, final int to) {
+        if (from >= to) {
+            return;
+        }
+        if (level < 0) {
+            for (int index = from; index < to; index++) {
+                updateQuery(index, dataSet.get(dimIndex, index), index, dataSet.get(dimIndex, index));
+            }
+            return;
+        }
+        final int shift = MIN_BIN_SHIFT + level;
+        final int firstBin = (from + (1 << shift) - 1) >> shift;
+        final int lastBin = to >> shift; // exclusive
+        if (firstBin >= lastBin) {
+            queryLevel(level - 1, from, to);
+            return;
+        }
+        queryLevel(level - 1, from, firstBin << shift);
+        final int[] minIdx = minIndex[level].elements();
+        final int[] maxIdx = maxIndex[level].elements();
+        final double[] minVal = minValue[level].elements();
+        final double[] maxVal = maxValue[level].elements();
+        for (int bin = firstBin; bin < lastBin; bin++) {
+            if (minIdx[bin] >= 0) {
+                updateQuery(minIdx[bin], minVal[bin], maxIdx[bin], maxVal[bin]);
+            }
+        }
+        queryLevel(level - 1, lastBin << shift, to);
+    }
+
+    private void queryRange(final int from, final int to) {
+        queryMinIndex = -1;
+        queryMaxIndex = -1;
+        queryMin = Double.NaN;
+        queryMax = Double.NaN;
+        queryLevel(nLevels - 1, from, to);
+    }
+
+    private void resetBin(final int level, final int bin) {
+        minIndex[level].set(bin, -1);
+        maxIndex[level].set(bin, -1);
+        minValue[level].set(bin, Double.NaN);
+        maxValue[level].set(bin, Double.NaN);
+    }
+
+    private void updateBin(final int level, final int bin, final int index, final double value) {
+        final double[] minVal = minValue[level].elements();
+        final double[] maxVal = maxValue[level].elements();
+        if (minIndex[level].getInt(bin) < 0 || value < minVal[bin] || Double.isNaN(minVal[bin])) {
+            minIndex[level].set(bin, index);
+            minVal[bin] = value;
+        }
+        if (maxIndex[level].getInt(bin) < 0 || value > maxVal[bin] || Double.isNaN(maxVal[bin])) {
+            maxIndex[level].set(bin, index);
+            maxVal[bin] = value;
+        }
+    }
+
+    private void updateQuery(final int minIdx, final double minVal, final int maxIdx, final double maxVal) {
+        if (queryMinIndex < 0 || minVal < queryMin || (Double.isNaN(queryMin) && !Double.isNaN(minVal))) {
+            queryMinIndex = minIdx;
+            queryMin = minVal;
+        }
+        if (queryMaxIndex < 0 || maxVal > queryMax || (Double.isNaN(queryMax) && !Double.isNaN(maxVal))) {
+            queryMaxIndex = maxIdx;
+            queryMax = maxVal;
+        }
+    }
+
+    /**
+     * @param nColumns number of output columns
+     * @return minimum required storage capacity for {@link #getReducedIndices(int, int, int, int[])}
+     */
+    public static int getRequiredCapacity(final int nColumns) {
+        // up to two bins per column + two partial bins with four points each
+        return 4 * (2 * Math.max(nColumns, 1) + 2);
+    }
+
+    private static int addSorted(final int[] indices, final int count, final int first, final int idx1,
+            final int idx2, final int last) {
+        int n = count;
+        final int lower = Math.min(idx1, idx2);
+        final int upper = Math.max(idx1, idx2);
+        n = addUnique(indices, n, first);
+        n = addUnique(indices, n, lower);
+        n = addUnique(indices, n, upper);
+        return addUnique(indices, n, last);
+    }
+
+    private static int addUnique(final int[] indices, final int count, final int index) {
+        if (count > 0 && indices[count - 1] >= index) {
+            return count;
+        }
+        indices[count] = index;
+        return count + 1;
+    }
+}
@@ -0,0 +1,68 @@
+package de.gsi.dataset.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Regression testing for @see CoalescingEventListener
+ *
+ * @author rstein
+ */
+public class CoalescingEventListenerTests {
+    private static final int N_UPDATES = 1000;
+
+    @Test
+    public void coalescingTests() throws InterruptedException {
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        final CountDownLatch blockListener = new CountDownLatch(1);
+        final List<UpdateEvent> received = new CopyOnWriteArrayList<>();
+        final CoalescingEventListener listener = new CoalescingEventListener(evt -> {
+            try {
+                blockListener.await(); // emulates a slow (e.g. JavaFX) consumer
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(evt);
+        }, 10);
+        dataSet.addListener(listener);
+
+        // producer must not wait on the blocked listener
+        for (int i = 0; i < N_UPDATES; i++) {
+            dataSet.add(i, i);
+        }
+        assertEquals(N_UPDATES, listener.getReceivedCount());
+        blockListener.countDown();
+
+        final long timeOut = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((listener.hasPendingEvents() || listener.getDeliveredCount() + listener.getDroppedCount() < N_UPDATES)
+                && System.nanoTime() < timeOut) {
+            Thread.sleep(10);
+        }
+        assertFalse(listener.hasPendingEvents());
+        assertEquals(N_UPDATES, listener.getDeliveredCount() + listener.getDroppedCount());
+        assertEquals(listener.getDeliveredCount(), received.size());
+        assertTrue(received.size() < N_UPDATES / 10, "events have been coalesced: " + received.size());
+        assertEquals(AddedDataEvent.class, received.get(received.size() - 1).getClass(), "latest event retained");
+    }
+
+    @Test
+    public void constructorTests() {
+        final EventListener delegate = evt -> {};
+        assertEquals(delegate, new CoalescingEventListener(delegate).getDelegate());
+        assertEquals(40, new CoalescingEventListener(delegate, 40).getMinUpdatePeriod());
+        assertThrows(IllegalArgumentException.class, () -> new CoalescingEventListener(null));
+        assertThrows(IllegalArgumentException.class, () -> new CoalescingEventListener(delegate, -1));
+        assertThrows(IllegalArgumentException.class, () -> new CoalescingEventListener(delegate, 10, 0));
+    }
+}
@@ -1,12 +1,16 @@
 package de.gsi.dataset.spi;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static de.gsi.dataset.DataSet.DIM_X;
 import static de.gsi.dataset.DataSet.DIM_Y;
 
+import java.nio.DoubleBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
@@ -202,6 +206,41 @@ public class DoubleErrorDataSetTests extends EditableDataSetTests {
         }
     }
 
+    @Test
+    public void bulkGetterTests() {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", testCoordinate[0], testCoordinate[1], testEYN,
+                testEYP, testEYN.length, true);
+        dataSet.increaseCapacity(10); // backing arrays larger than the data count
+
+        final double[] target = new double[n + 2];
+        assertArrayEquals(new double[] { 0.0, 2.0, 3.0, 0.0, 0.0 }, dataSet.getValues(DIM_X, 1, target, 1, 2));
+        assertArrayEquals(new double[] { 0.0, 0.3, 0.4, 0.0, 0.0 },
+                dataSet.getErrorsNegative(DIM_Y, 1, new double[n + 2], 1, 2));
+        assertArrayEquals(new double[] { 0.1, 0.2, 0.3, 0.0, 0.0 },
+                dataSet.getErrorsPositive(DIM_Y, 0, new double[n + 2], 0, n));
+        Arrays.fill(target, 1.0);
+        assertArrayEquals(new double[] { 0.0, 0.0, 0.0, 1.0, 1.0 }, dataSet.getErrorsPositive(DIM_X, 0, target, 0, n));
+
+        for (int dimIndex = 0; dimIndex < dataSet.getDimension(); dimIndex++) {
+            final DoubleBuffer view = dataSet.getValuesView(dimIndex);
+            assertTrue(view.isReadOnly());
+            assertEquals(n, view.remaining());
+            for (int i = 0; i < n; i++) {
+                assertEquals(testCoordinate[dimIndex][i], view.get(i), "view(" + dimIndex + ", " + i + ")");
+            }
+            assertThrows(ReadOnlyBufferException.class, () -> view.put(0, 42.0));
+        }
+
+        // default interface implementations
+        final CircularDoubleErrorDataSet defaultDataSet = new CircularDoubleErrorDataSet("test", n);
+        for (int i = 0; i < n; i++) {
+            defaultDataSet.add(testCoordinate[0][i], testCoordinate[1][i], testEYN[i], testEYP[i]);
+        }
+        assertArrayEquals(testCoordinate[1], defaultDataSet.getValues(DIM_Y, 0, new double[n], 0, n));
+        assertArrayEquals(testEYN, defaultDataSet.getErrorsNegative(DIM_Y, 0, new double[n], 0, n));
+        assertEquals(n, defaultDataSet.getValuesView(DIM_X).remaining());
+    }
+
     @Test
     public void mixedErrorNonErrorDataSetTests() {
         final DoubleDataSet dataSet1 = new DoubleDataSet("test", testCoordinate[0], testCoordinate[1],
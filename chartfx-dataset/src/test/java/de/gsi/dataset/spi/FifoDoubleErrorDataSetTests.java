@@ -0,0 +1,113 @@
+package de.gsi.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Regression testing for @see FifoDoubleErrorDataSet
+ *
+ * @author rstein
+ */
+public class FifoDoubleErrorDataSetTests {
+    @Test
+    public void basicTests() {
+        assertThrows(IllegalArgumentException.class, () -> new FifoDoubleErrorDataSet("test", 0));
+        assertThrows(IllegalArgumentException.class, () -> new FifoDoubleErrorDataSet("test", 10, 0.0));
+
+        final FifoDoubleErrorDataSet dataSet = new FifoDoubleErrorDataSet("test", 5, 10.0);
+        assertEquals(5, dataSet.getCapacity());
+        assertEquals(10.0, dataSet.getMaxDistance());
+        assertEquals(0, dataSet.getDataCount(DIM_X));
+        assertFalse(dataSet.getAxisDescription(DIM_X).isDefined());
+
+        dataSet.add(1.0, 2.0, 0.1, 0.2, "tag", "style");
+        assertEquals(1, dataSet.getDataCount(DIM_X));
+        assertEquals(1.0, dataSet.get(DIM_X, 0));
+        assertEquals(2.0, dataSet.get(DIM_Y, 0));
+        assertEquals(0.0, dataSet.getErrorNegative(DIM_X, 0));
+        assertEquals(0.1, dataSet.getErrorNegative(DIM_Y, 0));
+        assertEquals(0.2, dataSet.getErrorPositive(DIM_Y, 0));
+        assertEquals("tag", dataSet.getDataLabel(0));
+        assertEquals("style", dataSet.getStyle(0));
+        // y limits include the error bars
+        assertEquals(1.9, dataSet.getAxisDescription(DIM_Y).getMin());
+        assertEquals(2.2, dataSet.getAxisDescription(DIM_Y).getMax());
+
+        // non-finite x coordinates are ignored
+        dataSet.add(Double.NaN, 2.0, 0.1, 0.2);
+        assertEquals(1, dataSet.getDataCount(DIM_X));
+
+        // capacity overflow drops the oldest points
+        dataSet.add(new double[] { 2, 3, 4, 5, 6, 7 }, new double[] { 5, 4, 3, 2, 1, 0 }, new double[6],
+                new double[6]);
+        assertEquals(5, dataSet.getDataCount(DIM_X));
+        assertArrayEquals(new double[] { 3, 4, 5, 6, 7 }, dataSet.getValues(DIM_X, 0, new double[5], 0, 5));
+        assertArrayEquals(new double[] { 4, 3, 2, 1, 0 }, dataSet.getValues(DIM_Y, 0, new double[5], 0, 5));
+        assertNull(dataSet.getDataLabel(0));
+        assertEquals(3.0, dataSet.getAxisDescription(DIM_X).getMin());
+        assertEquals(7.0, dataSet.getAxisDescription(DIM_X).getMax());
+        assertEquals(0.0, dataSet.getAxisDescription(DIM_Y).getMin());
+        assertEquals(4.0, dataSet.getAxisDescription(DIM_Y).getMax());
+
+        // time-window expiry
+        assertEquals(3, dataSet.expire(15.5));
+        assertArrayEquals(new double[] { 6, 7 }, dataSet.getValues(DIM_X, 0, new double[2], 0, 2));
+        assertEquals(6.0, dataSet.getAxisDescription(DIM_X).getMin());
+        assertEquals(1.0, dataSet.getAxisDescription(DIM_Y).getMax());
+        assertEquals(0, dataSet.expire(15.5));
+
+        dataSet.reset();
+        assertEquals(0, dataSet.getDataCount(DIM_X));
+        assertFalse(dataSet.getAxisDescription(DIM_Y).isDefined());
+    }
+
+    @Test
+    public void slidingWindowLimitTests() {
+        final int capacity = 64;
+        final double maxDistance = 40.0;
+        final FifoDoubleErrorDataSet dataSet = new FifoDoubleErrorDataSet("test", capacity, maxDistance);
+        final Deque<double[]> reference = new ArrayDeque<>();
+        final Random rnd = new Random(42);
+        double x = 0.0;
+        for (int i = 0; i < 2000; i++) {
+            x += rnd.nextDouble();
+            final double y = rnd.nextGaussian();
+            final double yErrorNeg = 0.5 * rnd.nextDouble();
+            final double yErrorPos = 0.5 * rnd.nextDouble();
+            dataSet.add(x, y, yErrorNeg, yErrorPos);
+            reference.addLast(new double[] { x, y - yErrorNeg, y + yErrorPos });
+            while (reference.size() > capacity || x - reference.peekFirst()[0] > maxDistance) {
+                reference.removeFirst();
+            }
+
+            assertEquals(reference.size(), dataSet.getDataCount(DIM_X));
+            assertEquals(reference.peekFirst()[0], dataSet.get(DIM_X, 0));
+            assertEquals(x, dataSet.get(DIM_X, dataSet.getDataCount(DIM_X) - 1));
+            assertEquals(reference.stream().mapToDouble(p -> p[1]).min().getAsDouble(),
+                    dataSet.getAxisDescription(DIM_Y).getMin());
+            assertEquals(reference.stream().mapToDouble(p -> p[2]).max().getAsDouble(),
+                    dataSet.getAxisDescription(DIM_Y).getMax());
+            assertEquals(reference.peekFirst()[0], dataSet.getAxisDescription(DIM_X).getMin());
+            assertEquals(x, dataSet.getAxisDescription(DIM_X).getMax());
+        }
+
+        // incremental limits are consistent with a full recomputation
+        final double yMin = dataSet.getAxisDescription(DIM_Y).getMin();
+        final double yMax = dataSet.getAxisDescription(DIM_Y).getMax();
+        dataSet.recomputeLimits(DIM_X);
+        assertEquals(yMin, dataSet.getAxisDescription(DIM_Y).getMin());
+        assertEquals(yMax, dataSet.getAxisDescription(DIM_Y).getMax());
+    }
+}
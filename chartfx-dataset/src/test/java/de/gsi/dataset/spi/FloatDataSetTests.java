@@ -1,10 +1,12 @@
 package de.gsi.dataset.spi;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
 
 import java.util.Arrays;
 
@@ -148,6 +150,24 @@ public class FloatDataSetTests extends EditableDataSetTests {
         assertEquals(testCoordinate[0].length, dataSet.getCapacity(), "capacity after trime");
     }
 
+    @Test
+    public void labelAndStyleTests() {
+        // overwriting a range clears its labels/styles but keeps the following ones in place
+        FloatDataSet dataSet = getLabelledDataSet();
+        dataSet.set(2, new double[] { 20.0, 30.0 }, new double[] { 20.0, 30.0 });
+        assertLabelsAndStyles(dataSet, "L0", "L1", null, null, "L4", "L5", "L6", "L7", "L8", "L9");
+
+        // removing a range shifts the following labels/styles to the left
+        dataSet = getLabelledDataSet();
+        dataSet.remove(2, 4);
+        assertLabelsAndStyles(dataSet, "L0", "L1", "L4", "L5", "L6", "L7", "L8", "L9");
+
+        // inserting points shifts the following labels/styles by the number of inserted points
+        dataSet = getLabelledDataSet();
+        dataSet.add(2, new float[] { 1.5f, 1.6f, 1.7f }, new float[] { 1.5f, 1.6f, 1.7f });
+        assertLabelsAndStyles(dataSet, "L0", "L1", null, null, null, "L2", "L3", "L4", "L5", "L6", "L7", "L8", "L9");
+    }
+
     @Test
     public void setterTests() {
         final FloatDataSet firstDataSet = new FloatDataSet("test", testCoordinate[0], testCoordinate[1], n, true);
@@ -186,6 +206,16 @@ public class FloatDataSetTests extends EditableDataSetTests {
         }
     }
 
+    @Test
+    public void bulkGetterTests() {
+        final FloatDataSet dataSet = new FloatDataSet("test", testCoordinate[0], testCoordinate[1], n, true);
+
+        assertArrayEquals(new double[] { 0.0, 4.0, 6.0 }, dataSet.getValues(DIM_Y, 1, new double[n], 1, 2));
+        assertArrayEquals(new double[] { 1.0, 2.0, 3.0 }, dataSet.getValues(DIM_X, 0, new double[n], 0, n));
+        assertEquals(2.0, dataSet.getValuesView(DIM_X).get(1));
+        assertEquals(n, dataSet.getValuesView(DIM_Y).remaining());
+    }
+
     @Test
     public void mixedErrorNonErrorDataSetTests() {
         final FloatDataSet dataSet1 = new FloatDataSet("test", testCoordinate[0], testCoordinate[1],
@@ -203,4 +233,23 @@ public class FloatDataSetTests extends EditableDataSetTests {
 
         assertEquals(dataSet1, dataSet3);
     }
+
+    private static void assertLabelsAndStyles(final FloatDataSet dataSet, final String... labels) {
+        assertEquals(labels.length, dataSet.getDataCount());
+        for (int i = 0; i < labels.length; i++) {
+            assertEquals(labels[i], dataSet.getDataLabelMap().get(i), "label at index " + i);
+            assertEquals(labels[i] == null ? null : "style" + labels[i], dataSet.getDataStyleMap().get(i),
+                    "style at index " + i);
+        }
+    }
+
+    private static FloatDataSet getLabelledDataSet() {
+        final FloatDataSet dataSet = new FloatDataSet("labels");
+        for (int i = 0; i < 10; i++) {
+            dataSet.add(i, i);
+            dataSet.addDataLabel(i, "L" + i);
+            dataSet.addDataStyle(i, "styleL" + i);
+        }
+        return dataSet;
+    }
 }
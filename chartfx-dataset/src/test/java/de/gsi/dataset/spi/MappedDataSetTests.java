@@ -0,0 +1,140 @@
+package de.gsi.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+import static de.gsi.dataset.DataSet.DIM_Z;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.gsi.dataset.DataSetError.ErrorType;
+
+/**
+ * Regression testing for @see MappedDataSet
+ *
+ * @author rstein
+ */
+public class MappedDataSetTests {
+    private static final int N_SAMPLES = 200_000; // > internal write block size
+
+    @TempDir
+    protected Path tempDir;
+
+    @Test
+    public void errorDataSetTests() throws IOException {
+        final DoubleErrorDataSet original = new DoubleErrorDataSet("test with errors", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            original.add(i, Math.sin(0.001 * i), 0.1, 0.2);
+        }
+        original.getAxisDescription(DIM_X).set("time", "s");
+        original.getAxisDescription(DIM_Y).set("voltage", "V");
+        original.recomputeLimits(DIM_X);
+
+        final Path file = tempDir.resolve("errorDataSet.bin");
+        MappedDataSet.write(original, file);
+        final MappedDataSet mapped = new MappedDataSet(file);
+
+        assertEquals(original.getName(), mapped.getName());
+        assertEquals(2, mapped.getDimension());
+        assertEquals(N_SAMPLES, mapped.getDataCount());
+        assertEquals(ErrorType.NO_ERROR, mapped.getErrorType(DIM_X));
+        assertEquals(ErrorType.ASYMMETRIC, mapped.getErrorType(DIM_Y));
+        assertEquals("time", mapped.getAxisDescription(DIM_X).getName());
+        assertEquals("s", mapped.getAxisDescription(DIM_X).getUnit());
+        assertEquals("voltage", mapped.getAxisDescription(DIM_Y).getName());
+        assertEquals("V", mapped.getAxisDescription(DIM_Y).getUnit());
+
+        // limits are taken from the header and include the errors
+        assertTrue(mapped.getAxisDescription(DIM_Y).isDefined());
+        assertEquals(original.getAxisDescription(DIM_X).getMin(), mapped.getAxisDescription(DIM_X).getMin());
+        assertEquals(original.getAxisDescription(DIM_X).getMax(), mapped.getAxisDescription(DIM_X).getMax());
+        assertEquals(original.getAxisDescription(DIM_Y).getMin(), mapped.getAxisDescription(DIM_Y).getMin());
+        assertEquals(original.getAxisDescription(DIM_Y).getMax(), mapped.getAxisDescription(DIM_Y).getMax());
+
+        for (int i = 0; i < N_SAMPLES; i += 997) {
+            assertEquals(original.get(DIM_X, i), mapped.get(DIM_X, i));
+            assertEquals(original.get(DIM_Y, i), mapped.get(DIM_Y, i));
+            assertEquals(0.0, mapped.getErrorNegative(DIM_X, i));
+            assertEquals(0.1, mapped.getErrorNegative(DIM_Y, i));
+            assertEquals(0.2, mapped.getErrorPositive(DIM_Y, i));
+        }
+        assertArrayEquals(original.getValues(DIM_Y), mapped.getValues(DIM_Y));
+        assertArrayEquals(original.getErrorsNegative(DIM_Y), mapped.getErrorsNegative(DIM_Y));
+        assertArrayEquals(original.getErrorsPositive(DIM_Y), mapped.getErrorsPositive(DIM_Y));
+        assertArrayEquals(new double[N_SAMPLES], mapped.getErrorsPositive(DIM_X));
+
+        final double[] target = new double[12];
+        mapped.getValues(DIM_X, 1000, target, 2, 10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1000.0 + i, target[2 + i]);
+        }
+
+        final DoubleBuffer view = mapped.getValuesView(DIM_X);
+        assertEquals(N_SAMPLES, view.remaining());
+        assertTrue(view.isReadOnly());
+        assertEquals(42.0, view.get(42));
+
+        assertEquals(1234, mapped.getIndex(DIM_X, 1234.2));
+        assertEquals(original.getValue(DIM_Y, 1234.5), mapped.getValue(DIM_Y, 1234.5));
+        assertEquals(original, mapped);
+    }
+
+    @Test
+    public void dataSet3DTests() throws IOException {
+        final double[] x = { 1.0, 2.0, 3.0 };
+        final double[] y = { 10.0, 20.0 };
+        final double[][] z = { { 1.0, 2.0, 3.0 }, { 4.0, 5.0, 6.0 } };
+        final DoubleDataSet3D original = new DoubleDataSet3D("3D data", x, y, z);
+
+        final Path file = tempDir.resolve("dataSet3D.bin");
+        MappedDataSet.write(original, file);
+        final MappedDataSet mapped = new MappedDataSet(file);
+
+        assertEquals(3, mapped.getDimension());
+        assertEquals(3, mapped.getDataCount(DIM_X));
+        assertEquals(2, mapped.getDataCount(DIM_Y));
+        assertEquals(6, mapped.getDataCount(DIM_Z));
+        assertArrayEquals(original.getValues(DIM_X), mapped.getValues(DIM_X));
+        assertArrayEquals(original.getValues(DIM_Y), mapped.getValues(DIM_Y));
+        assertArrayEquals(original.getValues(DIM_Z), mapped.getValues(DIM_Z));
+        assertEquals(1.0, mapped.getAxisDescription(DIM_Z).getMin());
+        assertEquals(6.0, mapped.getAxisDescription(DIM_Z).getMax());
+    }
+
+    @Test
+    public void emptyAndInvalidFileTests() throws IOException {
+        final Path emptyFile = tempDir.resolve("empty.bin");
+        MappedDataSet.write(new DoubleDataSet("empty"), emptyFile);
+        final MappedDataSet empty = new MappedDataSet(emptyFile);
+        assertEquals(0, empty.getDataCount());
+        assertFalse(empty.getAxisDescription(DIM_X).isDefined());
+        assertEquals(0, empty.getValuesView(DIM_Y).remaining());
+
+        assertThrows(IllegalArgumentException.class, () -> MappedDataSet.write(null, emptyFile));
+        assertThrows(IllegalArgumentException.class, () -> MappedDataSet.write(empty, null));
+
+        final Path invalidFile = tempDir.resolve("invalid.bin");
+        Files.write(invalidFile, "not a binary data set file".getBytes());
+        assertThrows(IOException.class, () -> new MappedDataSet(invalidFile));
+
+        final Path truncatedFile = tempDir.resolve("truncated.bin");
+        final DoubleDataSet dataSet = new DoubleDataSet("truncated");
+        dataSet.add(1.0, 2.0);
+        MappedDataSet.write(dataSet, truncatedFile);
+        final byte[] bytes = Files.readAllBytes(truncatedFile);
+        Files.write(truncatedFile, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> new MappedDataSet(truncatedFile));
+    }
+}
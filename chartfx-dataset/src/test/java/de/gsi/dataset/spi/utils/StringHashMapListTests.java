@@ -0,0 +1,156 @@
+package de.gsi.dataset.spi.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Regression testing for @see StringHashMapList
+ *
+ * @author rstein
+ */
+public class StringHashMapListTests {
+    @Test
+    public void basicTests() {
+        final StringHashMapList map = new StringHashMapList();
+        assertTrue(map.isEmpty());
+        assertNull(map.put(3, new String("style")));
+        assertNull(map.put(5, new String("style")));
+        assertEquals(2, map.size());
+        assertEquals(1, map.getDictionarySize());
+        assertSame(map.get(3), map.get(5)); // interned
+        assertEquals(map.getCode(3), map.getCode(5));
+        assertEquals(StringHashMapList.NO_VALUE, map.getCode(4));
+        assertEquals(StringHashMapList.NO_VALUE, map.getCode(100));
+        assertNull(map.get(100));
+        assertNull(map.get("3"));
+        assertThrows(IndexOutOfBoundsException.class, () -> map.put(-1, "x"));
+
+        final Map<Integer, String> reference = new HashMap<>();
+        reference.put(3, "style");
+        reference.put(5, "style");
+        assertEquals(reference, map);
+        assertEquals(reference.hashCode(), map.hashCode());
+
+        map.shiftKeys(4, 10, 2);
+        assertEquals("style", map.get(3));
+        assertEquals("style", map.get(7));
+        assertNull(map.get(5));
+
+        map.remove(0, 4);
+        assertEquals("style", map.get(3));
+        assertEquals(1, map.size());
+
+        final StringHashMapList copy = new StringHashMapList();
+        copy.setAll(map);
+        assertEquals(map, copy);
+
+        map.clear(0, 10);
+        assertTrue(map.isEmpty());
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void randomModificationTests() {
+        final Random rnd = new Random(42);
+        final StringHashMapList map = new StringHashMapList();
+        final List<String> reference = new ArrayList<>();
+        for (int iteration = 0; iteration < 5000; iteration++) {
+            final int size = reference.size();
+            final int index = rnd.nextInt(size + 1);
+            final String value = rnd.nextInt(5) == 0 ? null : "s" + rnd.nextInt(20 + iteration / 10);
+            switch (rnd.nextInt(6)) {
+            case 0: // append/set value
+                while (reference.size() <= index) {
+                    reference.add(null);
+                }
+                reference.set(index, value);
+                if (value == null) {
+                    map.remove(index);
+                } else {
+                    map.put(index, value);
+                }
+                break;
+            case 1: // insert single value
+                reference.add(index, value);
+                map.addValueAndShiftKeys(index, reference.size(), value);
+                break;
+            case 2: { // insert range
+                final int n = 1 + rnd.nextInt(5);
+                reference.addAll(index, Collections.nCopies(n, null));
+                map.shiftKeys(index, reference.size(), n);
+                break;
+            }
+            case 3: { // remove range
+                final int to = Math.min(size, index + rnd.nextInt(10));
+                reference.subList(Math.min(index, to), to).clear();
+                map.remove(index, to);
+                break;
+            }
+            case 4: { // clear range
+                final int to = Math.min(size, index + rnd.nextInt(10));
+                for (int i = index; i < to; i++) {
+                    reference.set(i, null);
+                }
+                map.clear(index, to);
+                break;
+            }
+            default: // unique labels to exercise dictionary compaction
+                while (reference.size() <= index) {
+                    reference.add(null);
+                }
+                reference.set(index, "unique" + iteration);
+                map.put(index, "unique" + iteration);
+                break;
+            }
+
+            final Map<Integer, String> expected = new HashMap<>();
+            for (int i = 0; i < reference.size(); i++) {
+                if (reference.get(i) != null) {
+                    expected.put(i, reference.get(i));
+                }
+            }
+            assertEquals(expected, map, "iteration " + iteration);
+            assertEquals(expected.size(), map.size());
+            assertTrue(map.getDictionarySize() <= 2 * map.size() + 16);
+        }
+    }
+
+    @Test
+    public void dataSetTests() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        for (int i = 0; i < 10; i++) {
+            dataSet.add(i, i, "label" + i);
+            dataSet.addDataStyle(i, i % 2 == 0 ? "even" : "odd");
+        }
+        dataSet.add(0, -1.0, -1.0, "first");
+        assertEquals("first", dataSet.getDataLabel(0));
+        assertEquals("label0", dataSet.getDataLabel(1));
+        assertNull(dataSet.getStyle(0));
+        assertEquals("even", dataSet.getStyle(1));
+
+        dataSet.add(1, new double[] { -0.5, -0.25 }, new double[] { 0.0, 0.0 });
+        assertEquals("label0", dataSet.getDataLabel(3));
+        assertEquals("odd", dataSet.getStyle(4));
+
+        dataSet.remove(0, 3);
+        assertEquals("label0", dataSet.getDataLabel(0));
+        assertEquals("label9", dataSet.getDataLabel(9));
+        assertEquals("odd", dataSet.getStyle(9));
+        assertEquals(2, dataSet.getDataStyleMap().getDictionarySize());
+    }
+}
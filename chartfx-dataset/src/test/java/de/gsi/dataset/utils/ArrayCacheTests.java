@@ -3,6 +3,9 @@ package de.gsi.dataset.utils;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -155,4 +158,77 @@ public class ArrayCacheTests {
         assertEquals((Object) original, (Object) copy, "pointer equivalency");
         assertNotEquals((Object) original, (Object) fakeCopy, "pointer difference ");
     }
+
+    @Test
+    public void sharedTierTests() throws InterruptedException {
+        final String uniqueIdentifier = "sharedTierArray";
+        final int size = 1 << 18; // 2 MB -> exceeds thread-local tier limit
+        final double[] original = ArrayCache.getCachedDoubleArray(uniqueIdentifier, size);
+
+        // release from another thread -> only the shared tier is visible to this thread
+        final Thread thread = new Thread(() -> ArrayCache.release(uniqueIdentifier, original));
+        thread.start();
+        thread.join();
+        assertTrue(ArrayCache.getRetainedBytes() >= (long) size * Double.BYTES, "retained bytes");
+
+        final long hits = ArrayCache.getHitCount();
+        final double[] copy = ArrayCache.getCachedDoubleArray(uniqueIdentifier, size - 1);
+        assertSame(original, copy, "pointer equivalency");
+        assertEquals(hits + 1, ArrayCache.getHitCount());
+
+        // bounded retained memory
+        final long maxRetainedBytes = ArrayCache.getMaxRetainedBytes();
+        try {
+            ArrayCache.setMaxRetainedBytes(0);
+            final long dropped = ArrayCache.getDroppedCount();
+            final long retained = ArrayCache.getRetainedBytes();
+            ArrayCache.release(uniqueIdentifier, copy);
+            assertEquals(dropped + 1, ArrayCache.getDroppedCount());
+            assertEquals(retained, ArrayCache.getRetainedBytes());
+
+            final long misses = ArrayCache.getMissCount();
+            assertNotEquals((Object) original, (Object) ArrayCache.getCachedDoubleArray(uniqueIdentifier, size));
+            assertEquals(misses + 1, ArrayCache.getMissCount());
+        } finally {
+            ArrayCache.setMaxRetainedBytes(maxRetainedBytes);
+        }
+        assertThrows(IllegalArgumentException.class, () -> ArrayCache.setMaxRetainedBytes(-1));
+
+        ArrayCache.resetStatistics();
+        assertEquals(0, ArrayCache.getHitCount());
+        assertEquals(0, ArrayCache.getMissCount());
+        assertEquals(0, ArrayCache.getDroppedCount());
+    }
+
+    @Test
+    public void sizeClassTests() {
+        assertEquals(16, ArrayCache.getArraySize(0));
+        assertEquals(16, ArrayCache.getArraySize(16));
+        assertEquals(32, ArrayCache.getArraySize(17));
+        assertEquals(1024, ArrayCache.getArraySize(1000));
+        assertEquals(1 << 30, ArrayCache.getArraySize(1 << 30));
+        assertEquals((1 << 30) + 1, ArrayCache.getArraySize((1 << 30) + 1));
+        assertThrows(NegativeArraySizeException.class, () -> ArrayCache.getArraySize(-1));
+        assertThrows(NegativeArraySizeException.class, () -> ArrayCache.getCachedIntArray("sizeClassArray", -1));
+
+        final String uniqueIdentifier = "sizeClassArray";
+        final int[] original = ArrayCache.getCachedIntArray(uniqueIdentifier, 1000);
+        assertEquals(1024, original.length);
+        ArrayCache.release(uniqueIdentifier, original);
+
+        // different sizes within the same size class share the cached array
+        final int[] copy = ArrayCache.getCachedIntArray(uniqueIdentifier, 600);
+        assertSame(original, copy, "pointer equivalency");
+        ArrayCache.release(uniqueIdentifier, copy);
+
+        // larger size class
+        final int[] larger = ArrayCache.getCachedIntArray(uniqueIdentifier, 1025);
+        assertEquals(2048, larger.length);
+        assertNotEquals((Object) original, (Object) larger, "pointer difference ");
+
+        // externally allocated array with non power-of-two length
+        final int[] external = new int[3000];
+        ArrayCache.release(uniqueIdentifier, external);
+        assertSame(external, ArrayCache.getCachedIntArray(uniqueIdentifier, 2048));
+    }
 }
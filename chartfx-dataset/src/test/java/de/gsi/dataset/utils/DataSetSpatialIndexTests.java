@@ -0,0 +1,101 @@
+package de.gsi.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Regression testing for @see DataSetSpatialIndex
+ *
+ * @author rstein
+ */
+public class DataSetSpatialIndexTests {
+    private static final int N_SAMPLES = 20_000;
+
+    @Test
+    public void basicTests() {
+        final DataSetSpatialIndex index = new DataSetSpatialIndex();
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        assertThrows(IllegalArgumentException.class, () -> index.forEachInRange(null, 0, 1, 0, 1, i -> {}));
+        assertThrows(IllegalArgumentException.class, () -> index.forEachInRange(dataSet, 0, 1, 0, 1, null));
+        assertEquals(new TreeSet<>(), query(index, dataSet, -1, 1, -1, 1));
+
+        dataSet.add(0.0, 0.0);
+        dataSet.add(Double.NaN, 0.0);
+        dataSet.add(1.0, 1.0);
+        assertEquals(new TreeSet<>(List.of(0, 2)), query(index, dataSet, 0, 1, 0, 1));
+        assertEquals(new TreeSet<>(List.of(2)), query(index, dataSet, 0.5, 2, 0.5, 2));
+        assertEquals(3, index.getSize());
+    }
+
+    @Test
+    public void scatterQueryTests() {
+        final Random rnd = new Random(42);
+        final DoubleDataSet dataSet = new DoubleDataSet("test", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(rnd.nextGaussian(), rnd.nextInt(10) == 0 ? 0.0 : rnd.nextGaussian());
+        }
+        final DataSetSpatialIndex index = new DataSetSpatialIndex();
+        dataSet.addListener(index);
+
+        for (int iteration = 0; iteration < 200; iteration++) {
+            switch (iteration % 4) {
+            case 0: // append (indexed via linear tail)
+                dataSet.add(rnd.nextGaussian(), rnd.nextGaussian());
+                break;
+            case 1: // modification -> rebuild
+                if (iteration % 20 == 1) {
+                    dataSet.set(rnd.nextInt(dataSet.getDataCount()), rnd.nextGaussian(), rnd.nextGaussian());
+                }
+                break;
+            case 2: // removal -> rebuild
+                if (iteration % 40 == 2) {
+                    dataSet.remove(0, 10);
+                }
+                break;
+            default:
+                break;
+            }
+            final double x0 = 3 * rnd.nextGaussian();
+            final double y0 = 3 * rnd.nextGaussian();
+            final double width = rnd.nextDouble();
+            final double height = rnd.nextDouble();
+            assertEquals(bruteForce(dataSet, x0, x0 + width, y0, y0 + height),
+                    query(index, dataSet, x0, x0 + width, y0, y0 + height), "iteration " + iteration);
+        }
+        // degenerate (zero-height) range hitting many equal keys
+        assertEquals(bruteForce(dataSet, -1, 1, 0, 0), query(index, dataSet, -1, 1, 0, 0));
+    }
+
+    private static SortedSet<Integer> bruteForce(final DataSet dataSet, final double xMin, final double xMax,
+            final double yMin, final double yMax) {
+        final SortedSet<Integer> result = new TreeSet<>();
+        for (int i = 0; i < dataSet.getDataCount(); i++) {
+            final double x = dataSet.get(DIM_X, i);
+            final double y = dataSet.get(DIM_Y, i);
+            if (x >= xMin && x <= xMax && y >= yMin && y <= yMax) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    private static SortedSet<Integer> query(final DataSetSpatialIndex index, final DataSet dataSet, final double xMin,
+            final double xMax, final double yMin, final double yMax) {
+        final SortedSet<Integer> result = new TreeSet<>();
+        index.forEachInRange(dataSet, xMin, xMax, yMin, yMax, result::add);
+        return result;
+    }
+}
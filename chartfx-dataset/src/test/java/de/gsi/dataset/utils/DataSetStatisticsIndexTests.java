@@ -0,0 +1,129 @@
+package de.gsi.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Regression testing for @see DataSetStatisticsIndex
+ *
+ * @author rstein
+ */
+public class DataSetStatisticsIndexTests {
+    private static final int N_SAMPLES = 10_000;
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void basicTests() {
+        final DataSetStatisticsIndex index = new DataSetStatisticsIndex();
+        assertThrows(IllegalArgumentException.class, () -> index.getMean(null, 0, 1));
+
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        assertTrue(Double.isNaN(index.getMean(dataSet, 0, 10)));
+        assertTrue(Double.isNaN(index.getMedian(dataSet, 0, 10)));
+        assertEquals(Double.MAX_VALUE, index.getMinimum(dataSet, 0, 10));
+        assertEquals(-Double.MAX_VALUE, index.getMaximum(dataSet, 0, 10));
+        assertEquals(0.0, index.getIntegral(dataSet, 0, 10));
+
+        dataSet.addListener(index);
+        dataSet.add(0.0, 1.0);
+        dataSet.add(1.0, Double.NaN);
+        dataSet.add(2.0, 3.0);
+        dataSet.add(3.0, 5.0);
+        assertEquals(3, index.getCount(dataSet, 0, 4));
+        assertEquals(1.0, index.getMinimum(dataSet, 0, 4));
+        assertEquals(5.0, index.getMaximum(dataSet, 0, 4));
+        assertEquals(4.0, index.getRange(dataSet, 0, 4));
+        assertEquals(3.0, index.getMean(dataSet, 0, 4));
+        assertEquals(3.0, index.getMedian(dataSet, 0, 4));
+        assertEquals(4.0, index.getMedian(dataSet, 1, 4));
+        assertEquals(Math.sqrt(8.0 / 3.0), index.getRms(dataSet, 0, 4), EPSILON);
+        // only the (2,3) pair is finite
+        assertEquals(4.0, index.getIntegral(dataSet, 0, 4));
+        assertEquals(-4.0, index.getIntegral(dataSet, 4, 0));
+
+        dataSet.set(1, 1.0, 2.0);
+        assertEquals(2.75, index.getMean(dataSet, 0, 4));
+        assertEquals(2.5, index.getMedian(dataSet, 0, 4));
+        assertEquals(1.5 + 2.5 + 4.0, index.getIntegral(dataSet, 0, 4), EPSILON);
+    }
+
+    @Test
+    public void randomModificationTests() {
+        final Random rnd = new Random(42);
+        final DoubleDataSet dataSet = new DoubleDataSet("test", N_SAMPLES);
+        final DataSetStatisticsIndex index = new DataSetStatisticsIndex();
+        dataSet.addListener(index);
+        for (int iteration = 0; iteration < 300; iteration++) {
+            switch (iteration % 5) {
+            case 0:
+            case 1: // append (merged incrementally)
+                for (int i = rnd.nextInt(500); i >= 0; i--) {
+                    dataSet.add(dataSet.getDataCount(), rnd.nextInt(50) == 0 ? Double.NaN : rnd.nextGaussian());
+                }
+                break;
+            case 2: // modification -> rebuild
+                if (iteration % 20 == 2) {
+                    dataSet.set(rnd.nextInt(dataSet.getDataCount()), rnd.nextDouble(), 10 * rnd.nextGaussian());
+                }
+                break;
+            case 3: // removal -> rebuild
+                if (iteration % 40 == 3) {
+                    dataSet.remove(0, 10);
+                }
+                break;
+            default:
+                break;
+            }
+
+            final int nData = dataSet.getDataCount();
+            final int from = rnd.nextInt(nData + 1);
+            final int to = from + rnd.nextInt(nData - from + 1);
+            final double[] y = finiteValues(dataSet, from, to);
+            final String msg = "iteration " + iteration + " range [" + from + ", " + to + ")";
+
+            assertEquals(y.length, index.getCount(dataSet, from, to), msg);
+            assertEquals(y.length == 0 ? Double.MAX_VALUE : y[0], index.getMinimum(dataSet, from, to), msg);
+            assertEquals(y.length == 0 ? -Double.MAX_VALUE : y[y.length - 1], index.getMaximum(dataSet, from, to),
+                    msg);
+            if (y.length == 0) {
+                continue;
+            }
+            final double mean = Arrays.stream(y).sum() / y.length;
+            final double mean2 = Arrays.stream(y).map(v -> v * v).sum() / y.length;
+            final double median = y.length % 2 == 0 ? 0.5 * (y[y.length / 2 - 1] + y[y.length / 2]) : y[y.length / 2];
+            assertEquals(mean, index.getMean(dataSet, from, to), EPSILON, msg);
+            assertEquals(Math.sqrt(Math.abs(mean2 - mean * mean)), index.getRms(dataSet, from, to), 1e-6, msg);
+            assertEquals(median, index.getMedian(dataSet, from, to), msg);
+            assertEquals(integral(dataSet, from, to), index.getIntegral(dataSet, from, to), 1e-6, msg);
+        }
+    }
+
+    private static double[] finiteValues(final DataSet dataSet, final int from, final int to) {
+        return Arrays.stream(dataSet.getValues(DIM_Y)).skip(from).limit(to - from).filter(Double::isFinite).sorted()
+                .toArray();
+    }
+
+    private static double integral(final DataSet dataSet, final int from, final int to) {
+        double integral = 0;
+        for (int index = from; index < to - 1; index++) {
+            final double value = (dataSet.get(DIM_X, index + 1) - dataSet.get(DIM_X, index)) * 0.5
+                                 * (dataSet.get(DIM_Y, index) + dataSet.get(DIM_Y, index + 1));
+            if (Double.isFinite(value)) {
+                integral += value;
+            }
+        }
+        return integral;
+    }
+}
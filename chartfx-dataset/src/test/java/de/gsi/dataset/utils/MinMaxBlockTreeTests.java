@@ -0,0 +1,178 @@
+package de.gsi.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.spi.CircularDoubleErrorDataSet;
+import de.gsi.dataset.spi.DefaultAxisDescription;
+import de.gsi.dataset.spi.DoubleDataSet;
+
+/**
+ * Regression testing for @see MinMaxBlockTree
+ *
+ * @author rstein
+ */
+public class MinMaxBlockTreeTests {
+    private static final int N_SAMPLES = 5_000;
+
+    @Test
+    public void basicTests() {
+        assertThrows(IllegalArgumentException.class, () -> new MinMaxBlockTree(null));
+        assertThrows(IllegalArgumentException.class, () -> new MinMaxBlockTree(i -> i, null));
+
+        final double[] values = { 3.0, Double.NaN, -1.0, Double.POSITIVE_INFINITY, 7.0 };
+        final MinMaxBlockTree tree = new MinMaxBlockTree(i -> values[i]);
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.getSize());
+
+        tree.update(2, 0, 2);
+        assertEquals(2, tree.getSize());
+        assertEquals(3.0, tree.getMin());
+        assertEquals(3.0, tree.getMax());
+
+        tree.update(5, 2, 5); // non-finite values are ignored
+        assertEquals(-1.0, tree.getMin());
+        assertEquals(7.0, tree.getMax());
+
+        final DefaultAxisDescription axis = new DefaultAxisDescription("test", "a.u.");
+        tree.applyTo(axis);
+        assertEquals(-1.0, axis.getMin());
+        assertEquals(7.0, axis.getMax());
+
+        tree.update(1, 0, 0); // shrink
+        assertEquals(3.0, tree.getMin());
+        assertEquals(3.0, tree.getMax());
+
+        tree.rebuild(0);
+        assertTrue(tree.isEmpty());
+        tree.applyTo(axis);
+        assertFalse(axis.isDefined());
+    }
+
+    @Test
+    public void randomModificationTests() {
+        final Random rnd = new Random(42);
+        final double[] values = new double[N_SAMPLES];
+        final double[] errors = new double[N_SAMPLES];
+        final MinMaxBlockTree tree = new MinMaxBlockTree(i -> values[i] - errors[i], i -> values[i] + errors[i]);
+        int size = 0;
+        for (int iteration = 0; iteration < 2000; iteration++) {
+            final int action = rnd.nextInt(4);
+            if (action == 0 && size < N_SAMPLES - 100) {
+                // append
+                final int n = 1 + rnd.nextInt(100);
+                for (int i = size; i < size + n; i++) {
+                    values[i] = rnd.nextInt(20) == 0 ? Double.NaN : rnd.nextGaussian();
+                    errors[i] = 0.1 * rnd.nextDouble();
+                }
+                tree.update(size + n, size, size + n);
+                size += n;
+            } else if (action == 1 && size > 0) {
+                // modify a range
+                final int from = rnd.nextInt(size);
+                final int to = Math.min(size, from + 1 + rnd.nextInt(200));
+                for (int i = from; i < to; i++) {
+                    values[i] = 10.0 * rnd.nextGaussian();
+                }
+                tree.update(size, from, to);
+            } else if (action == 2 && size > 0) {
+                // remove a range, shifting the remaining values
+                final int from = rnd.nextInt(size);
+                final int to = Math.min(size, from + 1 + rnd.nextInt(200));
+                System.arraycopy(values, to, values, from, size - to);
+                System.arraycopy(errors, to, errors, from, size - to);
+                size -= to - from;
+                tree.update(size, from, size);
+            } else if (action == 3 && rnd.nextInt(50) == 0) {
+                size = rnd.nextInt(size + 1);
+                tree.rebuild(size);
+            }
+
+            assertEquals(size, tree.getSize());
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                if (Double.isFinite(values[i])) {
+                    min = Math.min(min, values[i] - errors[i]);
+                    max = Math.max(max, values[i] + errors[i]);
+                }
+            }
+            assertEquals(min, tree.getMin(), "iteration " + iteration);
+            assertEquals(max, tree.getMax(), "iteration " + iteration);
+
+            // range queries
+            final int from = rnd.nextInt(size + 1);
+            final int to = from + rnd.nextInt(size - from + 1);
+            double rangeMin = Double.MAX_VALUE;
+            double rangeMax = -Double.MAX_VALUE;
+            for (int i = from; i < to; i++) {
+                if (Double.isFinite(values[i])) {
+                    rangeMin = Math.min(rangeMin, values[i] - errors[i]);
+                    rangeMax = Math.max(rangeMax, values[i] + errors[i]);
+                }
+            }
+            assertEquals(rangeMin, tree.getMin(from, to), "iteration " + iteration);
+            assertEquals(rangeMax, tree.getMax(from, to), "iteration " + iteration);
+        }
+    }
+
+    @Test
+    public void dataSetLimitTests() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        for (int i = 0; i < 1000; i++) {
+            dataSet.add(i, i % 100 == 0 ? 1000 + i : i % 10);
+        }
+        assertEquals(0.0, dataSet.getAxisDescription(DIM_X).getMin());
+        assertEquals(999.0, dataSet.getAxisDescription(DIM_X).getMax());
+        assertEquals(1900.0, dataSet.getAxisDescription(DIM_Y).getMax());
+
+        dataSet.set(900, 900, 0);
+        assertEquals(1800.0, dataSet.getAxisDescription(DIM_Y).getMax());
+        dataSet.remove(800, 1000);
+        assertEquals(799.0, dataSet.getAxisDescription(DIM_X).getMax());
+        assertEquals(1700.0, dataSet.getAxisDescription(DIM_Y).getMax());
+        dataSet.add(0, new double[] { -5.0 }, new double[] { -10.0 });
+        assertEquals(-5.0, dataSet.getAxisDescription(DIM_X).getMin());
+        assertEquals(-10.0, dataSet.getAxisDescription(DIM_Y).getMin());
+
+        // direct array modification requires explicit re-computation
+        dataSet.getValues(DIM_Y)[0] = -20.0;
+        dataSet.recomputeLimits(DIM_Y);
+        assertEquals(-20.0, dataSet.getAxisDescription(DIM_Y).getMin());
+
+        dataSet.clearData();
+        assertFalse(dataSet.getAxisDescription(DIM_X).isDefined());
+
+        final CircularDoubleErrorDataSet circular = new CircularDoubleErrorDataSet("test", 100);
+        for (int i = 0; i < 250; i++) {
+            circular.add(i, i == 120 ? 500 : 0, 1.0, 2.0);
+        }
+        assertEquals(150.0, circular.getAxisDescription(DIM_X).getMin());
+        assertEquals(249.0, circular.getAxisDescription(DIM_X).getMax());
+        assertEquals(-1.0, circular.getAxisDescription(DIM_Y).getMin());
+        assertEquals(2.0, circular.getAxisDescription(DIM_Y).getMax());
+
+        final double[] x = new double[30];
+        final double[] y = new double[30];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 250 + i;
+            y[i] = -i;
+        }
+        circular.add(x, y, new double[30], new double[30]); // wraps around
+        assertEquals(180.0, circular.getAxisDescription(DIM_X).getMin());
+        assertEquals(279.0, circular.getAxisDescription(DIM_X).getMax());
+        assertEquals(-29.0, circular.getAxisDescription(DIM_Y).getMin());
+
+        circular.reset();
+        assertFalse(circular.getAxisDescription(DIM_X).isDefined());
+    }
+}
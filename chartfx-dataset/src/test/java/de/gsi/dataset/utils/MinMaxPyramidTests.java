@@ -0,0 +1,137 @@
+package de.gsi.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Regression testing for @see MinMaxPyramid
+ *
+ * @author rstein
+ */
+public class MinMaxPyramidTests {
+    private static final int N_SAMPLES = 10_000;
+
+    @Test
+    public void incrementalAppendTests() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test", N_SAMPLES);
+        assertNull(dataSet.getMinMaxPyramid());
+        dataSet.setMinMaxPyramidEnabled(true);
+        final MinMaxPyramid pyramid = dataSet.getMinMaxPyramid();
+        assertNotNull(pyramid);
+
+        final Random rnd = new Random(42);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, rnd.nextGaussian());
+            if (i % 997 == 0) {
+                checkRanges(dataSet, pyramid, rnd);
+            }
+        }
+        checkRanges(dataSet, pyramid, rnd);
+        assertEquals(N_SAMPLES, pyramid.getIndexedCount());
+        assertTrue(pyramid.getLevelCount() > 1, "multiple levels");
+    }
+
+    @Test
+    public void invalidationTests() {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", N_SAMPLES);
+        dataSet.setMinMaxPyramidEnabled(true);
+        final MinMaxPyramid pyramid = dataSet.getMinMaxPyramid();
+        final Random rnd = new Random(42);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, rnd.nextGaussian());
+        }
+        checkRanges(dataSet, pyramid, rnd);
+
+        // modify existing values
+        dataSet.set(5000, 5000, 100.0);
+        dataSet.set(123, 123, -100.0);
+        checkRanges(dataSet, pyramid, rnd);
+        assertArrayEquals(new int[] { 123, 5000 }, pyramid.getMinMaxIndices(0, N_SAMPLES));
+
+        // remove and insert values
+        dataSet.remove(100, 2000);
+        checkRanges(dataSet, pyramid, rnd);
+        dataSet.add(50, 50.5, 200.0);
+        checkRanges(dataSet, pyramid, rnd);
+
+        dataSet.clearData();
+        assertArrayEquals(new int[] { -1, -1 }, pyramid.getMinMaxIndices(0, N_SAMPLES));
+        dataSet.add(1.0, 2.0);
+        assertArrayEquals(new int[] { 0, 0 }, pyramid.getMinMaxIndices(0, N_SAMPLES));
+    }
+
+    @Test
+    public void reducedIndicesTests() {
+        final int nColumns = 100;
+        final DoubleDataSet dataSet = new DoubleDataSet("test", N_SAMPLES);
+        dataSet.setMinMaxPyramidEnabled(true);
+        final Random rnd = new Random(42);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, i == 4711 ? Double.NaN : rnd.nextGaussian());
+        }
+        final MinMaxPyramid pyramid = dataSet.getMinMaxPyramid();
+        final int[] indices = new int[MinMaxPyramid.getRequiredCapacity(nColumns)];
+
+        // range too small to be reduced
+        assertEquals(-1, pyramid.getReducedIndices(0, 10 * nColumns, nColumns, indices));
+
+        final int from = 333;
+        final int to = 9777;
+        final int count = pyramid.getReducedIndices(from, to, nColumns, indices);
+        assertTrue(count > 4 * nColumns / 2 && count <= indices.length, "count = " + count);
+        assertEquals(from, indices[0]);
+        assertEquals(to - 1, indices[count - 1]);
+        for (int i = 1; i < count; i++) {
+            assertTrue(indices[i - 1] < indices[i], "sorted and unique indices");
+        }
+
+        // global extrema need to be part of the reduced set
+        final int[] minMax = pyramid.getMinMaxIndices(from, to);
+        boolean foundMin = false;
+        boolean foundMax = false;
+        for (int i = 0; i < count; i++) {
+            foundMin |= indices[i] == minMax[0];
+            foundMax |= indices[i] == minMax[1];
+        }
+        assertTrue(foundMin && foundMax, "global min/max retained");
+    }
+
+    private static void checkRanges(final DataSet dataSet, final MinMaxPyramid pyramid, final Random rnd) {
+        final int n = dataSet.getDataCount();
+        for (int test = 0; test < 20; test++) {
+            final int from = rnd.nextInt(n);
+            final int to = from + 1 + rnd.nextInt(n - from);
+            final int[] expected = bruteForceMinMax(dataSet, from, to);
+            final int[] actual = pyramid.getMinMaxIndices(from, to);
+            assertEquals(dataSet.get(DIM_Y, expected[0]), dataSet.get(DIM_Y, actual[0]), "min for " + from + " - " + to);
+            assertEquals(dataSet.get(DIM_Y, expected[1]), dataSet.get(DIM_Y, actual[1]), "max for " + from + " - " + to);
+        }
+    }
+
+    private static int[] bruteForceMinMax(final DataSet dataSet, final int from, final int to) {
+        int minIndex = from;
+        int maxIndex = from;
+        for (int i = from; i < to; i++) {
+            if (dataSet.get(DIM_Y, i) < dataSet.get(DIM_Y, minIndex)) {
+                minIndex = i;
+            }
+            if (dataSet.get(DIM_Y, i) > dataSet.get(DIM_Y, maxIndex)) {
+                maxIndex = i;
+            }
+        }
+        return new int[] { minIndex, maxIndex };
+    }
+}
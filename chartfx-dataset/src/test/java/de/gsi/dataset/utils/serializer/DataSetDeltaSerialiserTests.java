@@ -0,0 +1,182 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.serializer.spi.iobuffer.DataSetDeltaReceiver;
+import de.gsi.dataset.serializer.spi.iobuffer.DataSetDeltaSerialiser;
+import de.gsi.dataset.spi.CircularDoubleErrorDataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Regression testing for @see DataSetDeltaSerialiser and @see DataSetDeltaReceiver
+ *
+ * @author rstein
+ */
+public class DataSetDeltaSerialiserTests {
+    private static final int N_SAMPLES = 5000; // spans several streamed chunks
+
+    @ParameterizedTest(name = "asFloat: {0}")
+    @ValueSource(booleans = { false, true })
+    public void deltaRoundTrip(final boolean asFloat) {
+        final DoubleErrorDataSet source = new DoubleErrorDataSet("source");
+        for (int i = 0; i < N_SAMPLES; i++) {
+            source.add(i, Math.sin(0.01 * i), 0.1, 0.2);
+        }
+        source.getInfoList().add("info");
+        source.getMetaInfo().put("key", "value");
+
+        final DataSetDeltaSerialiser serialiser = new DataSetDeltaSerialiser(asFloat);
+        assertEquals(asFloat, serialiser.isFloatEncoded());
+        final DataSetDeltaReceiver receiver = new DataSetDeltaReceiver(new DoubleErrorDataSet("receiver"));
+        final AtomicInteger nUpdates = new AtomicInteger();
+        receiver.getDataSet().addListener(evt -> nUpdates.incrementAndGet());
+        assertTrue(receiver.isResyncRequired());
+        final FastByteBuffer buffer = new FastByteBuffer();
+
+        // snapshot
+        serialiser.writeSnapshot(buffer, source);
+        assertTrue(transmit(buffer, receiver));
+        assertFalse(receiver.isResyncRequired());
+        assertEquals(0, receiver.getSequenceNumber());
+        assertEquals(1, nUpdates.get());
+        assertEquals("info", receiver.getDataSet().getInfoList().get(0));
+        assertEquals("value", receiver.getDataSet().getMetaInfo().get("key"));
+        assertEqualData(source, receiver.getDataSet(), asFloat);
+
+        // append
+        for (int i = N_SAMPLES; i < N_SAMPLES + 100; i++) {
+            source.add(i, Math.cos(0.01 * i), 0.3, 0.4);
+        }
+        serialiser.writeAppend(buffer, source, 100);
+        assertTrue(transmit(buffer, receiver));
+        assertEquals(2, nUpdates.get(), "single notification per message");
+        assertEqualData(source, receiver.getDataSet(), asFloat);
+
+        // replace range
+        for (int i = 10; i < 20; i++) {
+            source.set(i, -i, 42.0, 0.5, 0.6);
+        }
+        serialiser.writeReplaceRange(buffer, source, 10, 20);
+        assertTrue(transmit(buffer, receiver));
+        assertEqualData(source, receiver.getDataSet(), asFloat);
+
+        // remove range
+        source.remove(100, 200);
+        serialiser.writeRemoveRange(buffer, source, 100, 200);
+        assertTrue(transmit(buffer, receiver));
+        assertEquals(3, receiver.getSequenceNumber());
+        assertEquals(3, serialiser.getSequenceNumber());
+        assertEqualData(source, receiver.getDataSet(), asFloat);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> serialiser.writeRemoveRange(buffer, source, 20, 10));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> serialiser.writeReplaceRange(buffer, source, 0, source.getDataCount() + 1));
+    }
+
+    @Test
+    public void circularBufferTests() {
+        final int capacity = 500;
+        final CircularDoubleErrorDataSet source = new CircularDoubleErrorDataSet("circular", capacity);
+        final DataSetDeltaSerialiser serialiser = new DataSetDeltaSerialiser(false);
+        final DataSetDeltaReceiver receiver = new DataSetDeltaReceiver(new DoubleErrorDataSet("receiver"));
+        final FastByteBuffer buffer = new FastByteBuffer();
+
+        serialiser.writeSnapshot(buffer, source);
+        assertTrue(transmit(buffer, receiver));
+        assertEquals(0, receiver.getDataSet().getDataCount());
+
+        int count = 0;
+        for (int block = 0; block < 8; block++) {
+            final int nAppended = 10 + 37 * block;
+            for (int i = 0; i < nAppended; i++, count++) {
+                source.add(count, Math.sin(0.01 * count), 0.1, 0.1);
+            }
+            serialiser.writeAppend(buffer, source, nAppended);
+            assertTrue(transmit(buffer, receiver));
+            assertEqualData(source, receiver.getDataSet(), false);
+        }
+        assertEquals(capacity, receiver.getDataSet().getDataCount());
+    }
+
+    @Test
+    public void resyncTests() {
+        final DoubleErrorDataSet source = new DoubleErrorDataSet("source");
+        final DataSetDeltaSerialiser serialiser = new DataSetDeltaSerialiser(false);
+        final DataSetDeltaReceiver receiver = new DataSetDeltaReceiver(new DoubleErrorDataSet("receiver"));
+        final FastByteBuffer buffer = new FastByteBuffer();
+
+        // deltas without a preceding snapshot are rejected
+        source.add(0.0, 1.0, 0.0, 0.0);
+        serialiser.writeAppend(buffer, source, 1);
+        assertFalse(transmit(buffer, receiver));
+        assertTrue(receiver.isResyncRequired());
+        assertEquals(-1, receiver.getSequenceNumber());
+
+        serialiser.writeSnapshot(buffer, source);
+        assertTrue(transmit(buffer, receiver));
+        assertEquals(1, receiver.getSequenceNumber());
+
+        // lost message
+        source.add(1.0, 2.0, 0.0, 0.0);
+        serialiser.writeAppend(buffer, source, 1);
+        buffer.reset(); // dropped
+        source.add(2.0, 3.0, 0.0, 0.0);
+        serialiser.writeAppend(buffer, source, 1);
+        assertFalse(transmit(buffer, receiver));
+        assertTrue(receiver.isResyncRequired());
+        assertEquals(1, receiver.getDataSet().getDataCount(), "unmodified");
+
+        // subsequent (in-sequence) deltas remain rejected until the next snapshot
+        source.add(3.0, 4.0, 0.0, 0.0);
+        serialiser.writeAppend(buffer, source, 1);
+        assertFalse(transmit(buffer, receiver));
+
+        serialiser.writeSnapshot(buffer, source);
+        assertTrue(transmit(buffer, receiver));
+        assertFalse(receiver.isResyncRequired());
+        assertEqualData(source, receiver.getDataSet(), false);
+
+        // inconsistent data count, e.g. sender and receiver out of sync
+        receiver.getDataSet().remove(0, 1);
+        source.add(4.0, 5.0, 0.0, 0.0);
+        serialiser.writeAppend(buffer, source, 1);
+        assertFalse(transmit(buffer, receiver));
+        assertTrue(receiver.isResyncRequired());
+
+        assertThrows(IllegalArgumentException.class, () -> new DataSetDeltaReceiver(null));
+    }
+
+    private static void assertEqualData(final DataSet expected, final DataSetError actual, final boolean asFloat) {
+        final double epsilon = asFloat ? 1e-6 : 0.0;
+        assertEquals(expected.getDataCount(), actual.getDataCount());
+        final DataSetError errors = (DataSetError) expected;
+        for (int i = 0; i < expected.getDataCount(); i++) {
+            assertEquals(expected.get(DIM_X, i), actual.get(DIM_X, i), epsilon * Math.abs(expected.get(DIM_X, i)));
+            assertEquals(expected.get(DIM_Y, i), actual.get(DIM_Y, i), epsilon * Math.abs(expected.get(DIM_Y, i)));
+            assertEquals(errors.getErrorNegative(DIM_Y, i), actual.getErrorNegative(DIM_Y, i), epsilon);
+            assertEquals(errors.getErrorPositive(DIM_Y, i), actual.getErrorPositive(DIM_Y, i), epsilon);
+        }
+    }
+
+    private static boolean transmit(final FastByteBuffer buffer, final DataSetDeltaReceiver receiver) {
+        buffer.reset();
+        final boolean applied = receiver.apply(buffer);
+        buffer.reset();
+        return applied;
+    }
+}
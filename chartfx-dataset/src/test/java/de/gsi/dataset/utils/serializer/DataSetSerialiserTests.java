@@ -0,0 +1,135 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.DataSetError;
+import de.gsi.dataset.serializer.DataType;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.serializer.spi.iobuffer.DataSetSerialiser;
+import de.gsi.dataset.spi.DoubleDataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Regression testing for @see DataSetSerialiser
+ *
+ * @author rstein
+ */
+public class DataSetSerialiserTests {
+    private static final int N_SAMPLES = 10_000; // spans several streamed chunks
+
+    @ParameterizedTest(name = "asFloat: {0}")
+    @ValueSource(booleans = { false, true })
+    public void dataSetRoundTrip(final boolean asFloat) {
+        // N.B. initial capacity exceeds the data count -> backing arrays are larger than the data
+        final DoubleDataSet dataSet = new DoubleDataSet("test", 2 * N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(0.5 * i, Math.sin(0.01 * i));
+        }
+        final FastByteBuffer buffer = new FastByteBuffer();
+        DataSetSerialiser.writeDataSetToByteArray(dataSet, buffer, asFloat);
+
+        buffer.reset();
+        final DataSet dataSetRead = DataSetSerialiser.readDataSetFromByteArray(buffer);
+        assertEquals(dataSet.getName(), dataSetRead.getName());
+        assertEquals(N_SAMPLES, dataSetRead.getDataCount());
+        final double epsilon = asFloat ? 1e-6 : 0.0;
+        for (final int dim : new int[] { DIM_X, DIM_Y }) {
+            assertArrayEquals(Arrays.copyOf(dataSet.getValues(dim), N_SAMPLES),
+                    Arrays.copyOf(dataSetRead.getValues(dim), N_SAMPLES), epsilon);
+        }
+
+        buffer.reset();
+        BinarySerialiser.checkHeaderInfo(buffer);
+        final FieldHeader root = BinarySerialiser.parseIoStream(buffer);
+        final double[] y = Arrays.copyOf(dataSet.getValues(DIM_Y), N_SAMPLES);
+        final double mean = Arrays.stream(y).sum() / N_SAMPLES;
+        final double rms = Math.sqrt(Math.abs(Arrays.stream(y).map(v -> v * v).sum() / N_SAMPLES - mean * mean));
+        double integral = 0.0;
+        for (int i = 1; i < N_SAMPLES; i++) {
+            integral += 0.5 * (dataSet.get(DIM_X, i) - dataSet.get(DIM_X, i - 1)) * (y[i - 1] + y[i]);
+        }
+        assertEquals(integral, getDouble(buffer, root, "integral"), 1e-9);
+        assertEquals(mean, getDouble(buffer, root, "mean"), 1e-12);
+        assertEquals(rms, getDouble(buffer, root, "rms"), 1e-12);
+    }
+
+    @ParameterizedTest(name = "asFloat: {0}")
+    @ValueSource(booleans = { false, true })
+    public void errorDataSetRoundTrip(final boolean asFloat) {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("errors", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, i * 0.25, 0.1 + 1e-3 * i, 0.2 + 1e-3 * i);
+        }
+        final FastByteBuffer buffer = new FastByteBuffer();
+        DataSetSerialiser.writeDataSetToByteArray(dataSet, buffer, asFloat);
+
+        buffer.reset();
+        final DataSet dataSetRead = DataSetSerialiser.readDataSetFromByteArray(buffer);
+        assertTrue(dataSetRead instanceof DataSetError);
+        final DataSetError errorsRead = (DataSetError) dataSetRead;
+        assertEquals(N_SAMPLES, dataSetRead.getDataCount());
+        for (int i = 0; i < N_SAMPLES; i += 97) {
+            assertEquals(dataSet.get(DIM_Y, i), dataSetRead.get(DIM_Y, i), 1e-3);
+            assertEquals(dataSet.getErrorNegative(DIM_Y, i), errorsRead.getErrorNegative(DIM_Y, i), 1e-6);
+            assertEquals(dataSet.getErrorPositive(DIM_Y, i), errorsRead.getErrorPositive(DIM_Y, i), 1e-6);
+        }
+
+        // empty data set
+        final FastByteBuffer emptyBuffer = new FastByteBuffer();
+        DataSetSerialiser.writeDataSetToByteArray(new DoubleErrorDataSet("empty"), emptyBuffer, asFloat);
+        emptyBuffer.reset();
+        assertEquals(0, DataSetSerialiser.readDataSetFromByteArray(emptyBuffer).getDataCount());
+    }
+
+    @Test
+    public void compressedRoundTrip() {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("compressed", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(1e-3 * i, Math.round(1000 * Math.sin(0.01 * i)) / 1024.0, 0.1, 0.2);
+        }
+        final FastByteBuffer raw = new FastByteBuffer();
+        DataSetSerialiser.writeDataSetToByteArray(dataSet, raw, false);
+        final FastByteBuffer buffer = new FastByteBuffer();
+        DataSetSerialiser.writeDataSetToByteArray(dataSet, buffer, DataType.DOUBLE_ARRAY_DELTA,
+                DataType.DOUBLE_ARRAY_XOR);
+        assertTrue(buffer.position() < raw.position() / 3, "compressed size");
+
+        buffer.reset();
+        final DataSetError dataSetRead = (DataSetError) DataSetSerialiser.readDataSetFromByteArray(buffer);
+        assertEquals(N_SAMPLES, dataSetRead.getDataCount());
+        for (final int dim : new int[] { DIM_X, DIM_Y }) {
+            assertArrayEquals(Arrays.copyOf(dataSet.getValues(dim), N_SAMPLES),
+                    Arrays.copyOf(dataSetRead.getValues(dim), N_SAMPLES), 0.0);
+        }
+        assertArrayEquals(Arrays.copyOf(dataSet.getErrorsNegative(DIM_Y), N_SAMPLES),
+                Arrays.copyOf(dataSetRead.getErrorsNegative(DIM_Y), N_SAMPLES), 0.0);
+        assertArrayEquals(Arrays.copyOf(dataSet.getErrorsPositive(DIM_Y), N_SAMPLES),
+                Arrays.copyOf(dataSetRead.getErrorsPositive(DIM_Y), N_SAMPLES), 0.0);
+
+        assertThrows(IllegalArgumentException.class, () -> DataSetSerialiser.writeDataSetToByteArray(dataSet, buffer,
+                DataType.INT_ARRAY, DataType.DOUBLE_ARRAY));
+    }
+
+    private static double getDouble(final FastByteBuffer buffer, final FieldHeader root, final String fieldName) {
+        final Optional<FieldHeader> header = FieldHeader.findHeaderFor(root.getChildren(), fieldName);
+        assertTrue(header.isPresent(), fieldName);
+        buffer.position(header.get().getDataBufferPosition());
+        return BinarySerialiser.getDouble(buffer);
+    }
+}
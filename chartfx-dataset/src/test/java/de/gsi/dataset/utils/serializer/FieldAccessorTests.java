@@ -0,0 +1,138 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.serializer.spi.ClassFieldDescription;
+import de.gsi.dataset.serializer.spi.FieldAccessor;
+
+/**
+ * Regression testing for @see FieldAccessor
+ *
+ * @author rstein
+ */
+public class FieldAccessorTests {
+    @Test
+    public void primitiveAccessTests() throws NoSuchFieldException {
+        final TestClass obj = new TestClass();
+
+        final FieldAccessor boolAccessor = getAccessor("bool");
+        assertTrue(boolAccessor.isDirectAccess());
+        boolAccessor.setBoolean(obj, true);
+        assertTrue(obj.bool);
+        assertTrue(boolAccessor.getBoolean(obj));
+
+        getAccessor("byteValue").setByte(obj, (byte) 42);
+        assertEquals((byte) 42, getAccessor("byteValue").getByte(obj));
+        getAccessor("charValue").setChar(obj, 'c');
+        assertEquals('c', getAccessor("charValue").getChar(obj));
+        getAccessor("shortValue").setShort(obj, (short) -3);
+        assertEquals((short) -3, getAccessor("shortValue").getShort(obj));
+        getAccessor("intValue").setInt(obj, Integer.MIN_VALUE);
+        assertEquals(Integer.MIN_VALUE, getAccessor("intValue").getInt(obj));
+        getAccessor("longValue").setLong(obj, Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, getAccessor("longValue").getLong(obj));
+        getAccessor("floatValue").setFloat(obj, 1.5f);
+        assertEquals(1.5f, getAccessor("floatValue").getFloat(obj));
+        getAccessor("doubleValue").setDouble(obj, Math.PI);
+        assertEquals(Math.PI, obj.doubleValue);
+        assertEquals(Math.PI, getAccessor("doubleValue").getDouble(obj));
+
+        // boxed access to primitive fields
+        getAccessor("intValue").set(obj, 7);
+        assertEquals(7, obj.intValue);
+        assertEquals(7, getAccessor("intValue").get(obj));
+    }
+
+    @Test
+    public void objectAccessTests() throws NoSuchFieldException {
+        final TestClass obj = new TestClass();
+        final FieldAccessor stringAccessor = getAccessor("string");
+        stringAccessor.set(obj, "test");
+        assertEquals("test", obj.string);
+        assertEquals("test", stringAccessor.get(obj));
+        stringAccessor.set(obj, null);
+        assertNull(stringAccessor.get(obj));
+
+        final FieldAccessor arrayAccessor = getAccessor("doubleArray");
+        arrayAccessor.set(obj, new double[] { 1.0, 2.0 });
+        assertArrayEquals(new double[] { 1.0, 2.0 }, (double[]) arrayAccessor.get(obj));
+    }
+
+    @Test
+    public void fallbackTests() throws NoSuchFieldException {
+        final TestClass obj = new TestClass();
+        final FieldAccessor volatileAccessor = getAccessor("volatileDouble");
+        assertFalse(volatileAccessor.isDirectAccess(), "volatile fields are accessed via method handles");
+        volatileAccessor.setDouble(obj, 2.0);
+        assertEquals(2.0, obj.volatileDouble);
+        assertEquals(2.0, volatileAccessor.getDouble(obj));
+        volatileAccessor.set(obj, 3.0);
+        assertEquals(3.0, volatileAccessor.get(obj));
+
+        final FieldAccessor volatileString = getAccessor("volatileString");
+        volatileString.set(obj, "volatile");
+        assertEquals("volatile", volatileString.get(obj));
+        assertThrows(ClassCastException.class, () -> volatileString.set(obj, 42));
+        assertThrows(IllegalArgumentException.class, () -> volatileAccessor.getDouble(new Object()));
+    }
+
+    @Test
+    public void safetyTests() throws NoSuchFieldException {
+        final TestClass obj = new TestClass();
+        final FieldAccessor doubleAccessor = getAccessor("doubleValue");
+        // type mismatch
+        assertThrows(IllegalArgumentException.class, () -> doubleAccessor.getInt(obj));
+        assertThrows(IllegalArgumentException.class, () -> doubleAccessor.setFloat(obj, 1.0f));
+        assertThrows(IllegalArgumentException.class, () -> getAccessor("string").set(obj, 42));
+        // wrong or null object
+        assertThrows(IllegalArgumentException.class, () -> doubleAccessor.getDouble(new Object()));
+        assertThrows(IllegalArgumentException.class, () -> doubleAccessor.setDouble(null, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> getAccessor("string").get("wrong object"));
+        // invalid fields
+        assertThrows(IllegalArgumentException.class, () -> new FieldAccessor(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FieldAccessor(TestClass.class.getDeclaredField("STATIC_FIELD")));
+        assertNotNull(doubleAccessor.toString());
+        assertEquals(TestClass.class.getDeclaredField("doubleValue"), doubleAccessor.getField());
+    }
+
+    @Test
+    public void classDescriptionTests() {
+        final ClassFieldDescription description = new ClassFieldDescription(TestClass.class, true);
+        assertNull(description.getFieldAccessor(), "root node");
+        final ClassFieldDescription doubleField = description.getFieldMap().get("doubleValue");
+        assertNotNull(doubleField.getFieldAccessor());
+        assertEquals(doubleField.getField(), doubleField.getFieldAccessor().getField());
+        assertNull(description.getFieldMap().get("transientValue").getFieldAccessor(), "transient field");
+    }
+
+    private static FieldAccessor getAccessor(final String fieldName) throws NoSuchFieldException {
+        return new FieldAccessor(TestClass.class.getDeclaredField(fieldName));
+    }
+
+    @SuppressWarnings("unused")
+    private static class TestClass { // NOPMD -- test data container
+        private static final int STATIC_FIELD = 0;
+        private boolean bool;
+        private byte byteValue;
+        private char charValue;
+        private short shortValue; // NOPMD
+        private int intValue;
+        private long longValue;
+        private float floatValue;
+        private double doubleValue;
+        private volatile double volatileDouble;
+        private volatile String volatileString;
+        private String string;
+        private double[] doubleArray;
+        private transient int transientValue;
+    }
+}
@@ -0,0 +1,156 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.serializer.DataType;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.serializer.spi.FieldIndex;
+import de.gsi.dataset.serializer.spi.iobuffer.DataSetSerialiser;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * Regression testing for @see FieldIndex
+ *
+ * @author rstein
+ */
+public class FieldIndexTests {
+    private static final double[] LARGE_ARRAY = new double[100_000];
+    static {
+        Arrays.setAll(LARGE_ARRAY, i -> Math.sin(0.01 * i));
+    }
+
+    @ParameterizedTest(name = "indexed: {0}")
+    @ValueSource(booleans = { true, false })
+    public void randomAccessTests(final boolean indexed) {
+        final FastByteBuffer buffer = new FastByteBuffer();
+        writeTestStream(buffer, indexed);
+        final long endPosition = buffer.position();
+
+        buffer.reset();
+        BinarySerialiser.checkHeaderInfo(buffer);
+        final FieldIndex index = FieldIndex.read(buffer);
+        assertEquals(indexed, index.isSerialised());
+        assertEquals(endPosition, buffer.position(), "positioned after final end marker");
+        assertEquals(9, index.size());
+        assertTrue(index.contains("name"));
+        assertFalse(index.contains("unknown"));
+
+        // N.B. reverse order of writing
+        assertEquals(42L, seekField(buffer, index, "after", DataType.LONG).getLong());
+        assertEquals("value", getMap(buffer, index).get("key"));
+        assertArrayEquals(new int[] { 1, 2, 3 }, seekField(buffer, index, "ints", DataType.INT_ARRAY).getIntArray());
+        final FieldHeader large = index.seek(buffer, "large").orElseThrow();
+        assertArrayEquals(new int[] { LARGE_ARRAY.length }, large.getDataDimensions());
+        assertArrayEquals(LARGE_ARRAY, BinarySerialiser.getDoubleArray(buffer, large.getDataType()));
+        assertEquals(1.5, seekField(buffer, index, "value", DataType.DOUBLE).getDouble());
+        assertEquals("test", seekField(buffer, index, "name", DataType.STRING).getString());
+        // hash collision: "Aa".hashCode() == "BB".hashCode()
+        assertEquals(1, seekField(buffer, index, "Aa", DataType.INT).getInt());
+        assertEquals(2, seekField(buffer, index, "BB", DataType.INT).getInt());
+        assertEquals(DataType.START_MARKER, index.seek(buffer, "nested").orElseThrow().getDataType());
+        assertEquals(Optional.empty(), index.seek(buffer, "nestedValue"), "top-level fields only");
+        assertEquals(Optional.empty(), index.seek(buffer, "unknown"));
+
+        // compatibility with readers unaware of the index
+        buffer.reset();
+        BinarySerialiser.checkHeaderInfo(buffer);
+        final FieldHeader root = BinarySerialiser.parseIoStream(buffer);
+        assertEquals(indexed ? 12 : 10, root.getChildren().size()); // incl. index fields and end marker
+        assertTrue(FieldHeader.findHeaderFor(root.getChildren(), "large").isPresent());
+    }
+
+    @Test
+    public void dataSetTests() {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test");
+        for (int i = 0; i < 1000; i++) {
+            dataSet.add(i, Math.cos(0.01 * i), 0.1, 0.2);
+        }
+        final FastByteBuffer buffer = new FastByteBuffer();
+        assertFalse(DataSetSerialiser.isFieldIndexSerialised());
+        DataSetSerialiser.setFieldIndexSerialised(true);
+        try {
+            DataSetSerialiser.writeDataSetToByteArray(dataSet, buffer, false);
+        } finally {
+            DataSetSerialiser.setFieldIndexSerialised(false);
+        }
+
+        buffer.reset();
+        final DataSet dataSetRead = DataSetSerialiser.readDataSetFromByteArray(buffer);
+        assertEquals(dataSet.getDataCount(), dataSetRead.getDataCount());
+        assertArrayEquals(Arrays.copyOf(dataSet.getValues(DIM_Y), dataSet.getDataCount()),
+                Arrays.copyOf(dataSetRead.getValues(DIM_Y), dataSet.getDataCount()));
+
+        buffer.reset();
+        BinarySerialiser.checkHeaderInfo(buffer);
+        final FieldIndex index = FieldIndex.read(buffer);
+        assertTrue(index.isSerialised());
+        assertEquals("test", seekField(buffer, index, "dataSetName", DataType.STRING).getString());
+        final FieldHeader yHeader = index.seek(buffer, "y").orElseThrow();
+        assertArrayEquals(Arrays.copyOf(dataSet.getValues(DIM_Y), dataSet.getDataCount()),
+                BinarySerialiser.getDoubleArray(buffer, yHeader.getDataType()));
+    }
+
+    @Test
+    public void writerTests() {
+        final FastByteBuffer buffer = new FastByteBuffer();
+        BinarySerialiser.putHeaderInfo(buffer);
+        final long position = buffer.position();
+        BinarySerialiser.put(buffer, "noMarker", 1L);
+        assertThrows(IllegalArgumentException.class, () -> FieldIndex.putIndex(buffer, position));
+        assertThrows(IllegalArgumentException.class, () -> FieldIndex.putIndexMarker(null));
+        assertThrows(IllegalArgumentException.class, () -> FieldIndex.read(null));
+    }
+
+    private static Map<String, String> getMap(final FastByteBuffer buffer, final FieldIndex index) {
+        index.seek(buffer, "map").orElseThrow();
+        return BinarySerialiser.getMap(buffer, new HashMap<>());
+    }
+
+    private static FastByteBuffer seekField(final FastByteBuffer buffer, final FieldIndex index, final String fieldName,
+            final DataType dataType) {
+        final FieldHeader fieldHeader = index.seek(buffer, fieldName).orElseThrow();
+        assertEquals(fieldName, fieldHeader.getFieldName());
+        assertEquals(dataType, fieldHeader.getDataType());
+        return buffer;
+    }
+
+    private static void writeTestStream(final FastByteBuffer buffer, final boolean indexed) {
+        BinarySerialiser.putHeaderInfo(buffer);
+        final long markerPosition = indexed ? FieldIndex.putIndexMarker(buffer) : -1;
+        BinarySerialiser.put(buffer, "name", "test");
+        BinarySerialiser.put(buffer, "value", 1.5);
+        BinarySerialiser.put(buffer, "large", LARGE_ARRAY);
+        BinarySerialiser.putStartMarker(buffer, "nested");
+        BinarySerialiser.put(buffer, "nestedValue", 3);
+        BinarySerialiser.putEndMarker(buffer, "nested");
+        BinarySerialiser.put(buffer, "ints", new int[] { 1, 2, 3 });
+        final Map<String, String> map = new HashMap<>();
+        map.put("key", "value");
+        BinarySerialiser.put(buffer, "map", map);
+        BinarySerialiser.put(buffer, "Aa", 1);
+        BinarySerialiser.put(buffer, "BB", 2);
+        BinarySerialiser.put(buffer, "after", 42L);
+        if (indexed) {
+            FieldIndex.putIndex(buffer, markerPosition);
+        }
+        BinarySerialiser.putEndMarker(buffer, "OBJ_ROOT_END");
+    }
+}
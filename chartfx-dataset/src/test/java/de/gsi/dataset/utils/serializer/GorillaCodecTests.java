@@ -0,0 +1,145 @@
+package de.gsi.dataset.utils.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import de.gsi.dataset.serializer.DataType;
+import de.gsi.dataset.serializer.spi.BinarySerialiser;
+import de.gsi.dataset.serializer.spi.FastByteBuffer;
+import de.gsi.dataset.serializer.spi.FieldHeader;
+import de.gsi.dataset.serializer.spi.GorillaCodec;
+
+/**
+ * Regression testing for @see GorillaCodec
+ *
+ * @author rstein
+ */
+public class GorillaCodecTests {
+    private static final int N_SAMPLES = 100_000;
+
+    @ParameterizedTest
+    @EnumSource(value = DataType.class, names = { "DOUBLE_ARRAY_XOR", "DOUBLE_ARRAY_DELTA" })
+    public void losslessRoundTrip(final DataType dataType) {
+        final Random rnd = new Random(42);
+        final double[] random = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            random[i] = rnd.nextGaussian() * Math.pow(10, rnd.nextInt(40) - 20);
+        }
+        for (final double[] values : List.of(new double[0], new double[] { 42.0 }, getTimeStamps(), getAdcSignal(),
+                 random, new double[] { Double.NaN, 0.0, -0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                     Double.MIN_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE, Double.NaN, 1.0 })) {
+            final FastByteBuffer buffer = new FastByteBuffer(10);
+            GorillaCodec.encode(buffer, dataType, values, values.length);
+            final long size = buffer.position();
+            buffer.reset();
+            final double[] decoded = GorillaCodec.decode(buffer, dataType);
+            assertEquals(size, buffer.position(), "consumed all encoded bytes");
+            assertEquals(values.length, decoded.length);
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(decoded[i]),
+                        "bit-exact at index " + i);
+            }
+        }
+    }
+
+    @Test
+    public void compressionRatioTests() {
+        final double[] timeStamps = getTimeStamps();
+        final double[] signal = getAdcSignal();
+        final long rawSize = encodedSize(DataType.DOUBLE_ARRAY, timeStamps);
+        final double[] indices = new double[N_SAMPLES];
+        Arrays.setAll(indices, i -> 0.5 * i);
+        assertTrue(encodedSize(DataType.DOUBLE_ARRAY_DELTA, indices) < rawSize / 40, "equidistant samples");
+        // N.B. 1 ms steps are not exactly representable at ns time-stamp magnitudes -> +-1 ulp jitter
+        assertTrue(encodedSize(DataType.DOUBLE_ARRAY_DELTA, timeStamps) < rawSize / 6, "time-stamps");
+        assertTrue(encodedSize(DataType.DOUBLE_ARRAY_XOR, signal) < rawSize / 4, "quantised slowly varying signal");
+        assertTrue(encodedSize(DataType.DOUBLE_ARRAY_XOR, new double[N_SAMPLES]) < rawSize / 50, "constant signal");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DataType.class, names = { "DOUBLE_ARRAY_XOR", "DOUBLE_ARRAY_DELTA" })
+    public void serialiserTests(final DataType dataType) {
+        final double[] signal = getAdcSignal();
+        final FastByteBuffer buffer = new FastByteBuffer();
+        BinarySerialiser.put(buffer, "compressed", signal, new int[] { signal.length }, dataType);
+        BinarySerialiser.put(buffer, "raw", signal, new int[] { signal.length }, DataType.DOUBLE_ARRAY);
+        BinarySerialiser.putEndMarker(buffer, "END");
+        assertThrows(IllegalArgumentException.class,
+                () -> BinarySerialiser.put(buffer, "float", signal, new int[] { 2 }, DataType.FLOAT_ARRAY));
+
+        buffer.reset();
+        final FieldHeader root = BinarySerialiser.parseIoStream(buffer); // skips compressed field via its size
+        assertEquals(3, root.getChildren().size());
+        final FieldHeader compressed = root.getChildren().get(0);
+        assertEquals(dataType, compressed.getDataType());
+        assertArrayEquals(new int[] { signal.length }, compressed.getDataDimensions());
+        buffer.position(compressed.getDataBufferPosition());
+        assertArrayEquals(signal, BinarySerialiser.getDoubleArray(buffer, dataType));
+        final FieldHeader raw = root.getChildren().get(1);
+        assertEquals(DataType.DOUBLE_ARRAY, raw.getDataType());
+        buffer.position(raw.getDataBufferPosition());
+        assertArrayEquals(signal, BinarySerialiser.getDoubleArray(buffer, raw.getDataType()));
+    }
+
+    @Test
+    public void streamingEncoderTests() {
+        final double[] values = getAdcSignal();
+        final FastByteBuffer reference = new FastByteBuffer();
+        GorillaCodec.encode(reference, DataType.DOUBLE_ARRAY_XOR, values, values.length);
+
+        final FastByteBuffer buffer = new FastByteBuffer(10);
+        final GorillaCodec.Encoder encoder = new GorillaCodec.Encoder(buffer, DataType.DOUBLE_ARRAY_XOR,
+                values.length);
+        for (int from = 0; from < values.length; from += 999) {
+            encoder.put(values, from, Math.min(999, values.length - from));
+        }
+        encoder.finish();
+        assertEquals(reference.position(), buffer.position());
+        assertArrayEquals(Arrays.copyOf(reference.elements(), (int) reference.position()),
+                Arrays.copyOf(buffer.elements(), (int) buffer.position()));
+
+        final GorillaCodec.Encoder incomplete = new GorillaCodec.Encoder(buffer, DataType.DOUBLE_ARRAY_XOR, 2);
+        incomplete.put(values, 0, 1);
+        assertThrows(IllegalStateException.class, incomplete::finish);
+        assertThrows(IllegalStateException.class, () -> incomplete.put(values, 0, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GorillaCodec.Encoder(buffer, DataType.DOUBLE_ARRAY, 2));
+        assertThrows(IllegalArgumentException.class, () -> GorillaCodec.decode(buffer, DataType.FLOAT_ARRAY));
+        assertFalse(GorillaCodec.isCompressed(DataType.DOUBLE_ARRAY));
+    }
+
+    private static long encodedSize(final DataType dataType, final double[] values) {
+        final FastByteBuffer buffer = new FastByteBuffer(10);
+        BinarySerialiser.put(buffer, "values", values, new int[] { values.length }, dataType);
+        return buffer.position();
+    }
+
+    private static double[] getAdcSignal() {
+        // slowly varying signal digitised by a 16-bit ADC
+        final double[] values = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            values[i] = Math.round(32000 * Math.sin(2e-4 * i)) / 65536.0;
+        }
+        return values;
+    }
+
+    private static double[] getTimeStamps() {
+        // UTC time-stamps [ns] sampled at 1 kHz
+        final double[] values = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            values[i] = 1.6e18 + 1e6 * i;
+        }
+        return values;
+    }
+}
@@ -16,9 +16,11 @@ import de.gsi.dataset.EditableDataSet;
 import de.gsi.dataset.spi.DoubleDataSet;
 import de.gsi.dataset.spi.DoubleErrorDataSet;
 import de.gsi.dataset.spi.utils.DoublePointError;
+import de.gsi.dataset.utils.ArrayCache;
+import de.gsi.math.filter.SlidingWindowFilter;
 import de.gsi.math.spectra.Apodization;
 import de.gsi.math.spectra.SpectrumTools;
-import de.gsi.math.spectra.fft.DoubleFFT_1D;
+import de.gsi.math.spectra.fft.FFTPlanCache;
 
 /**
  * Some math operation on DataSet and DataSetError
@@ -33,6 +35,11 @@ public final class DataSetMath { // NOPMD - nomen est omen
     private static final char MULTIPLICATION_SYMBOL = 0x00B7;
     private static final String DIFFERENTIAL = DIFFERENTIAL_SYMBOL + "/" + DIFFERENTIAL_SYMBOL + "x";
     private static final TRandom random = new TRandom(System.currentTimeMillis());
+    private static final String CLASS_NAME = DataSetMath.class.getSimpleName();
+    private static final String FFT_SPECTRA_BUFFER = CLASS_NAME + ":fftSpectra";
+    private static final String MAGNITUDE_BUFFER = CLASS_NAME + ":magnitude";
+    private static final String FREQUENCY_BUFFER = CLASS_NAME + ":frequency";
+    private static final String ZERO_BUFFER = CLASS_NAME + ":zeros";
 
     /**
      *
@@ -372,15 +379,20 @@ public final class DataSetMath { // NOPMD - nomen est omen
         final int n = function.getDataCount();
         final DoubleErrorDataSet filteredFunction = new DoubleErrorDataSet(
                 filterType.getTag() + "(" + function.getName() + "," + Double.toString(width) + ")", n);
-        final double[] subArrayY = new double[n];
-        final double[] subArrayYn = new double[n];
-        final double[] subArrayYp = new double[n];
 
         final double[] xValues = values(DIM_X, function);
         final double[] yValues = values(DIM_Y, function);
         final double[] yen = errors(function, EYN);
         final double[] yep = errors(function, EYN);
 
+        if (width >= 0 && SlidingWindowFilter.isSorted(xValues, n)) {
+            // O(n) resp. O(n log w) sliding-window implementation
+            return filterFunctionSorted(filteredFunction, xValues, yValues, yen, yep, n, width, filterType);
+        }
+
+        final double[] subArrayY = new double[n];
+        final double[] subArrayYn = new double[n];
+        final double[] subArrayYp = new double[n];
         for (int i = 0; i < n; i++) {
             final double time0 = xValues[i];
 
@@ -434,6 +446,63 @@ public final class DataSetMath { // NOPMD - nomen est omen
         return filteredFunction;
     }
 
+    private static DataSet filterFunctionSorted(final DoubleErrorDataSet filteredFunction, final double[] xValues,
+            final double[] yValues, final double[] yen, final double[] yep, final int n, final double width,
+            final Filter filterType) {
+        final int[] from = new int[n];
+        final int[] to = new int[n];
+        SlidingWindowFilter.getWindowLimits(xValues, n, width, from, to);
+
+        final double[] y = new double[n];
+        final double[] eyn = new double[n];
+        final double[] eyp = new double[n];
+        switch (filterType) {
+        case MEDIAN:
+            SlidingWindowFilter.median(yValues, from, to, n, y);
+            SlidingWindowFilter.median(yen, from, to, n, eyn);
+            SlidingWindowFilter.median(yep, from, to, n, eyp);
+            break;
+        case MIN:
+            SlidingWindowFilter.min(yValues, from, to, n, y);
+            SlidingWindowFilter.min(yen, from, to, n, eyn);
+            SlidingWindowFilter.min(yep, from, to, n, eyp);
+            break;
+        case MAX:
+            SlidingWindowFilter.max(yValues, from, to, n, y);
+            SlidingWindowFilter.max(yen, from, to, n, eyn);
+            SlidingWindowFilter.max(yep, from, to, n, eyp);
+            break;
+        case P2P:
+            SlidingWindowFilter.peakToPeak(yValues, from, to, n, y);
+            SlidingWindowFilter.peakToPeak(yen, from, to, n, eyn);
+            SlidingWindowFilter.peakToPeak(yep, from, to, n, eyp);
+            break;
+        case RMS:
+            SlidingWindowFilter.rms(yValues, from, to, n, y);
+            SlidingWindowFilter.rms(yen, from, to, n, eyn);
+            SlidingWindowFilter.rms(yep, from, to, n, eyp);
+            break;
+        case GEOMMEAN:
+            SlidingWindowFilter.geometricMean(yValues, from, to, n, y);
+            SlidingWindowFilter.geometricMean(yen, from, to, n, eyn);
+            SlidingWindowFilter.geometricMean(yep, from, to, n, eyp);
+            break;
+        case MEAN:
+        default:
+            SlidingWindowFilter.mean(yValues, from, to, n, y);
+            SlidingWindowFilter.mean(yen, from, to, n, eyn);
+            SlidingWindowFilter.mean(yep, from, to, n, eyp);
+            for (int i = 0; i < n; i++) {
+                final double norm = 1.0 / Math.sqrt(to[i] - from[i]);
+                eyn[i] *= norm;
+                eyp[i] *= norm;
+            }
+            break;
+        }
+        filteredFunction.set(Arrays.copyOf(xValues, n), y, eyn, eyp, false);
+        return filteredFunction;
+    }
+
     public static DataSet geometricMeanFilteredFunction(final DataSet function, final double width) {
         return filterFunction(function, width, Filter.GEOMMEAN);
     }
@@ -744,31 +813,59 @@ public final class DataSetMath { // NOPMD - nomen est omen
 
     public static DataSet magnitudeSpectrum(final DataSet function, final Apodization apodization,
             final boolean dbScale, final boolean normalisedFrequency) {
-        final int n = function.getDataCount();
-
-        final DoubleFFT_1D fastFourierTrafo = new DoubleFFT_1D(n);
+        return magnitudeSpectrum(function, apodization, dbScale, normalisedFrequency, null);
+    }
 
+    /**
+     * Computes the magnitude spectrum using cached FFT plans (@see FFTPlanCache) and work arrays. Repeated calls with
+     * the same output data set recompute the spectrum in place, i.e. without allocations in steady state.
+     *
+     * @param function input data set
+     * @param apodization apodization (windowing) function applied prior to the transform
+     * @param dbScale true: magnitude in [dB]
+     * @param normalisedFrequency true: frequency axis normalised to [0, 0.5]
+     * @param output data set the spectrum is written to, {@code null}: a new data set is created
+     * @return the output data set
+     */
+    public static DoubleErrorDataSet magnitudeSpectrum(final DataSet function, final Apodization apodization,
+            final boolean dbScale, final boolean normalisedFrequency, final DoubleErrorDataSet output) {
+        final String functionName = "Mag" + (dbScale ? "[dB]" : "") + "(" + function.getName() + ")";
+        final int n = function.getDataCount();
+        final double[] fftSpectra = ArrayCache.getCachedDoubleArray(FFT_SPECTRA_BUFFER, n);
         // N.B. since realForward computes the FFT in-place -> generate a copy
-        final double[] fftSpectra = new double[n];
+        final double dt = function.lock().readLockGuard(() -> {
+            function.getValues(DIM_Y, 0, fftSpectra, 0, n);
+            return function.get(DIM_X, n - 1) - function.get(DIM_X, 0);
+        });
         for (int i = 0; i < n; i++) {
-            final double window = apodization.getIndex(i, n);
-            fftSpectra[i] = function.get(DIM_Y, i) * window;
+            fftSpectra[i] *= apodization.getIndex(i, n);
         }
 
-        fastFourierTrafo.realForward(fftSpectra);
-        final double[] mag = dbScale ? SpectrumTools.computeMagnitudeSpectrum_dB(fftSpectra, true)
-                : SpectrumTools.computeMagnitudeSpectrum(fftSpectra, true);
-        final double dt = function.get(DIM_X, function.getDataCount() - 1) - function.get(DIM_X, 0);
-        final double fsampling = normalisedFrequency || dt <= 0 ? 0.5 / mag.length : 1.0 / dt;
-
-        final String functionName = "Mag" + (dbScale ? "[dB]" : "") + "(" + function.getName() + ")";
-
-        final DoubleErrorDataSet ret = new DoubleErrorDataSet(functionName, mag.length);
-        for (int i = 0; i < mag.length; i++) {
-            // TODO: consider magnitude error estimate
-            ret.add(i * fsampling, mag[i], 0, 0);
+        FFTPlanCache.getDoubleFFT_1D(n).realForward(fftSpectra);
+        final int nMag = n / 2;
+        final double[] mag = ArrayCache.getCachedDoubleArray(MAGNITUDE_BUFFER, nMag);
+        final double[] frequency = ArrayCache.getCachedDoubleArray(FREQUENCY_BUFFER, nMag);
+        final double[] zeros = ArrayCache.getCachedDoubleArray(ZERO_BUFFER, nMag);
+        if (dbScale) {
+            SpectrumTools.computeMagnitudeSpectrum_dB(fftSpectra, n, true, mag);
+        } else {
+            SpectrumTools.computeMagnitudeSpectrum(fftSpectra, n, true, mag);
         }
+        final double fsampling = normalisedFrequency || dt <= 0 ? 0.5 / nMag : 1.0 / dt;
+        for (int i = 0; i < nMag; i++) {
+            frequency[i] = i * fsampling;
+        }
+        // TODO: consider magnitude error estimate
+        Arrays.fill(zeros, 0, nMag, 0.0);
+
+        final DoubleErrorDataSet ret = output == null ? new DoubleErrorDataSet(functionName, nMag) : output;
+        ret.setName(functionName);
+        ret.set(frequency, mag, zeros, zeros, nMag, true); // copies into the existing storage
 
+        ArrayCache.release(FFT_SPECTRA_BUFFER, fftSpectra);
+        ArrayCache.release(MAGNITUDE_BUFFER, mag);
+        ArrayCache.release(FREQUENCY_BUFFER, frequency);
+        ArrayCache.release(ZERO_BUFFER, zeros);
         return ret;
     }
 
@@ -1031,14 +1128,10 @@ public final class DataSetMath { // NOPMD - nomen est omen
         if (dataSet instanceof DataSet2D) {
             return ((DataSet2D) dataSet).getValues(dimIndex);
         }
-        // less performing fall-back for non-array-based datasets -> need to loop through indices
+        // fall-back for other datasets -> bulk copy (native for array-based implementations)
         return dataSet.lock().readLockGuard(() -> {
             final int count = dataSet.getDataCount(dimIndex);
-            final double[] retValues = new double[count];
-            for (int index = 0; index < count; index++) {
-                retValues[index] = dataSet.get(dimIndex, index);
-            }
-            return retValues;
+            return dataSet.getValues(dimIndex, 0, new double[count], 0, count);
         });
     }
 
@@ -2989,7 +2989,7 @@ public class TMath extends TMathConstants {
         double[] temp = Sort(data, length, false);
 
         if (length % 2 == 0) {
-            return 0.5 * (temp[length / 2] + temp[length / 2 + 1]);
+            return 0.5 * (temp[length / 2 - 1] + temp[length / 2]);
         } else {
             return temp[length / 2];
         }
@@ -3007,7 +3007,7 @@ public class TMath extends TMathConstants {
     public static synchronized float Median(float[] data, int length) {
         float[] temp = Sort(data, length, false);
         if (length % 2 == 0) {
-            return 0.5f * (temp[length / 2] + temp[length / 2 + 1]);
+            return 0.5f * (temp[length / 2 - 1] + temp[length / 2]);
         } else {
             return data[length / 2];
         }
@@ -3025,7 +3025,7 @@ public class TMath extends TMathConstants {
     public static synchronized int Median(int[] data, int length) {
         int[] temp = Sort(data, length, false);
         if (length % 2 == 0) {
-            return (int) (0.5 * (temp[length / 2] + temp[length / 2 + 1]));
+            return (int) (0.5 * (temp[length / 2 - 1] + temp[length / 2]));
         } else {
             return temp[length / 2];
         }
@@ -3046,7 +3046,7 @@ public class TMath extends TMathConstants {
     public static synchronized long Median(long[] data, int length) {
         long[] temp = Sort(data, length, false);
         if (length % 2 == 0) {
-            return (long) (0.5 * (temp[length / 2] + data[length / 2 + 1]));
+            return (long) (0.5 * (temp[length / 2 - 1] + temp[length / 2]));
         } else {
             return temp[length / 2];
         }
@@ -3064,7 +3064,7 @@ public class TMath extends TMathConstants {
     public static synchronized short Median(short[] data, int length) {
         short[] temp = Sort(data, length, false);
         if (length % 2 == 0) {
-            return (short) (0.5 * (temp[length / 2] + temp[length / 2 + 1]));
+            return (short) (0.5 * (temp[length / 2 - 1] + temp[length / 2]));
         } else {
             return temp[length / 2];
         }
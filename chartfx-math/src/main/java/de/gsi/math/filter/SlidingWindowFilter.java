@@ -0,0 +1,425 @@
+package de.gsi.math.filter;
+
+import de.gsi.dataset.utils.AssertUtils;
+import de.gsi.math.TMath;
+
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
+
+/**
+ * Streaming sliding-window filters for data with sorted (monotonically non-decreasing) abscissa.
+ * <p>
+ * The window of sample {@code i} contains all samples {@code j} with {@code |x[i] - x[j]| <= width}, which for sorted
+ * abscissa values is a contiguous index range {@code [from[i], to[i])} whose limits are non-decreasing in {@code i}.
+ * This permits to compute the filtered values in O(n) (min, max, mean, rms, geometric mean) or O(n log w) (median)
+ * rather than the O(n^2) of evaluating each window independently. The results are equivalent to applying the
+ * corresponding {@link TMath} function to each window (N.B. up to floating-point rounding for the sum-based filters).
+ *
+ * @author rstein
+ */
+public final class SlidingWindowFilter {
+    private static final String DATA = "data";
+    private static final String OUTPUT = "output";
+
+    private SlidingWindowFilter() {
+        // utility class
+    }
+
+    /**
+     * @param data input vector
+     * @param from first index (inclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param to last index (exclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param length number of windows to be computed
+     * @param output storage for the geometric mean of each window
+     * @return output
+     */
+    public static double[] geometricMean(final double[] data, final int[] from, final int[] to, final int length,
+            final double[] output) {
+        checkArguments(data, from, to, length, output);
+        int start = 0;
+        int stop = 0;
+        int nZeros = 0;
+        int nNonFinite = 0;
+        double logSum = 0.0;
+        for (int i = 0; i < length; i++) {
+            for (; stop < to[i]; stop++) {
+                final double val = data[stop];
+                if (val == 0.0) {
+                    nZeros++;
+                } else if (Double.isFinite(val)) {
+                    logSum += Math.log(Math.abs(val));
+                } else {
+                    nNonFinite++;
+                }
+            }
+            for (; start < from[i]; start++) {
+                final double val = data[start];
+                if (val == 0.0) {
+                    nZeros--;
+                } else if (Double.isFinite(val)) {
+                    logSum -= Math.log(Math.abs(val));
+                } else {
+                    nNonFinite--;
+                }
+            }
+            final int count = stop - start;
+            if (nZeros > 0) {
+                output[i] = 0.0;
+            } else if (nNonFinite > 0) {
+                output[i] = geometricMean(data, start, stop);
+            } else {
+                output[i] = Math.exp(logSum / count);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Computes the index range of the sliding window for each sample, i.e. all samples {@code j} with
+     * {@code |x[i] - x[j]| <= width} are contained in {@code [from[i], to[i])}.
+     *
+     * @param xValues abscissa values, need to be sorted
+     * @param length number of samples to be used
+     * @param width window half-width
+     * @param from storage for the first index (inclusive) of each window
+     * @param to storage for the last index (exclusive) of each window
+     */
+    public static void getWindowLimits(final double[] xValues, final int length, final double width,
+            final int[] from, final int[] to) {
+        AssertUtils.gtEqThanZero("width", width);
+        AssertUtils.indexInBounds(length, xValues.length + 1, "xValues too short");
+        AssertUtils.indexInBounds(length, from.length + 1, "from too short");
+        AssertUtils.indexInBounds(length, to.length + 1, "to too short");
+        int start = 0;
+        int stop = 0;
+        for (int i = 0; i < length; i++) {
+            final double x0 = xValues[i];
+            while (Math.abs(x0 - xValues[start]) > width) {
+                start++;
+            }
+            stop = Math.max(stop, i + 1);
+            while (stop < length && Math.abs(x0 - xValues[stop]) <= width) {
+                stop++;
+            }
+            from[i] = start;
+            to[i] = stop;
+        }
+    }
+
+    /**
+     * @param xValues abscissa values
+     * @param length number of samples to be checked
+     * @return {@code true} if the values are non-decreasing and finite, i.e. usable with the sliding-window filters
+     */
+    public static boolean isSorted(final double[] xValues, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (!Double.isFinite(xValues[i]) || (i > 0 && xValues[i] < xValues[i - 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param data input vector
+     * @param from first index (inclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param to last index (exclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param length number of windows to be computed
+     * @param output storage for the maximum of each window
+     * @return output
+     */
+    public static double[] max(final double[] data, final int[] from, final int[] to, final int length,
+            final double[] output) {
+        checkArguments(data, from, to, length, output);
+        final MonotonicDeque deque = new MonotonicDeque(data, to, length, true);
+        for (int i = 0; i < length; i++) {
+            output[i] = deque.slide(from[i], to[i]);
+        }
+        return output;
+    }
+
+    /**
+     * @param data input vector
+     * @param from first index (inclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param to last index (exclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param length number of windows to be computed
+     * @param output storage for the mean of each window
+     * @return output
+     */
+    public static double[] mean(final double[] data, final int[] from, final int[] to, final int length,
+            final double[] output) {
+        checkArguments(data, from, to, length, output);
+        final RunningSum sum = new RunningSum(data);
+        for (int i = 0; i < length; i++) {
+            sum.slide(from[i], to[i]);
+            output[i] = sum.isFinite() ? sum.getSum() / sum.getCount() : TMath.Mean(window(data, from[i], to[i]), to[i] - from[i]);
+        }
+        return output;
+    }
+
+    /**
+     * @param data input vector
+     * @param from first index (inclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param to last index (exclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param length number of windows to be computed
+     * @param output storage for the median of each window
+     * @return output
+     */
+    public static double[] median(final double[] data, final int[] from, final int[] to, final int length,
+            final double[] output) {
+        checkArguments(data, from, to, length, output);
+        // N.B. Double.compare is consistent with the ordering of Arrays.sort(double[]) used by TMath.Median
+        final IntComparator comparator = (a, b) -> {
+            final int cmp = Double.compare(data[a], data[b]);
+            return cmp == 0 ? Integer.compare(a, b) : cmp;
+        };
+        final IntRBTreeSet lower = new IntRBTreeSet(comparator); // holds the smaller (count+1)/2 samples
+        final IntRBTreeSet upper = new IntRBTreeSet(comparator); // holds the larger count/2 samples
+        int start = 0;
+        int stop = 0;
+        for (int i = 0; i < length; i++) {
+            for (; stop < to[i]; stop++) {
+                if (lower.isEmpty() || comparator.compare(stop, lower.lastInt()) <= 0) {
+                    lower.add(stop);
+                } else {
+                    upper.add(stop);
+                }
+            }
+            for (; start < from[i]; start++) {
+                if (!lower.remove(start)) {
+                    upper.remove(start);
+                }
+            }
+            // re-balance
+            while (lower.size() > upper.size() + 1) {
+                final int index = lower.lastInt();
+                lower.remove(index);
+                upper.add(index);
+            }
+            while (upper.size() > lower.size()) {
+                final int index = upper.firstInt();
+                upper.remove(index);
+                lower.add(index);
+            }
+            if (lower.isEmpty()) {
+                output[i] = Double.NaN;
+            } else if (lower.size() == upper.size()) {
+                output[i] = 0.5 * (data[lower.lastInt()] + data[upper.firstInt()]);
+            } else {
+                output[i] = data[lower.lastInt()];
+            }
+        }
+        return output;
+    }
+
+    /**
+     * @param data input vector
+     * @param from first index (inclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param to last index (exclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param length number of windows to be computed
+     * @param output storage for the minimum of each window
+     * @return output
+     */
+    public static double[] min(final double[] data, final int[] from, final int[] to, final int length,
+            final double[] output) {
+        checkArguments(data, from, to, length, output);
+        final MonotonicDeque deque = new MonotonicDeque(data, to, length, false);
+        for (int i = 0; i < length; i++) {
+            output[i] = deque.slide(from[i], to[i]);
+        }
+        return output;
+    }
+
+    /**
+     * @param data input vector
+     * @param from first index (inclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param to last index (exclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param length number of windows to be computed
+     * @param output storage for the peak-to-peak value of each window
+     * @return output
+     */
+    public static double[] peakToPeak(final double[] data, final int[] from, final int[] to, final int length,
+            final double[] output) {
+        checkArguments(data, from, to, length, output);
+        final MonotonicDeque minDeque = new MonotonicDeque(data, to, length, false);
+        final MonotonicDeque maxDeque = new MonotonicDeque(data, to, length, true);
+        for (int i = 0; i < length; i++) {
+            output[i] = Math.abs(maxDeque.slide(from[i], to[i]) - minDeque.slide(from[i], to[i]));
+        }
+        return output;
+    }
+
+    /**
+     * @param data input vector
+     * @param from first index (inclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param to last index (exclusive) of each window, as computed by {@link #getWindowLimits}
+     * @param length number of windows to be computed
+     * @param output storage for the un-biased r.m.s. of each window
+     * @return output
+     */
+    public static double[] rms(final double[] data, final int[] from, final int[] to, final int length,
+            final double[] output) {
+        checkArguments(data, from, to, length, output);
+        final RunningSum sum = new RunningSum(data);
+        for (int i = 0; i < length; i++) {
+            sum.slide(from[i], to[i]);
+            final int count = sum.getCount();
+            if (count <= 0 || !sum.isFinite()) {
+                output[i] = TMath.RMS(window(data, from[i], to[i]), count);
+                continue;
+            }
+            final double mean = sum.getSum() / count;
+            final double mean2 = sum.getSum2() / count;
+            output[i] = Math.sqrt(Math.abs(mean2 - mean * mean));
+        }
+        return output;
+    }
+
+    private static void checkArguments(final double[] data, final int[] from, final int[] to, final int length,
+            final double[] output) {
+        AssertUtils.notNull(DATA, data);
+        AssertUtils.notNull(OUTPUT, output);
+        AssertUtils.indexInBounds(length, from.length + 1, "from too short");
+        AssertUtils.indexInBounds(length, to.length + 1, "to too short");
+        AssertUtils.indexInBounds(length, output.length + 1, "output too short");
+        if (length > 0) {
+            AssertUtils.indexInBounds(to[length - 1], data.length + 1, "data too short");
+        }
+    }
+
+    private static double geometricMean(final double[] data, final int start, final int stop) {
+        double logSum = 0.0;
+        for (int j = start; j < stop; j++) {
+            logSum += Math.log(Math.abs(data[j]));
+        }
+        return Math.exp(logSum / (stop - start));
+    }
+
+    private static double[] window(final double[] data, final int start, final int stop) {
+        final double[] retVal = new double[Math.max(1, stop - start)];
+        System.arraycopy(data, start, retVal, 0, stop - start);
+        return retVal;
+    }
+
+    /**
+     * monotonic deque of indices for sliding-window min/max: the front holds the index of the current extremum
+     */
+    private static class MonotonicDeque {
+        private final double[] data;
+        private final int[] queue;
+        private final boolean isMax;
+        private final double limit;
+        private int head;
+        private int tail;
+        private int start;
+        private int stop;
+        private int nNaNs;
+
+        protected MonotonicDeque(final double[] data, final int[] to, final int length, final boolean isMax) {
+            this.data = data;
+            this.queue = new int[length > 0 ? to[length - 1] : 0];
+            this.isMax = isMax;
+            // initial values as used by TMath.Maximum/Minimum
+            limit = isMax ? -Double.MAX_VALUE : +Double.MAX_VALUE;
+        }
+
+        protected double slide(final int from, final int to) {
+            for (; stop < to; stop++) {
+                final double val = data[stop];
+                if (Double.isNaN(val)) {
+                    nNaNs++;
+                    continue;
+                }
+                // N.B. Double.compare to be consistent w.r.t. Math.max/min handling of -0.0 and +0.0
+                while (tail > head && (isMax ? Double.compare(data[queue[tail - 1]], val) <= 0
+                                             : Double.compare(data[queue[tail - 1]], val) >= 0)) {
+                    tail--;
+                }
+                queue[tail++] = stop;
+            }
+            for (; start < from; start++) {
+                if (Double.isNaN(data[start])) {
+                    nNaNs--;
+                }
+            }
+            while (tail > head && queue[head] < start) {
+                head++;
+            }
+            if (nNaNs > 0) {
+                return Double.NaN;
+            }
+            if (tail == head) {
+                return limit;
+            }
+            return isMax ? Math.max(limit, data[queue[head]]) : Math.min(limit, data[queue[head]]);
+        }
+    }
+
+    /**
+     * running sum and sum of squares, periodically re-computed to limit the accumulation of rounding errors
+     */
+    private static class RunningSum {
+        private final double[] data;
+        private int start;
+        private int stop;
+        private int nNonFinite;
+        private int nRemoved;
+        private double sum;
+        private double sum2;
+
+        protected RunningSum(final double[] data) {
+            this.data = data;
+        }
+
+        protected int getCount() {
+            return stop - start;
+        }
+
+        protected double getSum() {
+            return sum;
+        }
+
+        protected double getSum2() {
+            return sum2;
+        }
+
+        protected boolean isFinite() {
+            return nNonFinite == 0;
+        }
+
+        protected void slide(final int from, final int to) {
+            for (; stop < to; stop++) {
+                final double val = data[stop];
+                if (Double.isFinite(val)) {
+                    sum += val;
+                    sum2 += val * val;
+                } else {
+                    nNonFinite++;
+                }
+            }
+            for (; start < from; start++) {
+                final double val = data[start];
+                if (Double.isFinite(val)) {
+                    sum -= val;
+                    sum2 -= val * val;
+                    nRemoved++;
+                } else {
+                    nNonFinite--;
+                }
+            }
+            if (nRemoved > getCount()) {
+                // amortised O(1): re-compute after the window has been entirely replaced
+                nRemoved = 0;
+                sum = 0.0;
+                sum2 = 0.0;
+                for (int j = start; j < stop; j++) {
+                    final double val = data[j];
+                    if (Double.isFinite(val)) {
+                        sum += val;
+                        sum2 += val * val;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Arrays;
 
 import de.gsi.math.TMathConstants;
 import de.gsi.math.spectra.fft.DoubleFFT_1D;
+import de.gsi.math.spectra.fft.FFTPlanCache;
 import de.gsi.math.utils.ConcurrencyUtils;
 
 /**
@@ -17,10 +18,8 @@ public class Convolution {
     public DoubleFFT_1D f1dFFT;
 
     private void init(final int size) {
-        if (f1dFFT == null) {
-            f1dFFT = new DoubleFFT_1D(size);
-        } else if (f1dFFT.getDimension() != size) {
-            f1dFFT = new DoubleFFT_1D(size);
+        if (f1dFFT == null || f1dFFT.getDimension() != size) {
+            f1dFFT = FFTPlanCache.getDoubleFFT_1D(size);
         }
     }
 
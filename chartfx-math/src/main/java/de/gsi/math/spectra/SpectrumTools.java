@@ -7,6 +7,7 @@ import de.gsi.math.TMathConstants;
 import de.gsi.math.fitter.NonLinearRegressionFitter;
 import de.gsi.math.functions.CombFunction;
 import de.gsi.math.spectra.fft.DoubleFFT_1D;
+import de.gsi.math.spectra.fft.FFTPlanCache;
 
 /**
  * Class implements frequency interpolation of spectral peaks. The main idea behind these algorithm is: The resolution
@@ -73,26 +74,41 @@ public class SpectrumTools {
      * @return computed magnitude spectrum
      */
     public static double[] computeMagnitudeSpectrum(final double[] data, final boolean truncateDCNyq) {
-        final double[] ret = new double[data.length / 2];
-        for (int i = 0; i < ret.length; i++) {
+        return computeMagnitudeSpectrum(data, data.length, truncateDCNyq, new double[data.length / 2]);
+    }
+
+    /**
+     * compute magnitude power spectra into a caller-supplied (e.g. re-used) output array
+     *
+     * @see DoubleFFT_1D for the expected spectra layout
+     * @param data the input data
+     * @param length number of input samples to be used (N.B. may be smaller than {@code data.length})
+     * @param truncateDCNyq true: whether to smooth spectra and to ZOH the DC and Nyquist frequencies
+     * @param output storage for the {@code length/2} magnitude values
+     * @return the output array
+     */
+    public static double[] computeMagnitudeSpectrum(final double[] data, final int length, final boolean truncateDCNyq,
+            final double[] output) {
+        final int n2 = length / 2;
+        for (int i = 0; i < n2; i++) {
             final int i2 = i << 1;
             final double Re = data[i2];
             final double Im = data[i2 + 1];
 
-            ret[i] = TMathConstants.Sqrt(TMathConstants.Sqr(Re) + TMathConstants.Sqr(Im)) / ret.length;
+            output[i] = TMathConstants.Sqrt(TMathConstants.Sqr(Re) + TMathConstants.Sqr(Im)) / n2;
         }
         if (truncateDCNyq) {
             // smooth spectra on both ends to minimise DC/Nyquist frequency
             // artefacts
-            ret[0] = ret[1];
-            ret[ret.length - 1] = ret[ret.length - 2];
+            output[0] = output[1];
+            output[n2 - 1] = output[n2 - 2];
         } else {
             // full DC/Nyquist frequency treatment
-            ret[0] = data[0] / ret.length;
-            ret[ret.length - 1] = data[1] / ret.length;
+            output[0] = data[0] / n2;
+            output[n2 - 1] = data[1] / n2;
         }
 
-        return ret;
+        return output;
     }
 
     /**
@@ -147,28 +163,42 @@ public class SpectrumTools {
      * @return computed magnitude spectrum in [dB]
      */
     public static double[] computeMagnitudeSpectrum_dB(final double[] data, final boolean truncateDCNyq) {
-        final int n2 = data.length / 2;
-        final double[] ret = new double[n2];
-        for (int i = 0; i < ret.length; i++) {
+        return computeMagnitudeSpectrum_dB(data, data.length, truncateDCNyq, new double[data.length / 2]);
+    }
+
+    /**
+     * compute magnitude power spectra in decibel into a caller-supplied (e.g. re-used) output array
+     *
+     * @see DoubleFFT_1D for the expected spectra layout
+     * @param data the input data
+     * @param length number of input samples to be used (N.B. may be smaller than {@code data.length})
+     * @param truncateDCNyq true: whether to smooth spectra and to ZOH the DC and Nyquist frequencies
+     * @param output storage for the {@code length/2} magnitude values
+     * @return the output array
+     */
+    public static double[] computeMagnitudeSpectrum_dB(final double[] data, final int length,
+            final boolean truncateDCNyq, final double[] output) {
+        final int n2 = length / 2;
+        for (int i = 0; i < n2; i++) {
             final int i2 = i << 1;
             final double Re = data[i2];
             final double Im = data[i2 + 1];
 
-            ret[i] = 10 * TMathConstants.Log10((TMathConstants.Sqr(Re / n2) + TMathConstants.Sqr(Im / n2)));
+            output[i] = 10 * TMathConstants.Log10((TMathConstants.Sqr(Re / n2) + TMathConstants.Sqr(Im / n2)));
         }
 
         if (truncateDCNyq) {
             // smooth spectra on both ends to minimise DC/Nyquist frequency
             // artifacts
-            ret[0] = ret[1];
-            ret[n2 - 1] = ret[n2 - 2];
+            output[0] = output[1];
+            output[n2 - 1] = output[n2 - 2];
         } else {
             // full DC/Nyquist frequency treatment
-            ret[0] = data[0];
-            ret[ret.length - 1] = data[1];
+            output[0] = data[0];
+            output[n2 - 1] = data[1];
         }
 
-        return ret;
+        return output;
     }
 
     /**
@@ -536,13 +566,13 @@ public class SpectrumTools {
     public static synchronized double[] interpolateSpectrum(final double[] data, final int noversampling) {
         final double[] val1 = Arrays.copyOf(data, data.length);
 
-        DoubleFFT_1D fft1D = new DoubleFFT_1D(data.length);
+        DoubleFFT_1D fft1D = FFTPlanCache.getDoubleFFT_1D(data.length);
         fft1D.realInverse(val1, true);
 
         final double[] val2 = new double[noversampling * val1.length];
         System.arraycopy(val1, 0, val2, 0, val1.length - 2);
 
-        fft1D = new DoubleFFT_1D(noversampling * data.length);
+        fft1D = FFTPlanCache.getDoubleFFT_1D(noversampling * data.length);
         fft1D.realForward(val2);
 
         for (int i = 0; i < val2.length; i++) {
@@ -0,0 +1,121 @@
+package de.gsi.math.spectra.fft;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Bounded, thread-safe cache of {@link DoubleFFT_1D} and {@link FloatFFT_1D} plans keyed by transform length.
+ * <p>
+ * Setting up a plan (twiddle factors, bit-reversal and -- for non-power-of-two lengths -- Bluestein tables) is often
+ * more expensive than the transform itself. Plans are not modified by the transforms and may thus be shared between
+ * threads. The least recently used plans are evicted once more than {@link #getCapacity()} lengths are in use.
+ *
+ * usage example:
+ *
+ * <pre>
+ * final DoubleFFT_1D fft = FFTPlanCache.getDoubleFFT_1D(data.length);
+ * fft.realForward(data);
+ * </pre>
+ *
+ * @author rstein
+ */
+public final class FFTPlanCache { // NOPMD nomen est omen
+    /** default number of cached plans per precision */
+    public static final int DEFAULT_CAPACITY = 16;
+    private static final PlanMap<DoubleFFT_1D> DOUBLE_PLANS = new PlanMap<>(DoubleFFT_1D::new);
+    private static final PlanMap<FloatFFT_1D> FLOAT_PLANS = new PlanMap<>(FloatFFT_1D::new);
+    private static int capacity = DEFAULT_CAPACITY;
+
+    private FFTPlanCache() {
+        // static helper class
+    }
+
+    /**
+     * drops all cached plans
+     */
+    public static void clear() {
+        DOUBLE_PLANS.clear();
+        FLOAT_PLANS.clear();
+    }
+
+    /**
+     * @return maximum number of cached plans per precision
+     */
+    public static synchronized int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @param n transform length
+     * @return cached or newly created (and cached) plan for the given length
+     */
+    public static DoubleFFT_1D getDoubleFFT_1D(final int n) {
+        return DOUBLE_PLANS.getPlan(n);
+    }
+
+    /**
+     * @param n transform length
+     * @return cached or newly created (and cached) plan for the given length
+     */
+    public static FloatFFT_1D getFloatFFT_1D(final int n) {
+        return FLOAT_PLANS.getPlan(n);
+    }
+
+    /**
+     * @return number of currently cached plans (both precisions)
+     */
+    public static int getSize() {
+        return DOUBLE_PLANS.getSize() + FLOAT_PLANS.getSize();
+    }
+
+    /**
+     * @param newCapacity maximum number of cached plans per precision (N.B. excess plans are evicted on the next
+     *        insertion)
+     */
+    public static synchronized void setCapacity(final int newCapacity) {
+        if (newCapacity < 1) {
+            throw new IllegalArgumentException("capacity = " + newCapacity + " must be >= 1");
+        }
+        capacity = newCapacity;
+    }
+
+    private static class PlanMap<T> {
+        private final IntFunction<T> factory;
+        private final Map<Integer, T> plans = new LinkedHashMap<>(2 * DEFAULT_CAPACITY, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, T> eldest) {
+                return size() > getCapacity();
+            }
+        };
+
+        private PlanMap(final IntFunction<T> factory) {
+            this.factory = factory;
+        }
+
+        private synchronized void clear() {
+            plans.clear();
+        }
+
+        private T getPlan(final int n) {
+            synchronized (this) {
+                final T plan = plans.get(n);
+                if (plan != null) {
+                    return plan;
+                }
+            }
+            // N.B. plan set-up outside the lock -- concurrent misses for the same length create transient duplicates
+            final T newPlan = factory.apply(n);
+            synchronized (this) {
+                final T plan = plans.putIfAbsent(n, newPlan);
+                return plan == null ? newPlan : plan;
+            }
+        }
+
+        private synchronized int getSize() {
+            return plans.size();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package de.gsi.math.filter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+import de.gsi.math.DataSetMath;
+import de.gsi.math.DataSetMath.Filter;
+import de.gsi.math.TMath;
+
+/**
+ * Regression testing for @see SlidingWindowFilter
+ *
+ * @author rstein
+ */
+public class SlidingWindowFilterTests {
+    private static final int N_SAMPLES = 2000;
+    private static final double WIDTH = 5.3;
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    public void dataSetMathTests() {
+        final Random rnd = new Random(42);
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", N_SAMPLES);
+        double x = 0.0;
+        for (int i = 0; i < N_SAMPLES; i++) {
+            x += rnd.nextInt(4) == 0 ? 0.0 : rnd.nextDouble(); // include duplicate x values
+            dataSet.add(x, rnd.nextGaussian(), 0.1 + rnd.nextDouble(), 0.1 + rnd.nextDouble());
+        }
+        final double[] xValues = dataSet.getValues(DataSet.DIM_X);
+        final double[] yValues = dataSet.getValues(DataSet.DIM_Y);
+        final double[] eyn = dataSet.getErrorsNegative(DataSet.DIM_Y);
+        for (final Filter filter : Filter.values()) {
+            final DataSet filtered = DataSetMath.filterFunction(dataSet, WIDTH, filter);
+            assertEquals(N_SAMPLES, filtered.getDataCount());
+            for (int i = 0; i < N_SAMPLES; i++) {
+                final double[] yWindow = new double[N_SAMPLES];
+                final double[] eWindow = new double[N_SAMPLES];
+                final int count = window(xValues, i, WIDTH, yValues, yWindow);
+                window(xValues, i, WIDTH, eyn, eWindow);
+                assertEquals(xValues[i], filtered.get(DataSet.DIM_X, i));
+                assertEquals(reference(filter, yWindow, count), filtered.get(DataSet.DIM_Y, i), TOLERANCE,
+                        filter + " at index " + i);
+                final double norm = filter == Filter.MEAN ? 1.0 / Math.sqrt(count) : 1.0;
+                assertEquals(reference(filter, eWindow, count) * norm,
+                        ((DoubleErrorDataSet) filtered).getErrorNegative(DataSet.DIM_Y, i), TOLERANCE,
+                        filter + " error at index " + i);
+            }
+        }
+    }
+
+    @Test
+    public void nonFiniteValueTests() {
+        final double[] xValues = new double[N_SAMPLES];
+        final double[] data = new double[N_SAMPLES];
+        final Random rnd = new Random(42);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            xValues[i] = i;
+            data[i] = rnd.nextGaussian();
+        }
+        data[100] = Double.NaN;
+        data[500] = Double.POSITIVE_INFINITY;
+        data[900] = 0.0;
+        final int[] from = new int[N_SAMPLES];
+        final int[] to = new int[N_SAMPLES];
+        SlidingWindowFilter.getWindowLimits(xValues, N_SAMPLES, 7.0, from, to);
+        final double[] output = new double[N_SAMPLES];
+        for (final Filter filter : Filter.values()) {
+            apply(filter, data, from, to, output);
+            for (int i = 0; i < N_SAMPLES; i++) {
+                final double[] window = Arrays.copyOfRange(data, from[i], to[i]);
+                assertEquals(reference(filter, window, window.length), output[i], TOLERANCE, filter + " at index " + i);
+            }
+        }
+    }
+
+    @Test
+    public void windowLimitTests() {
+        final double[] xValues = { 0.0, 1.0, 1.0, 2.0, 5.0, 6.0, 6.5 };
+        final int[] from = new int[xValues.length];
+        final int[] to = new int[xValues.length];
+        SlidingWindowFilter.getWindowLimits(xValues, xValues.length, 1.0, from, to);
+        assertArrayEquals(new int[] { 0, 0, 0, 1, 4, 4, 5 }, from);
+        assertArrayEquals(new int[] { 3, 4, 4, 4, 6, 7, 7 }, to);
+
+        assertTrue(SlidingWindowFilter.isSorted(xValues, xValues.length));
+        assertFalse(SlidingWindowFilter.isSorted(new double[] { 0.0, 2.0, 1.0 }, 3));
+        assertFalse(SlidingWindowFilter.isSorted(new double[] { 0.0, Double.NaN, 1.0 }, 3));
+        assertThrows(IllegalArgumentException.class, () -> SlidingWindowFilter.getWindowLimits(xValues, 3, -1.0, from, to));
+    }
+
+    private static void apply(final Filter filter, final double[] data, final int[] from, final int[] to,
+            final double[] output) {
+        switch (filter) {
+        case MEDIAN:
+            SlidingWindowFilter.median(data, from, to, data.length, output);
+            break;
+        case MIN:
+            SlidingWindowFilter.min(data, from, to, data.length, output);
+            break;
+        case MAX:
+            SlidingWindowFilter.max(data, from, to, data.length, output);
+            break;
+        case P2P:
+            SlidingWindowFilter.peakToPeak(data, from, to, data.length, output);
+            break;
+        case RMS:
+            SlidingWindowFilter.rms(data, from, to, data.length, output);
+            break;
+        case GEOMMEAN:
+            SlidingWindowFilter.geometricMean(data, from, to, data.length, output);
+            break;
+        case MEAN:
+        default:
+            SlidingWindowFilter.mean(data, from, to, data.length, output);
+            break;
+        }
+    }
+
+    private static double reference(final Filter filter, final double[] window, final int count) {
+        switch (filter) {
+        case MEDIAN:
+            return TMath.Median(window, count);
+        case MIN:
+            return TMath.Minimum(window, count);
+        case MAX:
+            return TMath.Maximum(window, count);
+        case P2P:
+            return TMath.PeakToPeak(window, count);
+        case RMS:
+            return TMath.RMS(window, count);
+        case GEOMMEAN:
+            return TMath.GeometricMean(window, count);
+        case MEAN:
+        default:
+            return TMath.Mean(window, count);
+        }
+    }
+
+    private static int window(final double[] xValues, final int index, final double width, final double[] data,
+            final double[] output) {
+        int count = 0;
+        for (int j = 0; j < xValues.length; j++) {
+            if (Math.abs(xValues[index] - xValues[j]) <= width) {
+                output[count++] = data[j];
+            }
+        }
+        return count;
+    }
+}
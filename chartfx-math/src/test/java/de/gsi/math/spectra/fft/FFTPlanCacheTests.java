@@ -0,0 +1,88 @@
+package de.gsi.math.spectra.fft;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import org.junit.jupiter.api.Test;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+import de.gsi.dataset.spi.DoubleErrorDataSet;
+import de.gsi.math.DataSetMath;
+import de.gsi.math.spectra.Apodization;
+import de.gsi.math.spectra.SpectrumTools;
+
+/**
+ * Regression testing for @see FFTPlanCache
+ *
+ * @author rstein
+ */
+public class FFTPlanCacheTests {
+    private static final int N_SAMPLES = 1000; // N.B. non power-of-two
+
+    @Test
+    public void magnitudeSpectrumTests() {
+        final DoubleDataSet signal = new DoubleDataSet("signal", N_SAMPLES);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            signal.add(i, Math.sin(0.2 * i) + 0.5 * Math.cos(0.7 * i));
+        }
+
+        // reference: explicit plan, apodization and magnitude computation
+        final double[] reference = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            reference[i] = signal.get(DIM_Y, i) * Apodization.Hann.getIndex(i, N_SAMPLES);
+        }
+        new DoubleFFT_1D(N_SAMPLES).realForward(reference);
+        final double[] referenceMag = SpectrumTools.computeMagnitudeSpectrum(reference, true);
+
+        final DataSet spectrum = DataSetMath.magnitudeSpectrum(signal);
+        assertEquals(N_SAMPLES / 2, spectrum.getDataCount());
+        assertArrayEquals(referenceMag, spectrum.getValues(DIM_Y, 0, new double[N_SAMPLES / 2], 0, N_SAMPLES / 2));
+
+        // in-place re-computation
+        final DoubleErrorDataSet output = new DoubleErrorDataSet("output");
+        assertSame(output, DataSetMath.magnitudeSpectrum(signal, Apodization.Hann, false, false, output));
+        final double[] firstValues = output.getValues(DIM_Y);
+        assertSame(output, DataSetMath.magnitudeSpectrum(signal, Apodization.Hann, false, false, output));
+        assertSame(firstValues, output.getValues(DIM_Y), "backing storage re-used");
+        assertEquals(N_SAMPLES / 2, output.getDataCount());
+        assertArrayEquals(referenceMag, output.getValues(DIM_Y, 0, new double[N_SAMPLES / 2], 0, N_SAMPLES / 2));
+        assertEquals(spectrum.get(DIM_X, 10), output.get(DIM_X, 10));
+        assertEquals("Mag(signal)", output.getName());
+    }
+
+    @Test
+    public void planCacheTests() {
+        FFTPlanCache.clear();
+        assertEquals(0, FFTPlanCache.getSize());
+
+        final DoubleFFT_1D doublePlan = FFTPlanCache.getDoubleFFT_1D(64);
+        assertSame(doublePlan, FFTPlanCache.getDoubleFFT_1D(64));
+        final FloatFFT_1D floatPlan = FFTPlanCache.getFloatFFT_1D(64);
+        assertSame(floatPlan, FFTPlanCache.getFloatFFT_1D(64));
+        assertEquals(2, FFTPlanCache.getSize());
+
+        final int capacity = FFTPlanCache.getCapacity();
+        try {
+            FFTPlanCache.setCapacity(2);
+            final DoubleFFT_1D plan128 = FFTPlanCache.getDoubleFFT_1D(128);
+            FFTPlanCache.getDoubleFFT_1D(64); // touch -> 128 becomes the least recently used plan
+            FFTPlanCache.getDoubleFFT_1D(256);
+            assertEquals(3, FFTPlanCache.getSize()); // two double + one float plan
+            assertSame(doublePlan, FFTPlanCache.getDoubleFFT_1D(64));
+            assertNotSame(plan128, FFTPlanCache.getDoubleFFT_1D(128), "evicted plan");
+        } finally {
+            FFTPlanCache.setCapacity(capacity);
+        }
+        assertThrows(IllegalArgumentException.class, () -> FFTPlanCache.setCapacity(0));
+
+        FFTPlanCache.clear();
+        assertEquals(0, FFTPlanCache.getSize());
+    }
+}
@@ -73,6 +73,7 @@ public class WaterfallPerformanceSample extends Application {
     private final CheckBox smooth = new CheckBox("smooth");
     private final CheckBox altImplementation = new CheckBox("alt impl.");
     private final CheckBox parallelImplementation = new CheckBox("parallel impl.");
+    private final CheckBox waterfall = new CheckBox("waterfall");
 
     private TestDataSetSource dataSet = new TestDataSetSource();
     private Timer timer;
@@ -226,8 +227,13 @@ public class WaterfallPerformanceSample extends Application {
         parallelImplementation.selectedProperty().bindBidirectional(renderer.parallelImplementationProperty());
         parallelImplementation.selectedProperty().addListener((ch, old, selection) -> chart.requestLayout());
 
+        waterfall.setSelected(renderer.isWaterfall());
+        waterfall.setTooltip(new Tooltip("select to update only newly appended rows (heat-map only)"));
+        waterfall.selectedProperty().bindBidirectional(renderer.waterfallProperty());
+        waterfall.selectedProperty().addListener((ch, old, selection) -> chart.requestLayout());
+
         final ToolBar newCountourParameters = new ToolBar(dataReduction, hBoxReductionFactorSlider, reductionType,
-                smooth, altImplementation, parallelImplementation);
+                smooth, altImplementation, parallelImplementation, waterfall);
 
         contourToolBar.getItems().addAll(new VBox(standardCountourParameters, newCountourParameters));
         return contourToolBar;
@@ -15,6 +15,7 @@ import javax.sound.sampled.TargetDataLine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.gsi.dataset.WaterfallDataSet;
 import de.gsi.dataset.event.AddedDataEvent;
 import de.gsi.dataset.spi.AbstractDataSet3D;
 import de.gsi.dataset.utils.DoubleCircularBuffer;
@@ -30,7 +31,7 @@ import it.unimi.dsi.fastutil.floats.FloatArrayList;
  *
  * @author rstein
  */
-public class TestDataSetSource extends AbstractDataSet3D<TestDataSetSource> {
+public class TestDataSetSource extends AbstractDataSet3D<TestDataSetSource> implements WaterfallDataSet {
     private static final long serialVersionUID = 5374805363297317245L;
     private static final Logger LOGGER = LoggerFactory.getLogger(TestDataSetSource.class);
     private static final String DATA_SOURCE_FILE = "../testdata/alla-turca.mid";
@@ -53,6 +54,7 @@ public class TestDataSetSource extends AbstractDataSet3D<TestDataSetSource> {
     };
     protected transient FloatArrayList frame = new FloatArrayList(INITIAL_FRAME_SIZE);
     protected int circIndex = 0; // circular buffer index
+    protected long appendedRowCount; // number of frames appended since the last (re-)initialisation
     protected int samplingRate = AUDIO_SAMPLING_RATE;
     protected int frameSize = INITIAL_FRAME_SIZE;
     protected int frameCount = INITIAL_FRAME_COUNT;
@@ -104,8 +106,10 @@ public class TestDataSetSource extends AbstractDataSet3D<TestDataSetSource> {
     }
 
     public void fillTestData() {
-        lock().writeLockGuard(
-                () -> synth.decode(history[2].elements(), frameSize, updatePeriod, samplingRate, N_SYNTHESISER_BITS));
+        lock().writeLockGuard(() -> {
+            synth.decode(history[2].elements(), frameSize, updatePeriod, samplingRate, N_SYNTHESISER_BITS);
+            appendedRowCount = 0;
+        });
     }
 
     @Override
@@ -116,6 +120,11 @@ public class TestDataSetSource extends AbstractDataSet3D<TestDataSetSource> {
         return history[dimIndex].elements()[(index + circIndex) % (frameSize * frameCount)];
     }
 
+    @Override
+    public long getAppendedRowCount() {
+        return appendedRowCount;
+    }
+
     @Override
     public int getDataCount(final int dimIndex) {
         return history[dimIndex].size();
@@ -342,6 +351,7 @@ public class TestDataSetSource extends AbstractDataSet3D<TestDataSetSource> {
                     System.arraycopy(mag, 0, frame.elements(), 0, frameSize);
                     System.arraycopy(mag, 0, history[DIM_Z].elements(), circIndex, frameSize);
                     circIndex = (circIndex + frameSize) % (frameSize * frameCount);
+                    appendedRowCount++;
                 });
 
                 fireInvalidated(new AddedDataEvent(TestDataSetSource.this, "new frame"));
@@ -355,6 +365,7 @@ public class TestDataSetSource extends AbstractDataSet3D<TestDataSetSource> {
         history[DIM_Y].size(frameCount);
         history[DIM_Z].size(frameSize * frameCount);
         circIndex = 100 * frameSize;
+        appendedRowCount = 0;
 
         for (int i = 0; i < frameSize; i++) {
             history[DIM_X].elements()[i] = ((0.5f * i) / frameSize) * samplingRate;
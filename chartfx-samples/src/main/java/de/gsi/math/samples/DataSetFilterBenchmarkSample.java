@@ -0,0 +1,115 @@
+package de.gsi.math.samples;
+
+import static de.gsi.dataset.DataSet.DIM_X;
+import static de.gsi.dataset.DataSet.DIM_Y;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gsi.dataset.DataSet;
+import de.gsi.dataset.spi.DoubleDataSet;
+import de.gsi.dataset.utils.ProcessingProfiler;
+import de.gsi.math.DataSetMath;
+import de.gsi.math.DataSetMath.Filter;
+import de.gsi.math.TMath;
+import de.gsi.math.TRandom;
+
+/**
+ * Benchmark comparing the sliding-window implementation of {@link DataSetMath#filterFunction} with the previous
+ * brute-force implementation that evaluates every window independently (O(n^2)).
+ *
+ * @author rstein
+ */
+@SuppressWarnings("PMD") // this class tests possible performance bottle-necks
+                         // not code style/readability
+public class DataSetFilterBenchmarkSample {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSetFilterBenchmarkSample.class);
+    private static final int N_SAMPLES_SMALL = 20_000;
+    private static final int N_SAMPLES_LARGE = 1_000_000;
+    private static final double FILTER_WIDTH = 20.0; // in units of samples
+
+    public static DataSet generateDataSet(final int nSamples) {
+        final TRandom rnd = new TRandom(0);
+        final DoubleDataSet dataSet = new DoubleDataSet("test", nSamples);
+        for (int i = 0; i < nSamples; i++) {
+            dataSet.add(i, Math.sin(0.01 * i) + 0.1 * rnd.Gaus(0.0, 1.0));
+        }
+        return dataSet;
+    }
+
+    public static double[] testBruteForce(final DataSet dataSet, final Filter filter) {
+        final long start = ProcessingProfiler.getTimeStamp();
+        final int n = dataSet.getDataCount();
+        final double[] subArray = new double[n];
+        final double[] retVal = new double[n];
+        for (int i = 0; i < n; i++) {
+            final double time0 = dataSet.get(DIM_X, i);
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                if (Math.abs(time0 - dataSet.get(DIM_X, j)) <= FILTER_WIDTH) {
+                    subArray[count++] = dataSet.get(DIM_Y, j);
+                }
+            }
+            switch (filter) {
+            case MEDIAN:
+                retVal[i] = TMath.Median(subArray, count);
+                break;
+            case MIN:
+                retVal[i] = TMath.Minimum(subArray, count);
+                break;
+            case MAX:
+                retVal[i] = TMath.Maximum(subArray, count);
+                break;
+            case P2P:
+                retVal[i] = TMath.PeakToPeak(subArray, count);
+                break;
+            case RMS:
+                retVal[i] = TMath.RMS(subArray, count);
+                break;
+            case GEOMMEAN:
+                retVal[i] = TMath.GeometricMean(subArray, count);
+                break;
+            case MEAN:
+            default:
+                retVal[i] = TMath.Mean(subArray, count);
+                break;
+            }
+        }
+        ProcessingProfiler.getTimeDiff(start, "brute-force " + filter + "(n=" + n + ") result = " + retVal[n / 2]);
+        return retVal;
+    }
+
+    public static DataSet testSlidingWindow(final DataSet dataSet, final Filter filter) {
+        final long start = ProcessingProfiler.getTimeStamp();
+        final DataSet retVal = DataSetMath.filterFunction(dataSet, FILTER_WIDTH, filter);
+        final int n = retVal.getDataCount();
+        ProcessingProfiler.getTimeDiff(start,
+                "sliding-window " + filter + "(n=" + n + ") result = " + retVal.get(DIM_Y, n / 2));
+        return retVal;
+    }
+
+    public static void main(String[] args) {
+        ProcessingProfiler.setVerboseOutputState(true);
+        ProcessingProfiler.setDebugState(true);
+
+        final DataSet small = generateDataSet(N_SAMPLES_SMALL);
+        for (int iter = 0; iter < 2; iter++) { // 2nd iteration: after JIT warm-up
+            LOGGER.atInfo().addArgument(iter).log("\n\nfilter performance test - iteration {}:");
+            for (final Filter filter : Filter.values()) {
+                final double[] reference = testBruteForce(small, filter);
+                final DataSet filtered = testSlidingWindow(small, filter);
+                double maxDeviation = 0.0;
+                for (int i = 0; i < reference.length; i++) {
+                    maxDeviation = Math.max(maxDeviation, Math.abs(reference[i] - filtered.get(DIM_Y, i)));
+                }
+                LOGGER.atInfo().addArgument(filter).addArgument(maxDeviation).log("{} max. deviation = {}");
+            }
+        }
+
+        LOGGER.atInfo().log("\n\nsliding-window only (brute-force would take minutes):");
+        final DataSet large = generateDataSet(N_SAMPLES_LARGE);
+        for (final Filter filter : Filter.values()) {
+            testSlidingWindow(large, filter);
+        }
+    }
+}